@@ -0,0 +1,8 @@
+--
+-- Index entity versions stored in entity_extension by the time they were last updated. This supports point in time
+-- "as of" lookups without scanning all the versions of an entity. Extensions that are not entity versions,
+-- such as sample data and table profiles, don't have updatedAt and are left with NULL value.
+--
+ALTER TABLE entity_extension
+    ADD COLUMN updatedAt DATETIME GENERATED ALWAYS AS (STR_TO_DATE(json ->> '$.updatedAt', '%Y-%m-%dT%T.%fZ')) VIRTUAL,
+    ADD INDEX updatedAtIdx (id, updatedAt);
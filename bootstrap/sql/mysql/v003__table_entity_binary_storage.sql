@@ -0,0 +1,25 @@
+--
+-- Tables with thousands of columns result in large JSON documents. Store table entity either as JSON text in json
+-- column or in compact binary form in jsonBlob column based on the configured entity storage format. Since json
+-- column may be null, id, fullyQualifiedName, updatedAt and updatedBy are no longer generated from it and are
+-- written explicitly. Generated columns can't be turned into regular columns in place and hence the table is rebuilt.
+--
+CREATE TABLE IF NOT EXISTS table_entity_v003 (
+    id VARCHAR(36) NOT NULL,
+    fullyQualifiedName VARCHAR(256) NOT NULL,
+    json JSON,
+    jsonBlob LONGBLOB,
+    updatedAt TIMESTAMP NOT NULL,
+    updatedBy VARCHAR(256) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY unique_name(fullyQualifiedName),
+    INDEX (updatedBy),
+    INDEX (updatedAt)
+);
+
+INSERT INTO table_entity_v003 (id, fullyQualifiedName, json, updatedAt, updatedBy)
+    SELECT id, fullyQualifiedName, json, updatedAt, updatedBy FROM table_entity;
+
+DROP TABLE table_entity;
+
+RENAME TABLE table_entity_v003 TO table_entity;
@@ -0,0 +1,35 @@
+--
+-- Columns of a table are stored in their own table instead of being embedded in the table document. Reading or
+-- changing a table no longer reads and rewrites all the columns of wide tables. Each row holds a top level column
+-- along with its nested children, keyed by the position of the column in the table.
+--
+CREATE TABLE IF NOT EXISTS table_column (
+    tableId VARCHAR(36) NOT NULL,               -- ID of the table
+    ordinal INT NOT NULL,                       -- Position of the column in the table starting from 0
+    json JSON NOT NULL,                         -- Column along with its nested children
+    PRIMARY KEY (tableId, ordinal)
+);
+
+--
+-- Move the columns out of the table documents stored as JSON text. A sequence of numbers from 0 to 9999 is used to
+-- expand the columns array into rows, since MySQL 5.7 has neither JSON_TABLE nor recursive queries. Tables with more
+-- than 10000 columns are left as they are. Columns embedded in the table document are still read, and such tables
+-- move their columns to table_column when they are next updated.
+--
+INSERT INTO table_column (tableId, ordinal, json)
+    SELECT t.id, n.ordinal, JSON_EXTRACT(t.json, CONCAT('$.columns[', n.ordinal, ']'))
+    FROM table_entity t
+    JOIN (SELECT d1.d + 10 * d2.d + 100 * d3.d + 1000 * d4.d AS ordinal FROM
+             (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4 UNION ALL
+              SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d1,
+             (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4 UNION ALL
+              SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d2,
+             (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4 UNION ALL
+              SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d3,
+             (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4 UNION ALL
+              SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d4
+         ) n ON n.ordinal < JSON_LENGTH(t.json, '$.columns')
+    WHERE t.json IS NOT NULL AND JSON_LENGTH(t.json, '$.columns') <= 10000;
+
+UPDATE table_entity SET json = JSON_REMOVE(json, '$.columns')
+    WHERE json IS NOT NULL AND JSON_LENGTH(json, '$.columns') <= 10000;
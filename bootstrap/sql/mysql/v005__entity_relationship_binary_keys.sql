@@ -0,0 +1,78 @@
+--
+-- Entity types stored in entity_relationship as small integer ids instead of names. EntityTypeDictionary reads the
+-- ids from this table when the application starts. Ids must never change. A new entity type is added to this table
+-- in a migration.
+--
+CREATE TABLE IF NOT EXISTS entity_type (
+    id SMALLINT NOT NULL,
+    name VARCHAR(256) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY unique_name(name)
+);
+
+INSERT INTO entity_type (id, name) VALUES
+    (1, 'databaseService'),
+    (2, 'messagingService'),
+    (3, 'dashboardService'),
+    (4, 'pipelineService'),
+    (5, 'table'),
+    (6, 'database'),
+    (7, 'metrics'),
+    (8, 'dashboard'),
+    (9, 'pipeline'),
+    (10, 'chart'),
+    (11, 'report'),
+    (12, 'topic'),
+    (13, 'model'),
+    (14, 'bots'),
+    (15, 'user'),
+    (16, 'team'),
+    (17, 'thread');
+
+--
+-- Entity types found in relationships that are not listed above get the next ids, so that no relationship is left out
+-- when the relationships are migrated.
+--
+SET @entity_type_id = (SELECT MAX(id) FROM entity_type);
+INSERT INTO entity_type (id, name)
+    SELECT @entity_type_id := @entity_type_id + 1, n.name FROM (
+        SELECT fromEntity AS name FROM entity_relationship UNION SELECT toEntity FROM entity_relationship
+    ) n
+    WHERE n.name NOT IN (SELECT name FROM entity_type);
+
+--
+-- Store entity ids as BINARY(16) instead of VARCHAR(36) and entity types as ids from entity_type. Redundant indexes
+-- are removed. The primary key serves lookups from an entity, including the relationship type, and deletes of a
+-- relationship. toIdx serves lookups to an entity. It includes fromEntity and, as every secondary index, the primary
+-- key columns, so that lookups to an entity read only the index.
+--
+CREATE TABLE IF NOT EXISTS entity_relationship_v005 (
+    fromId BINARY(16) NOT NULL,                 -- ID of the from entity
+    toId BINARY(16) NOT NULL,                   -- ID of the to entity
+    fromEntity SMALLINT NOT NULL,               -- Type of the from entity. See entity_type
+    toEntity SMALLINT NOT NULL,                 -- Type of the to entity. See entity_type
+    relation TINYINT NOT NULL,
+    jsonSchema VARCHAR(256),                    -- Schema used for generating JSON
+    json JSON,                                  -- JSON payload with additional information
+    timestamp BIGINT,
+    PRIMARY KEY (fromId, relation, toId),
+    INDEX toIdx (toId, relation, fromEntity)
+);
+
+INSERT INTO entity_relationship_v005 (fromId, toId, fromEntity, toEntity, relation, jsonSchema, json, timestamp)
+    SELECT UNHEX(REPLACE(r.fromId, '-', '')), UNHEX(REPLACE(r.toId, '-', '')), f.id, t.id, r.relation,
+           r.jsonSchema, r.json, r.timestamp
+    FROM entity_relationship r
+    LEFT JOIN entity_type f ON f.name = r.fromEntity
+    LEFT JOIN entity_type t ON t.name = r.toEntity;
+
+--
+-- Fail the migration before dropping the old table if any relationship was not copied. The subquery that returns two
+-- rows makes the statement fail.
+--
+SELECT IF((SELECT count(*) FROM entity_relationship) = (SELECT count(*) FROM entity_relationship_v005), 1,
+          (SELECT 1 UNION ALL SELECT 2)) AS relationships_copied;
+
+DROP TABLE entity_relationship;
+
+RENAME TABLE entity_relationship_v005 TO entity_relationship;
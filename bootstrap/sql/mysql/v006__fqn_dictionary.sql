@@ -0,0 +1,67 @@
+--
+-- Dictionary of fully qualified names of entities and their fields. tag_usage and field_relationship refer to
+-- fully qualified names by the integer id from the dictionary instead of storing names of up to 256 characters in
+-- their keys and indexes. Queries by the prefix of names, such as tags of all the columns of a table, use the index on
+-- fqn.
+--
+CREATE TABLE IF NOT EXISTS fqn_dictionary (
+    id INT NOT NULL AUTO_INCREMENT,
+    fqn VARCHAR(256) NOT NULL,                  -- Fully qualified name of entity or field
+    PRIMARY KEY (id),
+    UNIQUE KEY unique_fqn(fqn)
+);
+
+INSERT IGNORE INTO fqn_dictionary (fqn)
+    SELECT tagFQN FROM tag_usage UNION
+    SELECT targetFQN FROM tag_usage UNION
+    SELECT fromFQN FROM field_relationship UNION
+    SELECT toFQN FROM field_relationship;
+
+--
+-- Tags applied to entities and fields
+--
+CREATE TABLE IF NOT EXISTS tag_usage_v006 (
+    tagId INT NOT NULL,                 -- Id of the fully qualified name of the tag
+    targetId INT NOT NULL,              -- Id of the fully qualified name of the entity instance or field
+    labelType TINYINT NOT NULL,         -- Type of tagging: manual, automated, propagated, derived
+    state TINYINT NOT NULL,             -- State of tagging: suggested or confirmed
+    timestamp BIGINT,
+    PRIMARY KEY (targetId, tagId),
+    INDEX tagIdx (tagId)
+);
+
+INSERT INTO tag_usage_v006 (tagId, targetId, labelType, state, timestamp)
+    SELECT t.id, g.id, u.labelType, u.state, u.timestamp
+    FROM tag_usage u
+    JOIN fqn_dictionary t ON t.fqn = u.tagFQN
+    JOIN fqn_dictionary g ON g.fqn = u.targetFQN;
+
+DROP TABLE tag_usage;
+
+RENAME TABLE tag_usage_v006 TO tag_usage;
+
+--
+-- Relationships between fields of entities
+--
+CREATE TABLE IF NOT EXISTS field_relationship_v006 (
+    fromId INT NOT NULL,                        -- Id of the fully qualified name of entity or field
+    toId INT NOT NULL,                          -- Id of the fully qualified name of entity or field
+    fromType VARCHAR(256) NOT NULL,             -- Fully qualified type of entity or field
+    toType VARCHAR(256) NOT NULL,               -- Fully qualified type of entity or field
+    relation TINYINT NOT NULL,
+    jsonSchema VARCHAR(256),                    -- Schema used for generating JSON
+    json JSON,                                  -- JSON payload with additional information
+    timestamp BIGINT,
+    PRIMARY KEY (fromId, toId, relation),
+    INDEX toIdx (toId, relation)
+);
+
+INSERT INTO field_relationship_v006 (fromId, toId, fromType, toType, relation, jsonSchema, json, timestamp)
+    SELECT f.id, t.id, r.fromType, r.toType, r.relation, r.jsonSchema, r.json, r.timestamp
+    FROM field_relationship r
+    JOIN fqn_dictionary f ON f.fqn = r.fromFQN
+    JOIN fqn_dictionary t ON t.fqn = r.toFQN;
+
+DROP TABLE field_relationship;
+
+RENAME TABLE field_relationship_v006 TO field_relationship;
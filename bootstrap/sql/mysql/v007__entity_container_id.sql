@@ -0,0 +1,68 @@
+--
+-- Entities that belong to a container, such as tables of a database and topics of a messaging service, store the id
+-- of the container along with the entity. Entities of a container are listed using the index on the container id and
+-- the fully qualified name instead of matching the prefix of the fully qualified name. The container of an entity does
+-- not change after the entity is created.
+--
+ALTER TABLE table_entity
+    ADD COLUMN databaseId VARCHAR(36),    -- ID of the database that contains the table
+    ADD INDEX databaseIdx (databaseId, fullyQualifiedName);
+
+ALTER TABLE database_entity
+    ADD COLUMN serviceId VARCHAR(36),    -- ID of the database service that contains the database
+    ADD INDEX serviceIdx (serviceId, fullyQualifiedName);
+
+ALTER TABLE topic_entity
+    ADD COLUMN serviceId VARCHAR(36),    -- ID of the messaging service that contains the topic
+    ADD INDEX serviceIdx (serviceId, fullyQualifiedName);
+
+ALTER TABLE dashboard_entity
+    ADD COLUMN serviceId VARCHAR(36),    -- ID of the dashboard service that contains the dashboard
+    ADD INDEX serviceIdx (serviceId, fullyQualifiedName);
+
+ALTER TABLE chart_entity
+    ADD COLUMN serviceId VARCHAR(36),    -- ID of the dashboard service that contains the chart
+    ADD INDEX serviceIdx (serviceId, fullyQualifiedName);
+
+ALTER TABLE pipeline_entity
+    ADD COLUMN serviceId VARCHAR(36),    -- ID of the pipeline service that contains the pipeline
+    ADD INDEX serviceIdx (serviceId, fullyQualifiedName);
+
+--
+-- Set the container ids from the CONTAINS relationship (relation 0) of the entities
+--
+UPDATE table_entity e
+    JOIN entity_relationship r ON r.toId = UNHEX(REPLACE(e.id, '-', '')) AND r.relation = 0
+    JOIN entity_type et ON et.id = r.toEntity AND et.name = 'table'
+    SET e.databaseId = LOWER(CONCAT_WS('-', SUBSTR(HEX(r.fromId), 1, 8), SUBSTR(HEX(r.fromId), 9, 4),
+        SUBSTR(HEX(r.fromId), 13, 4), SUBSTR(HEX(r.fromId), 17, 4), SUBSTR(HEX(r.fromId), 21)));
+
+UPDATE database_entity e
+    JOIN entity_relationship r ON r.toId = UNHEX(REPLACE(e.id, '-', '')) AND r.relation = 0
+    JOIN entity_type et ON et.id = r.toEntity AND et.name = 'database'
+    SET e.serviceId = LOWER(CONCAT_WS('-', SUBSTR(HEX(r.fromId), 1, 8), SUBSTR(HEX(r.fromId), 9, 4),
+        SUBSTR(HEX(r.fromId), 13, 4), SUBSTR(HEX(r.fromId), 17, 4), SUBSTR(HEX(r.fromId), 21)));
+
+UPDATE topic_entity e
+    JOIN entity_relationship r ON r.toId = UNHEX(REPLACE(e.id, '-', '')) AND r.relation = 0
+    JOIN entity_type et ON et.id = r.toEntity AND et.name = 'topic'
+    SET e.serviceId = LOWER(CONCAT_WS('-', SUBSTR(HEX(r.fromId), 1, 8), SUBSTR(HEX(r.fromId), 9, 4),
+        SUBSTR(HEX(r.fromId), 13, 4), SUBSTR(HEX(r.fromId), 17, 4), SUBSTR(HEX(r.fromId), 21)));
+
+UPDATE dashboard_entity e
+    JOIN entity_relationship r ON r.toId = UNHEX(REPLACE(e.id, '-', '')) AND r.relation = 0
+    JOIN entity_type et ON et.id = r.toEntity AND et.name = 'dashboard'
+    SET e.serviceId = LOWER(CONCAT_WS('-', SUBSTR(HEX(r.fromId), 1, 8), SUBSTR(HEX(r.fromId), 9, 4),
+        SUBSTR(HEX(r.fromId), 13, 4), SUBSTR(HEX(r.fromId), 17, 4), SUBSTR(HEX(r.fromId), 21)));
+
+UPDATE chart_entity e
+    JOIN entity_relationship r ON r.toId = UNHEX(REPLACE(e.id, '-', '')) AND r.relation = 0
+    JOIN entity_type et ON et.id = r.toEntity AND et.name = 'chart'
+    SET e.serviceId = LOWER(CONCAT_WS('-', SUBSTR(HEX(r.fromId), 1, 8), SUBSTR(HEX(r.fromId), 9, 4),
+        SUBSTR(HEX(r.fromId), 13, 4), SUBSTR(HEX(r.fromId), 17, 4), SUBSTR(HEX(r.fromId), 21)));
+
+UPDATE pipeline_entity e
+    JOIN entity_relationship r ON r.toId = UNHEX(REPLACE(e.id, '-', '')) AND r.relation = 0
+    JOIN entity_type et ON et.id = r.toEntity AND et.name = 'pipeline'
+    SET e.serviceId = LOWER(CONCAT_WS('-', SUBSTR(HEX(r.fromId), 1, 8), SUBSTR(HEX(r.fromId), 9, 4),
+        SUBSTR(HEX(r.fromId), 13, 4), SUBSTR(HEX(r.fromId), 17, 4), SUBSTR(HEX(r.fromId), 21)));
@@ -0,0 +1,42 @@
+--
+-- Number of entities of each type, maintained in the same transaction as entity creates and deletes. The row with an
+-- empty containerId has the number of entities of the type. Entity types that belong to a container also have a row
+-- for each container, such as the number of tables of a database.
+--
+CREATE TABLE IF NOT EXISTS entity_count (
+    entityType VARCHAR(64) NOT NULL,            -- Type of the entity such as table or databaseService
+    containerId VARCHAR(36) NOT NULL,           -- ID of the container or empty for the number of all entities
+    total BIGINT NOT NULL,                      -- Number of entities
+    PRIMARY KEY (entityType, containerId)
+);
+
+INSERT INTO entity_count (entityType, containerId, total)
+    SELECT 'bots', '', COUNT(*) FROM bot_entity UNION ALL
+    SELECT 'chart', '', COUNT(*) FROM chart_entity UNION ALL
+    SELECT 'dashboard', '', COUNT(*) FROM dashboard_entity UNION ALL
+    SELECT 'dashboardService', '', COUNT(*) FROM dashboard_service_entity UNION ALL
+    SELECT 'database', '', COUNT(*) FROM database_entity UNION ALL
+    SELECT 'databaseService', '', COUNT(*) FROM dbservice_entity UNION ALL
+    SELECT 'messagingService', '', COUNT(*) FROM messaging_service_entity UNION ALL
+    SELECT 'metrics', '', COUNT(*) FROM metric_entity UNION ALL
+    SELECT 'model', '', COUNT(*) FROM model_entity UNION ALL
+    SELECT 'pipeline', '', COUNT(*) FROM pipeline_entity UNION ALL
+    SELECT 'pipelineService', '', COUNT(*) FROM pipeline_service_entity UNION ALL
+    SELECT 'report', '', COUNT(*) FROM report_entity UNION ALL
+    SELECT 'table', '', COUNT(*) FROM table_entity UNION ALL
+    SELECT 'team', '', COUNT(*) FROM team_entity UNION ALL
+    SELECT 'topic', '', COUNT(*) FROM topic_entity UNION ALL
+    SELECT 'user', '', COUNT(*) FROM user_entity;
+
+INSERT INTO entity_count (entityType, containerId, total)
+    SELECT 'chart', serviceId, COUNT(*) FROM chart_entity WHERE serviceId IS NOT NULL GROUP BY serviceId;
+INSERT INTO entity_count (entityType, containerId, total)
+    SELECT 'dashboard', serviceId, COUNT(*) FROM dashboard_entity WHERE serviceId IS NOT NULL GROUP BY serviceId;
+INSERT INTO entity_count (entityType, containerId, total)
+    SELECT 'database', serviceId, COUNT(*) FROM database_entity WHERE serviceId IS NOT NULL GROUP BY serviceId;
+INSERT INTO entity_count (entityType, containerId, total)
+    SELECT 'pipeline', serviceId, COUNT(*) FROM pipeline_entity WHERE serviceId IS NOT NULL GROUP BY serviceId;
+INSERT INTO entity_count (entityType, containerId, total)
+    SELECT 'table', databaseId, COUNT(*) FROM table_entity WHERE databaseId IS NOT NULL GROUP BY databaseId;
+INSERT INTO entity_count (entityType, containerId, total)
+    SELECT 'topic', serviceId, COUNT(*) FROM topic_entity WHERE serviceId IS NOT NULL GROUP BY serviceId;
@@ -0,0 +1,25 @@
+--
+-- Entity updates are stored only when the stored entity is still at the version the update was computed from, with
+-- a version check in the WHERE clause of the update statement instead of holding row locks while the update is
+-- computed. Column version is generated from json for entities stored as JSON text. Table entities may be stored in
+-- binary form and hence version is written explicitly. Versions of table entities stored in binary form are not known
+-- here and are left null. Such rows are updated without a version check once, which sets their version.
+--
+ALTER TABLE database_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE metric_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE dashboard_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE model_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE pipeline_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE topic_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE chart_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE team_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE user_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE report_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE bot_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE dbservice_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE messaging_service_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE dashboard_service_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+ALTER TABLE pipeline_service_entity ADD COLUMN version DOUBLE GENERATED ALWAYS AS (json ->> '$.version');
+
+ALTER TABLE table_entity ADD COLUMN version DOUBLE;
+UPDATE table_entity SET version = json ->> '$.version' WHERE json IS NOT NULL;
@@ -0,0 +1,42 @@
+--
+-- Columns updatedAt keep whole seconds of the updatedAt of the json, which is stored with milliseconds. MySQL rounds
+-- fractional seconds when it stores them in a column without fractional seconds, while "as of" times are truncated to
+-- seconds, so that a version updated at 12:00:59.6 was found only as of 12:01:00. Fractional seconds are now cut from
+-- the json before it is converted. updatedAt of table_entity is written without fractional seconds, and rows stored
+-- as json text are corrected here. Rows stored in binary form keep their rounded updatedAt until they are updated.
+--
+ALTER TABLE database_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE metric_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE dashboard_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE model_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE pipeline_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE topic_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE chart_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE team_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE user_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE report_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE bot_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE dbservice_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE messaging_service_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE dashboard_service_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+ALTER TABLE pipeline_service_entity MODIFY COLUMN updatedAt TIMESTAMP
+    GENERATED ALWAYS AS (TIMESTAMP(STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T'))) NOT NULL;
+
+UPDATE table_entity SET updatedAt = STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T') WHERE json IS NOT NULL;
+
+ALTER TABLE entity_extension MODIFY COLUMN updatedAt DATETIME
+    GENERATED ALWAYS AS (STR_TO_DATE(LEFT(json ->> '$.updatedAt', 19), '%Y-%m-%dT%T')) VIRTUAL;
@@ -0,0 +1,9 @@
+--
+-- Split each entity counter into rows that are summed on read, so that concurrent creates of entities of the same type
+-- update different rows instead of waiting for the lock on the row with an empty containerId. Existing counters are
+-- kept in stripe 0.
+--
+ALTER TABLE entity_count
+    ADD COLUMN stripe TINYINT NOT NULL DEFAULT 0 AFTER containerId,  -- Row of the counter updated by a transaction
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (entityType, containerId, stripe);
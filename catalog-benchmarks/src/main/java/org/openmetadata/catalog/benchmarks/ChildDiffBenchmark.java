@@ -0,0 +1,85 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.util.ChildDiff;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the changed columns of a wide table when it is updated, with one column in ten changed. Compares matching
+ * the columns by key with {@link ChildDiff} to comparing every updated column with every stored column using nested
+ * loops, as the entity updaters did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChildDiffBenchmark {
+  @Param({"100", "1000", "3000"})
+  public int columnCount;
+
+  private List<Column> stored;
+  private List<Column> updated;
+
+  @Setup
+  public void setUp() {
+    stored = Tables.create(columnCount).getColumns();
+    updated = new ArrayList<>(columnCount);
+    for (Column column : Tables.create(columnCount).getColumns()) {
+      updated.add(column.getOrdinalPosition() % 10 == 0 ? column.withDescription("updated") : column);
+    }
+  }
+
+  @Benchmark
+  public int diffByKey() {
+    return ChildDiff.diff(stored, updated, Column::getName).getChanged().size();
+  }
+
+  @Benchmark
+  public int diffWithNestedLoops() {
+    int changed = 0;
+    for (Column updatedColumn : updated) {
+      for (Column storedColumn : stored) {
+        if (storedColumn.getName().equals(updatedColumn.getName())) {
+          if (!storedColumn.equals(updatedColumn)) {
+            changed++;
+          }
+          break;
+        }
+      }
+    }
+    return changed;
+  }
+}
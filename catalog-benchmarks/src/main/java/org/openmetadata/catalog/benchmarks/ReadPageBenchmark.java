@@ -0,0 +1,88 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.util.EntityCodec;
+import org.openmetadata.catalog.util.JsonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a page of tables as list endpoints do. Compares copying each row into a String and parsing the strings, as
+ * the DAOs did when they returned {@code List<String>}, with parsing each row from its stored bytes as
+ * {@link org.openmetadata.catalog.jdbi3.EntityRowMapper} does. Run with {@code -prof gc} to compare the bytes
+ * allocated per page, reported as gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPageBenchmark {
+  @Param({"100"})
+  public int pageSize;
+
+  @Param({"50"})
+  public int columnCount;
+
+  private List<byte[]> page;
+
+  @Setup
+  public void setUp() throws IOException {
+    page = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      page.add(JsonUtils.pojoToJsonBytes(Tables.create(columnCount)));
+    }
+  }
+
+  @Benchmark
+  public List<Table> readFromStrings() throws IOException {
+    List<String> jsons = new ArrayList<>(page.size());
+    for (byte[] row : page) {
+      jsons.add(new String(row, StandardCharsets.UTF_8));
+    }
+    return JsonUtils.readObjects(jsons, Table.class);
+  }
+
+  @Benchmark
+  public List<Table> readFromStreams() throws IOException {
+    List<Table> tables = new ArrayList<>(page.size());
+    for (byte[] row : page) {
+      tables.add(EntityCodec.decode(new ByteArrayInputStream(row), Table.class));
+    }
+    return tables;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.util.JsonUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the stored form of a wide table, which is the table document and a document for each column. Compares the
+ * stored form mix-ins used by {@link JsonUtils#pojoToStoredJson(Object)} with copying the columns without tags and
+ * setting the relationship fields of the table to null around the write, as the repositories did before. Run with
+ * {@code -prof gc} to compare the bytes allocated per write, reported as gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoredFormBenchmark {
+  @Param({"2000"})
+  public int columnCount;
+
+  private Table table;
+
+  @Setup
+  public void setUp() {
+    table = Tables.createWithRelationships(columnCount);
+  }
+
+  @Benchmark
+  public List<String> storeWithMixIns() throws IOException {
+    List<String> stored = new ArrayList<>(table.getColumns().size() + 1);
+    stored.add(JsonUtils.pojoToStoredJson(table));
+    for (Column column : table.getColumns()) {
+      stored.add(JsonUtils.pojoToStoredJson(column));
+    }
+    return stored;
+  }
+
+  @Benchmark
+  public List<String> storeByCopying() throws IOException {
+    EntityReference owner = table.getOwner();
+    List<TagLabel> tags = table.getTags();
+    URI href = table.getHref();
+    List<Column> columns = table.getColumns();
+    List<Column> copy = copyWithoutTags(columns);
+    table.withOwner(null).withTags(null).withHref(null).withColumns(null);
+
+    List<String> stored = new ArrayList<>(copy.size() + 1);
+    stored.add(JsonUtils.pojoToJson(table));
+    for (Column column : copy) {
+      stored.add(JsonUtils.pojoToJson(column));
+    }
+    table.withOwner(owner).withTags(tags).withHref(href).withColumns(columns);
+    return stored;
+  }
+
+  private static List<Column> copyWithoutTags(List<Column> columns) {
+    if (columns == null) {
+      return null;
+    }
+    List<Column> copy = new ArrayList<>(columns.size());
+    for (Column column : columns) {
+      copy.add(new Column().withName(column.getName()).withDataType(column.getDataType())
+              .withDataTypeDisplay(column.getDataTypeDisplay()).withDescription(column.getDescription())
+              .withFullyQualifiedName(column.getFullyQualifiedName()).withOrdinalPosition(column.getOrdinalPosition())
+              .withChildren(copyWithoutTags(column.getChildren())));
+    }
+    return copy;
+  }
+}
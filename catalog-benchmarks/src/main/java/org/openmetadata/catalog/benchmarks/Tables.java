@@ -0,0 +1,65 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.benchmarks;
+
+import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.ColumnDataType;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.TagLabel;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/** Tables used by the benchmarks, with as many columns as the wide tables the benchmarks are about */
+final class Tables {
+  private Tables() {
+  }
+
+  static Table create(int columnCount) {
+    List<Column> columns = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      columns.add(new Column().withName("column" + i).withDataType(ColumnDataType.VARCHAR).withDataLength(256)
+              .withDataTypeDisplay("varchar(256)").withFullyQualifiedName("service.db.table.column" + i)
+              .withDescription("Description of column " + i).withOrdinalPosition(i + 1));
+    }
+    return new Table().withId(UUID.randomUUID()).withName("table").withFullyQualifiedName("service.db.table")
+            .withDescription("Table with " + columnCount + " columns").withUpdatedBy("admin")
+            .withUpdatedAt(new Date()).withVersion(0.1).withColumns(columns);
+  }
+
+  /** Table with an owner, tags and href, and struct columns with a child column, all of them tagged */
+  static Table createWithRelationships(int columnCount) {
+    TagLabel tag = new TagLabel().withTagFQN("User.Address");
+    List<Column> columns = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      Column child = new Column().withName("child").withDataType(ColumnDataType.INT)
+              .withFullyQualifiedName("service.db.table.column" + i + ".child").withTags(List.of(tag));
+      columns.add(new Column().withName("column" + i).withDataType(ColumnDataType.STRUCT)
+              .withDataTypeDisplay("struct<child: int>").withFullyQualifiedName("service.db.table.column" + i)
+              .withDescription("Description of column " + i).withOrdinalPosition(i + 1).withTags(List.of(tag))
+              .withChildren(List.of(child)));
+    }
+    EntityReference owner = new EntityReference().withId(UUID.randomUUID()).withType("user");
+    return new Table().withId(UUID.randomUUID()).withName("table").withFullyQualifiedName("service.db.table")
+            .withOwner(owner).withTags(List.of(tag)).withColumns(columns).withHref(URI.create("http://localhost"));
+  }
+}
@@ -20,13 +20,13 @@ import com.google.inject.Guice;
 import com.google.inject.Injector;
 import io.dropwizard.Application;
 import io.dropwizard.assets.AssetsBundle;
+import io.dropwizard.db.DataSourceFactory;
 import io.dropwizard.health.conf.HealthConfiguration;
 import io.dropwizard.health.core.HealthCheckBundle;
 import io.dropwizard.jdbi3.JdbiFactory;
 import io.dropwizard.jersey.errors.EarlyEofExceptionMapper;
 import io.dropwizard.jersey.errors.LoggingExceptionMapper;
 import io.dropwizard.jersey.jackson.JsonProcessingExceptionMapper;
-import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.server.DefaultServerFactory;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
@@ -44,16 +44,23 @@ import org.openmetadata.catalog.events.EventFilter;
 import org.openmetadata.catalog.exception.CatalogGenericExceptionMapper;
 import org.openmetadata.catalog.exception.ConstraintViolationExceptionMapper;
 import org.openmetadata.catalog.exception.JsonMappingExceptionMapper;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.EntityTypeDictionary;
+import org.openmetadata.catalog.jdbi3.ReadReplicaFilter;
+import org.openmetadata.catalog.jdbi3.ReadReplicaRouter;
 import org.openmetadata.catalog.module.CatalogModule;
 import org.openmetadata.catalog.resources.CollectionRegistry;
 import org.openmetadata.catalog.resources.config.ConfigResource;
 import org.openmetadata.catalog.resources.search.SearchResource;
+import org.openmetadata.catalog.search.ManagedSearchBackend;
+import org.openmetadata.catalog.search.SearchBackend;
 import org.openmetadata.catalog.security.AuthenticationConfiguration;
 import org.openmetadata.catalog.security.AuthorizerConfiguration;
 import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.NoopAuthorizer;
 import org.openmetadata.catalog.security.NoopFilter;
 import org.openmetadata.catalog.security.auth.CatalogSecurityContextRequestFilter;
+import org.openmetadata.catalog.util.EntityCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -79,8 +86,9 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
           IllegalAccessException, InstantiationException, NoSuchMethodException, InvocationTargetException,
           IOException {
 
-    final JdbiFactory factory = new JdbiFactory();
-    final Jdbi jdbi = factory.build(environment, catalogConfig.getDataSourceFactory(), "mysql3");
+    final Jdbi jdbi = createJdbi(environment, catalogConfig.getDataSourceFactory(), "mysql3");
+    EntityCodec.setWriteCodec(catalogConfig.getEntityStorageFormat());
+    EntityTypeDictionary.load(jdbi.onDemand(CollectionDAO.class).entityTypeDAO().list());
 
 
     // Register Authorizer
@@ -165,21 +173,29 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
     }
   }
 
-  private void registerResources(CatalogApplicationConfig config, Environment environment, Jdbi jdbi) throws IOException {
-    CollectionRegistry.getInstance().registerResources(jdbi, environment, authorizer);
+  private static Jdbi createJdbi(Environment environment, DataSourceFactory dataSourceFactory, String name) {
+    return new JdbiFactory().build(environment, dataSourceFactory, name);
+  }
 
-    environment.lifecycle().manage(new Managed() {
-      @Override
-      public void start() {
-      }
+  private void registerResources(CatalogApplicationConfig config, Environment environment, Jdbi jdbi) throws IOException {
+    CollectionDAO dao = jdbi.onDemand(CollectionDAO.class);
+    ReadReplicaConfiguration replicaConfig = config.getReadReplicaConfiguration();
+    if (replicaConfig != null) {
+      // Read only requests are served from the replica. Its connection pool has its own metrics and health check.
+      Jdbi replicaJdbi = createJdbi(environment, replicaConfig.getDataSourceFactory(), "mysql3-replica");
+      ReadReplicaRouter router = new ReadReplicaRouter(replicaJdbi, replicaConfig, environment.metrics());
+      environment.lifecycle().manage(router);
+      environment.jersey().register(new ReadReplicaFilter(router));
+      dao = router.route(CollectionDAO.class, dao, replicaJdbi.onDemand(CollectionDAO.class));
+      LOG.info("Registered read replica {}", replicaConfig.getDataSourceFactory().getUrl());
+    }
+    CollectionRegistry.getInstance().registerResources(dao, environment, authorizer);
 
-      @Override
-      public void stop() {
-        long startTime = System.currentTimeMillis();
-        LOG.info("Took " + (System.currentTimeMillis() - startTime) + " ms to close all the services");
-      }
-    });
-    environment.jersey().register(new SearchResource(config.getElasticSearchConfiguration()));
+    ManagedSearchBackend managedSearchBackend = new ManagedSearchBackend(config.getElasticSearchConfiguration());
+    SearchBackend searchBackend = managedSearchBackend.getBackend();
+    searchBackend.registerMetrics(environment.metrics());
+    environment.lifecycle().manage(managedSearchBackend);
+    environment.jersey().register(new SearchResource(searchBackend));
     environment.jersey().register(new JsonPatchProvider());
     ErrorPageErrorHandler eph = new ErrorPageErrorHandler();
     eph.addErrorPage(Response.Status.NOT_FOUND.getStatusCode(), "/");
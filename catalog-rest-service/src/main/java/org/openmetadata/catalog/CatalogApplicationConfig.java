@@ -21,6 +21,7 @@ import io.dropwizard.health.conf.HealthConfiguration;
 import org.openmetadata.catalog.events.EventHandlerConfiguration;
 import org.openmetadata.catalog.security.AuthenticationConfiguration;
 import org.openmetadata.catalog.security.AuthorizerConfiguration;
+import org.openmetadata.catalog.util.EntityCodec;
 import io.dropwizard.Configuration;
 import io.dropwizard.db.DataSourceFactory;
 import io.federecio.dropwizard.swagger.SwaggerBundleConfiguration;
@@ -49,6 +50,13 @@ public class CatalogApplicationConfig extends Configuration {
     @JsonProperty("eventHandlerConfiguration")
     private EventHandlerConfiguration eventHandlerConfiguration;
 
+    @JsonProperty("entityStorageFormat")
+    private EntityCodec entityStorageFormat = EntityCodec.JSON;
+
+    @Valid
+    @JsonProperty("readReplica")
+    private ReadReplicaConfiguration readReplicaConfiguration;
+
     public DataSourceFactory getDataSourceFactory() {
         return dataSourceFactory;
     }
@@ -88,6 +96,22 @@ public class CatalogApplicationConfig extends Configuration {
         this.eventHandlerConfiguration = eventHandlerConfiguration;
     }
 
+    public EntityCodec getEntityStorageFormat() {
+        return entityStorageFormat;
+    }
+
+    public void setEntityStorageFormat(EntityCodec entityStorageFormat) {
+        this.entityStorageFormat = entityStorageFormat;
+    }
+
+    public ReadReplicaConfiguration getReadReplicaConfiguration() {
+        return readReplicaConfiguration;
+    }
+
+    public void setReadReplicaConfiguration(ReadReplicaConfiguration readReplicaConfiguration) {
+        this.readReplicaConfiguration = readReplicaConfiguration;
+    }
+
     @Valid
     @NotNull
     @JsonProperty("health")
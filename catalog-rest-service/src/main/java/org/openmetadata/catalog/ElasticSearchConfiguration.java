@@ -16,6 +16,7 @@
 
 package org.openmetadata.catalog;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 
 public class ElasticSearchConfiguration {
@@ -30,6 +31,47 @@ public class ElasticSearchConfiguration {
 
     private String password;
 
+    /** Search backend, {@code elasticsearch} for an external cluster or {@code lucene} for embedded indexes */
+    private String backend = "elasticsearch";
+
+    /** Directory of the embedded indexes used by the {@code lucene} backend */
+    private String indexDirectory;
+
+    /** Maximum number of search results cached. Caching is turned off when set to 0 */
+    @Min(0)
+    private int cacheSize = 1000;
+
+    /** Seconds for which a cached search result is served, which bounds how stale results from other writers are */
+    @Min(1)
+    private int cacheTtlSeconds = 10;
+
+    /** Milliseconds to wait for a connection to the cluster, including a connection from the pool */
+    @Min(1)
+    private int connectionTimeoutMillis = 5000;
+
+    /** Milliseconds to wait for the response to a search before it fails */
+    @Min(1)
+    private int searchTimeoutMillis = 10000;
+
+    /** Milliseconds to wait for the response to an update of the indexes before it fails */
+    @Min(1)
+    private int updateTimeoutMillis = 30000;
+
+    /** Maximum number of connections to the cluster */
+    @Min(1)
+    private int maxConnections = 50;
+
+    /** Consecutive failed requests after which requests to the cluster are rejected for a while */
+    @Min(1)
+    private int circuitBreakerFailures = 5;
+
+    /** Seconds for which requests are rejected before one request tries the cluster again */
+    @Min(1)
+    private int circuitBreakerOpenSeconds = 30;
+
+    /** Serve suggestions from memory, loaded from the database, instead of the completion field of the indexes */
+    private boolean inMemorySuggestions = true;
+
     public String getHost() {
         return host;
     }
@@ -62,6 +104,94 @@ public class ElasticSearchConfiguration {
         this.password = password;
     }
 
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public String getIndexDirectory() {
+        return indexDirectory;
+    }
+
+    public void setIndexDirectory(String indexDirectory) {
+        this.indexDirectory = indexDirectory;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public int getCacheTtlSeconds() {
+        return cacheTtlSeconds;
+    }
+
+    public void setCacheTtlSeconds(int cacheTtlSeconds) {
+        this.cacheTtlSeconds = cacheTtlSeconds;
+    }
+
+    public int getConnectionTimeoutMillis() {
+        return connectionTimeoutMillis;
+    }
+
+    public void setConnectionTimeoutMillis(int connectionTimeoutMillis) {
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+    }
+
+    public int getSearchTimeoutMillis() {
+        return searchTimeoutMillis;
+    }
+
+    public void setSearchTimeoutMillis(int searchTimeoutMillis) {
+        this.searchTimeoutMillis = searchTimeoutMillis;
+    }
+
+    public int getUpdateTimeoutMillis() {
+        return updateTimeoutMillis;
+    }
+
+    public void setUpdateTimeoutMillis(int updateTimeoutMillis) {
+        this.updateTimeoutMillis = updateTimeoutMillis;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getCircuitBreakerFailures() {
+        return circuitBreakerFailures;
+    }
+
+    public void setCircuitBreakerFailures(int circuitBreakerFailures) {
+        this.circuitBreakerFailures = circuitBreakerFailures;
+    }
+
+    public int getCircuitBreakerOpenSeconds() {
+        return circuitBreakerOpenSeconds;
+    }
+
+    public void setCircuitBreakerOpenSeconds(int circuitBreakerOpenSeconds) {
+        this.circuitBreakerOpenSeconds = circuitBreakerOpenSeconds;
+    }
+
+    public boolean isInMemorySuggestions() {
+        return inMemorySuggestions;
+    }
+
+    public void setInMemorySuggestions(boolean inMemorySuggestions) {
+        this.inMemorySuggestions = inMemorySuggestions;
+    }
+
     @Override
     public String toString() {
         return "ElasticSearchConfiguration{" +
@@ -69,6 +199,17 @@ public class ElasticSearchConfiguration {
                 ", port=" + port +
                 ", username='" + username + '\'' +
                 ", password='" + password + '\'' +
+                ", backend='" + backend + '\'' +
+                ", indexDirectory='" + indexDirectory + '\'' +
+                ", cacheSize=" + cacheSize +
+                ", cacheTtlSeconds=" + cacheTtlSeconds +
+                ", connectionTimeoutMillis=" + connectionTimeoutMillis +
+                ", searchTimeoutMillis=" + searchTimeoutMillis +
+                ", updateTimeoutMillis=" + updateTimeoutMillis +
+                ", maxConnections=" + maxConnections +
+                ", circuitBreakerFailures=" + circuitBreakerFailures +
+                ", circuitBreakerOpenSeconds=" + circuitBreakerOpenSeconds +
+                ", inMemorySuggestions=" + inMemorySuggestions +
                 '}';
     }
 }
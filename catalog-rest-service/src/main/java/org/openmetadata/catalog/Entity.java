@@ -41,6 +41,9 @@ public final class Entity {
   public static final String USER = "user";
   public static final String TEAM = "team";
 
+  // Feeds
+  public static final String THREAD = "thread";
+
   private Entity() {
 
   }
@@ -0,0 +1,88 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.db.DataSourceFactory;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Optional read replica of the catalog database. Read only requests are served from the replica when its replication
+ * lag is within {@code maxLagSeconds}. A session that made a change reads from the primary database for
+ * {@code stickySeconds} after the change so that it sees its own writes.
+ */
+public class ReadReplicaConfiguration {
+
+    @Valid
+    @NotNull
+    @JsonProperty("database")
+    private DataSourceFactory dataSourceFactory;
+
+    @Min(0)
+    private int maxLagSeconds = 5;
+
+    @Min(0)
+    private int stickySeconds = 10;
+
+    @Min(1)
+    private int lagCheckIntervalSeconds = 5;
+
+    public DataSourceFactory getDataSourceFactory() {
+        return dataSourceFactory;
+    }
+
+    public void setDataSourceFactory(DataSourceFactory dataSourceFactory) {
+        this.dataSourceFactory = dataSourceFactory;
+    }
+
+    public int getMaxLagSeconds() {
+        return maxLagSeconds;
+    }
+
+    public void setMaxLagSeconds(int maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public int getStickySeconds() {
+        return stickySeconds;
+    }
+
+    public void setStickySeconds(int stickySeconds) {
+        this.stickySeconds = stickySeconds;
+    }
+
+    public int getLagCheckIntervalSeconds() {
+        return lagCheckIntervalSeconds;
+    }
+
+    public void setLagCheckIntervalSeconds(int lagCheckIntervalSeconds) {
+        this.lagCheckIntervalSeconds = lagCheckIntervalSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadReplicaConfiguration{" +
+                "dataSourceFactory=" + dataSourceFactory +
+                ", maxLagSeconds=" + maxLagSeconds +
+                ", stickySeconds=" + stickySeconds +
+                ", lagCheckIntervalSeconds=" + lagCheckIntervalSeconds +
+                '}';
+    }
+}
@@ -16,68 +16,73 @@
 
 package org.openmetadata.catalog.events;
 
-import org.apache.commons.lang3.StringUtils;
-import org.apache.http.HttpHost;
-import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.UsernamePasswordCredentials;
-import org.apache.http.client.CredentialsProvider;
-import org.apache.http.impl.client.BasicCredentialsProvider;
-import org.elasticsearch.action.ActionListener;
-import org.elasticsearch.action.update.UpdateRequest;
-import org.elasticsearch.action.update.UpdateResponse;
-import org.elasticsearch.client.RequestOptions;
-import org.elasticsearch.client.RestClient;
-import org.elasticsearch.client.RestClientBuilder;
-import org.elasticsearch.client.RestHighLevelClient;
 import org.jdbi.v3.core.Jdbi;
 import org.openmetadata.catalog.CatalogApplicationConfig;
-import org.openmetadata.catalog.ElasticSearchConfiguration;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.Dashboard;
 import org.openmetadata.catalog.entity.data.Pipeline;
 import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.entity.data.Topic;
+import org.openmetadata.catalog.entity.services.DashboardService;
+import org.openmetadata.catalog.entity.services.DatabaseService;
+import org.openmetadata.catalog.entity.services.MessagingService;
+import org.openmetadata.catalog.entity.services.PipelineService;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.DashboardRepository;
+import org.openmetadata.catalog.jdbi3.EntityRepository;
+import org.openmetadata.catalog.jdbi3.PipelineRepository;
+import org.openmetadata.catalog.jdbi3.TableRepository;
+import org.openmetadata.catalog.jdbi3.TopicRepository;
+import org.openmetadata.catalog.resources.dashboards.DashboardResource;
+import org.openmetadata.catalog.resources.databases.TableResource;
+import org.openmetadata.catalog.resources.pipelines.PipelineResource;
+import org.openmetadata.catalog.resources.topics.TopicResource;
+import org.openmetadata.catalog.search.SearchBackend;
+import org.openmetadata.catalog.search.SearchBackendFactory;
+import org.openmetadata.catalog.search.SearchIndex;
 import org.openmetadata.catalog.type.Column;
 import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.type.Task;
+import org.openmetadata.catalog.type.UsageDetails;
+import org.openmetadata.catalog.type.UsageStats;
+import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.ResultList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.PathSegment;
+import javax.ws.rs.core.UriInfo;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ElasticSearchEventHandler implements EventHandler {
-  private static final Logger LOG = LoggerFactory.getLogger(AuditEventHandler.class);
-  private RestHighLevelClient client;
-  private final ActionListener<UpdateResponse> listener = new ActionListener<>() {
-    @Override
-    public void onResponse(UpdateResponse updateResponse) {
-      LOG.info("Updated Elastic Search {}", updateResponse);
-    }
-
-    @Override
-    public void onFailure(Exception e) {
-      LOG.error("Failed to update Elastic Search", e);
-    }
-  };
+  private static final Logger LOG = LoggerFactory.getLogger(ElasticSearchEventHandler.class);
+  private static final int REINDEX_BATCH_SIZE = 100;
+  private SearchBackend backend;
+  private CollectionDAO dao;
+  /** Service type by entity type and service name, for the service facet */
+  private final Map<String, String> serviceTypes = new ConcurrentHashMap<>();
 
   public void init(CatalogApplicationConfig config, Jdbi jdbi) {
-    ElasticSearchConfiguration esConfig = config.getElasticSearchConfiguration();
-    RestClientBuilder restClientBuilder = RestClient.builder(new HttpHost(esConfig.getHost(), esConfig.getPort(), "http"));
-    if(StringUtils.isNotEmpty(esConfig.getUsername())){
-      CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
-      credentialsProvider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(esConfig.getUsername(), esConfig.getPassword()));
-      restClientBuilder.setHttpClientConfigCallback(httpAsyncClientBuilder -> {
-        httpAsyncClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
-        return  httpAsyncClientBuilder;
-      });
-    }
-    this.client = new RestHighLevelClient(restClientBuilder);
+    this.backend = SearchBackendFactory.getInstance(config.getElasticSearchConfiguration());
+    this.dao = jdbi.onDemand(CollectionDAO.class);
+    // Indexes without documents, such as embedded indexes and the indexes of a new search cluster, are built from
+    // the entities in the database in the background, along with suggestions served from memory
+    Thread reindexThread = new Thread(this::reindexIfNeeded, "search-reindex");
+    reindexThread.setDaemon(true);
+    reindexThread.start();
   }
 
   public Void process(ContainerRequestContext requestContext,
@@ -85,25 +90,9 @@ public class ElasticSearchEventHandler implements EventHandler {
     try {
       LOG.info("request Context "+ requestContext.toString());
       if (responseContext.getEntity() != null) {
-        Object entity = responseContext.getEntity();
-        UpdateRequest updateRequest = null;
-        String entityClass = entity.getClass().toString();
-        if (entityClass.toLowerCase().endsWith(Entity.TABLE.toLowerCase())) {
-          Table instance = (Table) entity;
-          updateRequest = updateTable(instance);
-        } else if (entityClass.toLowerCase().endsWith(Entity.DASHBOARD.toLowerCase())) {
-          Dashboard instance = (Dashboard) entity;
-          updateRequest = updateDashboard(instance);
-        } else if (entityClass.toLowerCase().endsWith(Entity.TOPIC.toLowerCase())) {
-          Topic instance = (Topic) entity;
-          updateRequest = updateTopic(instance);
-        }  else if (entityClass.toLowerCase().endsWith(Entity.PIPELINE.toLowerCase())) {
-          Pipeline instance = (Pipeline) entity;
-          updateRequest = updatePipeline(instance);
-        }
-        if (updateRequest != null) {
-          client.updateAsync(updateRequest, RequestOptions.DEFAULT, listener);
-        }
+        index(responseContext.getEntity());
+      } else if (requestContext.getMethod().equals(HttpMethod.DELETE)) {
+        deleteDocument(requestContext);
       }
     } catch (Exception e) {
       LOG.error("failed to update ES doc", e);
@@ -111,103 +100,181 @@ public class ElasticSearchEventHandler implements EventHandler {
     return null;
   }
 
-  private UpdateRequest updateTable(Table instance) {
+  private void index(Object entity) throws IOException {
+    SearchDocument document = toSearchDocument(entity);
+    if (document != null) {
+      backend.updateDocument(document.index, document.id, document.doc);
+    }
+  }
+
+  /**
+   * Delete the document of an entity deleted with {@code DELETE <collection>/{id}}. Other deletes, such as removing
+   * a follower, return the updated entity and update its document instead.
+   */
+  private void deleteDocument(ContainerRequestContext requestContext) {
+    UriInfo uriInfo = requestContext.getUriInfo();
+    String id = uriInfo.getPathParameters().getFirst("id");
+    List<Object> resources = uriInfo.getMatchedResources();
+    List<PathSegment> segments = uriInfo.getPathSegments();
+    if (id == null || resources.isEmpty() || !id.equals(segments.get(segments.size() - 1).getPath())) {
+      return;
+    }
+    SearchIndex index = getSearchIndex(resources.get(0));
+    if (index != null) {
+      backend.deleteDocument(index.getIndexName(), id);
+    }
+  }
+
+  /** Search index of the entities of a resource, or null when they are not searched */
+  private static SearchIndex getSearchIndex(Object resource) {
+    if (resource instanceof TableResource) {
+      return SearchIndex.TABLE;
+    } else if (resource instanceof DashboardResource) {
+      return SearchIndex.DASHBOARD;
+    } else if (resource instanceof TopicResource) {
+      return SearchIndex.TOPIC;
+    } else if (resource instanceof PipelineResource) {
+      return SearchIndex.PIPELINE;
+    }
+    return null;
+  }
+
+  /** Search document of the entity, or null when entities of its type are not searched */
+  private SearchDocument toSearchDocument(Object entity) throws IOException {
+    String entityClass = entity.getClass().toString();
+    if (entityClass.toLowerCase().endsWith(Entity.TABLE.toLowerCase())) {
+      Table instance = (Table) entity;
+      return new SearchDocument(SearchIndex.TABLE, instance.getId(), updateTable(instance));
+    } else if (entityClass.toLowerCase().endsWith(Entity.DASHBOARD.toLowerCase())) {
+      Dashboard instance = (Dashboard) entity;
+      return new SearchDocument(SearchIndex.DASHBOARD, instance.getId(), updateDashboard(instance));
+    } else if (entityClass.toLowerCase().endsWith(Entity.TOPIC.toLowerCase())) {
+      Topic instance = (Topic) entity;
+      return new SearchDocument(SearchIndex.TOPIC, instance.getId(), updateTopic(instance));
+    }  else if (entityClass.toLowerCase().endsWith(Entity.PIPELINE.toLowerCase())) {
+      Pipeline instance = (Pipeline) entity;
+      return new SearchDocument(SearchIndex.PIPELINE, instance.getId(), updatePipeline(instance));
+    }
+    return null;
+  }
+
+  /** Document of an entity with all the fields of the search index */
+  private static final class SearchDocument {
+    private final String index;
+    private final String id;
+    private final Map<String, Object> doc;
+
+    private SearchDocument(SearchIndex index, UUID id, Map<String, Object> doc) {
+      this.index = index.getIndexName();
+      this.id = id.toString();
+      this.doc = doc;
+    }
+  }
+
+  private Map<String, Object> updateTable(Table instance) throws IOException {
     Map<String, Object> jsonMap = new HashMap<>();
+    String[] fqnParts = instance.getFullyQualifiedName().split("\\.");
+    jsonMap.put("table_id", instance.getId().toString());
+    jsonMap.put("table_name", instance.getName());
+    jsonMap.put("fqdn", instance.getFullyQualifiedName());
+    jsonMap.put("database", fqnParts.length > 1 ? fqnParts[1] : null);
+    addService(jsonMap, Entity.TABLE, fqnParts[0]);
+    jsonMap.put("suggest", List.of(suggest(instance.getFullyQualifiedName(), 5), suggest(instance.getName(), 10)));
     jsonMap.put("description", instance.getDescription());
     Set<String> tags = new HashSet<>();
+    List<String> columnNames = new ArrayList<>();
     List<String> columnDescriptions = new ArrayList<>();
-    if (instance.getTags() != null) {
-      instance.getTags().forEach(tag -> tags.add(tag.getTagFQN()));
-    }
+    addTags(tags, instance.getTags());
     if (instance.getColumns() != null) {
       for (Column column : instance.getColumns()) {
-        column.getTags().forEach(tag -> tags.add(tag.getTagFQN()));
+        addTags(tags, column.getTags());
+        columnNames.add(column.getName());
         columnDescriptions.add(column.getDescription());
       }
     }
-    
-    if (!tags.isEmpty()) {
-      List<String> tagsList = new ArrayList<>(tags);
-      String tierTag = null;
-      for (String tag: tagsList) {
-        if (tag.toLowerCase().matches("(.*)tier(.*)")) {
-          tierTag = tag;
-          break;
-        }
-      }
-      if (tierTag != null) {
-        tagsList.remove(tierTag);
-        jsonMap.put("tier", tierTag);
-      }
-      jsonMap.put("tags", tagsList);
-    }
-    if (!columnDescriptions.isEmpty()) {
+    putTags(jsonMap, tags);
+    if (!columnNames.isEmpty()) {
+      jsonMap.put("column_names", columnNames);
       jsonMap.put("column_descriptions", columnDescriptions);
     }
-    if(instance.getOwner() != null) {
-      jsonMap.put("owner", instance.getOwner().getId().toString());
-    }
-    if (instance.getFollowers() != null) {
-      List<String> followers = new ArrayList<>();
-      for(EntityReference follower: instance.getFollowers()) {
-        followers.add(follower.getId().toString());
-      }
-      jsonMap.put("followers", followers);
-    }
-    jsonMap.put("last_updated_timestamp", System.currentTimeMillis());
-    UpdateRequest updateRequest = new UpdateRequest("table_search_index", instance.getId().toString());
-    updateRequest.doc(jsonMap);
-    return updateRequest;
+    putOwnerAndFollowers(jsonMap, instance.getOwner(), instance.getFollowers());
+    putUsage(jsonMap, instance.getUsageSummary());
+    return jsonMap;
   }
 
-  private UpdateRequest updateTopic(Topic instance) {
+  private Map<String, Object> updateTopic(Topic instance) throws IOException {
     Map<String, Object> jsonMap = new HashMap<>();
+    jsonMap.put("topic_id", instance.getId().toString());
+    jsonMap.put("topic_name", instance.getName());
+    jsonMap.put("fqdn", instance.getFullyQualifiedName());
+    addService(jsonMap, Entity.TOPIC, instance.getFullyQualifiedName().split("\\.")[0]);
+    jsonMap.put("suggest", List.of(suggest(instance.getFullyQualifiedName(), 5), suggest(instance.getName(), 10)));
     jsonMap.put("description", instance.getDescription());
     Set<String> tags = new HashSet<>();
+    addTags(tags, instance.getTags());
+    putTags(jsonMap, tags);
+    putOwnerAndFollowers(jsonMap, instance.getOwner(), instance.getFollowers());
+    return jsonMap;
+  }
 
-    if (instance.getTags() != null) {
-      instance.getTags().forEach(tag -> tags.add(tag.getTagFQN()));
-    }
-    if (!tags.isEmpty()) {
-      List<String> tagsList = new ArrayList<>(tags);
-      String tierTag = null;
-      for (String tag: tagsList) {
-        if (tag.toLowerCase().matches("(.*)tier(.*)")) {
-          tierTag = tag;
-          break;
-        }
-      }
-      if (tierTag != null) {
-        tagsList.remove(tierTag);
-        jsonMap.put("tier", tierTag);
-      }
-      jsonMap.put("tags", tagsList);
-    }
-
-    if(instance.getOwner() != null) {
-      jsonMap.put("owner", instance.getOwner().getId().toString());
-    }
-    if (instance.getFollowers() != null) {
-      List<String> followers = new ArrayList<>();
-      for(EntityReference follower: instance.getFollowers()) {
-        followers.add(follower.getId().toString());
+  private Map<String, Object> updateDashboard(Dashboard instance) throws IOException {
+    Map<String, Object> jsonMap = new HashMap<>();
+    jsonMap.put("dashboard_id", instance.getId().toString());
+    jsonMap.put("dashboard_name", instance.getDisplayName() != null ? instance.getDisplayName() : instance.getName());
+    jsonMap.put("fqdn", instance.getFullyQualifiedName());
+    addService(jsonMap, Entity.DASHBOARD, instance.getFullyQualifiedName().split("\\.")[0]);
+    jsonMap.put("suggest", List.of(suggest((String) jsonMap.get("dashboard_name"), 10)));
+    jsonMap.put("description", instance.getDescription());
+    Set<String> tags = new HashSet<>();
+    addTags(tags, instance.getTags());
+    putTags(jsonMap, tags);
+    if (instance.getCharts() != null && !instance.getCharts().isEmpty()) {
+      List<String> chartNames = new ArrayList<>();
+      List<String> chartDescriptions = new ArrayList<>();
+      for (EntityReference chart : instance.getCharts()) {
+        chartNames.add(chart.getDisplayName() != null ? chart.getDisplayName() : chart.getName());
+        chartDescriptions.add(chart.getDescription());
       }
-      jsonMap.put("followers", followers);
+      jsonMap.put("chart_names", chartNames);
+      jsonMap.put("chart_descriptions", chartDescriptions);
     }
-    jsonMap.put("last_updated_timestamp", System.currentTimeMillis());
-    UpdateRequest updateRequest = new UpdateRequest("topic_search_index", instance.getId().toString());
-    updateRequest.doc(jsonMap);
-    return updateRequest;
+    putOwnerAndFollowers(jsonMap, instance.getOwner(), instance.getFollowers());
+    putUsage(jsonMap, instance.getUsageSummary());
+    return jsonMap;
   }
 
-  private UpdateRequest updateDashboard(Dashboard instance) {
+  private Map<String, Object> updatePipeline(Pipeline instance) throws IOException {
     Map<String, Object> jsonMap = new HashMap<>();
+    jsonMap.put("pipeline_id", instance.getId().toString());
+    jsonMap.put("pipeline_name", instance.getDisplayName() != null ? instance.getDisplayName() : instance.getName());
+    jsonMap.put("fqdn", instance.getFullyQualifiedName());
+    addService(jsonMap, Entity.PIPELINE, instance.getFullyQualifiedName().split("\\.")[0]);
+    jsonMap.put("suggest", List.of(suggest((String) jsonMap.get("pipeline_name"), 10)));
     jsonMap.put("description", instance.getDescription());
     Set<String> tags = new HashSet<>();
-    if (instance.getTags() != null) {
-      instance.getTags().forEach(tag -> tags.add(tag.getTagFQN()));
+    addTags(tags, instance.getTags());
+    putTags(jsonMap, tags);
+    if (instance.getTasks() != null && !instance.getTasks().isEmpty()) {
+      List<String> taskNames = new ArrayList<>();
+      List<String> taskDescriptions = new ArrayList<>();
+      for (Task task : instance.getTasks()) {
+        taskNames.add(task.getDisplayName() != null ? task.getDisplayName() : task.getName());
+        taskDescriptions.add(task.getDescription());
+      }
+      jsonMap.put("task_names", taskNames);
+      jsonMap.put("task_descriptions", taskDescriptions);
+    }
+    putOwnerAndFollowers(jsonMap, instance.getOwner(), instance.getFollowers());
+    return jsonMap;
+  }
+
+  private static void addTags(Set<String> tags, List<TagLabel> tagLabels) {
+    if (tagLabels != null) {
+      tagLabels.forEach(tag -> tags.add(tag.getTagFQN()));
     }
+  }
 
+  private static void putTags(Map<String, Object> jsonMap, Set<String> tags) {
     if (!tags.isEmpty()) {
       List<String> tagsList = new ArrayList<>(tags);
       String tierTag = null;
@@ -223,69 +290,149 @@ public class ElasticSearchEventHandler implements EventHandler {
       }
       jsonMap.put("tags", tagsList);
     }
+  }
 
-    if(instance.getOwner() != null) {
-      jsonMap.put("owner", instance.getOwner().getId().toString());
+  private static void putOwnerAndFollowers(Map<String, Object> jsonMap, EntityReference owner,
+                                           List<EntityReference> followers) {
+    if (owner != null) {
+      jsonMap.put("owner", owner.getId().toString());
     }
-    if (instance.getFollowers() != null) {
-      List<String> followers = new ArrayList<>();
-      for(EntityReference follower: instance.getFollowers()) {
-        followers.add(follower.getId().toString());
+    if (followers != null) {
+      List<String> followerIds = new ArrayList<>();
+      for (EntityReference follower: followers) {
+        followerIds.add(follower.getId().toString());
       }
-      jsonMap.put("followers", followers);
+      jsonMap.put("followers", followerIds);
     }
     jsonMap.put("last_updated_timestamp", System.currentTimeMillis());
-    UpdateRequest updateRequest = new UpdateRequest("dashboard_search_index", instance.getId().toString());
-    updateRequest.doc(jsonMap);
-    return updateRequest;
   }
 
-  private UpdateRequest updatePipeline(Pipeline instance) {
-    Map<String, Object> jsonMap = new HashMap<>();
-    jsonMap.put("description", instance.getDescription());
-    Set<String> tags = new HashSet<>();
-    if (instance.getTags() != null) {
-      instance.getTags().forEach(tag -> tags.add(tag.getTagFQN()));
+  /** Usage counts and percentile ranks, with the field names of the documents written by ingestion */
+  private static void putUsage(Map<String, Object> jsonMap, UsageDetails usage) {
+    if (usage == null) {
+      return;
     }
+    putUsageStats(jsonMap, "daily", usage.getDailyStats());
+    putUsageStats(jsonMap, "weekly", usage.getWeeklyStats());
+    putUsageStats(jsonMap, "monthly", usage.getMonthlyStats());
+  }
 
-    if (!tags.isEmpty()) {
-      List<String> tagsList = new ArrayList<>(tags);
-      String tierTag = null;
-      for (String tag: tagsList) {
-        if (tag.toLowerCase().matches("(.*)tier(.*)")) {
-          tierTag = tag;
-          break;
-        }
-      }
-      if (tierTag != null) {
-        tagsList.remove(tierTag);
-        jsonMap.put("tier", tierTag);
-      }
-      jsonMap.put("tags", tagsList);
+  private static void putUsageStats(Map<String, Object> jsonMap, String period, UsageStats stats) {
+    if (stats != null) {
+      jsonMap.put(period + "_stats", stats.getCount());
+      jsonMap.put(period + "_percentile_rank", stats.getPercentileRank());
     }
+  }
+
+  private static Map<String, Object> suggest(String input, int weight) {
+    Map<String, Object> suggest = new HashMap<>();
+    suggest.put("input", List.of(input));
+    suggest.put("weight", weight);
+    return suggest;
+  }
 
-    if(instance.getOwner() != null) {
-      jsonMap.put("owner", instance.getOwner().getId().toString());
+  private void addService(Map<String, Object> jsonMap, String entityType, String serviceName) throws IOException {
+    jsonMap.put("service", serviceName);
+    String serviceType = getServiceType(entityType, serviceName);
+    if (serviceType != null) {
+      jsonMap.put("service_type", serviceType);
     }
-    if (instance.getFollowers() != null) {
-      List<String> followers = new ArrayList<>();
-      for(EntityReference follower: instance.getFollowers()) {
-        followers.add(follower.getId().toString());
-      }
-      jsonMap.put("followers", followers);
+  }
+
+  private String getServiceType(String entityType, String serviceName) throws IOException {
+    String key = entityType + "." + serviceName;
+    String serviceType = serviceTypes.get(key);
+    if (serviceType != null) {
+      return serviceType;
     }
-    jsonMap.put("last_updated_timestamp", System.currentTimeMillis());
-    UpdateRequest updateRequest = new UpdateRequest("pipeline_search_index", instance.getId().toString());
-    updateRequest.doc(jsonMap);
-    return updateRequest;
+    Object type = null;
+    switch (entityType) {
+      case Entity.TABLE:
+        DatabaseService databaseService = dao.dbServiceDAO().findEntityByNameIfExists(serviceName);
+        type = databaseService == null ? null : databaseService.getServiceType();
+        break;
+      case Entity.TOPIC:
+        MessagingService messagingService = dao.messagingServiceDAO().findEntityByNameIfExists(serviceName);
+        type = messagingService == null ? null : messagingService.getServiceType();
+        break;
+      case Entity.DASHBOARD:
+        DashboardService dashboardService = dao.dashboardServiceDAO().findEntityByNameIfExists(serviceName);
+        type = dashboardService == null ? null : dashboardService.getServiceType();
+        break;
+      case Entity.PIPELINE:
+        PipelineService pipelineService = dao.pipelineServiceDAO().findEntityByNameIfExists(serviceName);
+        type = pipelineService == null ? null : pipelineService.getServiceType();
+        break;
+      default:
+        break;
+    }
+    if (type != null) {
+      serviceType = type.toString();
+      serviceTypes.put(key, serviceType);
+    }
+    return serviceType;
   }
 
-  public void close() {
+  private void reindexIfNeeded() {
+    reindexIfNeeded(SearchIndex.TABLE, new TableRepository(dao), new Fields(TableResource.FIELD_LIST,
+            "columns,owner,followers,tags,usageSummary"));
+    reindexIfNeeded(SearchIndex.TOPIC, new TopicRepository(dao), new Fields(TopicResource.FIELD_LIST,
+            "owner,followers,tags"));
+    reindexIfNeeded(SearchIndex.DASHBOARD, new DashboardRepository(dao), new Fields(DashboardResource.FIELD_LIST,
+            "owner,charts,followers,tags,usageSummary"));
+    reindexIfNeeded(SearchIndex.PIPELINE, new PipelineRepository(dao), new Fields(PipelineResource.FIELD_LIST,
+            "owner,tasks,followers,tags"));
+  }
+
+  /**
+   * Build the index from the entities in the database when it has no documents. Otherwise, load only the suggestions
+   * of the entities when suggestions are served from memory.
+   */
+  private <T> void reindexIfNeeded(SearchIndex index, EntityRepository<T> repository, Fields fields) {
+    boolean reindex = false;
+    try {
+      reindex = backend.needsReindex(index.getIndexName());
+    } catch (Exception e) {
+      // Suggestions are still loaded when the search cluster is down
+      LOG.error("Failed to check search index {}", index.getIndexName(), e);
+    }
     try {
-      this.client.close();
+      boolean suggestionsOnly = !reindex && backend.needsSuggestions(index.getIndexName());
+      if (!reindex && !suggestionsOnly) {
+        return;
+      }
+      LOG.info("Building search {} {} from the database", reindex ? "index" : "suggestions of",
+              index.getIndexName());
+      int count = 0;
+      String after = null;
+      do {
+        ResultList<T> entities = repository.listAfter(fields, null, REINDEX_BATCH_SIZE, after);
+        Map<String, Map<String, Object>> docs = new LinkedHashMap<>();
+        for (T entity : entities.getData()) {
+          SearchDocument document = toSearchDocument(entity);
+          if (suggestionsOnly) {
+            backend.loadSuggestions(document.index, document.id, document.doc);
+          } else {
+            docs.put(document.id, document.doc);
+          }
+          count++;
+        }
+        // Documents of each batch are indexed in one request
+        if (!docs.isEmpty()) {
+          backend.indexDocuments(index.getIndexName(), docs);
+        }
+        after = entities.getPaging().getAfter();
+      } while (after != null);
+      backend.suggestionsLoaded(index.getIndexName());
+      LOG.info("Built search {} {} with {} documents", reindex ? "index" : "suggestions of", index.getIndexName(),
+              count);
     } catch (Exception e) {
-      LOG.error("Failed to close elastic search", e);
+      LOG.error("Failed to build search index {}", index.getIndexName(), e);
     }
   }
 
+  public void close() {
+    // The search backend is shared with the search API and is closed when the application stops
+  }
+
 }
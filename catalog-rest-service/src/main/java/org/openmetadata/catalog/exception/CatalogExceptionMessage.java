@@ -55,4 +55,14 @@ public final class CatalogExceptionMessage {
   public static String invalidColumnFQN(String fqn) {
     return String.format("Invalid fully qualified column name %s", fqn);
   }
+
+  public static String entityVersionConflict(String entity, String id, Double version) {
+    return String.format("%s instance for %s was changed concurrently and is no longer at version %s",
+            StringUtils.capitalize(entity), id, version);
+  }
+
+  public static String ifMatchFailed(String entity, String id, Double ifMatch, Double version) {
+    return String.format("%s instance for %s is at version %s and not at version %s given in If-Match",
+            StringUtils.capitalize(entity), id, version, ifMatch);
+  }
 }
@@ -25,7 +25,6 @@ import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.Path;
 import javax.ws.rs.ProcessingException;
-import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.ExceptionMapper;
@@ -79,7 +78,7 @@ public class CatalogGenericExceptionMapper implements ExceptionMapper<Throwable>
               .entity(new ErrorMessage(FORBIDDEN.getStatusCode(), ex.getMessage()))
               .build();
     } else if (ex instanceof WebServiceException) {
-      final Response response = ((WebApplicationException) ex).getResponse();
+      final Response response = ((WebServiceException) ex).getResponse();
       Family family = response.getStatusInfo().getFamily();
       if (family.equals(Response.Status.Family.REDIRECTION)) {
         return response;
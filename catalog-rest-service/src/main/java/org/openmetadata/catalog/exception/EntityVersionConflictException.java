@@ -0,0 +1,46 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.exception;
+
+import javax.ws.rs.core.Response;
+
+/**
+ * Thrown when an entity update is based on a version of the entity that is no longer the stored version. Conflicts
+ * detected while storing an update are reported with status 409. Conflicts with the version given by a client in the
+ * {@code If-Match} header are reported with status 412.
+ */
+public final class EntityVersionConflictException extends WebServiceException {
+  private EntityVersionConflictException(Response.Status status, String message) {
+    super(status, message);
+  }
+
+  public static EntityVersionConflictException byVersion(String entity, String id, Double version) {
+    return new EntityVersionConflictException(Response.Status.CONFLICT,
+            CatalogExceptionMessage.entityVersionConflict(entity, id, version));
+  }
+
+  public static EntityVersionConflictException byIfMatch(String entity, String id, Double ifMatch,
+                                                         Double version) {
+    return new EntityVersionConflictException(Response.Status.PRECONDITION_FAILED,
+            CatalogExceptionMessage.ifMatchFailed(entity, id, ifMatch, version));
+  }
+
+  /** Returns true when the conflict was detected while storing the update and the update can be recomputed */
+  public boolean isRetryable() {
+    return getResponse().getStatus() == Response.Status.CONFLICT.getStatusCode();
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.openmetadata.catalog.util.EntityCodec;
+import org.openmetadata.catalog.util.EntityInterface;
+
+/**
+ * DAO of an entity table that has explicit id, name, updatedAt and updatedBy columns along with a jsonBlob column.
+ * Such tables store the entity in the format given by {@link EntityCodec#getWriteCodec()}, and the columns are written
+ * from the {@link EntityInterface} of the entity. The container methods of {@link EntityDAO} are overridden as well.
+ */
+public interface BinaryEntityDAO<T> extends EntityDAO<T> {
+  EntityInterface<T> getEntityInterface(T entity);
+}
@@ -0,0 +1,56 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.catalog.jdbi3;
+
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * UUIDs stored as 16 bytes in BINARY(16) columns instead of 36 characters. Bytes are in the same order as the hex
+ * digits of the string form, so that rows ordered by a binary id are in the same order as when ordered by the string
+ * form of the id.
+ */
+public final class BinaryUuid {
+  private BinaryUuid() {
+  }
+
+  public static byte[] toBytes(String id) {
+    UUID uuid = UUID.fromString(id);
+    return ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+  }
+
+  public static UUID toUuid(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+
+  /** Maps the binary id in the first column of a row to the string form of the id */
+  public static class Mapper implements RowMapper<String> {
+    @Override
+    public String map(ResultSet r, StatementContext ctx) throws SQLException {
+      byte[] bytes = r.getBytes(1);
+      return bytes == null ? null : toUuid(bytes).toString();
+    }
+  }
+}
@@ -62,7 +62,7 @@ public class BotsRepository extends EntityRepository<Bots>{
   public void validate(Bots entity) throws IOException { }
 
   @Override
-  public void store(Bots entity, boolean update) throws IOException {
+  public void store(Bots entity) throws IOException {
     dao.botsDAO().insert(entity);
   }
 
@@ -29,7 +29,6 @@ import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
-import org.openmetadata.catalog.util.JsonUtils;
 
 import java.io.IOException;
 import java.net.URI;
@@ -74,23 +73,9 @@ public class ChartRepository extends EntityRepository<Chart> {
   }
 
   @Override
-  public void store(Chart chart, boolean update) throws JsonProcessingException {
-    // Relationships and fields such as href are derived and not stored as part of json
-    EntityReference owner = chart.getOwner();
-    List<TagLabel> tags = chart.getTags();
-    EntityReference service = chart.getService();
-
-    // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
-    chart.withOwner(null).withService(null).withHref(null).withTags(null);
-
-    if (update) {
-      dao.chartDAO().update(chart.getId(), JsonUtils.pojoToJson(chart));
-    } else {
-      dao.chartDAO().insert(chart);
-    }
-
-    // Restore the relationships
-    chart.withOwner(owner).withService(service).withTags(tags);
+  public void store(Chart chart) throws JsonProcessingException {
+    // Relationships and fields such as href are derived and not stored as part of json. See StoredFormMixIns
+    dao.chartDAO().insert(chart);
   }
 
   @Override
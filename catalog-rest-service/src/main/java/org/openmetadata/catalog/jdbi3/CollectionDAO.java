@@ -5,8 +5,12 @@ import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.sqlobject.CreateSqlObject;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.statement.UseRowMapper;
+import org.jdbi.v3.sqlobject.transaction.Transactional;
 import org.openmetadata.catalog.entity.Bots;
 import org.openmetadata.catalog.entity.data.Chart;
 import org.openmetadata.catalog.entity.data.Dashboard;
@@ -41,21 +45,39 @@ import org.openmetadata.catalog.jdbi3.TableRepository.TableEntityInterface;
 import org.openmetadata.catalog.jdbi3.TeamRepository.TeamEntityInterface;
 import org.openmetadata.catalog.jdbi3.TopicRepository.TopicEntityInterface;
 import org.openmetadata.catalog.jdbi3.UserRepository.UserEntityInterface;
+import org.openmetadata.catalog.type.EntityCount;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.type.UsageDetails;
 import org.openmetadata.catalog.type.UsageStats;
+import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-
-public interface CollectionDAO {
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * DAOs of all the entities. Use {@link Transactional#inTransaction} to run several DAO calls in one transaction. Each
+ * call outside of it runs in a transaction of its own.
+ */
+public interface CollectionDAO extends Transactional<CollectionDAO> {
   @CreateSqlObject
   DatabaseDAO databaseDAO();
 
+  @CreateSqlObject
+  EntityCountDAO entityCountDAO();
+
   @CreateSqlObject
   EntityRelationshipDAO relationshipDAO();
 
@@ -65,6 +87,9 @@ public interface CollectionDAO {
   @CreateSqlObject
   EntityExtensionDAO entityExtensionDAO();
 
+  @CreateSqlObject
+  EntityTypeDAO entityTypeDAO();
+
   @CreateSqlObject
   UserDAO userDAO();
 
@@ -77,6 +102,9 @@ public interface CollectionDAO {
   @CreateSqlObject
   TableDAO tableDAO();
 
+  @CreateSqlObject
+  TableColumnDAO tableColumnDAO();
+
   @CreateSqlObject
   UsageDAO usageDAO();
 
@@ -133,6 +161,18 @@ public interface CollectionDAO {
     default EntityReference getEntityReference(Dashboard entity) {
       return new DashboardEntityInterface(entity).getEntityReference();
     }
+
+    @Override
+    default String getContainerColumn() { return "serviceId"; }
+
+    @Override
+    default String getContainerTable() { return "dashboard_service_entity"; }
+
+    @Override
+    default String getContainerNameColumn() { return "name"; }
+
+    @Override
+    default UUID getContainerId(Dashboard entity) { return entity.getService().getId(); }
   }
 
   interface DashboardServiceDAO extends EntityDAO<DashboardService> {
@@ -167,6 +207,18 @@ public interface CollectionDAO {
     default EntityReference getEntityReference(Database entity) {
       return new DatabaseEntityInterface(entity).getEntityReference();
     }
+
+    @Override
+    default String getContainerColumn() { return "serviceId"; }
+
+    @Override
+    default String getContainerTable() { return "dbservice_entity"; }
+
+    @Override
+    default String getContainerNameColumn() { return "name"; }
+
+    @Override
+    default UUID getContainerId(Database entity) { return entity.getService().getId(); }
   }
 
   interface DatabaseServiceDAO extends EntityDAO<DatabaseService> {
@@ -201,6 +253,15 @@ public interface CollectionDAO {
 
     @SqlQuery("SELECT json FROM entity_extension WHERE id = :id AND extension = :extension")
     String getEntityVersion(@Bind("id") String id, @Bind("extension") String extension);
+
+    /**
+     * Get the latest version of an entity updated on or before {@code asOf} (UTC time in format
+     * yyyy-MM-dd HH:mm:ss). This is a single seek on index (id, updatedAt) instead of scanning all versions.
+     */
+    @SqlQuery("SELECT json FROM entity_extension WHERE id = :id AND updatedAt <= :asOf AND extension " +
+            "LIKE CONCAT (:extensionPrefix, '.%') ORDER BY updatedAt DESC LIMIT 1")
+    String getEntityVersionAsOf(@Bind("id") String id, @Bind("extensionPrefix") String extensionPrefix,
+                                @Bind("asOf") String asOf);
   }
 
   class EntityVersionPair {
@@ -229,11 +290,60 @@ public interface CollectionDAO {
     }
   }
 
+  interface EntityTypeDAO {
+    @RegisterRowMapper(EntityTypeMapper.class)
+    @SqlQuery("SELECT id, name FROM entity_type")
+    List<Map.Entry<Integer, String>> list();
+  }
+
+  class EntityTypeMapper implements RowMapper<Map.Entry<Integer, String>> {
+    @Override
+    public Map.Entry<Integer, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+      return new AbstractMap.SimpleImmutableEntry<>(rs.getInt("id"), rs.getString("name"));
+    }
+  }
+
   interface EntityRelationshipDAO {
     @SqlUpdate("INSERT IGNORE INTO entity_relationship(fromId, toId, fromEntity, toEntity, relation) " +
             "VALUES (:fromId, :toId, :fromEntity, :toEntity, :relation)")
-    int insert(@Bind("fromId") String fromId, @Bind("toId") String toId, @Bind("fromEntity") String fromEntity,
-               @Bind("toEntity") String toEntity, @Bind("relation") int relation);
+    int insert(@BindUuid("fromId") String fromId, @BindUuid("toId") String toId,
+               @BindEntityType("fromEntity") String fromEntity, @BindEntityType("toEntity") String toEntity,
+               @Bind("relation") int relation);
+
+    @SqlBatch("INSERT IGNORE INTO entity_relationship(fromId, toId, fromEntity, toEntity, relation) " +
+            "VALUES (:fromId, :toId, :fromEntity, :toEntity, :relation)")
+    void insertBatch(@BindUuid("fromId") String fromId, @BindUuid("toId") List<String> toIds,
+                     @BindEntityType("fromEntity") String fromEntity, @BindEntityType("toEntity") String toEntity,
+                     @Bind("relation") int relation);
+
+    /**
+     * Update the relationships fromId --- relation --> entities of type toEntity to the given set of toIds. Current
+     * relationships are read in one query and only the relationships that are added or removed are written, in
+     * batches, instead of deleting all the relationships and inserting them again.
+     */
+    default void syncTo(String fromId, String fromEntity, List<String> toIds, String toEntity, int relation) {
+      Set<String> current = new HashSet<>(findTo(fromId, relation, toEntity));
+      Set<String> desired = new LinkedHashSet<>(toIds);
+
+      List<String> deleted = new ArrayList<>();
+      for (String toId : current) {
+        if (!desired.contains(toId)) {
+          deleted.add(toId);
+        }
+      }
+      List<String> added = new ArrayList<>();
+      for (String toId : desired) {
+        if (!current.contains(toId)) {
+          added.add(toId);
+        }
+      }
+      if (!deleted.isEmpty()) {
+        deleteBatch(fromId, deleted, relation);
+      }
+      if (!added.isEmpty()) {
+        insertBatch(fromId, added, fromEntity, toEntity, relation);
+      }
+    }
 
     //
     // Find to operations
@@ -242,18 +352,20 @@ public interface CollectionDAO {
             "WHERE fromId = :fromId AND relation = :relation " +
             "ORDER BY toId")
     @RegisterRowMapper(ToEntityReferenceMapper.class)
-    List<EntityReference> findTo(@Bind("fromId") String fromId, @Bind("relation") int relation);
+    List<EntityReference> findTo(@BindUuid("fromId") String fromId, @Bind("relation") int relation);
 
     @SqlQuery("SELECT toId FROM entity_relationship " +
             "WHERE fromId = :fromId AND relation = :relation AND toEntity = :toEntity " +
             "ORDER BY toId")
-    List<String> findTo(@Bind("fromId") String fromId, @Bind("relation") int relation,
-                        @Bind("toEntity") String toEntity);
+    @UseRowMapper(BinaryUuid.Mapper.class)
+    List<String> findTo(@BindUuid("fromId") String fromId, @Bind("relation") int relation,
+                        @BindEntityType("toEntity") String toEntity);
 
     @SqlQuery("SELECT count(*) FROM entity_relationship " +
             "WHERE fromId = :fromId AND relation = :relation AND toEntity = :toEntity " +
             "ORDER BY fromId")
-    int findToCount(@Bind("fromId") String fromId, @Bind("relation") int relation, @Bind("toEntity") String toEntity);
+    int findToCount(@BindUuid("fromId") String fromId, @Bind("relation") int relation,
+                    @BindEntityType("toEntity") String toEntity);
 
     //
     // Find from operations
@@ -261,47 +373,64 @@ public interface CollectionDAO {
     @SqlQuery("SELECT fromId FROM entity_relationship " +
             "WHERE toId = :toId AND relation = :relation AND fromEntity = :fromEntity " +
             "ORDER BY fromId")
-    List<String> findFrom(@Bind("toId") String toId, @Bind("relation") int relation,
-                          @Bind("fromEntity") String fromEntity);
+    @UseRowMapper(BinaryUuid.Mapper.class)
+    List<String> findFrom(@BindUuid("toId") String toId, @Bind("relation") int relation,
+                          @BindEntityType("fromEntity") String fromEntity);
 
     @SqlQuery("SELECT fromId, fromEntity FROM entity_relationship " +
             "WHERE toId = :toId AND relation = :relation " +
             "ORDER BY fromId")
     @RegisterRowMapper(FromEntityReferenceMapper.class)
-    List<EntityReference> findFrom(@Bind("toId") String toId, @Bind("relation") int relation);
+    List<EntityReference> findFrom(@BindUuid("toId") String toId, @Bind("relation") int relation);
 
     @SqlQuery("SELECT fromId, fromEntity FROM entity_relationship " +
             "WHERE toId = :toId AND relation = :relation AND fromEntity = :fromEntity " +
             "ORDER BY fromId")
     @RegisterRowMapper(FromEntityReferenceMapper.class)
-    List<EntityReference> findFromEntity(@Bind("toId") String toId, @Bind("relation") int relation,
-                                         @Bind("fromEntity") String fromEntity);
+    List<EntityReference> findFromEntity(@BindUuid("toId") String toId, @Bind("relation") int relation,
+                                         @BindEntityType("fromEntity") String fromEntity);
 
     //
     // Delete Operations
     //
     @SqlUpdate("DELETE from entity_relationship " +
             "WHERE fromId = :fromId AND toId = :toId AND relation = :relation")
-    void delete(@Bind("fromId") String fromId, @Bind("toId") String toId, @Bind("relation") int relation);
+    void delete(@BindUuid("fromId") String fromId, @BindUuid("toId") String toId, @Bind("relation") int relation);
+
+    @SqlBatch("DELETE from entity_relationship " +
+            "WHERE fromId = :fromId AND toId = :toId AND relation = :relation")
+    void deleteBatch(@BindUuid("fromId") String fromId, @BindUuid("toId") List<String> toIds,
+                     @Bind("relation") int relation);
 
     // Delete all the entity relationship fromID --- relation --> entity of type toEntity
     @SqlUpdate("DELETE from entity_relationship " +
             "WHERE fromId = :fromId AND relation = :relation AND toEntity = :toEntity")
-    void deleteFrom(@Bind("fromId") String fromId, @Bind("relation") int relation, @Bind("toEntity") String toEntity);
+    void deleteFrom(@BindUuid("fromId") String fromId, @Bind("relation") int relation,
+                    @BindEntityType("toEntity") String toEntity);
 
     // Delete all the entity relationship fromID --- relation --> to any entity
     @SqlUpdate("DELETE from entity_relationship " +
             "WHERE fromId = :fromId AND relation = :relation")
-    void deleteFrom(@Bind("fromId") String fromId, @Bind("relation") int relation);
+    void deleteFrom(@BindUuid("fromId") String fromId, @Bind("relation") int relation);
 
     // Delete all the entity relationship toId <-- relation --  entity of type fromEntity
     @SqlUpdate("DELETE from entity_relationship " +
             "WHERE toId = :toId AND relation = :relation AND fromEntity = :fromEntity")
-    void deleteTo(@Bind("toId") String toId, @Bind("relation") int relation, @Bind("fromEntity") String fromEntity);
+    void deleteTo(@BindUuid("toId") String toId, @Bind("relation") int relation,
+                  @BindEntityType("fromEntity") String fromEntity);
 
-    @SqlUpdate("DELETE from entity_relationship " +
-            "WHERE toId = :id OR fromId = :id")
-    void deleteAll(@Bind("id") String id);
+    // Delete all the entity relationships from or to an entity. Deleted using separate statements so that each one
+    // uses the primary key or toIdx index
+    @SqlUpdate("DELETE from entity_relationship WHERE fromId = :id")
+    void deleteAllFrom(@BindUuid("id") String id);
+
+    @SqlUpdate("DELETE from entity_relationship WHERE toId = :id")
+    void deleteAllTo(@BindUuid("id") String id);
+
+    default void deleteAll(String id) {
+      deleteAllFrom(id);
+      deleteAllTo(id);
+    }
   }
 
   interface FeedDAO {
@@ -318,42 +447,72 @@ public interface CollectionDAO {
     void update(@Bind("id") String id, @Bind("json") String json);
   }
 
+  /**
+   * Relationships between fields of entities, such as joins between columns, and between feeds and entities. The
+   * fully qualified names of the fields are stored as ids from {@link FqnDAO}.
+   */
   interface FieldRelationshipDAO {
-    @SqlUpdate("INSERT IGNORE INTO field_relationship(fromFQN, toFQN, fromType, toType, relation) " +
-            "VALUES (:fromFQN, :toFQN, :fromType, :toType, :relation)")
-    void insert(@Bind("fromFQN") String fromFQN, @Bind("toFQN") String toFQN, @Bind("fromType") String fromType,
+    @CreateSqlObject
+    FqnDAO fqnDAO();
+
+    @SqlUpdate("INSERT IGNORE INTO field_relationship(fromId, toId, fromType, toType, relation) " +
+            "VALUES (:fromId, :toId, :fromType, :toType, :relation)")
+    void insert(@Bind("fromId") int fromId, @Bind("toId") int toId, @Bind("fromType") String fromType,
                 @Bind("toType") String toType, @Bind("relation") int relation);
 
-    @SqlUpdate("INSERT INTO field_relationship(fromFQN, toFQN, fromType, toType, relation, jsonSchema, json) " +
-            "VALUES (:fromFQN, :toFQN, :fromType, :toType, :relation, :jsonSchema, :json) " +
+    default void insert(String fromFQN, String toFQN, String fromType, String toType, int relation) {
+      insert(fqnDAO().getOrCreateId(fromFQN), fqnDAO().getOrCreateId(toFQN), fromType, toType, relation);
+    }
+
+    @SqlUpdate("INSERT INTO field_relationship(fromId, toId, fromType, toType, relation, jsonSchema, json) " +
+            "VALUES (:fromId, :toId, :fromType, :toType, :relation, :jsonSchema, :json) " +
             "ON DUPLICATE KEY UPDATE json = :json")
-    void upsert(@Bind("fromFQN") String fromFQN, @Bind("toFQN") String toFQN, @Bind("fromType") String fromType,
+    void upsert(@Bind("fromId") int fromId, @Bind("toId") int toId, @Bind("fromType") String fromType,
                 @Bind("toType") String toType, @Bind("relation") int relation,
                 @Bind("jsonSchema") String jsonSchema, @Bind("json") String json);
 
-    @SqlQuery("SELECT json FROM field_relationship WHERE " +
-            "fromFQN = :fromFQN AND toFQN = :toFQN AND fromType = :fromType " +
-            "AND toType = :toType AND relation = :relation")
+    default void upsert(String fromFQN, String toFQN, String fromType, String toType, int relation,
+                        String jsonSchema, String json) {
+      upsert(fqnDAO().getOrCreateId(fromFQN), fqnDAO().getOrCreateId(toFQN), fromType, toType, relation,
+              jsonSchema, json);
+    }
+
+    @SqlQuery("SELECT r.json FROM field_relationship r " +
+            "JOIN fqn_dictionary f ON f.id = r.fromId JOIN fqn_dictionary t ON t.id = r.toId WHERE " +
+            "f.fqn = :fromFQN AND t.fqn = :toFQN AND r.fromType = :fromType " +
+            "AND r.toType = :toType AND r.relation = :relation")
     String find(@Bind("fromFQN") String fromFQN, @Bind("toFQN") String toFQN,
                 @Bind("fromType") String fromType, @Bind("toType") String toType,
                 @Bind("relation") int relation);
 
-    @SqlQuery("SELECT fromFQN, toFQN, json FROM field_relationship WHERE " +
-            "toFQN LIKE CONCAT(:fqnPrefix, '%') AND fromType = :fromType AND toType = :toType AND relation = :relation")
+    @SqlQuery("SELECT f.fqn AS fromFQN, t.fqn AS toFQN, r.json FROM fqn_dictionary t " +
+            "JOIN field_relationship r ON r.toId = t.id JOIN fqn_dictionary f ON f.id = r.fromId WHERE " +
+            "t.fqn LIKE CONCAT(:fqnPrefix, '%') AND r.fromType = :fromType AND r.toType = :toType " +
+            "AND r.relation = :relation")
     @RegisterRowMapper(FromFieldMapper.class)
     List<List<String>> listFromByPrefix(@Bind("fqnPrefix") String fqnPrefix, @Bind("fromType") String fromType,
                                   @Bind("toType") String toType, @Bind("relation") int relation);
 
-    @SqlQuery("SELECT fromFQN, toFQN, json FROM field_relationship WHERE " +
-            "fromFQN LIKE CONCAT(:fqnPrefix, '%') AND fromType = :fromType AND toType = :toType AND relation = :relation")
+    @SqlQuery("SELECT f.fqn AS fromFQN, t.fqn AS toFQN, r.json FROM fqn_dictionary f " +
+            "JOIN field_relationship r ON r.fromId = f.id JOIN fqn_dictionary t ON t.id = r.toId WHERE " +
+            "f.fqn LIKE CONCAT(:fqnPrefix, '%') AND r.fromType = :fromType AND r.toType = :toType " +
+            "AND r.relation = :relation")
     @RegisterRowMapper(ToFieldMapper.class)
     List<List<String>> listToByPrefix(@Bind("fqnPrefix") String fqnPrefix, @Bind("fromType") String fromType,
                                 @Bind("toType") String toType, @Bind("relation") int relation);
 
-    @SqlUpdate("DELETE from field_relationship WHERE " +
-            "(toFQN LIKE CONCAT(:fqnPrefix, '.%') OR fromFQN LIKE CONCAT(:fqnPrefix, '.%')) " +
-            "AND relation = :relation")
-    void deleteAllByPrefix(@Bind("fqnPrefix") String fqnPrefix, @Bind("relation") int relation);
+    @SqlUpdate("DELETE r FROM field_relationship r JOIN fqn_dictionary f ON f.id = r.fromId " +
+            "WHERE f.fqn LIKE CONCAT(:fqnPrefix, '.%') AND r.relation = :relation")
+    void deleteAllFromByPrefix(@Bind("fqnPrefix") String fqnPrefix, @Bind("relation") int relation);
+
+    @SqlUpdate("DELETE r FROM field_relationship r JOIN fqn_dictionary t ON t.id = r.toId " +
+            "WHERE t.fqn LIKE CONCAT(:fqnPrefix, '.%') AND r.relation = :relation")
+    void deleteAllToByPrefix(@Bind("fqnPrefix") String fqnPrefix, @Bind("relation") int relation);
+
+    default void deleteAllByPrefix(String fqnPrefix, int relation) {
+      deleteAllFromByPrefix(fqnPrefix, relation);
+      deleteAllToByPrefix(fqnPrefix, relation);
+    }
 
     class ToFieldMapper implements RowMapper<List<String>> {
       @Override
@@ -370,6 +529,113 @@ public interface CollectionDAO {
     }
   }
 
+  /**
+   * Dictionary of fully qualified names of entities and their fields, such as columns and tags. Tables that refer to
+   * entities or fields by fully qualified name store the compact integer id from the dictionary instead of the name.
+   * Names under a prefix, such as the columns of a table, are found by a range scan of the unique index of the names.
+   */
+  interface FqnDAO {
+    @SqlQuery("SELECT id FROM fqn_dictionary WHERE fqn = :fqn")
+    Integer findId(@Bind("fqn") String fqn);
+
+    /**
+     * Returns the id of a name that may have been added by a transaction that committed after the snapshot of the
+     * current transaction, which a plain read does not see
+     */
+    @SqlQuery("SELECT id FROM fqn_dictionary WHERE fqn = :fqn LOCK IN SHARE MODE")
+    Integer findIdLocking(@Bind("fqn") String fqn);
+
+    @SqlUpdate("INSERT IGNORE INTO fqn_dictionary(fqn) VALUES (:fqn)")
+    void insert(@Bind("fqn") String fqn);
+
+    /**
+     * Returns the id of a fully qualified name, adding the name to the dictionary when needed. When a concurrent
+     * transaction adds the same name, the insert waits for it and is ignored, and the id is read with a locking read.
+     */
+    default int getOrCreateId(String fqn) {
+      Integer id = findId(fqn);
+      if (id != null) {
+        return id;
+      }
+      insert(fqn);
+      id = findIdLocking(fqn);
+      if (id == null) {
+        throw new IllegalStateException("Failed to add " + fqn + " to the dictionary of fully qualified names");
+      }
+      return id;
+    }
+  }
+
+  /**
+   * Number of entities of each type and of each container, such as the number of tables of a database. Counters are
+   * updated by {@link EntityDAO} in the transaction that creates or deletes an entity. The counter of all the entities
+   * of a type is stored with an empty container id.
+   *
+   * Each counter is split into {@value #STRIPES} rows that are summed on read. Each create or delete updates one of
+   * them at random, so that concurrent transactions creating entities of a type rarely wait for the lock on the same
+   * row. Rows may be negative as entities are deleted from other rows than they were counted in.
+   */
+  @RegisterRowMapper(EntityCountMapper.class)
+  interface EntityCountDAO {
+    int STRIPES = 16;
+
+    @SqlUpdate("INSERT INTO entity_count (entityType, containerId, stripe, total) " +
+            "VALUES (:entityType, :containerId, :stripe, :delta) ON DUPLICATE KEY UPDATE total = total + :delta")
+    void add(@Bind("entityType") String entityType, @Bind("containerId") String containerId,
+             @Bind("stripe") int stripe, @Bind("delta") int delta);
+
+    default void increment(String entityType, String containerId) {
+      add(entityType, containerId, ThreadLocalRandom.current().nextInt(STRIPES), 1);
+    }
+
+    default void decrement(String entityType, String containerId) {
+      add(entityType, containerId, ThreadLocalRandom.current().nextInt(STRIPES), -1);
+    }
+
+    @SqlQuery("SELECT GREATEST(COALESCE(SUM(total), 0), 0) FROM entity_count " +
+            "WHERE entityType = :entityType AND containerId = :containerId")
+    int getCount(@Bind("entityType") String entityType, @Bind("containerId") String containerId);
+
+    @SqlQuery("SELECT GREATEST(COALESCE(SUM(c.total), 0), 0) FROM entity_count c " +
+            "JOIN <containerTable> e ON e.id = c.containerId " +
+            "WHERE c.entityType = :entityType AND e.<containerNameColumn> = :containerName")
+    int getCountByContainer(@Bind("entityType") String entityType, @Define("containerTable") String containerTable,
+                            @Define("containerNameColumn") String containerNameColumn,
+                            @Bind("containerName") String containerName);
+
+    @SqlQuery("SELECT entityType, NULL AS name, GREATEST(SUM(total), 0) AS total FROM entity_count " +
+            "WHERE containerId = '' GROUP BY entityType ORDER BY entityType")
+    List<EntityCount> listTypeCounts();
+
+    /** Number of entities of type {@code entityType} in each service, where the container of the type is a service */
+    @SqlQuery("SELECT c.entityType, s.name, GREATEST(SUM(c.total), 0) AS total FROM entity_count c " +
+            "JOIN <serviceTable> s ON s.id = c.containerId WHERE c.entityType = :entityType " +
+            "GROUP BY c.entityType, s.name ORDER BY s.name")
+    List<EntityCount> listServiceCounts(@Bind("entityType") String entityType,
+                                        @Define("serviceTable") String serviceTable);
+
+    @SqlQuery("SELECT c.entityType, s.name, GREATEST(SUM(c.total), 0) AS total FROM entity_count c " +
+            "JOIN database_entity d ON d.id = c.containerId JOIN dbservice_entity s ON s.id = d.serviceId " +
+            "WHERE c.entityType = 'table' GROUP BY c.entityType, s.name ORDER BY s.name")
+    List<EntityCount> listTableServiceCounts();
+
+    /**
+     * Number of entities with each tier tag. Tier tags are applied and removed along with the other tags of an entity,
+     * so they are counted from tag_usage using the index on the tag id.
+     */
+    @SqlQuery("SELECT NULL AS entityType, t.fqn AS name, COUNT(*) AS total FROM fqn_dictionary t " +
+            "JOIN tag_usage u ON u.tagId = t.id WHERE t.fqn LIKE 'Tier.%' GROUP BY t.fqn ORDER BY t.fqn")
+    List<EntityCount> listTierCounts();
+
+    class EntityCountMapper implements RowMapper<EntityCount> {
+      @Override
+      public EntityCount map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new EntityCount().withEntityType(r.getString("entityType")).withName(r.getString("name"))
+                .withCount(r.getInt("total"));
+      }
+    }
+  }
+
   interface BotsDAO extends EntityDAO<Bots>{
     @Override
     default String getTableName() { return "bots_entity"; }
@@ -400,6 +666,18 @@ public interface CollectionDAO {
     default EntityReference getEntityReference(Chart entity) {
       return new ChartEntityInterface(entity).getEntityReference();
     }
+
+    @Override
+    default String getContainerColumn() { return "serviceId"; }
+
+    @Override
+    default String getContainerTable() { return "dashboard_service_entity"; }
+
+    @Override
+    default String getContainerNameColumn() { return "name"; }
+
+    @Override
+    default UUID getContainerId(Chart entity) { return entity.getService().getId(); }
   }
 
   interface MessagingServiceDAO extends EntityDAO<MessagingService> {
@@ -464,6 +742,18 @@ public interface CollectionDAO {
     default EntityReference getEntityReference(Pipeline entity) {
       return new PipelineEntityInterface(entity).getEntityReference();
     }
+
+    @Override
+    default String getContainerColumn() { return "serviceId"; }
+
+    @Override
+    default String getContainerTable() { return "pipeline_service_entity"; }
+
+    @Override
+    default String getContainerNameColumn() { return "name"; }
+
+    @Override
+    default UUID getContainerId(Pipeline entity) { return entity.getService().getId(); }
   }
 
   interface PipelineServiceDAO extends EntityDAO<PipelineService> {
@@ -498,7 +788,7 @@ public interface CollectionDAO {
     }
   }
 
-  interface TableDAO extends EntityDAO<Table> {
+  interface TableDAO extends BinaryEntityDAO<Table> {
     @Override
     default String getTableName() {
       return "table_entity";
@@ -514,6 +804,55 @@ public interface CollectionDAO {
     default EntityReference getEntityReference(Table entity) {
       return new TableEntityInterface(entity).getEntityReference();
     }
+
+    @Override
+    default EntityInterface<Table> getEntityInterface(Table entity) {
+      return new TableEntityInterface(entity);
+    }
+
+    @Override
+    default String getContainerColumn() { return "databaseId"; }
+
+    @Override
+    default String getContainerTable() { return "database_entity"; }
+
+    @Override
+    default String getContainerNameColumn() { return "fullyQualifiedName"; }
+
+    @Override
+    default UUID getContainerId(Table entity) { return entity.getDatabase().getId(); }
+  }
+
+  /**
+   * Columns of a table stored separately from the table document, one row for each top level column along with its
+   * nested children. Column at index {@code ordinal} in the list of table columns is stored with that ordinal.
+   */
+  interface TableColumnDAO {
+    @SqlBatch("REPLACE INTO table_column(tableId, ordinal, json) VALUES (:tableId, :ordinal, :json)")
+    void upsert(@Bind("tableId") String tableId, @Bind("ordinal") List<Integer> ordinals,
+                @Bind("json") List<String> jsons);
+
+    @SqlQuery("SELECT json FROM table_column WHERE tableId = :tableId ORDER BY ordinal")
+    List<String> list(@Bind("tableId") String tableId);
+
+    @SqlQuery("SELECT json FROM table_column WHERE tableId = :tableId AND ordinal > :after ORDER BY ordinal " +
+            "LIMIT :limit")
+    List<String> listAfter(@Bind("tableId") String tableId, @Bind("limit") int limit, @Bind("after") int after);
+
+    @SqlQuery("SELECT json FROM table_column WHERE tableId = :tableId AND ordinal > :after ORDER BY ordinal " +
+            "LIMIT :limit")
+    @UseRowMapper(EntityRowMapper.StoredFormMapper.class)
+    List<byte[]> listStoredAfter(@Bind("tableId") String tableId, @Bind("limit") int limit,
+                                 @Bind("after") int after);
+
+    @SqlQuery("SELECT count(*) FROM table_column WHERE tableId = :tableId")
+    int listCount(@Bind("tableId") String tableId);
+
+    @SqlUpdate("DELETE FROM table_column WHERE tableId = :tableId AND ordinal >= :ordinal")
+    void deleteFrom(@Bind("tableId") String tableId, @Bind("ordinal") int ordinal);
+
+    @SqlUpdate("DELETE FROM table_column WHERE tableId = :tableId")
+    void deleteAll(@Bind("tableId") String tableId);
   }
 
   @RegisterRowMapper(TagLabelMapper.class)
@@ -545,21 +884,47 @@ public interface CollectionDAO {
     @SqlQuery("SELECT json FROM tag WHERE fullyQualifiedName = :fqn")
     String findTag(@Bind("fqn") String fqn);
 
-    @SqlUpdate("INSERT IGNORE INTO tag_usage (tagFQN, targetFQN, labelType, state) VALUES (:tagFQN, :targetFQN, " +
+    @CreateSqlObject
+    FqnDAO fqnDAO();
+
+    @SqlUpdate("INSERT IGNORE INTO tag_usage (tagId, targetId, labelType, state) VALUES (:tagId, :targetId, " +
             ":labelType, :state)")
-    void applyTag(@Bind("tagFQN") String tagFQN, @Bind("targetFQN") String targetFQN,
+    void applyTag(@Bind("tagId") int tagId, @Bind("targetId") int targetId,
                   @Bind("labelType") int labelType, @Bind("state") int state);
 
-    @SqlQuery("SELECT tagFQN, labelType, state FROM tag_usage WHERE targetFQN = :targetFQN ORDER BY tagFQN")
+    default void applyTag(String tagFQN, String targetFQN, int labelType, int state) {
+      applyTag(fqnDAO().getOrCreateId(tagFQN), fqnDAO().getOrCreateId(targetFQN), labelType, state);
+    }
+
+    @SqlQuery("SELECT t.fqn AS tagFQN, u.labelType, u.state FROM fqn_dictionary g " +
+            "JOIN tag_usage u ON u.targetId = g.id JOIN fqn_dictionary t ON t.id = u.tagId " +
+            "WHERE g.fqn = :targetFQN ORDER BY t.fqn")
     List<TagLabel> getTags(@Bind("targetFQN") String targetFQN);
 
-    @SqlQuery("SELECT COUNT(*) FROM tag_usage WHERE tagFQN LIKE CONCAT(:fqnPrefix, '%')")
+    @SqlQuery("SELECT g.fqn AS targetFQN, t.fqn AS tagFQN, u.labelType, u.state FROM fqn_dictionary g " +
+            "JOIN tag_usage u ON u.targetId = g.id JOIN fqn_dictionary t ON t.id = u.tagId " +
+            "WHERE g.fqn LIKE CONCAT(:fqnPrefix, '.%') ORDER BY g.fqn, t.fqn")
+    @UseRowMapper(TargetTagLabelMapper.class)
+    List<Map.Entry<String, TagLabel>> listTagsByPrefix(@Bind("fqnPrefix") String fqnPrefix);
+
+    /** Returns the tags of all the targets, such as the columns of a table, under the given fully qualified name */
+    default Map<String, List<TagLabel>> getTagsByPrefix(String fqnPrefix) {
+      Map<String, List<TagLabel>> tags = new HashMap<>();
+      for (Map.Entry<String, TagLabel> tag : listTagsByPrefix(fqnPrefix)) {
+        tags.computeIfAbsent(tag.getKey(), k -> new ArrayList<>()).add(tag.getValue());
+      }
+      return tags;
+    }
+
+    @SqlQuery("SELECT COUNT(*) FROM fqn_dictionary t JOIN tag_usage u ON u.tagId = t.id " +
+            "WHERE t.fqn LIKE CONCAT(:fqnPrefix, '%')")
     int getTagCount(@Bind("fqnPrefix") String fqnPrefix);
 
-    @SqlUpdate("DELETE FROM tag_usage where targetFQN = :targetFQN")
+    @SqlUpdate("DELETE u FROM tag_usage u JOIN fqn_dictionary g ON g.id = u.targetId WHERE g.fqn = :targetFQN")
     void deleteTags(@Bind("targetFQN") String targetFQN);
 
-    @SqlUpdate("DELETE FROM tag_usage where targetFQN LIKE CONCAT(:fqnPrefix, '%')")
+    @SqlUpdate("DELETE u FROM tag_usage u JOIN fqn_dictionary g ON g.id = u.targetId " +
+            "WHERE g.fqn LIKE CONCAT(:fqnPrefix, '%')")
     void deleteTagsByPrefix(@Bind("fqnPrefix") String fqnPrefix);
 
     class TagLabelMapper implements RowMapper<TagLabel> {
@@ -570,6 +935,15 @@ public interface CollectionDAO {
                 .withTagFQN(r.getString("tagFQN"));
       }
     }
+
+    class TargetTagLabelMapper implements RowMapper<Map.Entry<String, TagLabel>> {
+      private final TagLabelMapper tagLabelMapper = new TagLabelMapper();
+
+      @Override
+      public Map.Entry<String, TagLabel> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new AbstractMap.SimpleEntry<>(r.getString("targetFQN"), tagLabelMapper.map(r, ctx));
+      }
+    }
   }
 
   interface TeamDAO extends EntityDAO<Team> {
@@ -602,6 +976,18 @@ public interface CollectionDAO {
     default EntityReference getEntityReference(Topic entity) {
       return new TopicEntityInterface(entity).getEntityReference();
     }
+
+    @Override
+    default String getContainerColumn() { return "serviceId"; }
+
+    @Override
+    default String getContainerTable() { return "messaging_service_entity"; }
+
+    @Override
+    default String getContainerNameColumn() { return "name"; }
+
+    @Override
+    default UUID getContainerId(Topic entity) { return entity.getService().getId(); }
   }
 
   @RegisterRowMapper(UsageDetailsMapper.class)
@@ -25,10 +25,10 @@ import org.openmetadata.catalog.resources.dashboards.DashboardResource;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.util.ChildDiff;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
-import org.openmetadata.catalog.util.JsonUtils;
 
 import java.io.IOException;
 import java.net.URI;
@@ -133,22 +133,9 @@ public class DashboardRepository extends EntityRepository<Dashboard> {
   }
 
   @Override
-  public void store(Dashboard dashboard, boolean update) throws JsonProcessingException {
-    // Relationships and fields such as href are derived and not stored as part of json
-    EntityReference owner = dashboard.getOwner();
-    List<TagLabel> tags = dashboard.getTags();
-
-    // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
-    dashboard.withOwner(null).withHref(null).withTags(null);
-
-    if (update) {
-      dao.dashboardDAO().update(dashboard.getId(), JsonUtils.pojoToJson(dashboard));
-    } else {
-      dao.dashboardDAO().insert(dashboard);
-    }
-
-    // Restore the relationships
-    dashboard.withOwner(owner).withTags(tags);
+  public void store(Dashboard dashboard) throws JsonProcessingException {
+    // Relationships and fields such as href are derived and not stored as part of json. See StoredFormMixIns
+    dao.dashboardDAO().insert(dashboard);
   }
 
   @Override
@@ -209,25 +196,6 @@ public class DashboardRepository extends EntityRepository<Dashboard> {
     return charts.isEmpty() ? null : charts;
   }
 
-  public void updateCharts(Dashboard original, Dashboard updated, EntityUpdater updater) {
-    String dashboardId = updated.getId().toString();
-
-    // Remove all charts associated with this dashboard
-    dao.relationshipDAO().deleteFrom(dashboardId, Relationship.CONTAINS.ordinal(), "chart");
-
-    // Add relationship from dashboard to chart
-    if (updated.getCharts() != null) {
-      for (EntityReference chart : updated.getCharts()) {
-        dao.relationshipDAO().insert(dashboardId, chart.getId().toString(), Entity.DASHBOARD, Entity.CHART,
-                Relationship.CONTAINS.ordinal());
-      }
-    }
-    List<UUID> origChartIds = EntityUtil.getIDList(original.getCharts());
-    List<UUID> updatedChartIds = EntityUtil.getIDList(updated.getCharts());
-    updater.recordChange("charts", origChartIds, updatedChartIds);
-  }
-
-
   public static class DashboardEntityInterface implements EntityInterface<Dashboard> {
     private final Dashboard entity;
 
@@ -337,21 +305,24 @@ public class DashboardRepository extends EntityRepository<Dashboard> {
     }
 
     private void updateCharts() {
-      String dashboardId = updated.getId().toString();
-
-      // Remove all charts associated with this dashboard
-      dao.relationshipDAO().deleteFrom(dashboardId, Relationship.CONTAINS.ordinal(), "chart");
-
-      // Add relationship from dashboard to chart
+      // Add and remove only the relationships from dashboard to charts that changed
+      List<String> chartIds = new ArrayList<>();
       if (updated.getEntity().getCharts() != null) {
         for (EntityReference chart : updated.getEntity().getCharts()) {
-          dao.relationshipDAO().insert(dashboardId, chart.getId().toString(), Entity.DASHBOARD, Entity.CHART,
-                  Relationship.CONTAINS.ordinal());
+          chartIds.add(chart.getId().toString());
         }
       }
-      List<UUID> origChartIds = EntityUtil.getIDList(original.getEntity().getCharts());
-      List<UUID> updatedChartIds = EntityUtil.getIDList(updated.getEntity().getCharts());
-      recordChange("charts", origChartIds, updatedChartIds);
+      dao.relationshipDAO().syncTo(updated.getId().toString(), Entity.DASHBOARD, chartIds, Entity.CHART,
+              Relationship.CONTAINS.ordinal());
+
+      // Charts are read back from relationships in no particular order. Record a change only when charts are added
+      // or removed
+      List<EntityReference> origCharts = original.getEntity().getCharts();
+      List<EntityReference> updatedCharts = updated.getEntity().getCharts();
+      if (origCharts == null || updatedCharts == null ||
+              ChildDiff.diff(origCharts, updatedCharts, EntityReference::getId).hasAddedOrDeleted()) {
+        recordChange("charts", EntityUtil.getIDList(origCharts), EntityUtil.getIDList(updatedCharts));
+      }
     }
   }
 }
@@ -88,7 +88,7 @@ public class DashboardServiceRepository extends EntityRepository<DashboardServic
   }
 
   @Override
-  public void store(DashboardService entity, boolean update) throws IOException {
+  public void store(DashboardService entity) throws IOException {
     dao.dashboardServiceDAO().insert(entity);
   }
 
@@ -27,7 +27,6 @@ import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
-import org.openmetadata.catalog.util.JsonUtils;
 
 import java.io.IOException;
 import java.net.URI;
@@ -73,22 +72,9 @@ public class DatabaseRepository extends EntityRepository<Database> {
   }
 
   @Override
-  public void store(Database database, boolean update) throws IOException {
-    // Relationships and fields such as href are derived and not stored as part of json
-    EntityReference owner = database.getOwner();
-    EntityReference service = database.getService();
-
-    // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
-    database.withOwner(null).withService(null).withHref(null);
-
-    if (update) {
-      dao.databaseDAO().update(database.getId(), JsonUtils.pojoToJson(database));
-    } else {
-      dao.databaseDAO().insert(database);
-    }
-
-    // Restore the relationships
-    database.withOwner(owner).withService(service);
+  public void store(Database database) throws IOException {
+    // Relationships and fields such as href are derived and not stored as part of json. See StoredFormMixIns
+    dao.databaseDAO().insert(database);
   }
 
   @Override
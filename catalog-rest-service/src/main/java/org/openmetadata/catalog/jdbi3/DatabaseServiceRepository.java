@@ -88,7 +88,7 @@ public class DatabaseServiceRepository extends EntityRepository<DatabaseService>
   }
 
   @Override
-  public void store(DatabaseService entity, boolean update) throws IOException {
+  public void store(DatabaseService entity) throws IOException {
     dao.dbServiceDAO().insert(entity);
     // TODO other cleanup
   }
@@ -17,22 +17,43 @@
 package org.openmetadata.catalog.jdbi3;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.jdbi.v3.core.result.ResultIterable;
+import org.jdbi.v3.sqlobject.CreateSqlObject;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.Define;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.statement.UseRowMapper;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
+import org.openmetadata.catalog.exception.EntityVersionConflictException;
 import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.util.EntityCodec;
+import org.openmetadata.catalog.util.EntityInterface;
+import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.JsonUtils;
+import org.openmetadata.catalog.util.PagingTotal;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 import static org.openmetadata.catalog.exception.CatalogExceptionMessage.entityNotFound;
 
 public interface EntityDAO<T> {
+  // Format used for binding explicit updatedAt column. Fractional seconds are left out, as MySQL would round them, so
+  // that the column is truncated to seconds like the generated updatedAt columns and the as of times
+  DateTimeFormatter UPDATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+          .withZone(ZoneOffset.UTC);
+  // Format of updatedAt in the json of entity_extension, from which its updatedAt column is generated
+  DateTimeFormatter EXTENSION_UPDATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+          .withZone(ZoneOffset.UTC);
+
   /**
    * Methods that need to be overridden by interfaces extending this
    */
@@ -41,15 +62,71 @@ public interface EntityDAO<T> {
   String getNameColumn();
   EntityReference getEntityReference(T entity);
 
+  /**
+   * Returns true for the DAOs of entity tables that store the entity in the format given by
+   * {@link EntityCodec#getWriteCodec()}, which extend {@link BinaryEntityDAO}. Don't override.
+   */
+  default boolean supportsBinaryStorage() { return this instanceof BinaryEntityDAO; }
+
+  /** This DAO as a {@link BinaryEntityDAO}, when {@link #supportsBinaryStorage()} returns true. Don't override. */
+  @SuppressWarnings("unchecked")
+  default BinaryEntityDAO<T> asBinaryEntityDAO() { return (BinaryEntityDAO<T>) this; }
+
+  /**
+   * Tables of entities that belong to a container, such as tables that belong to a database or topics that belong to
+   * a messaging service, override these. The id of the container is stored in column {@link #getContainerColumn()}
+   * when the entity is created, and is indexed along with the name column. Entities of a container are listed by the
+   * container id instead of by the prefix of their fully qualified names.
+   */
+  default String getContainerColumn() { return null; }
+
+  /** Table of the container entities */
+  default String getContainerTable() { return null; }
+
+  /** Column with the name of the container used in list filters, such as the fully qualified name of a database */
+  default String getContainerNameColumn() { return null; }
+
+  default UUID getContainerId(T entity) { return null; }
+
+  /** Type of the entity used for entity counters, such as table or databaseService */
+  default String getEntityType() {
+    String name = getEntityClass().getSimpleName();
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  /** Name of the entity used in the names of its extensions, such as table.version.0.1 */
+  default String getExtensionEntityName() {
+    return getEntityClass().getSimpleName().toLowerCase(Locale.ROOT);
+  }
+
+  @CreateSqlObject
+  CollectionDAO.EntityCountDAO entityCountDAO();
+
+  @CreateSqlObject
+  CollectionDAO.EntityExtensionDAO entityExtensionDAO();
+
   /**
    * Common queries for all entities implemented here. Do not override.
    */
   @SqlUpdate("INSERT INTO <table> (json) VALUES (:json)")
   void insert(@Define("table") String table, @Bind("json") String json);
 
+  @SqlUpdate("INSERT INTO <table> (json, <containerColumn>) VALUES (:json, :containerId)")
+  void insert(@Define("table") String table, @Define("containerColumn") String containerColumn,
+              @Bind("json") String json, @Bind("containerId") String containerId);
+
   @SqlUpdate("UPDATE <table> SET  json = :json WHERE id = :id")
   void update(@Define("table") String table, @Bind("id") String id, @Bind("json") String json);
 
+  /**
+   * Update the entity only when the stored version is still the version the update was computed from. Column version
+   * is generated from json. Entities stored without a version are updated unconditionally. Returns the number of rows
+   * updated, which is 0 when another update stored a different version first.
+   */
+  @SqlUpdate("UPDATE <table> SET json = :json WHERE id = :id AND (version = :version OR version IS NULL)")
+  int updateIfVersion(@Define("table") String table, @Bind("id") String id, @Bind("json") String json,
+                      @Bind("version") Double version);
+
   @SqlQuery("SELECT json FROM <table> WHERE id = :id")
   String findById(@Define("table") String table, @Bind("id") String id);
 
@@ -57,78 +134,372 @@ public interface EntityDAO<T> {
   String findByName(@Define("table") String table, @Define("nameColumn") String nameColumn,
                     @Bind("name") String name);
 
-  @SqlQuery("SELECT count(*) FROM <table> WHERE " +
-          "(<nameColumn> LIKE CONCAT(:fqnPrefix, '.%') OR :fqnPrefix IS NULL)")
-  int listCount(@Define("table") String table, @Define("nameColumn") String nameColumn,
-                @Bind("fqnPrefix") String fqnPrefix);
-
-  @SqlQuery(
-          "SELECT json FROM (" +
-                  "SELECT <nameColumn>, json FROM <table> WHERE " +
-                  "(<nameColumn> LIKE CONCAT(:fqnPrefix, '.%') OR :fqnPrefix IS NULL) AND " +// Filter by
-                  // service name
-                  "<nameColumn> < :before " + // Pagination by chart fullyQualifiedName
-                  "ORDER BY <nameColumn> DESC " + // Pagination ordering by chart fullyQualifiedName
-                  "LIMIT :limit" +
-                  ") last_rows_subquery ORDER BY <nameColumn>")
-  List<String> listBefore(@Define("table") String table,
-                          @Define("nameColumn") String nameColumn,
-                          @Bind("fqnPrefix") String fqnPrefix,
-                          @Bind("limit") int limit,
-                          @Bind("before") String before);
-
-  @SqlQuery("SELECT json FROM <table> WHERE " +
-          "(<nameColumn> LIKE CONCAT(:fqnPrefix, '.%') OR :fqnPrefix IS NULL) AND " +
-          "<nameColumn> > :after " +
-          "ORDER BY <nameColumn> " +
-          "LIMIT :limit")
-  List<String> listAfter(@Define("table") String table,
-                         @Define("nameColumn") String nameColumn,
-                         @Bind("fqnPrefix") String fqnPrefix,
-                         @Bind("limit") int limit,
-                         @Bind("after") String after);
+  /**
+   * Count queries for listing all the entities, the entities with the given prefix in their fully qualified names and
+   * the entities of a container. They are separate statements so that each one uses the index that fits the filter.
+   */
+  @SqlQuery("SELECT count(*) FROM <table>")
+  int listCount(@Define("table") String table);
+
+  @SqlQuery("SELECT count(*) FROM <table> WHERE <nameColumn> LIKE CONCAT(:fqnPrefix, '.%')")
+  int listCountByPrefix(@Define("table") String table, @Define("nameColumn") String nameColumn,
+                        @Bind("fqnPrefix") String fqnPrefix);
+
+  @SqlQuery("SELECT count(*) FROM <table> WHERE <containerColumn> = " +
+          "(SELECT id FROM <containerTable> WHERE <containerNameColumn> = :containerName)")
+  int listCountByContainer(@Define("table") String table, @Define("containerColumn") String containerColumn,
+                           @Define("containerTable") String containerTable,
+                           @Define("containerNameColumn") String containerNameColumn,
+                           @Bind("containerName") String containerName);
 
   @SqlQuery("SELECT EXISTS (SELECT * FROM <table> WHERE id = :id)")
   boolean exists(@Define("table") String table, @Bind("id") String id);
 
+  @SqlQuery("SELECT <containerColumn> FROM <table> WHERE id = :id")
+  String findContainerId(@Define("table") String table, @Define("containerColumn") String containerColumn,
+                         @Bind("id") String id);
+
+  @SqlQuery("SELECT version FROM <table> WHERE id = :id")
+  Double findVersion(@Define("table") String table, @Bind("id") String id);
+
   @SqlUpdate("DELETE FROM <table> WHERE id = :id")
   int delete(@Define("table") String table, @Bind("id") String id);
 
+  /**
+   * Common queries for entity tables that support binary storage. The entity is stored either as JSON text in json
+   * column or in binary form in jsonBlob column. The other column is set to null.
+   */
+  @SqlUpdate("INSERT INTO <table> (id, <nameColumn>, <containerColumn>, version, updatedAt, updatedBy, json, " +
+          "jsonBlob) VALUES (:id, :name, :containerId, :version, :updatedAt, :updatedBy, :json, :jsonBlob)")
+  void insertStored(@Define("table") String table, @Define("nameColumn") String nameColumn,
+                    @Define("containerColumn") String containerColumn, @Bind("id") String id,
+                    @Bind("name") String name, @Bind("containerId") String containerId,
+                    @Bind("version") Double version, @Bind("updatedAt") String updatedAt,
+                    @Bind("updatedBy") String updatedBy, @Bind("json") String json,
+                    @Bind("jsonBlob") byte[] jsonBlob);
+
+  @SqlUpdate("UPDATE <table> SET <nameColumn> = :name, version = :version, updatedAt = :updatedAt, " +
+          "updatedBy = :updatedBy, json = :json, jsonBlob = :jsonBlob WHERE id = :id")
+  void updateStored(@Define("table") String table, @Define("nameColumn") String nameColumn, @Bind("id") String id,
+                    @Bind("name") String name, @Bind("version") Double version,
+                    @Bind("updatedAt") String updatedAt, @Bind("updatedBy") String updatedBy,
+                    @Bind("json") String json, @Bind("jsonBlob") byte[] jsonBlob);
+
+  /** Version checked form of {@link #updateStored}. See {@link #updateIfVersion} */
+  @SqlUpdate("UPDATE <table> SET <nameColumn> = :name, version = :version, updatedAt = :updatedAt, " +
+          "updatedBy = :updatedBy, json = :json, jsonBlob = :jsonBlob " +
+          "WHERE id = :id AND (version = :expectedVersion OR version IS NULL)")
+  int updateStoredIfVersion(@Define("table") String table, @Define("nameColumn") String nameColumn,
+                            @Bind("id") String id, @Bind("name") String name, @Bind("version") Double version,
+                            @Bind("updatedAt") String updatedAt, @Bind("updatedBy") String updatedBy,
+                            @Bind("json") String json, @Bind("jsonBlob") byte[] jsonBlob,
+                            @Bind("expectedVersion") Double expectedVersion);
+
+  /**
+   * Queries that map rows to entities by parsing the stored form straight from the JDBC stream. See
+   * {@link EntityRowMapper}. List queries return {@link ResultIterable} so that rows can be processed one at a time.
+   * Column {@code jsonColumns} is "json" or "json, jsonBlob" for the tables that support binary storage.
+   */
+  @SqlQuery("SELECT <jsonColumns> FROM <table> WHERE id = :id")
+  @UseRowMapper(EntityRowMapper.class)
+  T findEntityById(@Define("table") String table, @Define("jsonColumns") String jsonColumns,
+                   @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass, @Bind("id") String id);
+
+  @SqlQuery("SELECT <jsonColumns> FROM <table> WHERE id = :id")
+  @UseRowMapper(EntityRowMapper.StoredFormMapper.class)
+  byte[] findStoredById(@Define("table") String table, @Define("jsonColumns") String jsonColumns,
+                        @Bind("id") String id);
+
+  @SqlQuery("SELECT <jsonColumns> FROM <table> WHERE <nameColumn> = :name")
+  @UseRowMapper(EntityRowMapper.class)
+  T findEntityByName(@Define("table") String table, @Define("nameColumn") String nameColumn,
+                     @Define("jsonColumns") String jsonColumns,
+                     @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass, @Bind("name") String name);
+
+  /**
+   * Keyset pagination by name of all the entities, the entities with the given prefix in their fully qualified names
+   * and the entities of a container. Entities of a container are read using the index on container and name columns.
+   * Pages before a cursor are read in descending order and returned in ascending order.
+   */
+  @SqlQuery("SELECT <jsonColumns> FROM (" +
+          "SELECT <nameColumn>, <jsonColumns> FROM <table> WHERE <nameColumn> < :before " +
+          "ORDER BY <nameColumn> DESC LIMIT :limit" +
+          ") last_rows_subquery ORDER BY <nameColumn>")
+  @UseRowMapper(EntityRowMapper.class)
+  ResultIterable<T> listEntitiesBefore(@Define("table") String table,
+                                       @Define("nameColumn") String nameColumn,
+                                       @Define("jsonColumns") String jsonColumns,
+                                       @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass,
+                                       @Bind("limit") int limit,
+                                       @Bind("before") String before);
+
+  @SqlQuery("SELECT <jsonColumns> FROM <table> WHERE <nameColumn> > :after ORDER BY <nameColumn> LIMIT :limit")
+  @UseRowMapper(EntityRowMapper.class)
+  ResultIterable<T> listEntitiesAfter(@Define("table") String table,
+                                      @Define("nameColumn") String nameColumn,
+                                      @Define("jsonColumns") String jsonColumns,
+                                      @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass,
+                                      @Bind("limit") int limit,
+                                      @Bind("after") String after);
+
+  @SqlQuery("SELECT <jsonColumns> FROM (" +
+          "SELECT <nameColumn>, <jsonColumns> FROM <table> WHERE " +
+          "<nameColumn> LIKE CONCAT(:fqnPrefix, '.%') AND <nameColumn> < :before " +
+          "ORDER BY <nameColumn> DESC LIMIT :limit" +
+          ") last_rows_subquery ORDER BY <nameColumn>")
+  @UseRowMapper(EntityRowMapper.class)
+  ResultIterable<T> listEntitiesBeforeByPrefix(@Define("table") String table,
+                                               @Define("nameColumn") String nameColumn,
+                                               @Define("jsonColumns") String jsonColumns,
+                                               @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass,
+                                               @Bind("fqnPrefix") String fqnPrefix,
+                                               @Bind("limit") int limit,
+                                               @Bind("before") String before);
+
+  @SqlQuery("SELECT <jsonColumns> FROM <table> WHERE " +
+          "<nameColumn> LIKE CONCAT(:fqnPrefix, '.%') AND <nameColumn> > :after " +
+          "ORDER BY <nameColumn> LIMIT :limit")
+  @UseRowMapper(EntityRowMapper.class)
+  ResultIterable<T> listEntitiesAfterByPrefix(@Define("table") String table,
+                                              @Define("nameColumn") String nameColumn,
+                                              @Define("jsonColumns") String jsonColumns,
+                                              @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass,
+                                              @Bind("fqnPrefix") String fqnPrefix,
+                                              @Bind("limit") int limit,
+                                              @Bind("after") String after);
+
+  @SqlQuery("SELECT <jsonColumns> FROM (" +
+          "SELECT <nameColumn>, <jsonColumns> FROM <table> WHERE <containerColumn> = " +
+          "(SELECT id FROM <containerTable> WHERE <containerNameColumn> = :containerName) " +
+          "AND <nameColumn> < :before " +
+          "ORDER BY <nameColumn> DESC LIMIT :limit" +
+          ") last_rows_subquery ORDER BY <nameColumn>")
+  @UseRowMapper(EntityRowMapper.class)
+  ResultIterable<T> listEntitiesBeforeByContainer(@Define("table") String table,
+                                                  @Define("nameColumn") String nameColumn,
+                                                  @Define("jsonColumns") String jsonColumns,
+                                                  @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass,
+                                                  @Define("containerColumn") String containerColumn,
+                                                  @Define("containerTable") String containerTable,
+                                                  @Define("containerNameColumn") String containerNameColumn,
+                                                  @Bind("containerName") String containerName,
+                                                  @Bind("limit") int limit,
+                                                  @Bind("before") String before);
+
+  @SqlQuery("SELECT <jsonColumns> FROM <table> WHERE <containerColumn> = " +
+          "(SELECT id FROM <containerTable> WHERE <containerNameColumn> = :containerName) " +
+          "AND <nameColumn> > :after " +
+          "ORDER BY <nameColumn> LIMIT :limit")
+  @UseRowMapper(EntityRowMapper.class)
+  ResultIterable<T> listEntitiesAfterByContainer(@Define("table") String table,
+                                                 @Define("nameColumn") String nameColumn,
+                                                 @Define("jsonColumns") String jsonColumns,
+                                                 @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass,
+                                                 @Define("containerColumn") String containerColumn,
+                                                 @Define("containerTable") String containerTable,
+                                                 @Define("containerNameColumn") String containerNameColumn,
+                                                 @Bind("containerName") String containerName,
+                                                 @Bind("limit") int limit,
+                                                 @Bind("after") String after);
+
+  /**
+   * Keyset pagination of entities as of a point in time {@code asOf} (UTC time in format yyyy-MM-dd HH:mm:ss). The
+   * entities whose current version was stored on or before {@code asOf} are read from the entity table. The other
+   * entities, including deleted entities, are read from the latest of their versions in entity_extension stored on or
+   * before {@code asOf}, unless they were deleted by then. Both are filtered by the prefix of the fully qualified name
+   * when {@code fqnPrefix} is not null, which is also the name of the container for entities in a container.
+   *
+   * Names are compared as binary strings, in the order of their code points, so that both pages are in the same order
+   * as names extracted from the json of versions, and are merged in that order.
+   */
+  @SqlQuery("SELECT <jsonColumns> FROM (" +
+          "SELECT <nameColumn>, <jsonColumns> FROM <table> WHERE updatedAt <= :asOf " +
+          "AND (:fqnPrefix IS NULL OR <nameColumn> LIKE CONCAT(:fqnPrefix, '.%')) " +
+          "AND CAST(<nameColumn> AS BINARY) < :before ORDER BY CAST(<nameColumn> AS BINARY) DESC LIMIT :limit" +
+          ") last_rows_subquery ORDER BY CAST(<nameColumn> AS BINARY)")
+  @UseRowMapper(EntityRowMapper.class)
+  ResultIterable<T> listEntitiesBeforeAsOf(@Define("table") String table,
+                                           @Define("nameColumn") String nameColumn,
+                                           @Define("jsonColumns") String jsonColumns,
+                                           @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass,
+                                           @Bind("fqnPrefix") String fqnPrefix,
+                                           @Bind("asOf") String asOf,
+                                           @Bind("limit") int limit,
+                                           @Bind("before") String before);
+
+  @SqlQuery("SELECT <jsonColumns> FROM <table> WHERE updatedAt <= :asOf " +
+          "AND (:fqnPrefix IS NULL OR <nameColumn> LIKE CONCAT(:fqnPrefix, '.%')) " +
+          "AND CAST(<nameColumn> AS BINARY) > :after ORDER BY CAST(<nameColumn> AS BINARY) LIMIT :limit")
+  @UseRowMapper(EntityRowMapper.class)
+  ResultIterable<T> listEntitiesAfterAsOf(@Define("table") String table,
+                                          @Define("nameColumn") String nameColumn,
+                                          @Define("jsonColumns") String jsonColumns,
+                                          @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass,
+                                          @Bind("fqnPrefix") String fqnPrefix,
+                                          @Bind("asOf") String asOf,
+                                          @Bind("limit") int limit,
+                                          @Bind("after") String after);
+
+  @SqlQuery("SELECT count(*) FROM <table> WHERE updatedAt <= :asOf " +
+          "AND (:fqnPrefix IS NULL OR <nameColumn> LIKE CONCAT(:fqnPrefix, '.%'))")
+  int listCountAsOf(@Define("table") String table, @Define("nameColumn") String nameColumn,
+                    @Bind("fqnPrefix") String fqnPrefix, @Bind("asOf") String asOf);
+
+  /**
+   * Condition that selects from entity_extension v the latest version of each entity stored on or before
+   * {@code asOf}, for entities that were not yet at their current version and were not deleted at that time. Versions
+   * stored within the same second are ordered by version.
+   */
+  String VERSION_AS_OF_CONDITION = "v.extension LIKE CONCAT(:extensionPrefix, '.%') AND v.updatedAt <= :asOf " +
+          "AND NOT EXISTS (SELECT * FROM entity_extension w WHERE w.id = v.id " +
+          "AND w.extension LIKE CONCAT(:extensionPrefix, '.%') AND w.updatedAt <= :asOf " +
+          "AND (w.updatedAt > v.updatedAt OR (w.updatedAt = v.updatedAt AND w.json -> '$.version' > " +
+          "v.json -> '$.version'))) " +
+          "AND NOT EXISTS (SELECT * FROM <table> e WHERE e.id = v.id AND e.updatedAt <= :asOf) " +
+          "AND NOT EXISTS (SELECT * FROM entity_extension d WHERE d.id = v.id AND d.extension = :deletedExtension " +
+          "AND d.updatedAt <= :asOf) " +
+          "AND (:fqnPrefix IS NULL OR v.json ->> '$.<nameColumn>' LIKE CONCAT(:fqnPrefix, '.%'))";
+
+  @SqlQuery("SELECT json FROM (" +
+          "SELECT CAST(v.json ->> '$.<nameColumn>' AS BINARY) AS name, v.json FROM entity_extension v WHERE " +
+          VERSION_AS_OF_CONDITION + " AND CAST(v.json ->> '$.<nameColumn>' AS BINARY) < :before " +
+          "ORDER BY name DESC LIMIT :limit" +
+          ") last_rows_subquery ORDER BY name")
+  @UseRowMapper(EntityRowMapper.class)
+  ResultIterable<T> listVersionsBeforeAsOf(@Define("table") String table,
+                                           @Define("nameColumn") String nameColumn,
+                                           @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass,
+                                           @Bind("extensionPrefix") String extensionPrefix,
+                                           @Bind("deletedExtension") String deletedExtension,
+                                           @Bind("fqnPrefix") String fqnPrefix,
+                                           @Bind("asOf") String asOf,
+                                           @Bind("limit") int limit,
+                                           @Bind("before") String before);
+
+  @SqlQuery("SELECT v.json FROM entity_extension v WHERE " + VERSION_AS_OF_CONDITION +
+          " AND CAST(v.json ->> '$.<nameColumn>' AS BINARY) > :after " +
+          "ORDER BY CAST(v.json ->> '$.<nameColumn>' AS BINARY) LIMIT :limit")
+  @UseRowMapper(EntityRowMapper.class)
+  ResultIterable<T> listVersionsAfterAsOf(@Define("table") String table,
+                                          @Define("nameColumn") String nameColumn,
+                                          @Define(EntityRowMapper.ENTITY_CLASS) Class<T> entityClass,
+                                          @Bind("extensionPrefix") String extensionPrefix,
+                                          @Bind("deletedExtension") String deletedExtension,
+                                          @Bind("fqnPrefix") String fqnPrefix,
+                                          @Bind("asOf") String asOf,
+                                          @Bind("limit") int limit,
+                                          @Bind("after") String after);
+
+  @SqlQuery("SELECT count(*) FROM entity_extension v WHERE " + VERSION_AS_OF_CONDITION)
+  int listVersionCountAsOf(@Define("table") String table, @Define("nameColumn") String nameColumn,
+                           @Bind("extensionPrefix") String extensionPrefix,
+                           @Bind("deletedExtension") String deletedExtension,
+                           @Bind("fqnPrefix") String fqnPrefix, @Bind("asOf") String asOf);
+
   /**
    * Default methods that interfaces with implementation. Don't override
    */
   default void insert(T entity) throws JsonProcessingException {
-    insert(getTableName(), JsonUtils.pojoToJson(entity));
+    String containerId = getContainerColumn() == null ? null : getContainerId(entity).toString();
+    if (!supportsBinaryStorage()) {
+      if (containerId == null) {
+        insert(getTableName(), JsonUtils.pojoToStoredJson(entity));
+      } else {
+        insert(getTableName(), getContainerColumn(), JsonUtils.pojoToStoredJson(entity), containerId);
+      }
+    } else {
+      EntityInterface<T> entityInterface = asBinaryEntityDAO().getEntityInterface(entity);
+      String updatedAt = UPDATED_AT_FORMAT.format(entityInterface.getUpdatedAt().toInstant());
+      EntityCodec codec = EntityCodec.getWriteCodec();
+      String json = codec.isBinary() ? null : JsonUtils.pojoToStoredJson(entity);
+      insertStored(getTableName(), getNameColumn(), getContainerColumn(), entityInterface.getId().toString(),
+              entityInterface.getFullyQualifiedName(), containerId, entityInterface.getVersion(), updatedAt,
+              entityInterface.getUpdatedBy(), json, codec.isBinary() ? codec.encode(entity) : null);
+    }
+    entityCountDAO().increment(getEntityType(), "");
+    if (containerId != null) {
+      entityCountDAO().increment(getEntityType(), containerId);
+    }
   }
 
   default void update(UUID id, String json) { update(getTableName(), id.toString(), json); }
 
+  default void update(T entity) throws JsonProcessingException {
+    if (!supportsBinaryStorage()) {
+      update(getEntityReference(entity).getId(), JsonUtils.pojoToStoredJson(entity));
+      return;
+    }
+    EntityInterface<T> entityInterface = asBinaryEntityDAO().getEntityInterface(entity);
+    String updatedAt = UPDATED_AT_FORMAT.format(entityInterface.getUpdatedAt().toInstant());
+    EntityCodec codec = EntityCodec.getWriteCodec();
+    String json = codec.isBinary() ? null : JsonUtils.pojoToStoredJson(entity);
+    updateStored(getTableName(), getNameColumn(), entityInterface.getId().toString(),
+            entityInterface.getFullyQualifiedName(), entityInterface.getVersion(), updatedAt,
+            entityInterface.getUpdatedBy(), json, codec.isBinary() ? codec.encode(entity) : null);
+  }
+
+  /**
+   * Update the entity only when the stored entity is still at {@code expectedVersion}, the version the update was
+   * computed from. The check is made by the update statement and no lock is held between reading and writing the
+   * entity. Throws {@link EntityVersionConflictException} when another update stored a different version first.
+   */
+  default void update(T entity, Double expectedVersion) throws JsonProcessingException {
+    int updatedRows;
+    String id;
+    if (!supportsBinaryStorage()) {
+      id = getEntityReference(entity).getId().toString();
+      updatedRows = updateIfVersion(getTableName(), id, JsonUtils.pojoToStoredJson(entity), expectedVersion);
+    } else {
+      EntityInterface<T> entityInterface = asBinaryEntityDAO().getEntityInterface(entity);
+      id = entityInterface.getId().toString();
+      String updatedAt = UPDATED_AT_FORMAT.format(entityInterface.getUpdatedAt().toInstant());
+      EntityCodec codec = EntityCodec.getWriteCodec();
+      String json = codec.isBinary() ? null : JsonUtils.pojoToStoredJson(entity);
+      updatedRows = updateStoredIfVersion(getTableName(), getNameColumn(), id, entityInterface.getFullyQualifiedName(),
+              entityInterface.getVersion(), updatedAt, entityInterface.getUpdatedBy(), json,
+              codec.isBinary() ? codec.encode(entity) : null, expectedVersion);
+    }
+    if (updatedRows <= 0) {
+      throw EntityVersionConflictException.byVersion(getEntityType(), id, expectedVersion);
+    }
+  }
+
+  default String getJsonColumns() {
+    return supportsBinaryStorage() ? "json, jsonBlob" : "json";
+  }
+
   default T findEntityById(UUID id) throws IOException {
     Class<T> clz = getEntityClass();
-    String json = findById(getTableName(), id.toString());
-    T entity = null;
-    if (json != null) {
-      entity = JsonUtils.readValue(json, clz);
-    }
+    T entity = findEntityById(getTableName(), getJsonColumns(), clz, id.toString());
     if (entity == null) {
       throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(clz.getSimpleName(), id));
     }
     return entity;
   }
 
+  /** Returns the stored form of the entity. See {@link EntityCodec#createParser(byte[])} for reading it */
+  default byte[] findStoredById(UUID id) {
+    byte[] stored = findStoredById(getTableName(), getJsonColumns(), id.toString());
+    if (stored == null) {
+      throw EntityNotFoundException.byMessage(entityNotFound(getEntityClass().getSimpleName(), id));
+    }
+    return stored;
+  }
+
   default T findEntityByName(String fqn) throws IOException {
     Class<T> clz = getEntityClass();
-    String json = findByName(getTableName(), getNameColumn(), fqn);
-    T entity = null;
-    if (json != null) {
-      entity = JsonUtils.readValue(json, clz);
-    }
+    T entity = findEntityByNameIfExists(fqn);
     if (entity == null) {
       throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(clz.getSimpleName(), fqn));
     }
     return entity;
   }
 
+  /** Returns the entity with the given fully qualified name or null when it does not exist */
+  default T findEntityByNameIfExists(String fqn) throws IOException {
+    return findEntityByName(getTableName(), getNameColumn(), getJsonColumns(), getEntityClass(), fqn);
+  }
+
   default EntityReference findEntityReferenceById(UUID id) throws IOException {
     return getEntityReference(findEntityById(id));
   }
@@ -138,23 +509,115 @@ public interface EntityDAO<T> {
   }
 
   default String findJsonById(String fqn) throws IOException {
-    return findById(getTableName(), fqn);
+    return supportsBinaryStorage() ?
+            JsonUtils.pojoToJson(findEntityById(getTableName(), getJsonColumns(), getEntityClass(), fqn)) :
+            findById(getTableName(), fqn);
   }
 
   default String findJsonByFqn(String fqn) throws IOException {
-    return findByName(getTableName(), getNameColumn(), fqn);
+    return supportsBinaryStorage() ? JsonUtils.pojoToJson(findEntityByNameIfExists(fqn)) :
+            findByName(getTableName(), getNameColumn(), fqn);
   }
 
-  default int listCount(String databaseFQN) {
-    return listCount(getTableName(), getNameColumn(), databaseFQN);
+  /**
+   * Entities are filtered by {@code fqnPrefix} when it is not null. It is the name of the container for tables with a
+   * container column, and the prefix of the fully qualified names of the entities otherwise.
+   */
+  default int listCount(String fqnPrefix) {
+    if (fqnPrefix == null) {
+      return listCount(getTableName());
+    }
+    if (getContainerColumn() != null) {
+      return listCountByContainer(getTableName(), getContainerColumn(), getContainerTable(),
+              getContainerNameColumn(), fqnPrefix);
+    }
+    return listCountByPrefix(getTableName(), getNameColumn(), fqnPrefix);
   }
 
-  default List<String> listBefore(String parentFQN, int limit, String before) {
-    return listBefore(getTableName(), getNameColumn(), parentFQN, limit, before);
+  /** Returns {@code paging.total} for a list filtered by {@code fqnPrefix}. See {@link #listCount(String)} */
+  default Integer listTotal(String fqnPrefix, PagingTotal total) {
+    if (total == PagingTotal.FALSE) {
+      return null;
+    }
+    if (total == PagingTotal.EXACT) {
+      return listCount(fqnPrefix);
+    }
+    if (fqnPrefix == null) {
+      return entityCountDAO().getCount(getEntityType(), "");
+    }
+    if (getContainerColumn() != null) {
+      return entityCountDAO().getCountByContainer(getEntityType(), getContainerTable(), getContainerNameColumn(),
+              fqnPrefix);
+    }
+    return listCount(fqnPrefix);
   }
 
-  default List<String> listAfter(String databaseFQN, int limit, String after) {
-    return listAfter(getTableName(), getNameColumn(), databaseFQN, limit, after);
+  /**
+   * Page of entities filtered by {@code fqnPrefix} as with {@link #listCount(String)}. Rows are mapped to entities
+   * one at a time as the caller iterates. The caller closes the result, either by reading it to the end or by closing
+   * its iterator.
+   */
+  default ResultIterable<T> listEntitiesBefore(String fqnPrefix, int limit, String before) {
+    if (fqnPrefix == null) {
+      return listEntitiesBefore(getTableName(), getNameColumn(), getJsonColumns(), getEntityClass(), limit, before);
+    }
+    if (getContainerColumn() != null) {
+      return listEntitiesBeforeByContainer(getTableName(), getNameColumn(), getJsonColumns(), getEntityClass(),
+              getContainerColumn(), getContainerTable(), getContainerNameColumn(), fqnPrefix, limit, before);
+    }
+    return listEntitiesBeforeByPrefix(getTableName(), getNameColumn(), getJsonColumns(), getEntityClass(), fqnPrefix,
+            limit, before);
+  }
+
+  default ResultIterable<T> listEntitiesAfter(String fqnPrefix, int limit, String after) {
+    if (fqnPrefix == null) {
+      return listEntitiesAfter(getTableName(), getNameColumn(), getJsonColumns(), getEntityClass(), limit, after);
+    }
+    if (getContainerColumn() != null) {
+      return listEntitiesAfterByContainer(getTableName(), getNameColumn(), getJsonColumns(), getEntityClass(),
+              getContainerColumn(), getContainerTable(), getContainerNameColumn(), fqnPrefix, limit, after);
+    }
+    return listEntitiesAfterByPrefix(getTableName(), getNameColumn(), getJsonColumns(), getEntityClass(), fqnPrefix,
+            limit, after);
+  }
+
+  /**
+   * Pages of entities as of time {@code asOf}. See {@link #listEntitiesAfterAsOf}. The current versions of the
+   * entities and their older versions are returned in separate results, each ordered by name.
+   */
+  default ResultIterable<T> listEntitiesBeforeAsOf(String fqnPrefix, int limit, String before, String asOf) {
+    return listEntitiesBeforeAsOf(getTableName(), getNameColumn(), getJsonColumns(), getEntityClass(), fqnPrefix,
+            asOf, limit, before);
+  }
+
+  default ResultIterable<T> listEntitiesAfterAsOf(String fqnPrefix, int limit, String after, String asOf) {
+    return listEntitiesAfterAsOf(getTableName(), getNameColumn(), getJsonColumns(), getEntityClass(), fqnPrefix,
+            asOf, limit, after);
+  }
+
+  default ResultIterable<T> listVersionsBeforeAsOf(String fqnPrefix, int limit, String before, String asOf) {
+    String entityName = getExtensionEntityName();
+    return listVersionsBeforeAsOf(getTableName(), getNameColumn(), getEntityClass(),
+            EntityUtil.getVersionExtensionPrefix(entityName), EntityUtil.getDeletedExtension(entityName), fqnPrefix,
+            asOf, limit, before);
+  }
+
+  default ResultIterable<T> listVersionsAfterAsOf(String fqnPrefix, int limit, String after, String asOf) {
+    String entityName = getExtensionEntityName();
+    return listVersionsAfterAsOf(getTableName(), getNameColumn(), getEntityClass(),
+            EntityUtil.getVersionExtensionPrefix(entityName), EntityUtil.getDeletedExtension(entityName), fqnPrefix,
+            asOf, limit, after);
+  }
+
+  /** Returns {@code paging.total} for a list as of time {@code asOf}, which is always counted exactly */
+  default Integer listTotalAsOf(String fqnPrefix, PagingTotal total, String asOf) {
+    if (total == PagingTotal.FALSE) {
+      return null;
+    }
+    String entityName = getExtensionEntityName();
+    return listCountAsOf(getTableName(), getNameColumn(), fqnPrefix, asOf) +
+            listVersionCountAsOf(getTableName(), getNameColumn(), EntityUtil.getVersionExtensionPrefix(entityName),
+                    EntityUtil.getDeletedExtension(entityName), fqnPrefix, asOf);
   }
 
   default boolean exists(UUID id) {
@@ -162,10 +625,46 @@ public interface EntityDAO<T> {
   }
 
   default int delete(UUID id) {
+    return delete(id, null);
+  }
+
+  /**
+   * Delete the entity. The last version of the entity is kept in entity_extension along with extension
+   * {@link EntityUtil#getDeletedExtension(String)} that records when it was deleted, so that lists as of an earlier
+   * time still return the entity. {@code lastVersionJson} is the last version as returned by the API, and the stored
+   * entity is kept when it is null.
+   */
+  default int delete(UUID id, String lastVersionJson) {
+    String containerId = getContainerColumn() == null ? null :
+            findContainerId(getTableName(), getContainerColumn(), id.toString());
+    storeDeletedVersion(id, lastVersionJson);
     int rowsDeleted = delete(getTableName(), id.toString());
     if (rowsDeleted <= 0) {
       throw EntityNotFoundException.byMessage(entityNotFound(getEntityClass().getSimpleName(), id));
     }
+    entityCountDAO().decrement(getEntityType(), "");
+    if (containerId != null) {
+      entityCountDAO().decrement(getEntityType(), containerId);
+    }
     return rowsDeleted;
   }
-}
\ No newline at end of file
+
+  default void storeDeletedVersion(UUID id, String lastVersionJson) {
+    Double version = findVersion(getTableName(), id.toString());
+    if (version == null) {
+      return; // Entity does not exist or was stored before versions were stored in the entity table
+    }
+    String entityName = getExtensionEntityName();
+    try {
+      String json = lastVersionJson != null ? lastVersionJson :
+              JsonUtils.pojoToJson(findEntityById(getTableName(), getJsonColumns(), getEntityClass(), id.toString()));
+      entityExtensionDAO().insert(id.toString(), EntityUtil.getVersionExtension(entityName, version), entityName,
+              json);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+    String deleted = String.format("{\"id\":\"%s\",\"updatedAt\":\"%s\"}", id,
+            EXTENSION_UPDATED_AT_FORMAT.format(Instant.now()));
+    entityExtensionDAO().insert(id.toString(), EntityUtil.getDeletedExtension(entityName), entityName, deleted);
+  }
+}
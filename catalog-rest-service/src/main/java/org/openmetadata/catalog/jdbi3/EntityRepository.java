@@ -1,7 +1,12 @@
 package org.openmetadata.catalog.jdbi3;
 
+import org.jdbi.v3.core.result.ResultIterable;
+import org.jdbi.v3.core.result.ResultIterator;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.exception.CatalogExceptionMessage;
+import org.openmetadata.catalog.exception.EntityNotFoundException;
+import org.openmetadata.catalog.exception.EntityVersionConflictException;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionPair;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.EntityHistory;
@@ -11,6 +16,7 @@ import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
 import org.openmetadata.catalog.util.JsonUtils;
+import org.openmetadata.catalog.util.PagingTotal;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
 import org.openmetadata.common.utils.CipherText;
@@ -23,10 +29,15 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.security.GeneralSecurityException;
 import java.text.ParseException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Locale;
 import java.util.UUID;
 
@@ -36,6 +47,11 @@ import java.util.UUID;
  */
 public abstract class EntityRepository<T> {
   public static final Logger LOG = LoggerFactory.getLogger(EntityRepository.class);
+  // Format of entity_extension.updatedAt used for point in time lookups
+  private static final DateTimeFormatter AS_OF_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+          .withZone(ZoneOffset.UTC);
+  // Number of times PUT and PATCH are computed again from the latest stored entity after a concurrent update
+  private static final int MAX_UPDATE_ATTEMPTS = 3;
   private final Class<T> entityClass;
   private final String entityName;
   private final EntityDAO<T> dao;
@@ -51,7 +67,7 @@ public abstract class EntityRepository<T> {
   public abstract T setFields(T entity, Fields fields) throws IOException, ParseException;
   public abstract void restorePatchAttributes(T original, T updated) throws IOException, ParseException;
   public abstract void validate(T entity) throws IOException;
-  public abstract void store(T entity, boolean update) throws IOException;
+  public abstract void store(T entity) throws IOException;
   public abstract void storeRelationships(T entity) throws IOException;
 
   public EntityUpdater getUpdater(T original, T updated, boolean patchOperation) throws IOException {
@@ -78,18 +94,51 @@ public abstract class EntityRepository<T> {
     return setFields(dao.findEntityByName(fqn), fields);
   }
 
+  @Transaction
+  public final T getAsOf(String id, Fields fields, long asOf) throws IOException, ParseException {
+    T entity = getAsOf(dao.findEntityById(UUID.fromString(id)), fields, asOf);
+    if (entity == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityName, id));
+    }
+    return entity;
+  }
+
   @Transaction
   public final ResultList<T> listAfter(Fields fields, String fqnPrefix, int limitParam, String after)
           throws GeneralSecurityException, IOException, ParseException {
-    // forward scrolling, if after == null then first page is being asked
-    List<String> jsons = dao.listAfter(fqnPrefix, limitParam + 1, after == null ? "" :
-            CipherText.instance().decrypt(after));
+    return listAfter(fields, fqnPrefix, limitParam, after, null);
+  }
 
-    List<T> entities = new ArrayList<>();
-    for (String json : jsons) {
-      entities.add(setFields(JsonUtils.readValue(json, entityClass), fields));
+  /**
+   * List entities after the cursor. When {@code asOf} is not null, entities are listed as they looked at that time,
+   * including entities deleted since then. See {@link EntityDAO#listEntitiesAfterAsOf}.
+   */
+  @Transaction
+  public final ResultList<T> listAfter(Fields fields, String fqnPrefix, int limitParam, String after, Long asOf)
+          throws GeneralSecurityException, IOException, ParseException {
+    return listAfter(fields, fqnPrefix, limitParam, after, asOf, PagingTotal.APPROXIMATE);
+  }
+
+  /** List entities after the cursor with {@code paging.total} computed as given by {@code total} */
+  @Transaction
+  public final ResultList<T> listAfter(Fields fields, String fqnPrefix, int limitParam, String after, Long asOf,
+                                       PagingTotal total)
+          throws GeneralSecurityException, IOException, ParseException {
+    // forward scrolling, if after == null then first page is being asked
+    String afterName = after == null ? "" : CipherText.instance().decrypt(after);
+    List<T> entities;
+    Integer listTotal;
+    if (asOf == null) {
+      entities = readPage(dao.listEntitiesAfter(fqnPrefix, limitParam + 1, afterName), fields, limitParam, false);
+      listTotal = dao.listTotal(fqnPrefix, total);
+    } else {
+      String asOfTime = AS_OF_FORMAT.format(Instant.ofEpochMilli(asOf));
+      List<T> current = dao.listEntitiesAfterAsOf(fqnPrefix, limitParam + 1, afterName, asOfTime).list();
+      List<T> versions = dao.listVersionsAfterAsOf(fqnPrefix, limitParam + 1, afterName, asOfTime).list();
+      entities = mergeByName(setFields(current, fields), versions);
+      entities = new ArrayList<>(entities.subList(0, Math.min(entities.size(), limitParam + 1)));
+      listTotal = dao.listTotalAsOf(fqnPrefix, total, asOfTime);
     }
-    int total = dao.listCount(fqnPrefix);
 
     String beforeCursor, afterCursor = null;
     beforeCursor = after == null ? null : getFullyQualifiedName(entities.get(0));
@@ -97,20 +146,41 @@ public abstract class EntityRepository<T> {
       entities.remove(limitParam);
       afterCursor = getFullyQualifiedName(entities.get(limitParam - 1));
     }
-    return getResultList(entities, beforeCursor, afterCursor, total);
+    return getResultList(entities, beforeCursor, afterCursor, listTotal);
   }
 
   @Transaction
   public final ResultList<T> listBefore(Fields fields, String fqnPrefix, int limitParam, String before)
           throws IOException, GeneralSecurityException, ParseException {
-    // Reverse scrolling - Get one extra result used for computing before cursor
-    List<String> jsons = dao.listBefore(fqnPrefix, limitParam + 1, CipherText.instance().decrypt(before));
+    return listBefore(fields, fqnPrefix, limitParam, before, null);
+  }
 
-    List<T> entities = new ArrayList<>();
-    for (String json : jsons) {
-      entities.add(setFields(JsonUtils.readValue(json, entityClass), fields));
+  @Transaction
+  public final ResultList<T> listBefore(Fields fields, String fqnPrefix, int limitParam, String before, Long asOf)
+          throws IOException, GeneralSecurityException, ParseException {
+    return listBefore(fields, fqnPrefix, limitParam, before, asOf, PagingTotal.APPROXIMATE);
+  }
+
+  /** List entities before the cursor with {@code paging.total} computed as given by {@code total} */
+  @Transaction
+  public final ResultList<T> listBefore(Fields fields, String fqnPrefix, int limitParam, String before, Long asOf,
+                                        PagingTotal total)
+          throws IOException, GeneralSecurityException, ParseException {
+    // Reverse scrolling - Get one extra result used for computing before cursor
+    String beforeName = CipherText.instance().decrypt(before);
+    List<T> entities;
+    Integer listTotal;
+    if (asOf == null) {
+      entities = readPage(dao.listEntitiesBefore(fqnPrefix, limitParam + 1, beforeName), fields, limitParam, true);
+      listTotal = dao.listTotal(fqnPrefix, total);
+    } else {
+      String asOfTime = AS_OF_FORMAT.format(Instant.ofEpochMilli(asOf));
+      List<T> current = dao.listEntitiesBeforeAsOf(fqnPrefix, limitParam + 1, beforeName, asOfTime).list();
+      List<T> versions = dao.listVersionsBeforeAsOf(fqnPrefix, limitParam + 1, beforeName, asOfTime).list();
+      entities = mergeByName(setFields(current, fields), versions);
+      entities = new ArrayList<>(entities.subList(Math.max(0, entities.size() - limitParam - 1), entities.size()));
+      listTotal = dao.listTotalAsOf(fqnPrefix, total, asOfTime);
     }
-    int total = dao.listCount(fqnPrefix);
 
     String beforeCursor = null, afterCursor;
     if (entities.size() > limitParam) { // If extra result exists, then previous page exists - return before cursor
@@ -118,7 +188,7 @@ public abstract class EntityRepository<T> {
       beforeCursor = getFullyQualifiedName(entities.get(0));
     }
     afterCursor = getFullyQualifiedName(entities.get(entities.size() - 1));
-    return getResultList(entities, beforeCursor, afterCursor, total);
+    return getResultList(entities, beforeCursor, afterCursor, listTotal);
   }
 
   @Transaction
@@ -149,15 +219,41 @@ public abstract class EntityRepository<T> {
 
   @Transaction
   public final PutResponse<T> createOrUpdate(T updated) throws IOException, ParseException {
+    return createOrUpdate(updated, null);
+  }
+
+  /**
+   * Create the entity or update the existing entity. The update is stored only when the stored entity is still at the
+   * version it was computed from. After a concurrent update, the update is computed again from the latest stored
+   * entity up to {@link #MAX_UPDATE_ATTEMPTS} times. When {@code ifMatch} is not null, the existing entity must be at
+   * that version.
+   */
+  @Transaction
+  public final PutResponse<T> createOrUpdate(T updated, Double ifMatch) throws IOException, ParseException {
     validate(updated);
-    T original = JsonUtils.readValue(dao.findJsonByFqn(getFullyQualifiedName(updated)), entityClass);
+    // The updater merges the stored entity into the request. Keep the request to compute the update again
+    String request = JsonUtils.pojoToJson(updated);
+    for (int attempt = 1; ; attempt++) {
+      T entity = attempt == 1 ? updated : JsonUtils.readValue(request, entityClass);
+      try {
+        return inTransaction(() -> createOrUpdateOnce(entity, ifMatch));
+      } catch (EntityVersionConflictException e) {
+        retryOrThrow(e, attempt);
+      }
+    }
+  }
+
+  private PutResponse<T> createOrUpdateOnce(T updated, Double ifMatch) throws IOException, ParseException {
+    T original = dao.findEntityByNameIfExists(getFullyQualifiedName(updated));
     if (original == null) {
+      if (ifMatch != null) {
+        throw EntityVersionConflictException.byIfMatch(entityName, getFullyQualifiedName(updated), ifMatch, null);
+      }
       return new PutResponse<>(Status.CREATED, createInternal(updated));
     }
     // Update the existing entity
+    checkIfMatch(original, ifMatch);
     setFields(original, putFields);
-    validate(updated);
-
     EntityUpdater entityUpdater = getUpdater(original, updated, false);
     entityUpdater.update();
     entityUpdater.store();
@@ -166,7 +262,29 @@ public abstract class EntityRepository<T> {
 
   @Transaction
   public final T patch(UUID id, String user, JsonPatch patch) throws IOException, ParseException {
-    T original = setFields(dao.findEntityById(id), patchFields);
+    return patch(id, user, patch, null);
+  }
+
+  /**
+   * Apply the patch to the stored entity. As with {@link #createOrUpdate(Object, Double)}, the patch is applied again
+   * to the latest stored entity after a concurrent update and the entity must be at version {@code ifMatch} when it is
+   * not null.
+   */
+  @Transaction
+  public final T patch(UUID id, String user, JsonPatch patch, Double ifMatch) throws IOException, ParseException {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return inTransaction(() -> patchOnce(id, user, patch, ifMatch));
+      } catch (EntityVersionConflictException e) {
+        retryOrThrow(e, attempt);
+      }
+    }
+  }
+
+  private T patchOnce(UUID id, String user, JsonPatch patch, Double ifMatch) throws IOException, ParseException {
+    T original = dao.findEntityById(id);
+    checkIfMatch(original, ifMatch);
+    setFields(original, patchFields);
     T updated = JsonUtils.applyPatch(original, patch, entityClass);
     EntityInterface<T> updatedEntity = getEntityInterface(updated);
     updatedEntity.setUpdateDetails(user, new Date());
@@ -179,6 +297,43 @@ public abstract class EntityRepository<T> {
     return updated;
   }
 
+  /** One attempt of PUT or PATCH. See {@link #inTransaction(UpdateAttempt)} */
+  @FunctionalInterface
+  private interface UpdateAttempt<R> {
+    R run() throws IOException, ParseException;
+  }
+
+  /**
+   * Run an attempt in a database transaction. The DAO calls made by the attempt use the handle of the transaction.
+   * The version of the entity is checked when the update is stored, after the owner, tags and other relationships
+   * are written. When the check fails, these writes are rolled back with the transaction before the update is
+   * computed again.
+   */
+  private <R> R inTransaction(UpdateAttempt<R> attempt) throws IOException, ParseException {
+    try {
+      return daoCollection.inTransaction(transaction -> attempt.run());
+    } catch (IOException | ParseException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private void checkIfMatch(T original, Double ifMatch) {
+    EntityInterface<T> entityInterface = getEntityInterface(original);
+    if (ifMatch != null && !ifMatch.equals(entityInterface.getVersion())) {
+      throw EntityVersionConflictException.byIfMatch(entityName, entityInterface.getId().toString(), ifMatch,
+              entityInterface.getVersion());
+    }
+  }
+
+  private void retryOrThrow(EntityVersionConflictException e, int attempt) {
+    if (!e.isRetryable() || attempt >= MAX_UPDATE_ATTEMPTS) {
+      throw e;
+    }
+    LOG.info("Computing update again after a concurrent update, attempt {}: {}", attempt + 1, e.getMessage());
+  }
+
   @Transaction
   public Status addFollower(UUID entityId, UUID userId) throws IOException {
     dao.findEntityById(entityId);
@@ -192,17 +347,108 @@ public abstract class EntityRepository<T> {
     EntityUtil.removeFollower(daoCollection.relationshipDAO(), entityId, userId);
   }
 
+  /**
+   * Read a page of {@code limit} entities along with the extra entity used for the cursor, setting the requested
+   * fields of each entity in the page as it is read. The extra entity is the last one after a cursor. Before a cursor,
+   * it is the first one, which is known only after all the rows are read.
+   */
+  private List<T> readPage(ResultIterable<T> rows, Fields fields, int limit, boolean before)
+          throws IOException, ParseException {
+    List<T> entities = new ArrayList<>(limit + 1);
+    try (ResultIterator<T> it = rows.iterator()) {
+      while (it.hasNext()) {
+        T entity = it.next();
+        boolean inPage = before ? !entities.isEmpty() : entities.size() < limit;
+        entities.add(inPage ? setFields(entity, fields) : entity);
+      }
+    }
+    if (before && !entities.isEmpty() && entities.size() <= limit) {
+      entities.set(0, setFields(entities.get(0), fields));
+    }
+    return entities;
+  }
+
+  private List<T> setFields(List<T> entities, Fields fields) throws IOException, ParseException {
+    for (ListIterator<T> it = entities.listIterator(); it.hasNext(); ) {
+      it.set(setFields(it.next(), fields));
+    }
+    return entities;
+  }
+
+  /**
+   * Merge current versions of entities with older versions of other entities, both ordered by name as binary strings,
+   * into one list in the same order. Current versions are returned with requested fields. Older versions are returned
+   * as stored.
+   */
+  private List<T> mergeByName(List<T> current, List<T> versions) {
+    List<T> merged = new ArrayList<>(current.size() + versions.size());
+    int i = 0, j = 0;
+    while (i < current.size() || j < versions.size()) {
+      if (j >= versions.size() || (i < current.size() &&
+              compareBinary(getFullyQualifiedName(current.get(i)), getFullyQualifiedName(versions.get(j))) <= 0)) {
+        merged.add(current.get(i++));
+      } else {
+        merged.add(versions.get(j++));
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Compare names like MySQL compares them as binary strings, which is the order of the bytes of their UTF-8
+   * encoding and hence of their code points. {@link String#compareTo} compares UTF-16 chars and orders names with
+   * characters outside the basic multilingual plane differently.
+   */
+  static int compareBinary(String a, String b) {
+    int i = 0, j = 0;
+    while (i < a.length() && j < b.length()) {
+      int codePointA = a.codePointAt(i);
+      int codePointB = b.codePointAt(j);
+      if (codePointA != codePointB) {
+        return Integer.compare(codePointA, codePointB);
+      }
+      i += Character.charCount(codePointA);
+      j += Character.charCount(codePointB);
+    }
+    return Integer.compare(a.length() - i, b.length() - j);
+  }
+
+  /**
+   * Returns the entity as it looked at time {@code asOf} (milliseconds since epoch) or null if it did not exist then.
+   * Version history is kept at a second granularity. Current version is returned with requested fields. Older
+   * versions are returned as stored, including the relationship fields that were current at that time.
+   */
+  private T getAsOf(T current, Fields fields, long asOf) throws IOException, ParseException {
+    EntityInterface<T> entityInterface = getEntityInterface(current);
+    Instant asOfInstant = Instant.ofEpochMilli(asOf).truncatedTo(ChronoUnit.SECONDS);
+    Date updatedAt = entityInterface.getUpdatedAt();
+    if (updatedAt != null && !updatedAt.toInstant().truncatedTo(ChronoUnit.SECONDS).isAfter(asOfInstant)) {
+      return setFields(current, fields);
+    }
+    String json = daoCollection.entityExtensionDAO().getEntityVersionAsOf(entityInterface.getId().toString(),
+            EntityUtil.getVersionExtensionPrefix(entityName), AS_OF_FORMAT.format(asOfInstant));
+    return JsonUtils.readValue(json, entityClass);
+  }
+
   public final String getFullyQualifiedName(T entity) {
     return getEntityInterface(entity).getFullyQualifiedName();
   }
 
-  public final ResultList<T> getResultList(List<T> entities, String beforeCursor, String afterCursor, int total)
+  public final ResultList<T> getResultList(List<T> entities, String beforeCursor, String afterCursor, Integer total)
           throws GeneralSecurityException, UnsupportedEncodingException {
     return new ResultList<>(entities, beforeCursor, afterCursor, total);
   }
 
+  /**
+   * Store an updated entity when the stored entity is at {@code expectedVersion}. Throws
+   * {@link EntityVersionConflictException} otherwise. Override this when an update stores more than the entity.
+   */
+  protected void storeUpdate(T entity, Double expectedVersion) throws IOException {
+    dao.update(entity, expectedVersion);
+  }
+
   private T createInternal(T entity) throws IOException {
-    store(entity, false);
+    store(entity);
     storeRelationships(entity);
     LOG.info("Created entity {}", entity);
     return entity;
@@ -344,10 +590,10 @@ public abstract class EntityRepository<T> {
 
     public final void store() throws IOException, ParseException {
       if (updateVersion(original.getVersion())) {
-        // Store the old version
+        // Store the new version only when the stored entity is still the original version. The old version is stored
+        // after that so that it is stored once when concurrent updates are computed from the same version
+        storeUpdate(updated.getEntity(), original.getVersion());
         storeOldVersion();
-        // Store the new version
-        EntityRepository.this.store(updated.getEntity(), true);
       }
     }
   }
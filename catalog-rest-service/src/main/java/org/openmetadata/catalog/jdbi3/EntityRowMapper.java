@@ -0,0 +1,86 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.openmetadata.catalog.util.EntityCodec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps a row to an object by parsing the stored form straight from the JDBC binary stream of the column instead of
+ * first copying it into a String. The first column in the query is json. The optional second column is jsonBlob
+ * for tables that support binary storage and takes precedence when it is not null.
+ *
+ * When used with {@code @UseRowMapper}, the class of the object is passed as statement attribute
+ * {@link #ENTITY_CLASS} using {@code @Define}.
+ */
+public class EntityRowMapper<T> implements RowMapper<T> {
+  public static final String ENTITY_CLASS = "entityClass";
+  private final Class<T> clz;
+
+  public EntityRowMapper() {
+    this(null);
+  }
+
+  public EntityRowMapper(Class<T> clz) {
+    this.clz = clz;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T map(ResultSet r, StatementContext ctx) throws SQLException {
+    Class<T> entityClass = clz != null ? clz : (Class<T>) ctx.getAttribute(ENTITY_CLASS);
+    InputStream stored = getStoredForm(r);
+    if (stored == null) {
+      return null;
+    }
+    try (InputStream in = stored) {
+      return EntityCodec.decode(in, entityClass);
+    } catch (IOException e) {
+      throw new SQLException("Failed to read " + entityClass.getSimpleName(), e);
+    }
+  }
+
+  private static InputStream getStoredForm(ResultSet r) throws SQLException {
+    InputStream stored = r.getMetaData().getColumnCount() > 1 ? r.getBinaryStream(2) : null;
+    return stored != null ? stored : r.getBinaryStream(1);
+  }
+
+  /**
+   * Maps a row to the stored form of the object as is. Used for reading the stored form token by token using
+   * {@link EntityCodec#createParser(byte[])} without mapping it to an object.
+   */
+  public static class StoredFormMapper implements RowMapper<byte[]> {
+    @Override
+    public byte[] map(ResultSet r, StatementContext ctx) throws SQLException {
+      InputStream stored = getStoredForm(r);
+      if (stored == null) {
+        return null;
+      }
+      try (InputStream in = stored) {
+        return in.readAllBytes();
+      } catch (IOException e) {
+        throw new SQLException("Failed to read stored form", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.catalog.jdbi3;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Small integer ids for entity type names stored in entity_relationship instead of the names. The ids are read from
+ * the entity_type table when the application starts, see {@link #load(List)}. The table is seeded by the migrations,
+ * which are the only place where the ids are defined. A new entity type is added to entity_type in a migration.
+ *
+ * Entity types are matched ignoring case.
+ */
+public final class EntityTypeDictionary {
+  private static volatile Map<String, Integer> ids = Collections.emptyMap();
+  private static volatile Map<Integer, String> names = Collections.emptyMap();
+
+  private EntityTypeDictionary() {
+  }
+
+  /** Load the rows of the entity_type table. See {@link CollectionDAO.EntityTypeDAO#list()} */
+  public static void load(List<Map.Entry<Integer, String>> entityTypes) {
+    Map<String, Integer> newIds = new HashMap<>();
+    Map<Integer, String> newNames = new HashMap<>();
+    for (Map.Entry<Integer, String> entityType : entityTypes) {
+      newIds.put(entityType.getValue().toLowerCase(Locale.ROOT), entityType.getKey());
+      newNames.put(entityType.getKey(), entityType.getValue());
+    }
+    names = newNames;
+    ids = newIds;
+  }
+
+  public static int getId(String entityType) {
+    Integer id = entityType == null ? null : ids.get(entityType.toLowerCase(Locale.ROOT));
+    if (id == null) {
+      throw new IllegalArgumentException("Unknown entity type " + entityType);
+    }
+    return id;
+  }
+
+  public static String getName(int id) {
+    String name = names.get(id);
+    if (name == null) {
+      throw new IllegalArgumentException("Unknown entity type id " + id);
+    }
+    return name;
+  }
+}
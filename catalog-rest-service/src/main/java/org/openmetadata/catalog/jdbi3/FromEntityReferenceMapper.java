@@ -21,12 +21,11 @@ import org.openmetadata.catalog.type.EntityReference;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.UUID;
 
 public class FromEntityReferenceMapper implements RowMapper<EntityReference> {
   @Override
   public EntityReference map(ResultSet rs, org.jdbi.v3.core.statement.StatementContext ctx) throws SQLException {
-    return new EntityReference().withId(UUID.fromString(rs.getString("fromId")))
-            .withType(rs.getString("fromEntity"));
+    return new EntityReference().withId(BinaryUuid.toUuid(rs.getBytes("fromId")))
+            .withType(EntityTypeDictionary.getName(rs.getInt("fromEntity")));
   }
 }
@@ -89,7 +89,7 @@ public class MessagingServiceRepository extends EntityRepository<MessagingServic
   }
 
   @Override
-  public void store(MessagingService entity, boolean update) throws IOException {
+  public void store(MessagingService entity) throws IOException {
     dao.messagingServiceDAO().insert(entity);
     // TODO Other cleanup
   }
@@ -25,7 +25,6 @@ import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
-import org.openmetadata.catalog.util.JsonUtils;
 
 import java.io.IOException;
 import java.net.URI;
@@ -74,23 +73,9 @@ public class MetricsRepository extends EntityRepository<Metrics> {
   }
 
   @Override
-  public void store(Metrics metrics, boolean update) throws IOException {
-    // Relationships and fields such as href are derived and not stored as part of json
-    EntityReference owner = metrics.getOwner();
-    List<TagLabel> tags = metrics.getTags();
-    EntityReference service = metrics.getService();
-
-    // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
-    metrics.withOwner(null).withService(null).withHref(null).withTags(null);
-
-    if (update) {
-      dao.metricsDAO().update(metrics.getId(), JsonUtils.pojoToJson(metrics));
-    } else {
-      dao.metricsDAO().insert(metrics);
-    }
-
-    // Restore the relationships
-    metrics.withOwner(owner).withService(service).withTags(tags);
+  public void store(Metrics metrics) throws IOException {
+    // Relationships and fields such as href are derived and not stored as part of json. See StoredFormMixIns
+    dao.metricsDAO().insert(metrics);
   }
 
   @Override
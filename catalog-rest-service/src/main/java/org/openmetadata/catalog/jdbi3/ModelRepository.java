@@ -27,7 +27,6 @@ import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
-import org.openmetadata.catalog.util.JsonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -113,23 +112,9 @@ public class ModelRepository extends EntityRepository<Model> {
   }
 
   @Override
-  public void store(Model model, boolean update) throws IOException {
-    // Relationships and fields such as href are derived and not stored as part of json
-    EntityReference owner = model.getOwner();
-    List<TagLabel> tags = model.getTags();
-    EntityReference dashboard = model.getDashboard();
-
-    // Don't store owner, dashboard, href and tags as JSON. Build it on the fly based on relationships
-    model.withOwner(null).withDashboard(null).withHref(null).withTags(null);
-
-    if (update) {
-      dao.modelDAO().update(model.getId(), JsonUtils.pojoToJson(model));
-    } else {
-      dao.modelDAO().insert(model);
-    }
-
-    // Restore the relationships
-    model.withOwner(owner).withDashboard(dashboard).withTags(tags);
+  public void store(Model model) throws IOException {
+    // Relationships and fields such as href are derived and not stored as part of json. See StoredFormMixIns
+    dao.modelDAO().insert(model);
   }
 
   @Override
@@ -26,10 +26,10 @@ import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.type.Task;
+import org.openmetadata.catalog.util.ChildDiff;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
-import org.openmetadata.catalog.util.JsonUtils;
 
 import java.io.IOException;
 import java.net.URI;
@@ -39,8 +39,6 @@ import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static org.openmetadata.catalog.exception.CatalogExceptionMessage.entityNotFound;
 
@@ -119,23 +117,9 @@ public class PipelineRepository extends EntityRepository<Pipeline> {
   }
 
   @Override
-  public void store(Pipeline pipeline, boolean update) throws IOException {
-    // Relationships and fields such as href are derived and not stored as part of json
-    EntityReference owner = pipeline.getOwner();
-    List<TagLabel> tags = pipeline.getTags();
-    EntityReference service = pipeline.getService();
-
-    // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
-    pipeline.withOwner(null).withService(null).withHref(null).withTags(null);
-
-    if (update) {
-      dao.pipelineDAO().update(pipeline.getId(), JsonUtils.pojoToJson(pipeline));
-    } else {
-      dao.pipelineDAO().insert(pipeline);
-    }
-
-    // Restore the relationships
-    pipeline.withOwner(owner).withService(service).withTags(tags);
+  public void store(Pipeline pipeline) throws IOException {
+    // Relationships and fields such as href are derived and not stored as part of json. See StoredFormMixIns
+    dao.pipelineDAO().insert(pipeline);
   }
 
   @Override
@@ -306,8 +290,8 @@ public class PipelineRepository extends EntityRepository<Pipeline> {
       List<Task> updatedTasks = Optional.ofNullable(updatedPipeline.getTasks()).orElse(Collections.emptyList());
       List<Task> origTasks = Optional.ofNullable(origPipeline.getTasks()).orElse(Collections.emptyList());
 
-      // TODO this might not provide distinct
-      updatedTasks = Stream.concat(origTasks.stream(), updatedTasks.stream()).distinct().collect(Collectors.toList());
+      // Tasks are identified by name. A task in the request replaces the stored task with the same name
+      updatedTasks = ChildDiff.merge(origTasks, updatedTasks, Task::getName);
       if (origTasks.isEmpty()) {
         origTasks = null;
       }
@@ -90,7 +90,7 @@ public class PipelineServiceRepository extends EntityRepository<PipelineService>
   }
 
   @Override
-  public void store(PipelineService entity, boolean update) throws IOException {
+  public void store(PipelineService entity) throws IOException {
     dao.pipelineServiceDAO().insert(entity);
   }
 
@@ -0,0 +1,85 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.openmetadata.catalog.security.JwtFilter;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.NewCookie;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Routes GET requests to the read replica using {@link ReadReplicaRouter}. Requests that change entities are served
+ * from the primary database, and record the change for the session of the client so that the reads that follow are
+ * also served from the primary for a while.
+ *
+ * A session is identified by the token the client authenticates with. Clients that do not send a token, such as the
+ * ones of a server without authentication where every user is the same principal, are given a session cookie in the
+ * response to their first change. Clients that keep neither may read from the replica right after a change.
+ */
+@Priority(Priorities.USER)
+public class ReadReplicaFilter implements ContainerRequestFilter, ContainerResponseFilter {
+  static final String SESSION_COOKIE = "catalog-session";
+  private static final List<String> READ_METHODS = Arrays.asList("GET", "HEAD");
+  private final ReadReplicaRouter router;
+
+  public ReadReplicaFilter(ReadReplicaRouter router) {
+    this.router = router;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    if (READ_METHODS.contains(requestContext.getMethod())) {
+      router.startRead(getSession(requestContext));
+    }
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    router.end();
+    int status = responseContext.getStatus();
+    if (!READ_METHODS.contains(requestContext.getMethod()) && status >= 200 && status <= 299) {
+      String session = getSession(requestContext);
+      if (session == null) {
+        String id = UUID.randomUUID().toString();
+        responseContext.getHeaders().add(HttpHeaders.SET_COOKIE,
+                new NewCookie(SESSION_COOKIE, id, "/", null, null, NewCookie.DEFAULT_MAX_AGE, false, true));
+        session = "cookie:" + id;
+      }
+      router.recordWrite(session);
+    }
+  }
+
+  /** Returns the session of the request from its token or session cookie, or null when it has neither */
+  static String getSession(ContainerRequestContext requestContext) {
+    String token = requestContext.getHeaderString(JwtFilter.TOKEN_HEADER);
+    if (token != null && !token.isEmpty()) {
+      return "token:" + token;
+    }
+    Cookie cookie = requestContext.getCookies().get(SESSION_COOKIE);
+    return cookie == null || cookie.getValue().isEmpty() ? null : "cookie:" + cookie.getValue();
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.CreateSqlObject;
+import org.openmetadata.catalog.ReadReplicaConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes DAO calls made while serving read only requests to the read replica of the catalog database. All the other
+ * calls, including the ones made while serving requests that change entities, go to the primary database.
+ *
+ * The replica is used only when its replication lag, checked every {@code lagCheckIntervalSeconds}, is within
+ * {@code maxLagSeconds}. A session that changed entities reads from the primary for {@code stickySeconds} after the
+ * change, so that its reads see its own writes. See {@link ReadReplicaFilter} for how requests are routed.
+ */
+public class ReadReplicaRouter implements Managed {
+  private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaRouter.class);
+  private static final int MAX_SESSIONS = 10000;
+  private final ThreadLocal<Boolean> readFromReplica = ThreadLocal.withInitial(() -> Boolean.FALSE);
+  private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+  private final Jdbi replica;
+  private final ReadReplicaConfiguration config;
+  private final Meter replicaReads;
+  private final Meter primaryReads;
+  private final Meter lagCheckFailures;
+  private volatile long lagSeconds = -1;
+  private ScheduledExecutorService executor;
+
+  public ReadReplicaRouter(Jdbi replica, ReadReplicaConfiguration config, MetricRegistry metrics) {
+    this.replica = replica;
+    this.config = config;
+    this.replicaReads = metrics.meter("readReplica.replicaReads");
+    this.primaryReads = metrics.meter("readReplica.primaryReads");
+    this.lagCheckFailures = metrics.meter("readReplica.lagCheckFailures");
+    metrics.register("readReplica.lagSeconds", (Gauge<Long>) () -> lagSeconds);
+  }
+
+  @Override
+  public void start() {
+    checkLag();
+    executor = Executors.newSingleThreadScheduledExecutor();
+    executor.scheduleWithFixedDelay(this::checkLag, config.getLagCheckIntervalSeconds(),
+            config.getLagCheckIntervalSeconds(), TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Start serving a read only request of {@code session}. DAO calls made on this thread go to the replica when it is
+   * within the staleness bound and the session has not made changes recently. Returns true when the replica is used.
+   */
+  public boolean startRead(String session) {
+    boolean useReplica = isReplicaAvailable() && !hasRecentWrite(session);
+    readFromReplica.set(useReplica);
+    (useReplica ? replicaReads : primaryReads).mark();
+    return useReplica;
+  }
+
+  /** End serving a request started with {@link #startRead(String)} */
+  public void end() {
+    readFromReplica.remove();
+  }
+
+  /** Record that {@code session} changed entities so that its reads go to the primary for a while */
+  public void recordWrite(String session) {
+    if (session == null) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    if (lastWrites.size() >= MAX_SESSIONS) {
+      long expired = now - TimeUnit.SECONDS.toMillis(config.getStickySeconds());
+      lastWrites.values().removeIf(time -> time < expired);
+    }
+    lastWrites.put(session, now);
+  }
+
+  public boolean isReadFromReplica() {
+    return readFromReplica.get();
+  }
+
+  boolean isReplicaAvailable() {
+    long lag = lagSeconds;
+    return lag >= 0 && lag <= config.getMaxLagSeconds();
+  }
+
+  private boolean hasRecentWrite(String session) {
+    if (session == null) {
+      return false;
+    }
+    Long lastWrite = lastWrites.get(session);
+    return lastWrite != null &&
+            System.currentTimeMillis() - lastWrite < TimeUnit.SECONDS.toMillis(config.getStickySeconds());
+  }
+
+  /**
+   * Read the replication lag of the replica. A database that is not set up as a replica, such as a reader instance
+   * that shares storage with the primary, has no lag. When replication is stopped or the lag can not be read, the
+   * replica is not used until the next check succeeds. The first failed check is logged as an error, as a replica
+   * that is never used is otherwise only visible in the metrics.
+   */
+  void checkLag() {
+    boolean wasAvailable = lagSeconds >= 0;
+    try {
+      Optional<Map<String, Object>> status = replica.withHandle(handle ->
+              handle.createQuery("SHOW SLAVE STATUS").mapToMap().findFirst());
+      Object lag = status.isPresent() ? status.get().get("seconds_behind_master") : Long.valueOf(0);
+      if (lag == null && wasAvailable) {
+        LOG.error("Replication to the read replica is stopped, reading from the primary database");
+      }
+      setLagSeconds(lag == null ? -1 : ((Number) lag).longValue());
+    } catch (Exception e) {
+      lagCheckFailures.mark();
+      if (wasAvailable || lagCheckFailures.getCount() == 1) {
+        LOG.error("Failed to read replication lag of the read replica, reading from the primary database until " +
+                "it can be read. SHOW SLAVE STATUS needs the REPLICATION CLIENT privilege.", e);
+      } else {
+        LOG.warn("Failed to read replication lag of the read replica: {}", e.getMessage());
+      }
+      setLagSeconds(-1);
+      return;
+    }
+    if (!wasAvailable && lagSeconds >= 0) {
+      LOG.info("Read replication lag of the read replica: {} seconds", lagSeconds);
+    }
+  }
+
+  /** Set replication lag of the replica, or -1 when it is not known */
+  void setLagSeconds(long lagSeconds) {
+    this.lagSeconds = lagSeconds;
+  }
+
+  /**
+   * Returns a DAO that calls {@code replicaDAO} when the current thread reads from the replica and {@code primaryDAO}
+   * otherwise. DAOs returned by {@link CreateSqlObject} methods are routed the same way on each call.
+   */
+  public <T> T route(Class<T> type, T primaryDAO, T replicaDAO) {
+    return type.cast(newRoutingProxy(type, new RoutingHandler(primaryDAO, replicaDAO, Collections.emptyList())));
+  }
+
+  private static Object newRoutingProxy(Class<?> type, InvocationHandler handler) {
+    return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+  }
+
+  private final class RoutingHandler implements InvocationHandler {
+    private final Object primaryDAO;
+    private final Object replicaDAO;
+    private final List<Method> path; // CreateSqlObject methods leading from the root DAO to this DAO
+
+    private RoutingHandler(Object primaryDAO, Object replicaDAO, List<Method> path) {
+      this.primaryDAO = primaryDAO;
+      this.replicaDAO = replicaDAO;
+      this.path = path;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getDeclaringClass() == Object.class) {
+        switch (method.getName()) {
+          case "equals":
+            return proxy == args[0];
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          default:
+            return "Routing" + path + "@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+      }
+      if (method.isAnnotationPresent(CreateSqlObject.class)) {
+        List<Method> childPath = new ArrayList<>(path);
+        childPath.add(method);
+        return newRoutingProxy(method.getReturnType(), new RoutingHandler(primaryDAO, replicaDAO, childPath));
+      }
+      try {
+        Object target = isReadFromReplica() ? replicaDAO : primaryDAO;
+        for (Method createMethod : path) {
+          target = createMethod.invoke(target);
+        }
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+}
@@ -74,7 +74,7 @@ public class ReportRepository extends EntityRepository<Report> {
   }
 
   @Override
-  public void store(Report report, boolean update) throws IOException {
+  public void store(Report report) throws IOException {
     // TODO add right checks
     dao.reportDAO().insert(report);
   }
@@ -0,0 +1,49 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.jdbi.v3.sqlobject.transaction.Transaction;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.type.CatalogStatistics;
+import org.openmetadata.catalog.type.EntityCount;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Number of entities in the catalog by entity type, by service and by tier. Counts by type and by service are read
+ * from the entity counters maintained on create and delete instead of counting the rows of entity tables.
+ */
+public class StatisticsRepository {
+  private final CollectionDAO dao;
+
+  public StatisticsRepository(CollectionDAO dao) { this.dao = dao; }
+
+  @Transaction
+  public CatalogStatistics get() {
+    CollectionDAO.EntityCountDAO countDAO = dao.entityCountDAO();
+    List<EntityCount> services = new ArrayList<>();
+    services.addAll(countDAO.listServiceCounts(Entity.DATABASE, "dbservice_entity"));
+    services.addAll(countDAO.listTableServiceCounts());
+    services.addAll(countDAO.listServiceCounts(Entity.TOPIC, "messaging_service_entity"));
+    services.addAll(countDAO.listServiceCounts(Entity.DASHBOARD, "dashboard_service_entity"));
+    services.addAll(countDAO.listServiceCounts(Entity.CHART, "dashboard_service_entity"));
+    services.addAll(countDAO.listServiceCounts(Entity.PIPELINE, "pipeline_service_entity"));
+    return new CatalogStatistics().withEntityTypes(countDAO.listTypeCounts()).withServices(services)
+            .withTiers(countDAO.listTierCounts());
+  }
+}
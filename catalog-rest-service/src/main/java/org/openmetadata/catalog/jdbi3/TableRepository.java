@@ -16,6 +16,11 @@
 
 package org.openmetadata.catalog.jdbi3;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.Table;
@@ -34,20 +39,28 @@ import org.openmetadata.catalog.type.TableData;
 import org.openmetadata.catalog.type.TableJoins;
 import org.openmetadata.catalog.type.TableProfile;
 import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.util.ChildDiff;
+import org.openmetadata.catalog.util.EntityCodec;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
 import org.openmetadata.catalog.util.JsonUtils;
 import org.openmetadata.catalog.util.RestUtil;
+import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.common.utils.CipherText;
 import org.openmetadata.common.utils.CommonUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.core.Response.Status;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.text.DateFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
@@ -56,7 +69,6 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -71,6 +83,11 @@ public class TableRepository extends EntityRepository<Table> {
   // Table fields that can be updated in a PUT request
   static final Fields TABLE_UPDATE_FIELDS = new Fields(TableResource.FIELD_LIST,
           "owner,columns,database,tags,tableConstraints");
+  // Table fields that are not stored in the table document and are built on the fly based on relationships
+  static final List<String> RELATIONSHIP_FIELDS = Arrays.asList("href", "owner", "database", "tags", "usageSummary",
+          "followers", "joins", "sampleData", "tableProfile");
+  // Number of stored columns read at a time when writing a table token by token
+  static final int COLUMN_PAGE_SIZE = 100;
 
   private final CollectionDAO dao;
 
@@ -81,7 +98,7 @@ public class TableRepository extends EntityRepository<Table> {
 
   @Override
   public Table setFields(Table table, Fields fields) throws IOException, ParseException {
-    table.setColumns(table.getColumns());
+    table.setColumns(fields.contains("columns") ? getColumns(table) : null);
     table.setTableConstraints(fields.contains("tableConstraints") ? table.getTableConstraints() : null);
     table.setOwner(fields.contains("owner") ? getOwner(table) : null);
     table.setFollowers(fields.contains("followers") ? getFollowers(table) : null);
@@ -114,15 +131,18 @@ public class TableRepository extends EntityRepository<Table> {
   }
 
   @Transaction
-  public void delete(UUID id) {
-    dao.tableDAO().delete(id);
+  public void delete(UUID id) throws IOException {
+    // Keep the last version with its columns, which are stored in table_column
+    Table table = withColumns(dao.tableDAO().findEntityById(id));
+    dao.tableDAO().delete(id, JsonUtils.pojoToJson(table));
+    dao.tableColumnDAO().deleteAll(id.toString());
     dao.relationshipDAO().deleteAll(id.toString()); // Remove all relationships
   }
 
   @Transaction
   public void addJoins(UUID tableId, TableJoins joins) throws IOException, ParseException {
     // Validate the request content
-    Table table = dao.tableDAO().findEntityById(tableId);
+    Table table = withColumns(dao.tableDAO().findEntityById(tableId));
     if (!CommonUtil.dateInRange(RestUtil.DATE_FORMAT, joins.getStartDate(), 0, 30)) {
       throw new IllegalArgumentException("Date range can only include past 30 days starting today");
     }
@@ -143,7 +163,7 @@ public class TableRepository extends EntityRepository<Table> {
   @Transaction
   public void addSampleData(UUID tableId, TableData tableData) throws IOException {
     // Validate the request content
-    Table table = dao.tableDAO().findEntityById(tableId);
+    Table table = withColumns(dao.tableDAO().findEntityById(tableId));
 
     // Validate all the columns
     for (String columnName : tableData.getColumns()) {
@@ -164,7 +184,7 @@ public class TableRepository extends EntityRepository<Table> {
   @Transaction
   public void addTableProfileData(UUID tableId, TableProfile tableProfile) throws IOException {
     // Validate the request content
-    Table table = dao.tableDAO().findEntityById(tableId);
+    Table table = withColumns(dao.tableDAO().findEntityById(tableId));
 
     List<TableProfile> storedTableProfiles = getTableProfile(table);
     Map<String, TableProfile> storedMapTableProfiles = new HashMap<>();
@@ -184,6 +204,95 @@ public class TableRepository extends EntityRepository<Table> {
             JsonUtils.pojoToJson(updatedProfiles));
   }
 
+  /**
+   * List columns of a table after the given cursor. Used for paging through the columns of very wide tables.
+   */
+  @Transaction
+  public ResultList<Column> listColumns(UUID tableId, Fields fields, int limitParam, String after)
+          throws IOException, GeneralSecurityException {
+    Table table = dao.tableDAO().findEntityById(tableId);
+    int afterOrdinal = after == null ? -1 : Integer.parseInt(CipherText.instance().decrypt(after));
+
+    List<Column> columns;
+    int total;
+    if (table.getColumns() != null) { // Columns embedded in table stored before they moved to table_column
+      total = table.getColumns().size();
+      columns = new ArrayList<>(table.getColumns().subList(Math.min(afterOrdinal + 1, total),
+              Math.min(afterOrdinal + 1 + limitParam, total)));
+    } else {
+      total = dao.tableColumnDAO().listCount(tableId.toString());
+      columns = JsonUtils.readObjects(dao.tableColumnDAO().listAfter(tableId.toString(), limitParam, afterOrdinal),
+              Column.class);
+    }
+    getColumnTags(fields.contains("tags"), columns);
+
+    int lastOrdinal = afterOrdinal + columns.size();
+    String afterCursor = lastOrdinal < total - 1 ? String.valueOf(lastOrdinal) : null;
+    return new ResultList<>(columns, null, afterCursor, total);
+  }
+
+  /**
+   * Get a table to write it token by token. The stored table document and the stored columns are copied to the output
+   * as they are and only the requested relationship fields are spliced in. Unlike {@link #get(String, Fields)}, the
+   * memory used does not grow with the number of columns in the table.
+   *
+   * The table is passed to {@code writer}, which writes it, in the transaction that read the stored table. Hence the
+   * table is written from the snapshot in which it was found, and a table that does not exist fails with
+   * {@link org.openmetadata.catalog.exception.EntityNotFoundException} before {@code writer} is called.
+   */
+  public void stream(String id, Fields fields, TableWriter writer) throws IOException, ParseException {
+    UUID tableId = UUID.fromString(id);
+    try {
+      dao.useTransaction(TransactionIsolationLevel.REPEATABLE_READ, transaction ->
+              writer.write(getStream(transaction, tableId, fields)));
+    } catch (IOException | ParseException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Writes a table returned by {@link #stream(String, Fields, TableWriter)} */
+  @FunctionalInterface
+  public interface TableWriter {
+    void write(TableStream table) throws IOException;
+  }
+
+  private TableStream getStream(CollectionDAO transaction, UUID tableId, Fields fields) throws IOException,
+          ParseException {
+    byte[] stored = transaction.tableDAO().findStoredById(tableId);
+    Table table = new Table().withId(tableId).withFullyQualifiedName(getFullyQualifiedName(stored));
+    table.setOwner(fields.contains("owner") ? getOwner(table) : null);
+    table.setFollowers(fields.contains("followers") ? getFollowers(table) : null);
+    table.setUsageSummary(fields.contains("usageSummary") ? EntityUtil.getLatestUsage(dao.usageDAO(), tableId) :
+            null);
+    table.setDatabase(fields.contains("database") ? getDatabase(tableId) : null);
+    table.setTags(fields.contains("tags") ? getTags(table.getFullyQualifiedName()) : null);
+    table.setJoins(fields.contains("joins") ? getJoins(table) : null);
+    table.setSampleData(fields.contains("sampleData") ? getSampleData(table) : null);
+    table.setTableProfile(fields.contains("tableProfile") ? getTableProfile(table) : null);
+
+    // Tags of all the columns, including the nested columns, are read in one go
+    Map<String, List<TagLabel>> columnTags = fields.contains("columns") && fields.contains("tags") ?
+            dao.tagDAO().getTagsByPrefix(table.getFullyQualifiedName()) : null;
+    return new TableStream(transaction, stored, table, fields, columnTags);
+  }
+
+  private static String getFullyQualifiedName(byte[] stored) throws IOException {
+    try (JsonParser parser = EntityCodec.createParser(stored)) {
+      parser.nextToken();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        parser.nextToken();
+        if (field.equals("fullyQualifiedName")) {
+          return parser.getText();
+        }
+        parser.skipChildren();
+      }
+    }
+    return null;
+  }
+
   @Transaction
   public EntityReference getOwnerReference(Table table) throws IOException {
     return EntityUtil.populateOwner(dao.userDAO(), dao.teamDAO(), table.getOwner());
@@ -231,29 +340,11 @@ public class TableRepository extends EntityRepository<Table> {
   }
 
   @Override
-  public void store(Table table, boolean update) throws IOException {
-    // Relationships and fields such as href are derived and not stored as part of json
-    EntityReference owner = table.getOwner();
-    EntityReference database = table.getDatabase();
-    List<TagLabel> tags = table.getTags();
-
-    // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
-    table.withOwner(null).withDatabase(null).withHref(null).withTags(null);
-
-    // Don't store column tags as JSON but build it on the fly based on relationships
-    List<Column> columnWithTags = table.getColumns();
-    table.setColumns(cloneWithoutTags(columnWithTags));
-    table.getColumns().forEach(column -> column.setTags(null));
-
-    if (update) {
-      dao.tableDAO().update(table.getId(), JsonUtils.pojoToJson(table));
-    } else {
-      dao.tableDAO().insert(table);
-    }
-
-    // Restore the relationships
-    table.withOwner(owner).withDatabase(database).withTags(tags);
-    table.setColumns(columnWithTags);
+  public void store(Table table) throws IOException {
+    // Relationships and fields such as href are derived and not stored as part of json. Columns are stored separately
+    // in table_column. See StoredFormMixIns. On update, TableUpdater writes only the columns that changed
+    dao.tableDAO().insert(table);
+    storeColumns(table.getId(), Collections.emptyList(), table.getColumns());
   }
 
   @Override
@@ -275,26 +366,47 @@ public class TableRepository extends EntityRepository<Table> {
     return new TableUpdater(original, updated, patchOperation);
   }
 
-  List<Column> cloneWithoutTags(List<Column> columns) {
-    if (columns == null || columns.isEmpty()) {
-      return columns;
+  /**
+   * Store the columns that are different from the stored columns at the same position and remove the stored columns
+   * beyond the updated list of columns. Columns are compared in their stored form, without column tags that are built
+   * on the fly based on relationships.
+   */
+  private void storeColumns(UUID tableId, List<Column> storedColumns, List<Column> columns)
+          throws JsonProcessingException {
+    List<Column> stored = Optional.ofNullable(storedColumns).orElse(Collections.emptyList());
+    List<Column> updated = Optional.ofNullable(columns).orElse(Collections.emptyList());
+    List<Integer> ordinals = new ArrayList<>();
+    List<String> jsons = new ArrayList<>();
+    for (int i = 0; i < updated.size(); i++) {
+      String json = JsonUtils.pojoToStoredJson(updated.get(i));
+      if (i >= stored.size() || !json.equals(JsonUtils.pojoToStoredJson(stored.get(i)))) {
+        ordinals.add(i);
+        jsons.add(json);
+      }
+    }
+    if (!ordinals.isEmpty()) {
+      dao.tableColumnDAO().upsert(tableId.toString(), ordinals, jsons);
+    }
+    if (stored.size() > updated.size()) {
+      dao.tableColumnDAO().deleteFrom(tableId.toString(), updated.size());
     }
-    List<Column> copy = new ArrayList<>();
-    columns.forEach(c -> copy.add(cloneWithoutTags(c)));
-    return copy;
   }
 
-  private Column cloneWithoutTags(Column column) {
-    List<Column> children = cloneWithoutTags(column.getChildren());
-    return new Column().withDescription(column.getDescription()).withName(column.getName())
-            .withFullyQualifiedName(column.getFullyQualifiedName())
-            .withArrayDataType(column.getArrayDataType())
-            .withConstraint(column.getConstraint())
-            .withDataTypeDisplay(column.getDataTypeDisplay())
-            .withDataType(column.getDataType())
-            .withDataLength(column.getDataLength())
-            .withOrdinalPosition(column.getOrdinalPosition())
-            .withChildren(children);
+  /** Key that identifies a column when comparing stored and updated columns */
+  private static List<Object> getColumnKey(Column column) {
+    return Arrays.asList(column.getName(), column.getDataType(), column.getArrayDataType(),
+            column.getOrdinalPosition());
+  }
+
+  private List<Column> getColumns(Table table) throws IOException {
+    if (table.getColumns() != null) { // Columns embedded in table stored before they moved to table_column
+      return table.getColumns();
+    }
+    return JsonUtils.readObjects(dao.tableColumnDAO().list(table.getId().toString()), Column.class);
+  }
+
+  private Table withColumns(Table table) throws IOException {
+    return table.withColumns(getColumns(table));
   }
 
   // TODO remove this
@@ -378,7 +490,7 @@ public class TableRepository extends EntityRepository<Table> {
     for (JoinedWith joinedWith : joinedWithList) {
       // Validate table
       String tableFQN = getTableFQN(joinedWith.getFullyQualifiedName());
-      Table joinedWithTable = dao.tableDAO().findEntityByName(tableFQN);
+      Table joinedWithTable = withColumns(dao.tableDAO().findEntityByName(tableFQN));
 
       // Validate column
       validateColumnFQN(joinedWithTable, joinedWith.getFullyQualifiedName());
@@ -520,6 +632,145 @@ public class TableRepository extends EntityRepository<Table> {
     return tableProfiles;
   }
 
+  /**
+   * Table that is written token by token within the transaction that read the stored table, so that its columns are
+   * read from the same snapshot. The columns are read from table_column a page at a time.
+   */
+  public class TableStream {
+    private final CollectionDAO transaction;
+    private final byte[] stored;
+    private final Table relationships;
+    private final Fields fields;
+    private final Map<String, List<TagLabel>> columnTags;
+
+    TableStream(CollectionDAO transaction, byte[] stored, Table relationships, Fields fields,
+                Map<String, List<TagLabel>> columnTags) {
+      this.transaction = transaction;
+      this.stored = stored;
+      this.relationships = relationships;
+      this.fields = fields;
+      this.columnTags = columnTags;
+    }
+
+    /** Table with only the id, fully qualified name and the requested relationship fields set */
+    public Table getRelationships() {
+      return relationships;
+    }
+
+    public void write(OutputStream out) throws IOException {
+      try (JsonParser parser = EntityCodec.createParser(stored);
+           JsonGenerator generator = JsonUtils.createGenerator(out)) {
+        parser.nextToken();
+        generator.writeStartObject();
+        boolean embeddedColumns = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String field = parser.getCurrentName();
+          parser.nextToken();
+          if (!isStoredField(field)) {
+            parser.skipChildren();
+          } else if (field.equals("columns")) {
+            // Columns embedded in table stored before they moved to table_column
+            embeddedColumns = true;
+            generator.writeFieldName(field);
+            copyColumns(parser, generator);
+          } else if (field.equals("updatedAt") && parser.currentToken() == JsonToken.VALUE_STRING) {
+            // Write dates the same way as the rest of the API responses, as milliseconds since epoch
+            generator.writeNumberField(field, parseDateTime(parser.getText()));
+          } else {
+            generator.writeFieldName(field);
+            generator.copyCurrentStructure(parser);
+          }
+        }
+        if (fields.contains("columns") && !embeddedColumns) {
+          writeStoredColumns(generator);
+        }
+        writeField(generator, "href", relationships.getHref());
+        writeField(generator, "owner", relationships.getOwner());
+        writeField(generator, "database", relationships.getDatabase());
+        writeField(generator, "tags", relationships.getTags());
+        writeField(generator, "usageSummary", relationships.getUsageSummary());
+        writeField(generator, "followers", relationships.getFollowers());
+        writeField(generator, "joins", relationships.getJoins());
+        writeField(generator, "sampleData", relationships.getSampleData());
+        writeField(generator, "tableProfile", relationships.getTableProfile());
+        generator.writeEndObject();
+      }
+    }
+
+    private long parseDateTime(String dateTime) throws IOException {
+      try {
+        return ((DateFormat) RestUtil.DATE_TIME_FORMAT.clone()).parse(dateTime).getTime();
+      } catch (ParseException e) {
+        throw new IOException("Invalid date time " + dateTime, e);
+      }
+    }
+
+    private boolean isStoredField(String field) {
+      if (RELATIONSHIP_FIELDS.contains(field)) {
+        return false;
+      }
+      return !TableResource.FIELD_LIST.contains(field) || fields.contains(field);
+    }
+
+    private void writeStoredColumns(JsonGenerator generator) throws IOException {
+      generator.writeArrayFieldStart("columns");
+      int after = -1;
+      List<byte[]> page;
+      do {
+        page = transaction.tableColumnDAO().listStoredAfter(relationships.getId().toString(), COLUMN_PAGE_SIZE, after);
+        for (byte[] column : page) {
+          try (JsonParser parser = EntityCodec.createParser(column)) {
+            parser.nextToken();
+            copyColumn(parser, generator);
+          }
+        }
+        after += page.size();
+      } while (page.size() == COLUMN_PAGE_SIZE);
+      generator.writeEndArray();
+    }
+
+    private void copyColumns(JsonParser parser, JsonGenerator generator) throws IOException {
+      generator.writeStartArray();
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        copyColumn(parser, generator);
+      }
+      generator.writeEndArray();
+    }
+
+    /** Copy a column and its children replacing the stored column tags with the tags from relationships */
+    private void copyColumn(JsonParser parser, JsonGenerator generator) throws IOException {
+      generator.writeStartObject();
+      String columnFQN = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        JsonToken value = parser.nextToken();
+        if (field.equals("tags")) {
+          parser.skipChildren();
+          continue;
+        }
+        generator.writeFieldName(field);
+        if (field.equals("children") && value == JsonToken.START_ARRAY) {
+          copyColumns(parser, generator);
+        } else {
+          if (field.equals("fullyQualifiedName")) {
+            columnFQN = parser.getText();
+          }
+          generator.copyCurrentStructure(parser);
+        }
+      }
+      if (columnTags != null) {
+        writeField(generator, "tags", columnTags.getOrDefault(columnFQN, Collections.emptyList()));
+      }
+      generator.writeEndObject();
+    }
+
+    private void writeField(JsonGenerator generator, String field, Object value) throws IOException {
+      if (value != null) {
+        generator.writeObjectField(field, value);
+      }
+    }
+  }
+
   public static class TableEntityInterface implements EntityInterface<Table> {
     private final Table entity;
 
@@ -633,6 +884,14 @@ public class TableRepository extends EntityRepository<Table> {
       updateConstraints(origTable, updatedTable);
       updateTableType(origTable, updatedTable);
       updateColumns(origTable.getColumns(), updated.getEntity().getColumns());
+      updateStoredColumns(origTable, updatedTable);
+    }
+
+    private void updateStoredColumns(Table origTable, Table updatedTable) throws JsonProcessingException {
+      // Write all the columns when they are still embedded in the stored table and not yet in table_column
+      boolean embedded = dao.tableColumnDAO().listCount(origTable.getId().toString()) == 0;
+      storeColumns(origTable.getId(), embedded ? Collections.emptyList() : origTable.getColumns(),
+              updatedTable.getColumns());
     }
 
     private void updateConstraints(Table origTable, Table updatedTable) {
@@ -655,16 +914,12 @@ public class TableRepository extends EntityRepository<Table> {
     }
 
     private void updateColumns(List<Column> origColumns, List<Column> updatedColumns) throws IOException {
+      // Match stored and updated columns by name, data type and ordinal position
+      ChildDiff<Column> diff = ChildDiff.diff(origColumns, updatedColumns, TableRepository::getColumnKey);
+
       // Carry forward the user generated metadata from existing columns to new columns
       for (Column updated : updatedColumns) {
-        // Find stored column matching name, data type and ordinal position
-        Column stored = origColumns.stream()
-                .filter(s -> s.getName().equals(updated.getName()) &&
-                        s.getDataType() == updated.getDataType() &&
-                        s.getArrayDataType() == updated.getArrayDataType() &&
-                        Objects.equals(s.getOrdinalPosition(), updated.getOrdinalPosition()))
-                .findAny()
-                .orElse(null);
+        Column stored = diff.findStored(updated);
         if (stored == null) {
           changeDescription.getFieldsAdded().add(getColumnField(updated));
           EntityUtil.applyTags(dao.tagDAO(), updated.getTags(), updated.getFullyQualifiedName());
@@ -680,19 +935,9 @@ public class TableRepository extends EntityRepository<Table> {
         }
       }
 
-      for (Column stored : origColumns) {
-        // Find updated column matching name, data type and ordinal position
-        Column updated = updatedColumns.stream()
-                .filter(s -> s.getName().equals(stored.getName()) &&
-                        s.getDataType() == stored.getDataType() &&
-                        s.getArrayDataType() == stored.getArrayDataType() &&
-                        Objects.equals(s.getOrdinalPosition(), stored.getOrdinalPosition()))
-                .findAny()
-                .orElse(null);
-        if (updated == null) {
-          changeDescription.getFieldsDeleted().add(getColumnField(stored));
-          majorVersionChange = true;
-        }
+      for (Column stored : diff.getDeleted()) {
+        changeDescription.getFieldsDeleted().add(getColumnField(stored));
+        majorVersionChange = true;
       }
     }
 
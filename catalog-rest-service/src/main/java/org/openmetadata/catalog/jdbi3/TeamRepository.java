@@ -28,7 +28,6 @@ import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
-import org.openmetadata.catalog.util.JsonUtils;
 
 import java.io.IOException;
 import java.net.URI;
@@ -112,21 +111,9 @@ public class TeamRepository extends EntityRepository<Team> {
   }
 
   @Override
-  public void store(Team team, boolean update) throws IOException {
-    // Relationships and fields such as href are derived and not stored as part of json
-    List<EntityReference> users = team.getUsers();
-
-    // Don't store users, href as JSON. Build it on the fly based on relationships
-    team.withUsers(null).withHref(null);
-
-    if (update) {
-      dao.teamDAO().update(team.getId(), JsonUtils.pojoToJson(team));
-    } else {
-      dao.teamDAO().insert(team);
-    }
-
-    // Restore the relationships
-    team.withUsers(users);
+  public void store(Team team) throws IOException {
+    // Relationships and fields such as href are derived and not stored as part of json. See StoredFormMixIns
+    dao.teamDAO().insert(team);
   }
 
   @Override
@@ -265,13 +252,13 @@ public class TeamRepository extends EntityRepository<Team> {
       List<EntityReference> origUsers = Optional.ofNullable(origTeam.getUsers()).orElse(Collections.emptyList());
       List<EntityReference> updatedUsers = Optional.ofNullable(updatedTeam.getUsers()).orElse(Collections.emptyList());
 
-      // Remove users from original and add users from updated
-      dao.relationshipDAO().deleteFrom(origTeam.getId().toString(), Relationship.CONTAINS.ordinal(), "user");
-      // Add relationships
+      // Add and remove only the relationships from team to users that changed
+      List<String> userIds = new ArrayList<>();
       for (EntityReference user : updatedUsers) {
-        dao.relationshipDAO().insert(updatedTeam.getId().toString(), user.getId().toString(),
-                "team", "user", Relationship.CONTAINS.ordinal());
+        userIds.add(user.getId().toString());
       }
+      dao.relationshipDAO().syncTo(updatedTeam.getId().toString(), "team", userIds, "user",
+              Relationship.CONTAINS.ordinal());
 
       // Sort by user Id as string (as done in the database)
       updatedUsers.sort(Comparator.comparing(entityReference -> entityReference.getId().toString()));
@@ -21,11 +21,11 @@ import org.openmetadata.catalog.type.EntityReference;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.UUID;
 
 public class ToEntityReferenceMapper implements RowMapper<EntityReference> {
   @Override
   public EntityReference map(ResultSet rs, org.jdbi.v3.core.statement.StatementContext ctx) throws SQLException {
-    return new EntityReference().withId(UUID.fromString(rs.getString("toId"))).withType(rs.getString("toEntity"));
+    return new EntityReference().withId(BinaryUuid.toUuid(rs.getBytes("toId")))
+            .withType(EntityTypeDictionary.getName(rs.getInt("toEntity")));
   }
 }
@@ -28,7 +28,6 @@ import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
-import org.openmetadata.catalog.util.JsonUtils;
 
 import javax.ws.rs.core.Response.Status;
 import java.io.IOException;
@@ -81,23 +80,9 @@ public class TopicRepository extends EntityRepository<Topic> {
   }
 
   @Override
-  public void store(Topic topic, boolean update) throws IOException {
-    // Relationships and fields such as href are derived and not stored as part of json
-    EntityReference owner = topic.getOwner();
-    List<TagLabel> tags = topic.getTags();
-    EntityReference service = topic.getService();
-
-    // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
-    topic.withOwner(null).withService(null).withHref(null).withTags(null);
-
-    if (update) {
-      dao.topicDAO().update(topic.getId(), JsonUtils.pojoToJson(topic));
-    } else {
-      dao.topicDAO().insert(topic);
-    }
-
-    // Restore the relationships
-    topic.withOwner(owner).withService(service).withTags(tags);
+  public void store(Topic topic) throws IOException {
+    // Relationships and fields such as href are derived and not stored as part of json. See StoredFormMixIns
+    dao.topicDAO().insert(topic);
   }
 
   @Override
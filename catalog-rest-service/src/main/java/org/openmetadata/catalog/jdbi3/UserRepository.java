@@ -27,7 +27,6 @@ import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
-import org.openmetadata.catalog.util.JsonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,21 +70,9 @@ public class UserRepository extends EntityRepository<User> {
   }
 
   @Override
-  public void store(User user, boolean update) throws IOException {
-    // Relationships and fields such as href are derived and not stored as part of json
-    List<EntityReference> teams = user.getTeams();
-
-    // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
-    user.withTeams(null).withHref(null);
-
-    if (update) {
-      dao.userDAO().update(user.getId(), JsonUtils.pojoToJson(user));
-    } else {
-      dao.userDAO().insert(user);
-    }
-
-    // Restore the relationships
-    user.withTeams(teams);
+  public void store(User user) throws IOException {
+    // Relationships and fields such as href are derived and not stored as part of json. See StoredFormMixIns
+    dao.userDAO().insert(user);
   }
 
   @Override
@@ -191,7 +178,7 @@ public class UserRepository extends EntityRepository<User> {
     user.setDeactivated(true);
     user.setName("deactivated." + user.getName());
     user.setDisplayName("Deactivated " + user.getDisplayName());
-    dao.userDAO().update(id, JsonUtils.pojoToJson(user));
+    dao.userDAO().update(user);
     return user;
   }
 
@@ -32,6 +32,7 @@ import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
@@ -51,7 +52,6 @@ import java.text.ParseException;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 @Path("/v1/bots")
 @Api(value = "Bots collection", tags = "Bots collection")
@@ -126,7 +126,7 @@ public class BotsResource {
                          @Context SecurityContext securityContext,
                          Bots bot) throws IOException, ParseException {
     SecurityUtil.checkAdminRole(authorizer, securityContext);
-    bot.withId(UUID.randomUUID()).withUpdatedBy(securityContext.getUserPrincipal().getName())
+    bot.withId(UUIDUtil.newTimeOrderedUUID()).withUpdatedBy(securityContext.getUserPrincipal().getName())
             .withUpdatedAt(new Date());
     addHref(uriInfo, dao.create(bot));
     return Response.created(bot.getHref()).entity(bot).build();
@@ -40,9 +40,11 @@ import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.PagingTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.json.JsonPatch;
 import javax.validation.Valid;
@@ -52,6 +54,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.PATCH;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -60,6 +63,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
@@ -153,16 +157,25 @@ public class ChartResource {
                         @QueryParam("before") String before,
                                 @Parameter(description = "Returns list of charts after this cursor",
                                 schema = @Schema(type = "string"))
-                        @QueryParam("after") String after
+                        @QueryParam("after") String after,
+                        @Parameter(description = "Returns list of charts as they were at this time, " +
+                                "in milliseconds since epoch",
+                                schema = @Schema(type = "long"))
+                        @QueryParam("asOf") Long asOf,
+                        @Parameter(description = "Paging total: `false` to leave it out, `approximate` " +
+                                "from entity counters or `exact` (default = approximate)",
+                                schema = @Schema(type = "string", example = "approximate"))
+                        @DefaultValue("approximate")
+                        @QueryParam("total") PagingTotal total
   ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
     ResultList<Chart> charts;
     if (before != null) { // Reverse paging
-      charts = dao.listBefore(fields, serviceParam, limitParam, before); // Ask for one extra entry
+      charts = dao.listBefore(fields, serviceParam, limitParam, before, asOf, total); // Ask for one extra entry
     } else { // Forward paging or first page
-      charts = dao.listAfter(fields, serviceParam, limitParam, after);
+      charts = dao.listAfter(fields, serviceParam, limitParam, after, asOf, total);
     }
     addHref(uriInfo, charts.getData());
     return charts;
@@ -198,9 +211,13 @@ public class ChartResource {
                       @Context SecurityContext securityContext,
                       @Parameter(description = "Fields requested in the returned resource",
                               schema = @Schema(type = "string", example = FIELDS))
-                      @QueryParam("fields") String fieldsParam) throws IOException, ParseException {
+                      @QueryParam("fields") String fieldsParam,
+                      @Parameter(description = "Returns the chart as it was at this time, " +
+                              "in milliseconds since epoch",
+                              schema = @Schema(type = "long"))
+                      @QueryParam("asOf") Long asOf) throws IOException, ParseException {
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
-    return addHref(uriInfo, dao.get(id, fields));
+    return addHref(uriInfo, asOf == null ? dao.get(id, fields) : dao.getAsOf(id, fields, asOf));
   }
 
   @GET
@@ -272,6 +289,8 @@ public class ChartResource {
   public Chart updateDescription(@Context UriInfo uriInfo,
                                  @Context SecurityContext securityContext,
                                  @PathParam("id") String id,
+                                 @Parameter(description = "Version of the entity the patch is based on")
+                                 @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                  @RequestBody(description = "JsonPatch with array of operations",
                                          content = @Content(mediaType = MediaType.APPLICATION_JSON_PATCH_JSON,
                                                  examples = {@ExampleObject("[" +
@@ -283,7 +302,8 @@ public class ChartResource {
     Chart chart = dao.get(id, fields);
     SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext,
             new ChartEntityInterface(chart).getEntityReference());
-    chart = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch);
+    chart = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch,
+            RestUtil.getIfMatchVersion(ifMatch));
     return addHref(uriInfo, chart);
   }
 
@@ -297,10 +317,12 @@ public class ChartResource {
           })
   public Response createOrUpdate(@Context UriInfo uriInfo,
                                  @Context SecurityContext securityContext,
+                                 @Parameter(description = "Version of the existing entity the update is based on")
+                                 @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                  @Valid CreateChart create) throws IOException, ParseException {
 
     Chart chart = getChart(securityContext, create);
-    PutResponse<Chart> response = dao.createOrUpdate(chart);
+    PutResponse<Chart> response = dao.createOrUpdate(chart, RestUtil.getIfMatchVersion(ifMatch));
     chart = addHref(uriInfo, response.getEntity());
     return Response.status(response.getStatus()).entity(chart).build();
   }
@@ -358,7 +380,8 @@ public class ChartResource {
   }
 
   private Chart getChart(SecurityContext securityContext, CreateChart create) {
-    return new Chart().withId(UUID.randomUUID()).withName(create.getName()).withDisplayName(create.getDisplayName())
+    return new Chart().withId(UUIDUtil.newTimeOrderedUUID()).withName(create.getName())
+            .withDisplayName(create.getDisplayName())
             .withDescription(create.getDescription())
             .withService(create.getService())
             .withChartType(create.getChartType()).withChartUrl(create.getChartUrl())
@@ -38,9 +38,11 @@ import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.PagingTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.json.JsonPatch;
 import javax.validation.Valid;
@@ -50,6 +52,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.PATCH;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -58,6 +61,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
@@ -157,16 +161,25 @@ public class DashboardResource {
                                       @QueryParam("before") String before,
                                       @Parameter(description = "Returns list of dashboards after this cursor",
                                               schema = @Schema(type = "string"))
-                                      @QueryParam("after") String after
+                                      @QueryParam("after") String after,
+                                      @Parameter(description = "Returns list of dashboards as they were at this " +
+                                              "time, in milliseconds since epoch",
+                                              schema = @Schema(type = "long"))
+                                      @QueryParam("asOf") Long asOf,
+                                      @Parameter(description = "Paging total: `false` to leave it out, `approximate` " +
+                                              "from entity counters or `exact` (default = approximate)",
+                                              schema = @Schema(type = "string", example = "approximate"))
+                                      @DefaultValue("approximate")
+                                      @QueryParam("total") PagingTotal total
   ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
     ResultList<Dashboard> dashboards;
     if (before != null) { // Reverse paging
-      dashboards = dao.listBefore(fields, serviceParam, limitParam, before); // Ask for one extra entry
+      dashboards = dao.listBefore(fields, serviceParam, limitParam, before, asOf, total); // Ask for one extra entry
     } else { // Forward paging or first page
-      dashboards = dao.listAfter(fields, serviceParam, limitParam, after);
+      dashboards = dao.listAfter(fields, serviceParam, limitParam, after, asOf, total);
     }
     addHref(uriInfo, dashboards.getData());
     return dashboards;
@@ -203,9 +216,13 @@ public class DashboardResource {
                        @PathParam("id") String id,
                        @Parameter(description = "Fields requested in the returned resource",
                                schema = @Schema(type = "string", example = FIELDS))
-                       @QueryParam("fields") String fieldsParam) throws IOException, ParseException {
+                       @QueryParam("fields") String fieldsParam,
+                       @Parameter(description = "Returns the dashboard as it was at this time, " +
+                               "in milliseconds since epoch",
+                               schema = @Schema(type = "long"))
+                       @QueryParam("asOf") Long asOf) throws IOException, ParseException {
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
-    return addHref(uriInfo, dao.get(id, fields));
+    return addHref(uriInfo, asOf == null ? dao.get(id, fields) : dao.getAsOf(id, fields, asOf));
   }
 
   @GET
@@ -276,6 +293,8 @@ public class DashboardResource {
   public Dashboard updateDescription(@Context UriInfo uriInfo,
                                      @Context SecurityContext securityContext,
                                      @PathParam("id") String id,
+                                     @Parameter(description = "Version of the entity the patch is based on")
+                                     @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                      @RequestBody(description = "JsonPatch with array of operations",
                                          content = @Content(mediaType = MediaType.APPLICATION_JSON_PATCH_JSON,
                                                  examples = {@ExampleObject("[" +
@@ -287,7 +306,8 @@ public class DashboardResource {
     Dashboard dashboard = dao.get(id, fields);
     SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext,
             dao.getOwnerReference(dashboard));
-    dashboard = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch);
+    dashboard = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch,
+            RestUtil.getIfMatchVersion(ifMatch));
     return addHref(uriInfo, dashboard);
   }
 
@@ -302,9 +322,11 @@ public class DashboardResource {
           })
   public Response createOrUpdate(@Context UriInfo uriInfo,
                                  @Context SecurityContext securityContext,
+                                 @Parameter(description = "Version of the existing entity the update is based on")
+                                 @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                  @Valid CreateDashboard create) throws IOException, ParseException {
     Dashboard dashboard = getDashboard(securityContext, create);
-    PutResponse<Dashboard> response = dao.createOrUpdate(dashboard);
+    PutResponse<Dashboard> response = dao.createOrUpdate(dashboard, RestUtil.getIfMatchVersion(ifMatch));
     dashboard = addHref(uriInfo, response.getEntity());
     return Response.status(response.getStatus()).entity(dashboard).build();
   }
@@ -362,7 +384,7 @@ public class DashboardResource {
   }
 
   private Dashboard getDashboard(SecurityContext securityContext, CreateDashboard create) {
-    return new Dashboard().withId(UUID.randomUUID()).withName(create.getName())
+    return new Dashboard().withId(UUIDUtil.newTimeOrderedUUID()).withName(create.getName())
             .withDisplayName(create.getDisplayName())
             .withDescription(create.getDescription()).withService(create.getService()).withCharts(create.getCharts())
             .withDashboardUrl(create.getDashboardUrl()).withTags(create.getTags())
@@ -38,9 +38,11 @@ import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.PagingTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.json.JsonPatch;
 import javax.validation.Valid;
@@ -50,6 +52,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.PATCH;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -58,6 +61,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
@@ -151,7 +155,16 @@ public class DatabaseResource {
                            @QueryParam("before") String before,
                                    @Parameter(description = "Returns list of tables after this cursor",
                                    schema = @Schema(type = "string"))
-                           @QueryParam("after") String after
+                           @QueryParam("after") String after,
+                           @Parameter(description = "Returns list of databases as they were at this time, " +
+                                   "in milliseconds since epoch",
+                                   schema = @Schema(type = "long"))
+                           @QueryParam("asOf") Long asOf,
+                           @Parameter(description = "Paging total: `false` to leave it out, `approximate` " +
+                                   "from entity counters or `exact` (default = approximate)",
+                                   schema = @Schema(type = "string", example = "approximate"))
+                           @DefaultValue("approximate")
+                           @QueryParam("total") PagingTotal total
         ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
@@ -162,9 +175,9 @@ public class DatabaseResource {
     // scrolling afterCursor is not null. Similarly, if the extra entry exists, then in reverse scrolling,
     // beforeCursor is not null. Remove the extra entry before returning results.
     if (before != null) { // Reverse paging
-      databases = dao.listBefore(fields, serviceParam, limitParam, before); // Ask for one extra entry
+      databases = dao.listBefore(fields, serviceParam, limitParam, before, asOf, total); // Ask for one extra entry
     } else { // Forward paging or first page
-      databases = dao.listAfter(fields, serviceParam, limitParam, after);
+      databases = dao.listAfter(fields, serviceParam, limitParam, after, asOf, total);
     }
     addHref(uriInfo, databases.getData());
     return databases;
@@ -200,9 +213,13 @@ public class DatabaseResource {
                       @Context SecurityContext securityContext,
                       @Parameter(description = "Fields requested in the returned resource",
                               schema = @Schema(type = "string", example = FIELDS))
-                      @QueryParam("fields") String fieldsParam) throws IOException, ParseException {
+                      @QueryParam("fields") String fieldsParam,
+                      @Parameter(description = "Returns the database as it was at this time, " +
+                              "in milliseconds since epoch",
+                              schema = @Schema(type = "long"))
+                      @QueryParam("asOf") Long asOf) throws IOException, ParseException {
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
-    Database database = dao.get(id, fields);
+    Database database = asOf == null ? dao.get(id, fields) : dao.getAsOf(id, fields, asOf);
     addHref(uriInfo, database);
     return Response.ok(database).build();
   }
@@ -276,6 +293,8 @@ public class DatabaseResource {
   public Database updateDescription(@Context UriInfo uriInfo,
                                     @Context SecurityContext securityContext,
                                     @PathParam("id") String id,
+                                    @Parameter(description = "Version of the entity the patch is based on")
+                                    @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                     @RequestBody(description = "JsonPatch with array of operations",
                                             content = @Content(mediaType = MediaType.APPLICATION_JSON_PATCH_JSON,
                                                     examples = {@ExampleObject("[" +
@@ -283,7 +302,8 @@ public class DatabaseResource {
                                                             "{op:add, path: /b, value: val}" +
                                                             "]")}))
                                             JsonPatch patch) throws IOException, ParseException {
-      Database database = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch);
+      Database database = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch,
+              RestUtil.getIfMatchVersion(ifMatch));
       SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext,
             new DatabaseEntityInterface(database).getEntityReference());
       return addHref(uriInfo, database);
@@ -299,9 +319,11 @@ public class DatabaseResource {
           })
   public Response createOrUpdate(@Context UriInfo uriInfo,
                                  @Context SecurityContext securityContext,
+                                 @Parameter(description = "Version of the existing entity the update is based on")
+                                 @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                  @Valid CreateDatabase create) throws IOException, ParseException {
     Database database = getDatabase(securityContext, create);
-    PutResponse<Database> response = dao.createOrUpdate(database);
+    PutResponse<Database> response = dao.createOrUpdate(database, RestUtil.getIfMatchVersion(ifMatch));
     Database db = addHref(uriInfo, response.getEntity());
     return Response.status(response.getStatus()).entity(db).build();
   }
@@ -320,7 +342,7 @@ public class DatabaseResource {
   }
 
   private Database getDatabase(SecurityContext securityContext, CreateDatabase create) {
-    return new Database().withId(UUID.randomUUID()).withName(create.getName())
+    return new Database().withId(UUIDUtil.newTimeOrderedUUID()).withName(create.getName())
             .withDescription(create.getDescription()).withService(create.getService())
             .withOwner(create.getOwner())
             .withUpdatedBy(securityContext.getUserPrincipal().getName())
@@ -33,6 +33,7 @@ import org.openmetadata.catalog.jdbi3.TableRepository;
 import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.SecurityUtil;
+import org.openmetadata.catalog.type.Column;
 import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.TableData;
@@ -40,9 +41,11 @@ import org.openmetadata.catalog.type.TableJoins;
 import org.openmetadata.catalog.type.TableProfile;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.PagingTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.json.JsonPatch;
 import javax.validation.Valid;
@@ -52,6 +55,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.PATCH;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -59,11 +63,15 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -116,6 +124,11 @@ public class TableResource {
     }
   }
 
+  public static class ColumnList extends ResultList<Column> {
+    @SuppressWarnings("unused") /* Required for tests */
+    public ColumnList() {}
+  }
+
   static final String FIELDS = "columns,tableConstraints,usageSummary,owner," +
           "database,tags,followers,joins,sampleData,viewDefinition,tableProfile";
   public static final List<String> FIELD_LIST = Arrays.asList(FIELDS.replaceAll(" ", "")
@@ -149,16 +162,25 @@ public class TableResource {
                         @QueryParam("before") String before,
                                 @Parameter(description = "Returns list of tables after this cursor",
                                 schema = @Schema(type = "string"))
-                        @QueryParam("after") String after)
+                        @QueryParam("after") String after,
+                        @Parameter(description = "Returns list of tables as they were at this time, " +
+                                "in milliseconds since epoch",
+                                schema = @Schema(type = "long"))
+                        @QueryParam("asOf") Long asOf,
+                        @Parameter(description = "Paging total: `false` to leave it out, `approximate` " +
+                                "from entity counters or `exact` (default = approximate)",
+                                schema = @Schema(type = "string", example = "approximate"))
+                        @DefaultValue("approximate")
+                        @QueryParam("total") PagingTotal total)
           throws IOException, ParseException, GeneralSecurityException {
     RestUtil.validateCursors(before, after);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
     ResultList<Table> tables;
     if (before != null) { // Reverse paging
-      tables = dao.listBefore(fields, databaseParam, limitParam, before);
+      tables = dao.listBefore(fields, databaseParam, limitParam, before, asOf, total);
     } else { // Forward paging or first page
-      tables = dao.listAfter(fields, databaseParam, limitParam, after);
+      tables = dao.listAfter(fields, databaseParam, limitParam, after, asOf, total);
     }
     tables.getData().forEach(t -> addHref(uriInfo, t));
     return tables;
@@ -190,15 +212,34 @@ public class TableResource {
                           schema = @Schema(implementation = Table.class))),
                   @ApiResponse(responseCode = "404", description = "Table for instance {id} is not found")
           })
-  public Table get(@Context UriInfo uriInfo,
-                   @Context SecurityContext securityContext,
-                   @Parameter(description = "table Id", schema = @Schema(type = "string"))
-                   @PathParam("id") String id,
-                   @Parameter(description = "Fields requested in the returned resource",
-                           schema = @Schema(type = "string", example = FIELDS))
-                   @QueryParam("fields") String fieldsParam) throws IOException, ParseException {
-    Fields fields = new Fields(FIELD_LIST, fieldsParam);
-    return addHref(uriInfo, dao.get(id, fields));
+  public void get(@Suspended AsyncResponse response,
+                  @Context UriInfo uriInfo,
+                  @Context SecurityContext securityContext,
+                  @Parameter(description = "table Id", schema = @Schema(type = "string"))
+                  @PathParam("id") String id,
+                  @Parameter(description = "Fields requested in the returned resource",
+                          schema = @Schema(type = "string", example = FIELDS))
+                  @QueryParam("fields") String fieldsParam,
+                  @Parameter(description = "Returns the table as it was at this time, " +
+                          "in milliseconds since epoch",
+                          schema = @Schema(type = "long"))
+                  @QueryParam("asOf") Long asOf) {
+    try {
+      Fields fields = new Fields(FIELD_LIST, fieldsParam);
+      if (asOf != null) {
+        response.resume(Response.ok(addHref(uriInfo, dao.getAsOf(id, fields, asOf))).build());
+        return;
+      }
+      // Tables can have thousands of columns. Write the stored table to the response as is, instead of reading it
+      // into a Table, and splice in the relationship fields. Resuming the response writes it on this thread, within
+      // the transaction that found the table, so that a table that does not exist is a 404 and not a broken response
+      dao.stream(id, fields, table -> {
+        addHref(uriInfo, table.getRelationships());
+        response.resume(Response.ok((StreamingOutput) table::write, MediaType.APPLICATION_JSON_TYPE).build());
+      });
+    } catch (IOException | ParseException | RuntimeException e) {
+      response.resume(e);
+    }
   }
   
   @GET
@@ -223,6 +264,39 @@ public class TableResource {
     return addHref(uriInfo, dao.getByName(fqn, fields));
   }
 
+  @GET
+  @Path("/{id}/columns")
+  @Operation(summary = "List columns of a table", tags = "tables",
+          description = "Get the columns of a table identified by `id` in the order they appear in the table. Use " +
+                  "`limit` and `after` query params to page through the columns of very wide tables.",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "List of columns",
+                          content = @Content(mediaType = "application/json",
+                          schema = @Schema(implementation = ColumnList.class))),
+                  @ApiResponse(responseCode = "404", description = "Table for instance {id} is not found")
+          })
+  public ResultList<Column> listColumns(@Context UriInfo uriInfo,
+                                        @Context SecurityContext securityContext,
+                                        @Parameter(description = "table Id", schema = @Schema(type = "string"))
+                                        @PathParam("id") String id,
+                                        @Parameter(description = "Fields requested in the returned columns",
+                                                schema = @Schema(type = "string", example = "tags"))
+                                        @QueryParam("fields") String fieldsParam,
+                                        @Parameter(description = "Limit the number columns returned. " +
+                                                "(1 to 1000000, default = 100)",
+                                                schema = @Schema(type = "integer"))
+                                        @DefaultValue("100")
+                                        @Min(1)
+                                        @Max(1000000)
+                                        @QueryParam("limit") int limitParam,
+                                        @Parameter(description = "Returns list of columns after this cursor",
+                                                schema = @Schema(type = "string"))
+                                        @QueryParam("after") String after)
+          throws IOException, GeneralSecurityException {
+    Fields fields = new Fields(FIELD_LIST, fieldsParam);
+    return dao.listColumns(UUID.fromString(id), fields, limitParam, after);
+  }
+
   @GET
   @Path("/{id}/versions/{version}")
   @Operation(summary = "Get a version of the table", tags = "tables",
@@ -273,10 +347,12 @@ public class TableResource {
           })
   public Response createOrUpdate(@Context UriInfo uriInfo,
                                  @Context SecurityContext securityContext,
+                                 @Parameter(description = "Version of the existing entity the update is based on")
+                                 @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                  @Valid CreateTable create) throws IOException, ParseException {
     Table table = getTable(securityContext, create);
     SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext, dao.getOwnerReference(table));
-    PutResponse<Table> response = dao.createOrUpdate(validateNewTable(table));
+    PutResponse<Table> response = dao.createOrUpdate(validateNewTable(table), RestUtil.getIfMatchVersion(ifMatch));
     table = addHref(uriInfo, response.getEntity());
     return Response.status(response.getStatus()).entity(table).build();
   }
@@ -292,6 +368,8 @@ public class TableResource {
                      @Context SecurityContext securityContext,
                      @Parameter(description = "Id of the table", schema = @Schema(type = "string"))
                      @PathParam("id") String id,
+                     @Parameter(description = "Version of the entity the patch is based on")
+                     @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                      @RequestBody(description = "JsonPatch with array of operations",
                              content = @Content(mediaType = MediaType.APPLICATION_JSON_PATCH_JSON,
                                      examples = {@ExampleObject("[" +
@@ -302,7 +380,8 @@ public class TableResource {
     Fields fields = new Fields(FIELD_LIST, FIELDS);
     Table table = dao.get(id, fields);
     SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext, dao.getOwnerReference(table));
-    table = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch);
+    table = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch,
+            RestUtil.getIfMatchVersion(ifMatch));
     return addHref(uriInfo, table);
   }
 
@@ -317,7 +396,7 @@ public class TableResource {
   public Response delete(@Context UriInfo uriInfo,
                          @Context SecurityContext securityContext,
                          @Parameter(description = "Id of the table", schema = @Schema(type = "string"))
-                         @PathParam("id") String id) {
+                         @PathParam("id") String id) throws IOException {
     SecurityUtil.checkAdminOrBotRole(authorizer, securityContext);
     dao.delete(UUID.fromString(id));
     return Response.ok().build();
@@ -415,7 +494,7 @@ public class TableResource {
   }
 
   public static Table validateNewTable(Table table) {
-    table.setId(UUID.randomUUID());
+    table.setId(UUIDUtil.newTimeOrderedUUID());
     DatabaseUtil.validateConstraints(table.getColumns(), table.getTableConstraints());
     DatabaseUtil.validateViewDefinition(table.getTableType(), table.getViewDefinition());
     DatabaseUtil.validateColumns(table);
@@ -423,7 +502,7 @@ public class TableResource {
   }
 
   private Table getTable(SecurityContext securityContext, CreateTable create) {
-    return new Table().withId(UUID.randomUUID()).withName(create.getName())
+    return new Table().withId(UUIDUtil.newTimeOrderedUUID()).withName(create.getName())
             .withColumns(create.getColumns()).withDescription(create.getDescription())
             .withTableConstraints(create.getTableConstraints()).withTableType(create.getTableType())
             .withTags(create.getTags()).withViewDefinition(create.getViewDefinition())
@@ -32,6 +32,7 @@ import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.type.Post;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
@@ -49,7 +50,6 @@ import java.io.IOException;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 @Path("/v1/feed")
 @Api(value = "Feeds collection", tags = "Feeds collection")
@@ -125,7 +125,7 @@ public class FeedResource {
                   @ApiResponse(responseCode = "400", description = "Bad request")
           })
   public Response create(@Context UriInfo uriInfo, @Valid CreateThread cr) throws IOException {
-    Thread thread = new Thread().withId(UUID.randomUUID()).withThreadTs(new Date())
+    Thread thread = new Thread().withId(UUIDUtil.newTimeOrderedUUID()).withThreadTs(new Date())
             .withAbout(cr.getAbout());
     // For now redundantly storing everything in json (that includes fromEntity, addressedTo entity)
     // TODO - This needs cleanup later if this information is too much or inconsistent in relationship table
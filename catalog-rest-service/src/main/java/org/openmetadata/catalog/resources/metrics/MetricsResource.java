@@ -32,6 +32,7 @@ import org.openmetadata.catalog.util.EntityUtil.Fields;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
@@ -54,7 +55,6 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 @Path("/v1/metrics")
 @Api(value = "Metrics collection", tags = "Metrics collection")
@@ -160,6 +160,7 @@ public class MetricsResource {
   }
 
   private void addToMetrics(SecurityContext securityContext, Metrics metrics) {
-    metrics.withId(UUID.randomUUID()).withUpdatedBy(securityContext.getUserPrincipal().getName()).withUpdatedAt(new Date());
+    metrics.withId(UUIDUtil.newTimeOrderedUUID()).withUpdatedBy(securityContext.getUserPrincipal().getName())
+            .withUpdatedAt(new Date());
   }
 }
@@ -36,9 +36,11 @@ import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.PagingTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.json.JsonPatch;
 import javax.validation.Valid;
@@ -48,6 +50,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.PATCH;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -56,6 +59,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
@@ -149,16 +153,21 @@ public class ModelResource {
                                       @QueryParam("before") String before,
                                       @Parameter(description = "Returns list of models after this cursor",
                                               schema = @Schema(type = "string"))
-                                      @QueryParam("after") String after
+                                      @QueryParam("after") String after,
+                                      @Parameter(description = "Paging total: `false` to leave it out, `approximate` " +
+                                              "from entity counters or `exact` (default = approximate)",
+                                              schema = @Schema(type = "string", example = "approximate"))
+                                      @DefaultValue("approximate")
+                                      @QueryParam("total") PagingTotal total
   ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
     ResultList<Model> models;
     if (before != null) { // Reverse paging
-      models = dao.listBefore(fields, null, limitParam, before); // Ask for one extra entry
+      models = dao.listBefore(fields, null, limitParam, before, null, total); // Ask for one extra entry
     } else { // Forward paging or first page
-      models = dao.listAfter(fields, null, limitParam, after);
+      models = dao.listAfter(fields, null, limitParam, after, null, total);
     }
     addHref(uriInfo, models.getData());
     return models;
@@ -232,6 +241,8 @@ public class ModelResource {
   public Model updateDescription(@Context UriInfo uriInfo,
                                      @Context SecurityContext securityContext,
                                      @PathParam("id") String id,
+                                     @Parameter(description = "Version of the entity the patch is based on")
+                                     @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                      @RequestBody(description = "JsonPatch with array of operations",
                                          content = @Content(mediaType = MediaType.APPLICATION_JSON_PATCH_JSON,
                                                  examples = {@ExampleObject("[" +
@@ -243,7 +254,8 @@ public class ModelResource {
     Model model = dao.get(id, fields);
     SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext,
             dao.getOwnerReference(model));
-    model = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch);
+    model = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch,
+            RestUtil.getIfMatchVersion(ifMatch));
     return addHref(uriInfo, model);
   }
 
@@ -258,9 +270,11 @@ public class ModelResource {
           })
   public Response createOrUpdate(@Context UriInfo uriInfo,
                                  @Context SecurityContext securityContext,
+                                 @Parameter(description = "Version of the existing entity the update is based on")
+                                 @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                  @Valid CreateModel create) throws IOException, ParseException {
     Model model = getModel(securityContext, create);
-    PutResponse<Model> response = dao.createOrUpdate(model);
+    PutResponse<Model> response = dao.createOrUpdate(model, RestUtil.getIfMatchVersion(ifMatch));
     model = addHref(uriInfo, response.getEntity());
     return Response.status(response.getStatus()).entity(model).build();
   }
@@ -318,7 +332,7 @@ public class ModelResource {
   }
 
   private Model getModel(SecurityContext securityContext, CreateModel create) {
-    return new Model().withId(UUID.randomUUID()).withName(create.getName())
+    return new Model().withId(UUIDUtil.newTimeOrderedUUID()).withName(create.getName())
             .withDisplayName(create.getDisplayName())
             .withDescription(create.getDescription())
             .withDashboard(create.getDashboard()) //ADDED
@@ -37,9 +37,11 @@ import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.PagingTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.json.JsonPatch;
 import javax.validation.Valid;
@@ -49,6 +51,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.PATCH;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -57,6 +60,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
@@ -153,16 +157,25 @@ public class PipelineResource {
                             @QueryParam("before") String before,
                             @Parameter(description = "Returns list of pipelines after this cursor",
                                     schema = @Schema(type = "string"))
-                            @QueryParam("after") String after
+                            @QueryParam("after") String after,
+                            @Parameter(description = "Returns list of pipelines as they were at this time, " +
+                                    "in milliseconds since epoch",
+                                    schema = @Schema(type = "long"))
+                            @QueryParam("asOf") Long asOf,
+                            @Parameter(description = "Paging total: `false` to leave it out, `approximate` " +
+                                    "from entity counters or `exact` (default = approximate)",
+                                    schema = @Schema(type = "string", example = "approximate"))
+                            @DefaultValue("approximate")
+                            @QueryParam("total") PagingTotal total
   ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
     ResultList<Pipeline> pipelines;
     if (before != null) { // Reverse paging
-      pipelines = dao.listBefore(fields, serviceParam, limitParam, before); // Ask for one extra entry
+      pipelines = dao.listBefore(fields, serviceParam, limitParam, before, asOf, total); // Ask for one extra entry
     } else { // Forward paging or first page
-      pipelines = dao.listAfter(fields, serviceParam, limitParam, after);
+      pipelines = dao.listAfter(fields, serviceParam, limitParam, after, asOf, total);
     }
     addHref(uriInfo, pipelines.getData());
     return pipelines;
@@ -199,9 +212,13 @@ public class PipelineResource {
                        @PathParam("id") String id,
                        @Parameter(description = "Fields requested in the returned resource",
                                schema = @Schema(type = "string", example = FIELDS))
-                       @QueryParam("fields") String fieldsParam) throws IOException, ParseException {
+                       @QueryParam("fields") String fieldsParam,
+                       @Parameter(description = "Returns the pipeline as it was at this time, " +
+                               "in milliseconds since epoch",
+                               schema = @Schema(type = "long"))
+                       @QueryParam("asOf") Long asOf) throws IOException, ParseException {
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
-    return addHref(uriInfo, dao.get(id, fields));
+    return addHref(uriInfo, asOf == null ? dao.get(id, fields) : dao.getAsOf(id, fields, asOf));
   }
 
   @GET
@@ -272,6 +289,8 @@ public class PipelineResource {
   public Pipeline updateDescription(@Context UriInfo uriInfo,
                                      @Context SecurityContext securityContext,
                                      @PathParam("id") String id,
+                                     @Parameter(description = "Version of the entity the patch is based on")
+                                     @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                      @RequestBody(description = "JsonPatch with array of operations",
                                              content = @Content(mediaType = MediaType.APPLICATION_JSON_PATCH_JSON,
                                                      examples = {@ExampleObject("[" +
@@ -283,7 +302,8 @@ public class PipelineResource {
     Pipeline pipeline = dao.get(id, fields);
     SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext,
             dao.getOwnerReference(pipeline));
-    pipeline = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch);
+    pipeline = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch,
+            RestUtil.getIfMatchVersion(ifMatch));
     return addHref(uriInfo, pipeline);
   }
 
@@ -298,10 +318,12 @@ public class PipelineResource {
           })
   public Response createOrUpdate(@Context UriInfo uriInfo,
                                  @Context SecurityContext securityContext,
+                                 @Parameter(description = "Version of the existing entity the update is based on")
+                                 @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                  @Valid CreatePipeline create) throws IOException, ParseException {
     Pipeline pipeline = getPipeline(securityContext, create).withConcurrency(create.getConcurrency())
             .withStartDate(create.getStartDate());
-    PutResponse<Pipeline> response = dao.createOrUpdate(pipeline);
+    PutResponse<Pipeline> response = dao.createOrUpdate(pipeline, RestUtil.getIfMatchVersion(ifMatch));
     pipeline = addHref(uriInfo, response.getEntity());
     return Response.status(response.getStatus()).entity(pipeline).build();
   }
@@ -359,7 +381,7 @@ public class PipelineResource {
   }
 
   private Pipeline getPipeline(SecurityContext securityContext, CreatePipeline create) {
-    return new Pipeline().withId(UUID.randomUUID()).withName(create.getName())
+    return new Pipeline().withId(UUIDUtil.newTimeOrderedUUID()).withName(create.getName())
             .withDisplayName(create.getDisplayName())
             .withDescription(create.getDescription()).withService(create.getService()).withTasks(create.getTasks())
             .withPipelineUrl(create.getPipelineUrl()).withTags(create.getTags())
@@ -17,37 +17,20 @@
 package org.openmetadata.catalog.resources.search;
 
 
-import org.apache.commons.lang3.StringUtils;
-import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.UsernamePasswordCredentials;
-import org.apache.http.client.CredentialsProvider;
-import org.apache.http.impl.client.BasicCredentialsProvider;
-import org.elasticsearch.client.RestClientBuilder;
-import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder;
-import org.elasticsearch.search.suggest.Suggest;
-import org.elasticsearch.search.suggest.SuggestBuilder;
-import org.elasticsearch.search.suggest.SuggestBuilders;
-import org.elasticsearch.search.suggest.completion.CompletionSuggestionBuilder;
-import org.openmetadata.catalog.ElasticSearchConfiguration;
 import io.swagger.annotations.Api;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
-import org.apache.http.HttpHost;
-import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
-import org.elasticsearch.client.RequestOptions;
-import org.elasticsearch.client.RestClient;
-import org.elasticsearch.client.RestHighLevelClient;
-import org.elasticsearch.common.unit.TimeValue;
-import org.elasticsearch.index.query.QueryBuilders;
-import org.elasticsearch.search.aggregations.AggregationBuilders;
-import org.elasticsearch.search.builder.SearchSourceBuilder;
-import org.elasticsearch.search.sort.SortOrder;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.openmetadata.catalog.search.SearchBackend;
+import org.openmetadata.catalog.search.SearchCursor;
+import org.openmetadata.catalog.search.SearchIndex;
+import org.openmetadata.catalog.search.SearchProfile;
+import org.openmetadata.catalog.search.SearchQuery;
+import org.openmetadata.catalog.search.SearchResult;
+import org.openmetadata.catalog.util.JsonUtils;
 
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
@@ -58,9 +41,14 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static javax.ws.rs.core.Response.Status.OK;
 
@@ -68,27 +56,22 @@ import static javax.ws.rs.core.Response.Status.OK;
 @Api(value = "Search collection", tags = "Search collection")
 @Produces(MediaType.APPLICATION_JSON)
 public class SearchResource {
-  private final RestHighLevelClient client;
-  private static final Logger LOG = LoggerFactory.getLogger(SearchResource.class);
+  private static final String ALL_INDEXES = "all";
+  private static final List<String> ALL_INDEX_NAMES = Arrays.stream(SearchIndex.values())
+          .map(SearchIndex::getIndexName).collect(Collectors.toList());
+  private final SearchBackend backend;
 
-  public SearchResource(ElasticSearchConfiguration esConfig) {
-    RestClientBuilder restClientBuilder = RestClient.builder(new HttpHost(esConfig.getHost(), esConfig.getPort(), "http"));
-    if(StringUtils.isNotEmpty(esConfig.getUsername())){
-      CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
-      credentialsProvider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(esConfig.getUsername(), esConfig.getPassword()));
-      restClientBuilder.setHttpClientConfigCallback(httpAsyncClientBuilder -> {
-        httpAsyncClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
-        return  httpAsyncClientBuilder;
-      });
-    }
-    this.client = new RestHighLevelClient(restClientBuilder);
+  public SearchResource(SearchBackend backend) {
+    this.backend = backend;
   }
 
   @GET
   @Path("/query")
   @Operation(summary = "Search entities", tags = "search",
-          description = "Search entities using query test. Use query params `from` and `size` for pagination. Use " +
-                  "`sort_field` to sort the results in `sort_order`.",
+          description = "Search entities using query test. Use query params `from` and `size` for pagination, or " +
+                  "`after` with the cursor in `paging.after` of the previous page to page deep into the results. Use " +
+                  "`sort_field` to sort the results in `sort_order`. Use `profile` and `facets` to compute only the " +
+                  "parts of the response that are used.",
           responses = {
                   @ApiResponse(responseCode = "200", description = "search response",
                           content = @Content(mediaType = "application/json",
@@ -109,9 +92,13 @@ public class SearchResource {
                                  "AND tags:user.address <br/>" +
                                  " logic operators such as AND and OR must be in uppercase ", required = true)
                          @javax.ws.rs.QueryParam("q") String query,
-                         @Parameter(description = "ElasticSearch Index name, defaults to table_search_index")
+                         @Parameter(description = "ElasticSearch Index name, defaults to table_search_index. Pass " +
+                                 "`all` or a comma separated list of index names to search several indexes in one " +
+                                 "request. The response then has the response of each index by index name, with " +
+                                 "up to `size` hits of each index.")
                            @DefaultValue("table_search_index") @QueryParam("index") String index,
-                         @Parameter(description = "From field to paginate the results, defaults to 0")
+                         @Parameter(description = "From field to paginate the results, defaults to 0. Use " +
+                                 "`after` instead to page deep into the results")
                            @DefaultValue("0") @QueryParam("from") int from,
                          @Parameter(description = "Size field to limit the no.of results returned, defaults to 10")
                            @DefaultValue("10") @QueryParam("size") int size,
@@ -121,32 +108,52 @@ public class SearchResource {
                                   @QueryParam("sort_field") String sortFieldParam,
                          @Parameter(description = "Sort order asc for ascending or desc for descending, " +
                                  "defaults to desc")
-                           @DefaultValue("desc") @QueryParam("sort_order") String sortOrderParam) throws IOException {
-
-    SearchRequest searchRequest = new SearchRequest(index);
-    SortOrder sortOrder = SortOrder.DESC;
-    SearchSourceBuilder searchSourceBuilder;
-    if (sortOrderParam.equals("asc")) {
-      sortOrder = SortOrder.ASC;
+                           @DefaultValue("desc") @QueryParam("sort_order") String sortOrderParam,
+                         @Parameter(description = "Returns the page of results after this cursor, which is " +
+                                 "returned as `paging.after` with each page of results. `from` is ignored. The " +
+                                 "query, `sort_field` and `sort_order` must be the same as the previous page.")
+                           @QueryParam("after") String after,
+                         @Parameter(description = "Parts of the response to compute, defaults to full. `ids` " +
+                                 "returns the ids of hits only, `hits` returns hits with their documents and " +
+                                 "`full` also returns highlights and all the facets")
+                           @DefaultValue("full") @QueryParam("profile") String profileParam,
+                         @Parameter(description = "Comma separated list of facets to compute, of Service, Tier " +
+                                 "and Tags, irrespective of the profile. Pass an empty value for no facets. Defaults " +
+                                 "to the facets of the profile")
+                           @QueryParam("facets") String facetsParam) throws IOException {
+
+    SearchProfile profile = SearchProfile.fromName(profileParam);
+    List<String> facets = facetsParam == null ? null : Arrays.stream(facetsParam.split(","))
+            .map(String::strip).filter(facet -> !facet.isEmpty()).collect(Collectors.toList());
+    List<String> indexes = index.equals(ALL_INDEXES) ? ALL_INDEX_NAMES : Arrays.asList(index.split(","));
+    if (indexes.size() == 1) {
+      SearchQuery searchQuery = new SearchQuery(index, query, from, size, sortFieldParam,
+              sortOrderParam.equals("asc"), SearchCursor.decode(after)).withProfile(profile).withFacets(facets);
+      return Response.status(OK).entity(backend.search(searchQuery)).build();
     }
-    if (index.equals("topic_search_index")) {
-      searchSourceBuilder = buildTopicSearchBuilder(query, from, size);
-    } else if (index.equals("dashboard_search_index")) {
-      searchSourceBuilder = buildDashboardSearchBuilder(query, from, size);
-    } else if (index.equals("pipeline_search_index")) {
-      searchSourceBuilder = buildPipelineSearchBuilder(query, from, size);
-    } else {
-      searchSourceBuilder = buildTableSearchBuilder(query, from, size);
+    if (after != null) {
+      throw new IllegalArgumentException("Parameter after is not supported when searching several indexes");
     }
-
-    if (sortFieldParam != null && !sortFieldParam.isEmpty()) {
-      searchSourceBuilder.sort(sortFieldParam, sortOrder);
+    long start = System.currentTimeMillis();
+    List<SearchQuery> searchQueries = new ArrayList<>();
+    for (String indexName : indexes) {
+      searchQueries.add(new SearchQuery(indexName.strip(), query, from, size, sortFieldParam,
+              sortOrderParam.equals("asc")).withProfile(profile).withFacets(facets));
     }
-    LOG.info(searchSourceBuilder.toString());
-    searchSourceBuilder.timeout(new TimeValue(30, TimeUnit.SECONDS));
-    searchRequest.source(searchSourceBuilder);
-    SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
-    return Response.status(OK).entity(searchResponse.toString()).build();
+    List<SearchResult> responses = backend.search(searchQueries);
+    long took = System.currentTimeMillis() - start;
+
+    // Responses are json already and are written one after the other instead of being parsed again
+    StreamingOutput merged = out -> {
+      out.write(("{\"took\":" + took + ",\"responses\":{").getBytes(StandardCharsets.UTF_8));
+      for (int i = 0; i < searchQueries.size(); i++) {
+        out.write(((i == 0 ? "" : ",") + JsonUtils.pojoToJson(searchQueries.get(i).getIndex()) + ":")
+                .getBytes(StandardCharsets.UTF_8));
+        responses.get(i).write(out);
+      }
+      out.write("}}".getBytes(StandardCharsets.UTF_8));
+    };
+    return Response.status(OK).entity(merged).build();
   }
 
   @GET
@@ -169,154 +176,8 @@ public class SearchResource {
                           @javax.ws.rs.QueryParam("q") String query,
                           @DefaultValue("table_search_index") @javax.ws.rs.QueryParam("index") String index)
           throws IOException {
-    SearchRequest searchRequest = new SearchRequest(index);
-    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-    CompletionSuggestionBuilder suggestionBuilder = SuggestBuilders.completionSuggestion("suggest")
-            .prefix(query);
-    SuggestBuilder suggestBuilder = new SuggestBuilder();
-    suggestBuilder.addSuggestion("table-suggest", suggestionBuilder);
-    searchSourceBuilder.suggest(suggestBuilder);
-    searchSourceBuilder.timeout(new TimeValue(30, TimeUnit.SECONDS));
-    searchRequest.source(searchSourceBuilder);
-    SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
-    Suggest suggest = searchResponse.getSuggest();
     return Response.status(OK)
-            .entity(suggest.toString())
+            .entity(backend.suggest(index, query))
             .build();
   }
-
-  private SearchSourceBuilder buildTableSearchBuilder(String query, int from, int size) {
-    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-    HighlightBuilder.Field highlightTableName =
-            new HighlightBuilder.Field("table_name");
-    highlightTableName.highlighterType("unified");
-    HighlightBuilder.Field highlightDescription =
-            new HighlightBuilder.Field("description");
-    highlightDescription.highlighterType("unified");
-    HighlightBuilder.Field highlightColumns =
-            new HighlightBuilder.Field("column_names");
-    highlightColumns.highlighterType("unified");
-    HighlightBuilder.Field highlightColumnDescriptions =
-            new HighlightBuilder.Field("column_descriptions");
-    highlightColumnDescriptions.highlighterType("unified");
-    HighlightBuilder hb = new HighlightBuilder();
-    hb.field(highlightDescription);
-    hb.field(highlightTableName);
-    hb.field(highlightColumns);
-    hb.field(highlightColumnDescriptions);
-    hb.preTags("<span class=\"text-highlighter\">");
-    hb.postTags("</span>");
-    searchSourceBuilder.query(QueryBuilders.queryStringQuery(query)
-            .field("table_name", 5.0f)
-            .field("description")
-            .field("column_names")
-            .field("column_descriptions")
-            .lenient(true))
-            .aggregation(AggregationBuilders.terms("Service").field("service_type"))
-            .aggregation(AggregationBuilders.terms("Tier").field("tier"))
-            .aggregation(AggregationBuilders.terms("Tags").field("tags"))
-            .highlighter(hb)
-            .from(from).size(size);
-
-   return searchSourceBuilder;
-  }
-
-  private SearchSourceBuilder buildTopicSearchBuilder(String query, int from, int size) {
-    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-    HighlightBuilder.Field highlightTopicName =
-            new HighlightBuilder.Field("topic_name");
-    highlightTopicName.highlighterType("unified");
-    HighlightBuilder.Field highlightDescription =
-            new HighlightBuilder.Field("description");
-    highlightDescription.highlighterType("unified");
-    HighlightBuilder hb = new HighlightBuilder();
-    hb.field(highlightDescription);
-    hb.field(highlightTopicName);
-    hb.preTags("<span class=\"text-highlighter\">");
-    hb.postTags("</span>");
-    searchSourceBuilder.query(QueryBuilders.queryStringQuery(query)
-            .field("topic_name", 5.0f)
-            .field("description")
-            .lenient(true))
-            .aggregation(AggregationBuilders.terms("Service").field("service_type"))
-            .aggregation(AggregationBuilders.terms("Tier").field("tier"))
-            .aggregation(AggregationBuilders.terms("Tags").field("tags"))
-            .highlighter(hb)
-            .from(from).size(size);
-
-    return searchSourceBuilder;
-  }
-
-  private SearchSourceBuilder buildDashboardSearchBuilder(String query, int from, int size) {
-    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-    HighlightBuilder.Field highlightDashboardName =
-            new HighlightBuilder.Field("dashboard_name");
-    highlightDashboardName.highlighterType("unified");
-    HighlightBuilder.Field highlightDescription =
-            new HighlightBuilder.Field("description");
-    highlightDescription.highlighterType("unified");
-    HighlightBuilder.Field highlightCharts =
-            new HighlightBuilder.Field("chart_names");
-    highlightCharts.highlighterType("unified");
-    HighlightBuilder.Field highlightChartDescriptions =
-            new HighlightBuilder.Field("chart_descriptions");
-    highlightChartDescriptions.highlighterType("unified");
-
-    HighlightBuilder hb = new HighlightBuilder();
-    hb.field(highlightDescription);
-    hb.field(highlightDashboardName);
-    hb.field(highlightCharts);
-    hb.field(highlightChartDescriptions);
-    hb.preTags("<span class=\"text-highlighter\">");
-    hb.postTags("</span>");
-    searchSourceBuilder.query(QueryBuilders.queryStringQuery(query)
-            .field("dashboard_name", 5.0f)
-            .field("description")
-            .field("chart_names")
-            .field("chart_descriptions")
-            .lenient(true))
-            .aggregation(AggregationBuilders.terms("Service").field("service_type"))
-            .aggregation(AggregationBuilders.terms("Tier").field("tier"))
-            .aggregation(AggregationBuilders.terms("Tags").field("tags"))
-            .highlighter(hb)
-            .from(from).size(size);
-
-    return searchSourceBuilder;
-  }
-
-  private SearchSourceBuilder buildPipelineSearchBuilder(String query, int from, int size) {
-    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-    HighlightBuilder.Field highlightPipelineName =
-            new HighlightBuilder.Field("pipeline_name");
-    highlightPipelineName.highlighterType("unified");
-    HighlightBuilder.Field highlightDescription =
-            new HighlightBuilder.Field("description");
-    highlightDescription.highlighterType("unified");
-    HighlightBuilder.Field highlightTasks =
-            new HighlightBuilder.Field("task_names");
-    highlightTasks.highlighterType("unified");
-    HighlightBuilder.Field highlightTaskDescriptions =
-            new HighlightBuilder.Field("task_descriptions");
-    highlightTaskDescriptions.highlighterType("unified");
-    HighlightBuilder hb = new HighlightBuilder();
-    hb.field(highlightDescription);
-    hb.field(highlightPipelineName);
-    hb.field(highlightTasks);
-    hb.field(highlightTaskDescriptions);
-    hb.preTags("<span class=\"text-highlighter\">");
-    hb.postTags("</span>");
-    searchSourceBuilder.query(QueryBuilders.queryStringQuery(query)
-            .field("pipeline_name", 5.0f)
-            .field("description")
-            .field("task_names")
-            .field("task_descriptions")
-            .lenient(true))
-            .aggregation(AggregationBuilders.terms("Service").field("service_type"))
-            .aggregation(AggregationBuilders.terms("Tier").field("tier"))
-            .aggregation(AggregationBuilders.terms("Tags").field("tags"))
-            .highlighter(hb)
-            .from(from).size(size);
-
-    return searchSourceBuilder;
-  }
 }
@@ -35,6 +35,7 @@ import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
@@ -155,7 +156,7 @@ public class DashboardServiceResource {
                          @Context SecurityContext securityContext,
                          @Valid CreateDashboardService create) throws IOException, ParseException {
     SecurityUtil.checkAdminOrBotRole(authorizer, securityContext);
-    DashboardService service = new DashboardService().withId(UUID.randomUUID())
+    DashboardService service = new DashboardService().withId(UUIDUtil.newTimeOrderedUUID())
             .withName(create.getName()).withDescription(create.getDescription())
             .withServiceType(create.getServiceType())
             .withDashboardUrl(create.getDashboardUrl())
@@ -35,6 +35,7 @@ import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
@@ -153,7 +154,7 @@ public class DatabaseServiceResource {
                          @Context SecurityContext securityContext,
                          @Valid CreateDatabaseService create) throws IOException, ParseException {
     SecurityUtil.checkAdminOrBotRole(authorizer, securityContext);
-    DatabaseService databaseService = new DatabaseService().withId(UUID.randomUUID())
+    DatabaseService databaseService = new DatabaseService().withId(UUIDUtil.newTimeOrderedUUID())
             .withName(create.getName()).withDescription(create.getDescription())
             .withServiceType(create.getServiceType()).withJdbc(create.getJdbc())
             .withIngestionSchedule(create.getIngestionSchedule())
@@ -35,6 +35,7 @@ import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
@@ -156,7 +157,7 @@ public class MessagingServiceResource {
                          @Context SecurityContext securityContext,
                          @Valid CreateMessagingService create) throws IOException, ParseException {
     SecurityUtil.checkAdminOrBotRole(authorizer, securityContext);
-    MessagingService service = new MessagingService().withId(UUID.randomUUID())
+    MessagingService service = new MessagingService().withId(UUIDUtil.newTimeOrderedUUID())
             .withName(create.getName()).withDescription(create.getDescription())
             .withServiceType(create.getServiceType())
             .withBrokers(create.getBrokers())
@@ -34,6 +34,7 @@ import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
@@ -155,7 +156,7 @@ public class PipelineServiceResource {
                          @Context SecurityContext securityContext,
                          @Valid CreatePipelineService create) throws IOException, ParseException {
     SecurityUtil.checkAdminOrBotRole(authorizer, securityContext);
-    PipelineService service = new PipelineService().withId(UUID.randomUUID())
+    PipelineService service = new PipelineService().withId(UUIDUtil.newTimeOrderedUUID())
             .withName(create.getName()).withDescription(create.getDescription())
             .withServiceType(create.getServiceType())
             .withPipelineUrl(create.getPipelineUrl())
@@ -0,0 +1,68 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.resources.stats;
+
+import com.google.inject.Inject;
+import io.swagger.annotations.Api;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.StatisticsRepository;
+import org.openmetadata.catalog.resources.Collection;
+import org.openmetadata.catalog.resources.CollectionRegistry;
+import org.openmetadata.catalog.security.CatalogAuthorizer;
+import org.openmetadata.catalog.type.CatalogStatistics;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.util.Objects;
+
+@Path("/v1/stats")
+@Api(value = "Catalog statistics", tags = "Catalog statistics")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Collection(name = "stats")
+public class StatisticsResource {
+  private final StatisticsRepository repository;
+
+  /**
+   * Resources are created with the DAO and the authorizer by {@link CollectionRegistry}. The authorizer is not needed,
+   * as any user can read the statistics.
+   */
+  @Inject
+  public StatisticsResource(CollectionDAO dao, CatalogAuthorizer authorizer) {
+    Objects.requireNonNull(dao, "CollectionDAO must not be null");
+    this.repository = new StatisticsRepository(dao);
+  }
+
+  @GET
+  @Operation(summary = "Get catalog statistics", tags = "stats",
+          description = "Get the number of entities in the catalog by entity type, by service and by tier.",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "Catalog statistics",
+                          content = @Content(mediaType = "application/json",
+                          schema = @Schema(implementation = CatalogStatistics.class)))
+          })
+  public CatalogStatistics get() {
+    return repository.get();
+  }
+}
@@ -37,8 +37,10 @@ import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil;
+import org.openmetadata.catalog.util.PagingTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.json.JsonPatch;
 import javax.validation.Valid;
@@ -48,6 +50,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -55,6 +58,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
@@ -138,15 +142,21 @@ public class TeamResource {
                        @QueryParam("before") String before,
                        @Parameter(description = "Returns list of tables after this cursor",
                                schema = @Schema(type = "string"))
-                       @QueryParam("after") String after) throws IOException, GeneralSecurityException, ParseException {
+                       @QueryParam("after") String after,
+                       @Parameter(description = "Paging total: `false` to leave it out, `approximate` " +
+                               "from entity counters or `exact` (default = approximate)",
+                               schema = @Schema(type = "string", example = "approximate"))
+                       @DefaultValue("approximate")
+                       @QueryParam("total") PagingTotal total)
+          throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
     EntityUtil.Fields fields = new EntityUtil.Fields(FIELD_LIST, fieldsParam);
 
     ResultList<Team> teams;
     if (before != null) { // Reverse paging
-      teams = dao.listBefore(fields, null, limitParam, before); // Ask for one extra entry
+      teams = dao.listBefore(fields, null, limitParam, before, null, total); // Ask for one extra entry
     } else { // Forward paging or first page
-      teams = dao.listAfter(fields, null, limitParam, after);
+      teams = dao.listAfter(fields, null, limitParam, after, null, total);
     }
     teams.getData().forEach(team -> addHref(uriInfo, team));
     return teams;
@@ -260,10 +270,12 @@ public class TeamResource {
           })
   public Response createOrUpdateTeam(@Context UriInfo uriInfo,
                                      @Context SecurityContext securityContext,
+                                     @Parameter(description = "Version of the existing entity the update is based on")
+                                     @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                      @Valid CreateTeam ct) throws IOException, ParseException {
     SecurityUtil.checkAdminOrBotRole(authorizer, securityContext);
     Team team = getTeam(ct, securityContext);
-    RestUtil.PutResponse<Team> response = dao.createOrUpdate(team);
+    RestUtil.PutResponse<Team> response = dao.createOrUpdate(team, RestUtil.getIfMatchVersion(ifMatch));
     team = addHref(uriInfo, response.getEntity());
     return Response.status(response.getStatus()).entity(team).build();
   }
@@ -279,6 +291,8 @@ public class TeamResource {
   public Team patch(@Context UriInfo uriInfo,
                     @Context SecurityContext securityContext,
                     @PathParam("id") String id,
+                    @Parameter(description = "Version of the entity the patch is based on")
+                    @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                     @RequestBody(description = "JsonPatch with array of operations",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_PATCH_JSON,
                     examples = {@ExampleObject("[" +
@@ -288,7 +302,8 @@ public class TeamResource {
                     JsonPatch patch) throws IOException, ParseException {
 
     SecurityUtil.checkAdminOrBotRole(authorizer, securityContext);
-    return addHref(uriInfo, dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch));
+    return addHref(uriInfo, dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch,
+            RestUtil.getIfMatchVersion(ifMatch)));
   }
 
   @DELETE
@@ -308,7 +323,7 @@ public class TeamResource {
   }
 
   private Team getTeam(CreateTeam ct, SecurityContext securityContext) throws IOException {
-    return new Team().withId(UUID.randomUUID()).withName(ct.getName()).withDescription(ct.getDescription())
+    return new Team().withId(UUIDUtil.newTimeOrderedUUID()).withName(ct.getName()).withDescription(ct.getDescription())
             .withDisplayName(ct.getDisplayName()).withProfile(ct.getProfile())
             .withUpdatedBy(securityContext.getUserPrincipal().getName())
             .withUpdatedAt(new Date())
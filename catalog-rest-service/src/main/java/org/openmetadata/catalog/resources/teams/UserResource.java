@@ -39,8 +39,10 @@ import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.PagingTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +54,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -59,6 +62,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
@@ -145,16 +149,21 @@ public class UserResource {
                                @QueryParam("before") String before,
                                @Parameter(description = "Returns list of users after this cursor",
                                           schema = @Schema(type = "string"))
-                               @QueryParam("after") String after)
+                               @QueryParam("after") String after,
+                               @Parameter(description = "Paging total: `false` to leave it out, `approximate` " +
+                                       "from entity counters or `exact` (default = approximate)",
+                                       schema = @Schema(type = "string", example = "approximate"))
+                               @DefaultValue("approximate")
+                               @QueryParam("total") PagingTotal total)
           throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
     ResultList<User> users;
     if (before != null) { // Reverse paging
-      users = dao.listBefore(fields, null, limitParam, before);
+      users = dao.listBefore(fields, null, limitParam, before, null, total);
     } else { // Forward paging or first page
-      users = dao.listAfter(fields, null, limitParam, after);
+      users = dao.listAfter(fields, null, limitParam, after, null, total);
     }
     Optional.ofNullable(users.getData()).orElse(Collections.emptyList()).forEach(u -> addHref(uriInfo, u));
     return users;
@@ -289,6 +298,8 @@ public class UserResource {
           })
   public Response createOrUpdateUser(@Context UriInfo uriInfo,
                                      @Context SecurityContext securityContext,
+                                     @Parameter(description = "Version of the existing entity the update is based on")
+                                     @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                      @Valid CreateUser create) throws IOException, ParseException {
     if (create.getIsAdmin() != null && create.getIsAdmin()) {
       SecurityUtil.checkAdminOrBotRole(authorizer, securityContext);
@@ -296,7 +307,7 @@ public class UserResource {
     User user = getUser(securityContext, create);
     SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext,
             new UserEntityInterface(user).getEntityReference());
-    RestUtil.PutResponse<User> response = dao.createOrUpdate(user);
+    RestUtil.PutResponse<User> response = dao.createOrUpdate(user, RestUtil.getIfMatchVersion(ifMatch));
     user = addHref(uriInfo, response.getEntity());
     return Response.status(response.getStatus()).entity(user).build();
   }
@@ -310,6 +321,8 @@ public class UserResource {
           externalDocs = @ExternalDocumentation(description = "JsonPatch RFC",
                   url = "https://tools.ietf.org/html/rfc6902"))
   public User patch(@Context UriInfo uriInfo, @Context SecurityContext securityContext, @PathParam("id") String id,
+                    @Parameter(description = "Version of the entity the patch is based on")
+                    @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                     @RequestBody(description = "JsonPatch with array of operations",
                             content = @Content(mediaType = MediaType.APPLICATION_JSON_PATCH_JSON,
                                     examples = {@ExampleObject("[" +
@@ -320,7 +333,8 @@ public class UserResource {
     User user = dao.get(id, new Fields(FIELD_LIST, null));
     SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext,
             new UserEntityInterface(user).getEntityReference());
-    return addHref(uriInfo, dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch));
+    return addHref(uriInfo, dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch,
+            RestUtil.getIfMatchVersion(ifMatch)));
   }
 
   @DELETE
@@ -340,7 +354,7 @@ public class UserResource {
   }
 
   private User getUser(SecurityContext securityContext, CreateUser create) throws IOException {
-    return new User().withId(UUID.randomUUID()).withName(create.getName()).withEmail(create.getEmail())
+    return new User().withId(UUIDUtil.newTimeOrderedUUID()).withName(create.getName()).withEmail(create.getEmail())
             .withDescription(create.getDescription()).withDisplayName(create.getDisplayName())
             .withIsBot(create.getIsBot()).withIsAdmin(create.getIsAdmin())
             .withProfile(create.getProfile()).withTimezone(create.getTimezone())
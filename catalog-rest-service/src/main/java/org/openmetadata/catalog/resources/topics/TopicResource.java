@@ -38,9 +38,11 @@ import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.PagingTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.UUIDUtil;
 
 import javax.json.JsonPatch;
 import javax.validation.Valid;
@@ -50,6 +52,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.PATCH;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -58,6 +61,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
@@ -150,16 +154,25 @@ public class TopicResource {
                         @QueryParam("before") String before,
                                 @Parameter(description = "Returns list of topics after this cursor",
                                 schema = @Schema(type = "string"))
-                        @QueryParam("after") String after
+                        @QueryParam("after") String after,
+                        @Parameter(description = "Returns list of topics as they were at this time, " +
+                                "in milliseconds since epoch",
+                                schema = @Schema(type = "long"))
+                        @QueryParam("asOf") Long asOf,
+                        @Parameter(description = "Paging total: `false` to leave it out, `approximate` " +
+                                "from entity counters or `exact` (default = approximate)",
+                                schema = @Schema(type = "string", example = "approximate"))
+                        @DefaultValue("approximate")
+                        @QueryParam("total") PagingTotal total
   ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
     ResultList<Topic> topics;
     if (before != null) { // Reverse paging
-      topics = dao.listBefore(fields, serviceParam, limitParam, before); // Ask for one extra entry
+      topics = dao.listBefore(fields, serviceParam, limitParam, before, asOf, total); // Ask for one extra entry
     } else { // Forward paging or first page
-      topics = dao.listAfter(fields, serviceParam, limitParam, after);
+      topics = dao.listAfter(fields, serviceParam, limitParam, after, asOf, total);
     }
     addHref(uriInfo, topics.getData());
     return topics;
@@ -195,9 +208,13 @@ public class TopicResource {
                       @Context SecurityContext securityContext,
                       @Parameter(description = "Fields requested in the returned resource",
                               schema = @Schema(type = "string", example = FIELDS))
-                      @QueryParam("fields") String fieldsParam) throws IOException, ParseException {
+                      @QueryParam("fields") String fieldsParam,
+                      @Parameter(description = "Returns the topic as it was at this time, " +
+                              "in milliseconds since epoch",
+                              schema = @Schema(type = "long"))
+                      @QueryParam("asOf") Long asOf) throws IOException, ParseException {
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
-    return addHref(uriInfo, dao.get(id, fields));
+    return addHref(uriInfo, asOf == null ? dao.get(id, fields) : dao.getAsOf(id, fields, asOf));
   }
 
   @GET
@@ -271,6 +288,8 @@ public class TopicResource {
   public Topic updateDescription(@Context UriInfo uriInfo,
                                  @Context SecurityContext securityContext,
                                  @PathParam("id") String id,
+                                 @Parameter(description = "Version of the entity the patch is based on")
+                                 @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                  @RequestBody(description = "JsonPatch with array of operations",
                                          content = @Content(mediaType = MediaType.APPLICATION_JSON_PATCH_JSON,
                                                  examples = {@ExampleObject("[" +
@@ -282,7 +301,8 @@ public class TopicResource {
     Topic topic = dao.get(id, fields);
     SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext,
             dao.getOwnerReference(topic));
-    topic = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch);
+    topic = dao.patch(UUID.fromString(id), securityContext.getUserPrincipal().getName(), patch,
+            RestUtil.getIfMatchVersion(ifMatch));
     return addHref(uriInfo, topic);
   }
 
@@ -296,10 +316,12 @@ public class TopicResource {
           })
   public Response createOrUpdate(@Context UriInfo uriInfo,
                                  @Context SecurityContext securityContext,
+                                 @Parameter(description = "Version of the existing entity the update is based on")
+                                 @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                  @Valid CreateTopic create) throws IOException, ParseException {
 
     Topic topic = getTopic(securityContext, create);
-    PutResponse<Topic> response = dao.createOrUpdate(topic);
+    PutResponse<Topic> response = dao.createOrUpdate(topic, RestUtil.getIfMatchVersion(ifMatch));
     topic = addHref(uriInfo, response.getEntity());
     return Response.status(response.getStatus()).entity(topic).build();
   }
@@ -358,7 +380,8 @@ public class TopicResource {
   }
 
   private Topic getTopic(SecurityContext securityContext, CreateTopic create) {
-    return new Topic().withId(UUID.randomUUID()).withName(create.getName()).withDescription(create.getDescription())
+    return new Topic().withId(UUIDUtil.newTimeOrderedUUID()).withName(create.getName())
+            .withDescription(create.getDescription())
             .withService(create.getService()).withPartitions(create.getPartitions())
             .withSchemaText(create.getSchemaText()).withSchemaType(create.getSchemaType())
             .withCleanupPolicies(create.getCleanupPolicies())
@@ -0,0 +1,494 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.openmetadata.catalog.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Search backend that caches search results of another backend. The home page, listing all entities and popular
+ * facets run the same few queries over and over, and each of them computes the facets and the highlights of the query.
+ *
+ * Results are cached in memory for {@code ttlSeconds} by index and the normalized query, from, size, sort,
+ * profile and facets. Responses that are not cached are streamed from the backend to the client and copied into the
+ * cache on the way. Concurrent searches for a query that is not cached wait for a single search of the backend.
+ * Each index has a generation that is part of the key and is incremented when a document of the index is updated, and
+ * again once searches of the backend see the update, so that searches after an update miss the cache, including
+ * searches that raced with the update or ran before the backend made it searchable. Entries of older generations are
+ * never read again and are evicted first. Documents written to the backend by other writers, such as ingestion, show
+ * up in search results within {@code ttlSeconds}.
+ *
+ * Facets of all the documents of an index, which the UI shows until a query is entered, can be computed in the
+ * background with {@link #startFacetRefresh(Collection, int)}. Searches for all the documents then compute only the
+ * hits and add the precomputed facets, as long as they were computed within {@code ttlSeconds} and no document of the
+ * index was updated since. Only indexes that were searched or updated since the last refresh are refreshed, and none
+ * while the backend is unavailable.
+ */
+public class CachingSearchBackend implements SearchBackend {
+  private static final Logger LOG = LoggerFactory.getLogger(CachingSearchBackend.class);
+  private static final String MATCH_ALL = "*";
+  /** Start of the response of a query that failed in a search of several indexes, which is not cached */
+  private static final byte[] ERROR_RESPONSE = "{\"error\"".getBytes(StandardCharsets.UTF_8);
+  /** Largest response that is cached, so that large pages are streamed to the client without being held in memory */
+  private static final int MAX_CACHED_BYTES = 1024 * 1024;
+  private final SearchBackend backend;
+  private final Cache<Key, byte[]> cache;
+  /** Responses of the backend being streamed to a client and copied into the cache */
+  private final Map<Key, CompletableFuture<byte[]>> loads = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+  private final Map<String, Facets> allFacets = new ConcurrentHashMap<>();
+  /** Indexes searched or updated since their facets were last refreshed */
+  private final Set<String> facetsToRefresh = ConcurrentHashMap.newKeySet();
+  private final long ttlNanos;
+  private final Ticker ticker;
+  private ScheduledExecutorService facetRefresher;
+
+  public CachingSearchBackend(SearchBackend backend, int maxSize, int ttlSeconds) {
+    this(backend, maxSize, ttlSeconds, Ticker.systemTicker());
+  }
+
+  CachingSearchBackend(SearchBackend backend, int maxSize, int ttlSeconds, Ticker ticker) {
+    this.backend = backend;
+    this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    this.ticker = ticker;
+    this.cache = CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+  }
+
+  /** Register the hit ratio and the counts of hits, misses and evictions of the cache along with backend metrics */
+  @Override
+  public void registerMetrics(MetricRegistry metrics) {
+    backend.registerMetrics(metrics);
+    metrics.register("search.cache.hitRatio", new RatioGauge() {
+      @Override
+      protected Ratio getRatio() {
+        return Ratio.of(cache.stats().hitCount(), cache.stats().requestCount());
+      }
+    });
+    metrics.register("search.cache.hits", (Gauge<Long>) () -> cache.stats().hitCount());
+    metrics.register("search.cache.misses", (Gauge<Long>) () -> cache.stats().missCount());
+    metrics.register("search.cache.evictions", (Gauge<Long>) () -> cache.stats().evictionCount());
+    metrics.register("search.cache.size", (Gauge<Long>) cache::size);
+  }
+
+  /**
+   * Compute the facets of all the documents of {@code indexes} in the background every {@code intervalSeconds}, for
+   * the indexes searched or updated in the meantime. Does nothing when the facets are computed in the background
+   * already.
+   */
+  public synchronized void startFacetRefresh(Collection<String> indexes, int intervalSeconds) {
+    if (facetRefresher != null) {
+      return;
+    }
+    facetRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "search-facets");
+      thread.setDaemon(true);
+      return thread;
+    });
+    facetRefresher.scheduleWithFixedDelay(() -> refreshFacets(indexes), 0, intervalSeconds, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Compute the facets of all the documents of each index that was searched or updated since its facets were last
+   * computed. Indexes are skipped while the backend is unavailable and after a failure, and are computed next time.
+   */
+  void refreshFacets(Collection<String> indexes) {
+    for (String index : indexes) {
+      if (!backend.isAvailable()) {
+        return;
+      }
+      if (!facetsToRefresh.remove(index)) {
+        continue;
+      }
+      long generation = generation(index).get();
+      long computedAt = ticker.read();
+      SearchQuery query = new SearchQuery(index, MATCH_ALL, 0, 0, null, false).withProfile(SearchProfile.IDS)
+              .withFacets(SearchIndex.FACET_NAMES);
+      try {
+        JsonNode aggregations = JsonUtils.readValue(backend.search(query).toJson(), JsonNode.class)
+                .get("aggregations");
+        if (aggregations != null) {
+          allFacets.put(index, new Facets(generation, computedAt, aggregations));
+        }
+      } catch (Exception e) {
+        facetsToRefresh.add(index);
+        LOG.warn("Failed to compute the facets of {}: {}", index, e.getMessage());
+        return;
+      }
+    }
+  }
+
+  @Override
+  public SearchResult search(SearchQuery query) throws IOException {
+    facetsToRefresh.add(query.getIndex());
+    if (query.getAfter() != null) {
+      // Pages after a cursor are read once while scrolling through the results and are not worth caching
+      return backend.search(query);
+    }
+    Facets facets = allFacets.get(query.getIndex());
+    if (facets != null && facets.generation == generation(query.getIndex()).get()
+            && ticker.read() - facets.computedAt < ttlNanos && !query.getFacets().isEmpty()
+            && normalize(query.getQuery()).equals(MATCH_ALL)) {
+      return facets.addTo(cachedSearch(query.withFacets(List.of())), query.getFacets());
+    }
+    return streamedSearch(query);
+  }
+
+  /**
+   * Return the cached response of the query or stream the response of the backend to the client while copying it
+   * into the cache. Responses larger than {@value #MAX_CACHED_BYTES} bytes are streamed without being cached.
+   * Concurrent searches for the query wait for the response being streamed to be cached, up to {@code ttlSeconds},
+   * and search the backend themselves when it is not.
+   */
+  private SearchResult streamedSearch(SearchQuery query) throws IOException {
+    Key key = new Key(query, generation(query.getIndex()).get());
+    byte[] cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return SearchResult.of(cached);
+    }
+    CompletableFuture<byte[]> loaded = new CompletableFuture<>();
+    CompletableFuture<byte[]> loading = loads.putIfAbsent(key, loaded);
+    if (loading != null) {
+      byte[] response = await(loading);
+      return response != null ? SearchResult.of(response) : backend.search(query);
+    }
+    SearchResult result;
+    try {
+      result = backend.search(query);
+    } catch (IOException | RuntimeException e) {
+      loads.remove(key, loaded);
+      loaded.complete(null);
+      throw e;
+    }
+    return out -> {
+      CopyingOutputStream copying = new CopyingOutputStream(out, MAX_CACHED_BYTES);
+      byte[] response = null;
+      try {
+        result.write(copying);
+        response = copying.getCopy();
+        if (response != null && !isError(response)) {
+          cache.put(key, response);
+        }
+      } finally {
+        loads.remove(key, loaded);
+        loaded.complete(response);
+      }
+    };
+  }
+
+  /** Wait for a response being cached by another search, returning null when it is not cached in time */
+  private byte[] await(CompletableFuture<byte[]> loading) {
+    try {
+      return loading.get(ttlNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      return null;
+    } catch (TimeoutException e) {
+      // The response was never written, such as when the client went away, and the next search loads it again
+      loads.values().remove(loading);
+      return null;
+    }
+  }
+
+  private byte[] cachedSearch(SearchQuery query) throws IOException {
+    Key key = new Key(query, generation(query.getIndex()).get());
+    try {
+      return cache.get(key, () -> backend.search(query).toBytes());
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    } catch (UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Return cached responses of the queries and search the indexes of the other queries in one request to the backend.
+   * Concurrent searches are not collapsed into one for these queries.
+   */
+  @Override
+  public List<SearchResult> search(List<SearchQuery> queries) throws IOException {
+    SearchResult[] responses = new SearchResult[queries.size()];
+    List<SearchQuery> misses = new ArrayList<>();
+    List<Integer> missPositions = new ArrayList<>();
+    List<Key> missKeys = new ArrayList<>();
+    for (int i = 0; i < queries.size(); i++) {
+      SearchQuery query = queries.get(i);
+      facetsToRefresh.add(query.getIndex());
+      Key key = query.getAfter() == null ? new Key(query, generation(query.getIndex()).get()) : null;
+      byte[] response = key == null ? null : cache.getIfPresent(key);
+      if (response != null) {
+        responses[i] = SearchResult.of(response);
+      } else {
+        misses.add(query);
+        missPositions.add(i);
+        missKeys.add(key);
+      }
+    }
+    if (!misses.isEmpty()) {
+      List<SearchResult> results = backend.search(misses);
+      for (int i = 0; i < results.size(); i++) {
+        byte[] result = results.get(i).toBytes();
+        responses[missPositions.get(i)] = SearchResult.of(result);
+        if (missKeys.get(i) != null && !isError(result)) {
+          cache.put(missKeys.get(i), result);
+        }
+      }
+    }
+    return Arrays.asList(responses);
+  }
+
+  @Override
+  public SearchResult suggest(String index, String prefix) throws IOException {
+    return backend.suggest(index, prefix);
+  }
+
+  @Override
+  public void updateDocument(String index, String id, Map<String, Object> doc) {
+    updateDocument(index, id, doc, () -> { });
+  }
+
+  /**
+   * Increment the generation of the index when the update is sent and again once searches see it, so that results
+   * cached by searches in between, which may not have the update, are not read afterwards
+   */
+  @Override
+  public void updateDocument(String index, String id, Map<String, Object> doc, Runnable onSearchable) {
+    backend.updateDocument(index, id, doc, () -> {
+      generation(index).incrementAndGet();
+      onSearchable.run();
+    });
+    generation(index).incrementAndGet();
+    facetsToRefresh.add(index);
+  }
+
+  @Override
+  public void deleteDocument(String index, String id) {
+    deleteDocument(index, id, () -> { });
+  }
+
+  /** Increment the generation of the index like {@link #updateDocument(String, String, Map, Runnable)} */
+  @Override
+  public void deleteDocument(String index, String id, Runnable onSearchable) {
+    backend.deleteDocument(index, id, () -> {
+      generation(index).incrementAndGet();
+      onSearchable.run();
+    });
+    generation(index).incrementAndGet();
+    facetsToRefresh.add(index);
+  }
+
+  @Override
+  public void indexDocuments(String index, Map<String, Map<String, Object>> docs) throws IOException {
+    try {
+      backend.indexDocuments(index, docs);
+    } finally {
+      generation(index).incrementAndGet();
+      facetsToRefresh.add(index);
+    }
+  }
+
+  @Override
+  public boolean needsReindex(String index) throws IOException {
+    return backend.needsReindex(index);
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return backend.isAvailable();
+  }
+
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      if (facetRefresher != null) {
+        facetRefresher.shutdownNow();
+      }
+    }
+    cache.invalidateAll();
+    backend.close();
+  }
+
+  private static boolean isError(byte[] response) {
+    return response.length >= ERROR_RESPONSE.length &&
+            Arrays.equals(response, 0, ERROR_RESPONSE.length, ERROR_RESPONSE, 0, ERROR_RESPONSE.length);
+  }
+
+  private AtomicLong generation(String index) {
+    return generations.computeIfAbsent(index, name -> new AtomicLong());
+  }
+
+  private static String normalize(String query) {
+    return query == null ? "" : query.strip().replaceAll("\\s+", " ");
+  }
+
+  /** Facets of all the documents of an index computed at a generation of the index, at a time of the ticker */
+  private static final class Facets {
+    private final long generation;
+    private final long computedAt;
+    private final JsonNode aggregations;
+
+    private Facets(long generation, long computedAt, JsonNode aggregations) {
+      this.generation = generation;
+      this.computedAt = computedAt;
+      this.aggregations = aggregations;
+    }
+
+    /** Add the facets in {@code facetNames} as aggregations to a search response without aggregations */
+    private SearchResult addTo(byte[] response, List<String> facetNames) throws IOException {
+      Map<String, JsonNode> selected = new LinkedHashMap<>();
+      for (String name : facetNames) {
+        if (aggregations.has(name)) {
+          selected.put(name, aggregations.get(name));
+        }
+      }
+      byte[] facets = (",\"aggregations\":" + JsonUtils.pojoToJson(selected) + "}").getBytes(StandardCharsets.UTF_8);
+      int end = response.length - 1;
+      while (end > 0 && response[end] != '}') {
+        end--;
+      }
+      byte[] merged = Arrays.copyOf(response, end + facets.length);
+      System.arraycopy(facets, 0, merged, end, facets.length);
+      return SearchResult.of(merged);
+    }
+  }
+
+  /** Output that writes to another output and keeps a copy of what is written, up to a maximum size */
+  private static final class CopyingOutputStream extends OutputStream {
+    private final OutputStream out;
+    private final int maxSize;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    private CopyingOutputStream(OutputStream out, int maxSize) {
+      this.out = out;
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      if (copy != null && copy.size() + len > maxSize) {
+        copy = null;
+      } else if (copy != null) {
+        copy.write(b, off, len);
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    /** Returns what was written, or null when more than the maximum size was written */
+    private byte[] getCopy() {
+      return copy == null ? null : copy.toByteArray();
+    }
+  }
+
+  /** Search request normalized so that requests with the same results have the same key */
+  private static final class Key {
+    private final String index;
+    private final long generation;
+    private final String query;
+    private final int from;
+    private final int size;
+    private final String sortField;
+    private final boolean ascending;
+    private final SearchProfile profile;
+    private final List<String> facets;
+
+    private Key(SearchQuery searchQuery, long generation) {
+      this.index = searchQuery.getIndex();
+      this.generation = generation;
+      this.query = normalize(searchQuery.getQuery());
+      this.from = searchQuery.getFrom();
+      this.size = searchQuery.getSize();
+      this.sortField = searchQuery.getSortField();
+      // Sort order does not matter when results are sorted by relevance
+      this.ascending = sortField != null && searchQuery.isAscending();
+      // Profiles differ only in what they return of each hit, which does not matter when no hits are returned
+      this.profile = size == 0 ? SearchProfile.IDS : searchQuery.getProfile();
+      this.facets = searchQuery.getFacets();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return generation == key.generation && from == key.from && size == key.size && ascending == key.ascending &&
+              index.equals(key.index) && query.equals(key.query) && Objects.equals(sortField, key.sortField) &&
+              profile == key.profile && facets.equals(key.facets);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(index, generation, query, from, size, sortField, ascending, profile, facets);
+    }
+  }
+}
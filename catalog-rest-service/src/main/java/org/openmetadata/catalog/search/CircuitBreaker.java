@@ -0,0 +1,88 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import org.openmetadata.catalog.exception.SearchUnavailableException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for the requests to a search cluster. After {@code failureThreshold} consecutive failures the
+ * breaker opens and requests are rejected right away for {@code openSeconds}, instead of each of them holding a
+ * request thread until the cluster times out. After that one request is let through to try the cluster. The breaker
+ * closes when it succeeds and opens again when it fails.
+ *
+ * Only failures of the cluster count, such as connection failures, timeouts and server errors. Requests that the
+ * cluster rejects as invalid do not.
+ */
+public final class CircuitBreaker {
+  private final int failureThreshold;
+  private final long openNanos;
+  private final LongSupplier nanoClock;
+  private int failures;
+  private long openedAt;
+  private boolean trying;
+  private long rejected;
+
+  public CircuitBreaker(int failureThreshold, int openSeconds) {
+    this(failureThreshold, openSeconds, System::nanoTime);
+  }
+
+  CircuitBreaker(int failureThreshold, int openSeconds, LongSupplier nanoClock) {
+    this.failureThreshold = failureThreshold;
+    this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+    this.nanoClock = nanoClock;
+  }
+
+  /** Check that a request can be sent. Each request let through must be followed by its outcome */
+  public synchronized void acquire() {
+    if (failures < failureThreshold) {
+      return;
+    }
+    if (trying || nanoClock.getAsLong() - openedAt < openNanos) {
+      rejected++;
+      throw new SearchUnavailableException("Search is unavailable after " + failures + " failed requests to the " +
+              "search cluster, try again later");
+    }
+    trying = true;
+  }
+
+  public synchronized void onSuccess() {
+    failures = 0;
+    trying = false;
+  }
+
+  public synchronized void onFailure() {
+    failures++;
+    trying = false;
+    if (failures >= failureThreshold) {
+      openedAt = nanoClock.getAsLong();
+    }
+  }
+
+  /** Returns true when requests are rejected, other than the one request that tries the cluster */
+  public synchronized boolean isOpen() {
+    return failures >= failureThreshold;
+  }
+
+  /** Number of requests rejected so far */
+  public synchronized long getRejected() {
+    return rejected;
+  }
+}
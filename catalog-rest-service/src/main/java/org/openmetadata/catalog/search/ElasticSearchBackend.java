@@ -0,0 +1,638 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.search;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.search.ClosePointInTimeRequest;
+import org.elasticsearch.action.search.OpenPointInTimeRequest;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestClientBuilder;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.MultiMatchQueryBuilder;
+import org.elasticsearch.index.query.Operator;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.query.QueryStringQueryBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.builder.PointInTimeBuilder;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.elasticsearch.search.suggest.SuggestBuilder;
+import org.elasticsearch.search.suggest.SuggestBuilders;
+import org.elasticsearch.search.suggest.completion.CompletionSuggestionBuilder;
+import org.openmetadata.catalog.ElasticSearchConfiguration;
+import org.openmetadata.catalog.exception.SearchUnavailableException;
+import org.openmetadata.catalog.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Search backend that uses an external Elasticsearch cluster. Searches are sent with the low level client and the
+ * responses of the cluster are copied to the response of the search API as they are read, instead of being parsed
+ * into response objects and serialized back to JSON.
+ */
+public class ElasticSearchBackend implements SearchBackend {
+  private static final Logger LOG = LoggerFactory.getLogger(ElasticSearchBackend.class);
+  /** Order of the documents in the shards of a point in time, the cheapest tie-breaker with a point in time */
+  private static final String SHARD_DOC_FIELD = "_shard_doc";
+  private static final String SEARCH_ENDPOINT = "/_search";
+  private static final String MULTI_SEARCH_ENDPOINT = "/_msearch";
+  private static final ContentType NDJSON = ContentType.create("application/x-ndjson", StandardCharsets.UTF_8);
+  private static final TimeValue PIT_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+  private static final String NGRAM_SUBFIELD = ".ngram";
+  private static final String EDGE_NGRAM_SUBFIELD = ".edge";
+  /**
+   * Fields of the documents that are changed through the catalog. The other fields, such as the names, the service
+   * and the suggestions, are written by ingestion and are left as they are when a document is updated.
+   */
+  private static final Set<String> CATALOG_FIELDS = Set.of(SearchIndex.DESCRIPTION_FIELD, "tags", "tier",
+          "column_descriptions", "owner", "followers", "last_updated_timestamp");
+  private final RestHighLevelClient client;
+  private final RequestOptions searchOptions;
+  private final RequestOptions updateOptions;
+  private final TimeValue searchTimeout;
+  private final CircuitBreaker circuitBreaker;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  /** Mapping of each index searched so far */
+  private final Map<String, IndexMapping> indexMappings = new ConcurrentHashMap<>();
+
+  public ElasticSearchBackend(ElasticSearchConfiguration esConfig) {
+    RestClientBuilder restClientBuilder = RestClient.builder(new HttpHost(esConfig.getHost(), esConfig.getPort(),
+            "http"));
+    CredentialsProvider credentialsProvider = null;
+    if (StringUtils.isNotEmpty(esConfig.getUsername())) {
+      credentialsProvider = new BasicCredentialsProvider();
+      credentialsProvider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(esConfig.getUsername(),
+              esConfig.getPassword()));
+    }
+    CredentialsProvider credentials = credentialsProvider;
+    restClientBuilder.setHttpClientConfigCallback(httpAsyncClientBuilder -> {
+      if (credentials != null) {
+        httpAsyncClientBuilder.setDefaultCredentialsProvider(credentials);
+      }
+      // All the connections are to one host
+      return httpAsyncClientBuilder.setMaxConnTotal(esConfig.getMaxConnections())
+              .setMaxConnPerRoute(esConfig.getMaxConnections());
+    });
+    restClientBuilder.setRequestConfigCallback(requestConfigBuilder -> requestConfig(requestConfigBuilder, esConfig,
+            esConfig.getUpdateTimeoutMillis()));
+    this.client = new RestHighLevelClient(restClientBuilder);
+    this.searchOptions = RequestOptions.DEFAULT.toBuilder().setRequestConfig(requestConfig(RequestConfig.custom(),
+            esConfig, esConfig.getSearchTimeoutMillis()).build()).build();
+    this.updateOptions = RequestOptions.DEFAULT.toBuilder().setRequestConfig(requestConfig(RequestConfig.custom(),
+            esConfig, esConfig.getUpdateTimeoutMillis()).build()).build();
+    this.searchTimeout = TimeValue.timeValueMillis(esConfig.getSearchTimeoutMillis());
+    this.circuitBreaker = new CircuitBreaker(esConfig.getCircuitBreakerFailures(),
+            esConfig.getCircuitBreakerOpenSeconds());
+  }
+
+  /**
+   * Time out connecting, waiting for a pooled connection and waiting for the response, so that a cluster that does
+   * not respond fails requests instead of holding request threads.
+   */
+  private static RequestConfig.Builder requestConfig(RequestConfig.Builder builder, ElasticSearchConfiguration config,
+                                                     int timeoutMillis) {
+    return builder.setConnectTimeout(config.getConnectionTimeoutMillis())
+            .setConnectionRequestTimeout(config.getConnectionTimeoutMillis())
+            .setSocketTimeout(timeoutMillis);
+  }
+
+  /** Register the requests in flight to the cluster, the state of the circuit breaker and the rejected requests */
+  @Override
+  public void registerMetrics(MetricRegistry metrics) {
+    metrics.register("search.elasticsearch.inFlight", (Gauge<Integer>) inFlight::get);
+    metrics.register("search.elasticsearch.circuitOpen", (Gauge<Boolean>) circuitBreaker::isOpen);
+    metrics.register("search.elasticsearch.rejected", (Gauge<Long>) circuitBreaker::getRejected);
+  }
+
+  /** Returns false while the circuit breaker rejects requests to the cluster after failed requests */
+  @Override
+  public boolean isAvailable() {
+    return !circuitBreaker.isOpen();
+  }
+
+  /**
+   * Search one index. Hits with the same sort values are ordered by a tie-breaker only when the results are paged
+   * with cursors, so that search_after does not skip or repeat hits: the first page, which returns the cursor of the
+   * next page, and the pages after a cursor. Pages at {@code from} are returned without a cursor.
+   *
+   * The first page is ordered by the tie-breaker of the {@link IndexMapping} of the index. The pages after it are
+   * searched at a point in time and are ordered by {@link #SHARD_DOC_FIELD} as well. The first page after the first
+   * one has no value of it and starts after all the hits with the sort values of the last hit of the first page,
+   * which is only that hit itself.
+   */
+  @Override
+  public SearchResult search(SearchQuery query) throws IOException {
+    SearchCursor after = query.getAfter();
+    SearchSourceBuilder searchSourceBuilder = buildSearchBuilder(query);
+    String endpoint = "/" + query.getIndex() + SEARCH_ENDPOINT;
+    String pointInTimeId = null;
+    boolean pagedWithCursors = query.getSize() > 0 && (after != null || query.getFrom() == 0);
+    if (pagedWithCursors) {
+      searchSourceBuilder.sort(indexMapping(query.getIndex()).tieBreakerSort());
+    }
+    if (after != null) {
+      List<Object> searchAfter = new ArrayList<>(after.getSortValues());
+      pointInTimeId = after.getPointInTimeId() != null ? after.getPointInTimeId() :
+              openPointInTime(query.getIndex());
+      if (pointInTimeId != null) {
+        searchSourceBuilder.pointInTimeBuilder(new PointInTimeBuilder(pointInTimeId).setKeepAlive(PIT_KEEP_ALIVE));
+        searchSourceBuilder.sort(SortBuilders.fieldSort(SHARD_DOC_FIELD).order(SortOrder.ASC));
+        if (after.getPointInTimeId() == null) {
+          searchAfter.add(Long.MAX_VALUE);
+        }
+        endpoint = SEARCH_ENDPOINT;
+      }
+      searchSourceBuilder.searchAfter(searchAfter.toArray());
+    }
+    String source = Strings.toString(searchSourceBuilder);
+    LOG.info(source);
+    Response response = performRequest(endpoint, source, ContentType.APPLICATION_JSON);
+    SearchResponseFilter filter = new SearchResponseFilter(query.getSize(), pointInTimeId, pagedWithCursors);
+    return out -> {
+      try (InputStream in = response.getEntity().getContent();
+           JsonParser parser = JsonUtils.createParser(in);
+           JsonGenerator generator = createGenerator(out)) {
+        parser.nextToken();
+        filter.copy(parser, generator);
+      }
+      // Close the point in time after the last page
+      if (filter.getPointInTimeId() != null && filter.next() == null) {
+        closePointInTime(filter.getPointInTimeId());
+      }
+    };
+  }
+
+  /**
+   * Search all the indexes in one multi search request. The responses of the queries are separated while they are
+   * copied from the response of the cluster.
+   */
+  @Override
+  public List<SearchResult> search(List<SearchQuery> queries) throws IOException {
+    StringBuilder body = new StringBuilder();
+    for (SearchQuery query : queries) {
+      if (query.getAfter() != null) {
+        throw new IllegalArgumentException("Search cursors are not supported when searching several indexes");
+      }
+      body.append(JsonUtils.pojoToJson(Map.of("index", query.getIndex()))).append('\n')
+              .append(Strings.toString(buildSearchBuilder(query))).append('\n');
+    }
+    Response response = performRequest(MULTI_SEARCH_ENDPOINT, body.toString(), NDJSON);
+    List<SearchResult> responses = new ArrayList<>(queries.size());
+    try (InputStream in = response.getEntity().getContent();
+         JsonParser parser = JsonUtils.createParser(in)) {
+      parser.nextToken();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        parser.nextToken();
+        if (!field.equals("responses")) {
+          parser.skipChildren();
+          continue;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          SearchQuery query = queries.get(responses.size());
+          SearchResponseFilter filter = new SearchResponseFilter(query.getSize(), null, false);
+          ByteArrayOutputStream out = new ByteArrayOutputStream();
+          try (JsonGenerator generator = JsonUtils.createGenerator(out)) {
+            filter.copy(parser, generator);
+          }
+          if (filter.isError()) {
+            LOG.error("Failed to search {}: {}", query.getIndex(), out.toString(StandardCharsets.UTF_8));
+          }
+          responses.add(SearchResult.of(out.toByteArray()));
+        }
+      }
+    }
+    return responses;
+  }
+
+  @Override
+  public SearchResult suggest(String index, String prefix) throws IOException {
+    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+    CompletionSuggestionBuilder suggestionBuilder = SuggestBuilders.completionSuggestion(SearchIndex.SUGGEST_FIELD)
+            .prefix(prefix);
+    SuggestBuilder suggestBuilder = new SuggestBuilder();
+    suggestBuilder.addSuggestion("table-suggest", suggestionBuilder);
+    searchSourceBuilder.suggest(suggestBuilder);
+    searchSourceBuilder.timeout(searchTimeout);
+    Response response = performRequest("/" + index + SEARCH_ENDPOINT, Strings.toString(searchSourceBuilder),
+            ContentType.APPLICATION_JSON);
+    return out -> {
+      try (InputStream in = response.getEntity().getContent();
+           JsonParser parser = JsonUtils.createParser(in);
+           JsonGenerator generator = createGenerator(out)) {
+        parser.nextToken();
+        SearchResponseFilter.copySuggest(parser, generator);
+      }
+    };
+  }
+
+  /**
+   * Update the fields of the document that are changed through the catalog. A document that does not exist yet is
+   * left to ingestion, which writes the other fields.
+   */
+  @Override
+  public void updateDocument(String index, String id, Map<String, Object> doc) {
+    updateDocument(index, id, doc, () -> { });
+  }
+
+  /** Send the update asynchronously and run {@code onSearchable} once the index is refreshed with it */
+  @Override
+  public void updateDocument(String index, String id, Map<String, Object> doc, Runnable onSearchable) {
+    Map<String, Object> catalogFields = new HashMap<>();
+    for (Map.Entry<String, Object> field : doc.entrySet()) {
+      if (CATALOG_FIELDS.contains(field.getKey())) {
+        catalogFields.put(field.getKey(), field.getValue());
+      }
+    }
+    UpdateRequest updateRequest = new UpdateRequest(index, id);
+    updateRequest.doc(catalogFields).setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+    try {
+      circuitBreaker.acquire();
+    } catch (SearchUnavailableException e) {
+      LOG.error("Failed to update Elastic Search {} {}: {}", index, id, e.getMessage());
+      onSearchable.run();
+      return;
+    }
+    inFlight.incrementAndGet();
+    client.updateAsync(updateRequest, updateOptions, new ActionListener<>() {
+      @Override
+      public void onResponse(UpdateResponse updateResponse) {
+        inFlight.decrementAndGet();
+        circuitBreaker.onSuccess();
+        LOG.info("Updated Elastic Search {}", updateResponse);
+        onSearchable.run();
+      }
+
+      @Override
+      public void onFailure(Exception e) {
+        inFlight.decrementAndGet();
+        recordOutcome(e);
+        LOG.error("Failed to update Elastic Search", e);
+        onSearchable.run();
+      }
+    });
+  }
+
+  @Override
+  public void deleteDocument(String index, String id) {
+    deleteDocument(index, id, () -> { });
+  }
+
+  /** Send the delete asynchronously and run {@code onSearchable} once the index is refreshed without the document */
+  @Override
+  public void deleteDocument(String index, String id, Runnable onSearchable) {
+    DeleteRequest deleteRequest = new DeleteRequest(index, id);
+    deleteRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+    try {
+      circuitBreaker.acquire();
+    } catch (SearchUnavailableException e) {
+      LOG.error("Failed to delete Elastic Search {} {}: {}", index, id, e.getMessage());
+      onSearchable.run();
+      return;
+    }
+    inFlight.incrementAndGet();
+    client.deleteAsync(deleteRequest, updateOptions, new ActionListener<>() {
+      @Override
+      public void onResponse(DeleteResponse deleteResponse) {
+        inFlight.decrementAndGet();
+        circuitBreaker.onSuccess();
+        LOG.info("Deleted Elastic Search {}", deleteResponse);
+        onSearchable.run();
+      }
+
+      @Override
+      public void onFailure(Exception e) {
+        inFlight.decrementAndGet();
+        recordOutcome(e);
+        LOG.error("Failed to delete Elastic Search {} {}", index, id, e);
+        onSearchable.run();
+      }
+    });
+  }
+
+  /**
+   * Index the documents in one bulk request. The index is built only when it has no documents, so documents are
+   * created with all their fields, and documents that ingestion created in the meantime are updated with them.
+   */
+  @Override
+  public void indexDocuments(String index, Map<String, Map<String, Object>> docs) throws IOException {
+    if (docs.isEmpty()) {
+      return;
+    }
+    BulkRequest bulkRequest = new BulkRequest();
+    for (Map.Entry<String, Map<String, Object>> doc : docs.entrySet()) {
+      bulkRequest.add(new UpdateRequest(index, doc.getKey()).doc(doc.getValue()).docAsUpsert(true));
+    }
+    BulkResponse response = execute(() -> client.bulk(bulkRequest, updateOptions));
+    if (response.hasFailures()) {
+      throw new IOException("Failed to index documents of " + index + ": " + response.buildFailureMessage());
+    }
+  }
+
+  /**
+   * Install the index template of the index when it is missing or older than the template of this version, and
+   * create the index from the template when the index does not exist. Indexes that exist are left as they are and get
+   * the ngram subfields of the template only when they are created again. Returns true when the index has no
+   * documents.
+   */
+  @Override
+  public boolean needsReindex(String index) throws IOException {
+    installTemplate(index);
+    Response exists = performRequest("HEAD", "/" + index, null, updateOptions);
+    if (exists.getStatusLine().getStatusCode() == 404) {
+      performRequest("PUT", "/" + index, null, updateOptions);
+      LOG.info("Created search index {} from its template", index);
+    }
+    indexMappings.remove(index);
+    return readJson(performRequest("GET", "/" + index + "/_count", null, updateOptions)).path("count").asLong() == 0;
+  }
+
+  private void installTemplate(String index) throws IOException {
+    JsonNode template;
+    try (InputStream in = ElasticSearchBackend.class.getResourceAsStream("/elasticsearch/" + index +
+            "_template.json")) {
+      if (in == null) {
+        return;
+      }
+      template = JsonUtils.readValue(in, JsonNode.class);
+    }
+    int version = template.path("version").asInt();
+    Request request = new Request("GET", "/_index_template/" + index);
+    request.addParameter("ignore", "404");
+    Response installed = performRequest(request, updateOptions);
+    if (installed.getStatusLine().getStatusCode() != 404 && readJson(installed).path("index_templates").path(0)
+            .path("index_template").path("version").asInt() >= version) {
+      return;
+    }
+    performRequest("PUT", "/_index_template/" + index, JsonUtils.pojoToJson(template), updateOptions);
+    LOG.info("Installed index template of {} version {}", index, version);
+  }
+
+  /** Read the mapping of the index once, or return a mapping that any index can be searched with on failures */
+  private IndexMapping indexMapping(String index) {
+    IndexMapping mapping = indexMappings.get(index);
+    if (mapping == null) {
+      try {
+        mapping = IndexMapping.of(readJson(performRequest("GET", "/" + index + "/_mapping", null, searchOptions)));
+        indexMappings.put(index, mapping);
+      } catch (Exception e) {
+        LOG.warn("Failed to read the mapping of {}, searching with wildcards", index, e);
+        return IndexMapping.UNKNOWN;
+      }
+    }
+    return mapping;
+  }
+
+  @Override
+  public void close() throws IOException {
+    client.close();
+  }
+
+  /**
+   * Open a point in time of the index for the pages after a cursor, so that documents indexed while paging do not
+   * shift hits between pages. Returns null when the cluster does not support points in time.
+   */
+  private String openPointInTime(String index) {
+    try {
+      OpenPointInTimeRequest request = new OpenPointInTimeRequest(index).keepAlive(PIT_KEEP_ALIVE);
+      return execute(() -> client.openPointInTime(request, searchOptions)).getPointInTimeId();
+    } catch (Exception e) {
+      LOG.warn("Failed to open point in time of {}, searching latest documents", index, e);
+      return null;
+    }
+  }
+
+  /**
+   * Send a request with the low level client, which returns the response of the cluster as it is instead of parsing
+   * it into a response object.
+   */
+  private Response performRequest(String endpoint, String body, ContentType contentType) throws IOException {
+    Request request = new Request("POST", endpoint);
+    request.setEntity(new StringEntity(body, contentType));
+    return performRequest(request, searchOptions);
+  }
+
+  private Response performRequest(String method, String endpoint, String jsonBody, RequestOptions options)
+          throws IOException {
+    Request request = new Request(method, endpoint);
+    if (jsonBody != null) {
+      request.setJsonEntity(jsonBody);
+    }
+    return performRequest(request, options);
+  }
+
+  private Response performRequest(Request request, RequestOptions options) throws IOException {
+    request.setOptions(options);
+    return execute(() -> client.getLowLevelClient().performRequest(request));
+  }
+
+  private static JsonNode readJson(Response response) throws IOException {
+    try (InputStream in = response.getEntity().getContent()) {
+      return JsonUtils.readValue(in, JsonNode.class);
+    }
+  }
+
+  /**
+   * Send a request to the cluster through the circuit breaker. Requests are rejected with
+   * {@link SearchUnavailableException} without being sent while the breaker is open.
+   */
+  private <T> T execute(ClusterRequest<T> request) throws IOException {
+    circuitBreaker.acquire();
+    inFlight.incrementAndGet();
+    try {
+      T response = request.send();
+      circuitBreaker.onSuccess();
+      return response;
+    } catch (IOException | RuntimeException e) {
+      recordOutcome(e);
+      throw e;
+    } finally {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  /** Count a failed request against the breaker when the cluster failed, and not when it rejected the request */
+  private void recordOutcome(Exception e) {
+    int status = -1;
+    if (e instanceof ResponseException) {
+      status = ((ResponseException) e).getResponse().getStatusLine().getStatusCode();
+    } else if (e instanceof ElasticsearchStatusException) {
+      status = ((ElasticsearchStatusException) e).status().getStatus();
+    } else if (!(e instanceof IOException)) {
+      // Failures of the client itself, such as requests that cannot be built, do not say anything about the cluster
+      circuitBreaker.onSuccess();
+      return;
+    }
+    if (status == -1 || status >= 500 || status == 429) {
+      circuitBreaker.onFailure();
+    } else {
+      circuitBreaker.onSuccess();
+    }
+  }
+
+  private interface ClusterRequest<T> {
+    T send() throws IOException;
+  }
+
+  /** Generator that writes to the response of the search API and leaves it open for the responses that follow */
+  private static JsonGenerator createGenerator(OutputStream out) throws IOException {
+    return JsonUtils.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  }
+
+  private void closePointInTime(String pointInTimeId) {
+    try {
+      execute(() -> client.closePointInTime(new ClosePointInTimeRequest(pointInTimeId), searchOptions));
+    } catch (Exception e) {
+      LOG.warn("Failed to close point in time", e);
+    }
+  }
+
+  private SearchSourceBuilder buildSearchBuilder(SearchQuery query) {
+    SearchSourceBuilder searchSourceBuilder = buildSearchBuilder(SearchIndex.fromName(query.getIndex()), query);
+    if (query.getSortField() != null) {
+      searchSourceBuilder.sort(query.getSortField(), query.isAscending() ? SortOrder.ASC : SortOrder.DESC);
+    } else {
+      searchSourceBuilder.sort(SortBuilders.scoreSort()).trackScores(true);
+    }
+    return searchSourceBuilder.timeout(searchTimeout);
+  }
+
+  /** Build the query, and the highlights, facets and documents of hits in the profile of the query */
+  private SearchSourceBuilder buildSearchBuilder(SearchIndex index, SearchQuery query) {
+    QueryStringQueryBuilder queryStringBuilder = queryStringQuery(index, query.getQuery());
+    boolean ngram = indexMapping(query.getIndex()).hasNgramFields();
+    QueryRewriter rewritten = ngram ? QueryRewriter.rewrite(query.getQuery()) : null;
+
+    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+    searchSourceBuilder.query(rewritten == null ? queryStringBuilder : ngramQuery(index, rewritten));
+    SearchProfile profile = query.getProfile();
+    if (profile.hasHighlights()) {
+      HighlightBuilder hb = new HighlightBuilder();
+      hb.field(highlightField(SearchIndex.DESCRIPTION_FIELD));
+      hb.field(highlightField(index.getNameField()));
+      for (String field : index.getTextFields()) {
+        hb.field(highlightField(field));
+      }
+      hb.preTags(SearchIndex.HIGHLIGHT_PRE_TAG);
+      hb.postTags(SearchIndex.HIGHLIGHT_POST_TAG);
+      if (rewritten != null) {
+        // Highlight the terms of the fields instead of the ngrams. The wildcards are expanded only for the page of hits
+        hb.highlightQuery(queryStringBuilder);
+      }
+      searchSourceBuilder.highlighter(hb);
+    }
+    if (!profile.hasSource()) {
+      searchSourceBuilder.fetchSource(false);
+    }
+    for (String facet : query.getFacets()) {
+      searchSourceBuilder.aggregation(AggregationBuilders.terms(facet)
+              .field(SearchIndex.FACET_FIELDS.get(SearchIndex.FACET_NAMES.indexOf(facet))));
+    }
+    return searchSourceBuilder.from(query.getAfter() == null ? query.getFrom() : 0).size(query.getSize());
+  }
+
+  private static QueryStringQueryBuilder queryStringQuery(SearchIndex index, String query) {
+    QueryStringQueryBuilder queryBuilder = QueryBuilders.queryStringQuery(query)
+            .field(index.getNameField(), SearchIndex.NAME_BOOST)
+            .field(SearchIndex.DESCRIPTION_FIELD);
+    for (String field : index.getTextFields()) {
+      queryBuilder.field(field);
+    }
+    return queryBuilder.lenient(true);
+  }
+
+  /**
+   * Match substrings as phrases of ngrams of the ngram subfields, which match the ngrams of the substring in the same
+   * order as the substring, and prefixes with the edge ngram subfields. Clauses that are not rewritten are searched as
+   * a query string.
+   */
+  private static QueryBuilder ngramQuery(SearchIndex index, QueryRewriter rewritten) {
+    BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
+    for (String substring : rewritten.getSubstrings()) {
+      queryBuilder.must(subfieldQuery(index, substring, NGRAM_SUBFIELD).type(MultiMatchQueryBuilder.Type.PHRASE));
+    }
+    for (String prefix : rewritten.getPrefixes()) {
+      queryBuilder.must(subfieldQuery(index, prefix, EDGE_NGRAM_SUBFIELD).operator(Operator.AND));
+    }
+    if (rewritten.getRest() != null) {
+      queryBuilder.must(queryStringQuery(index, rewritten.getRest()));
+    }
+    return queryBuilder;
+  }
+
+  private static MultiMatchQueryBuilder subfieldQuery(SearchIndex index, String text, String subfield) {
+    MultiMatchQueryBuilder queryBuilder = QueryBuilders.multiMatchQuery(text)
+            .field(index.getNameField() + subfield, SearchIndex.NAME_BOOST)
+            .field(SearchIndex.DESCRIPTION_FIELD + subfield);
+    for (String field : index.getTextFields()) {
+      queryBuilder.field(field + subfield);
+    }
+    return queryBuilder;
+  }
+
+  private static HighlightBuilder.Field highlightField(String name) {
+    HighlightBuilder.Field field = new HighlightBuilder.Field(name);
+    field.highlighterType("unified");
+    return field;
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+
+package org.openmetadata.catalog.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+
+/**
+ * What the mapping of an Elasticsearch index tells about how to search it. Indexes created from the index templates
+ * of the catalog have ngram subfields and map {@code fqdn} as a keyword. Indexes created by ingestion before the
+ * templates have neither, and {@code fqdn} is mapped dynamically as text with a {@code keyword} subfield.
+ */
+final class IndexMapping {
+  /** First version of the index templates with the ngram subfields */
+  static final int NGRAM_TEMPLATE_VERSION = 1;
+  static final String TEMPLATE_VERSION = "template_version";
+  static final String FQDN_FIELD = "fqdn";
+  private static final String KEYWORD_SUBFIELD = ".keyword";
+  /** Mapping of an index whose mapping could not be read, which can be searched whatever its mapping is */
+  static final IndexMapping UNKNOWN = new IndexMapping(false, FQDN_FIELD + KEYWORD_SUBFIELD);
+
+  private final boolean ngram;
+  private final String tieBreakerField;
+
+  private IndexMapping(boolean ngram, String tieBreakerField) {
+    this.ngram = ngram;
+    this.tieBreakerField = tieBreakerField;
+  }
+
+  /** Read the mapping of an index from the response of {@code GET /<index>/_mapping} */
+  static IndexMapping of(JsonNode response) {
+    IndexMapping indexMapping = UNKNOWN;
+    // The mapping is returned by the name of the index, which differs from the name searched for aliases
+    for (JsonNode mapping : response) {
+      JsonNode mappings = mapping.path("mappings");
+      boolean ngram = mappings.path("_meta").path(TEMPLATE_VERSION).asInt() >= NGRAM_TEMPLATE_VERSION;
+      boolean keyword = mappings.path("properties").path(FQDN_FIELD).path("type").asText().equals("keyword");
+      indexMapping = new IndexMapping(ngram, keyword ? FQDN_FIELD : FQDN_FIELD + KEYWORD_SUBFIELD);
+    }
+    return indexMapping;
+  }
+
+  /** Returns true when the index was created from a template with the ngram subfields */
+  boolean hasNgramFields() {
+    return ngram;
+  }
+
+  /**
+   * Sort by a keyword field with doc values that is unique to each document, to order hits with the same sort values.
+   * The field is sorted as an empty keyword in shards that do not map it rather than failing the search.
+   */
+  FieldSortBuilder tieBreakerSort() {
+    return SortBuilders.fieldSort(tieBreakerField).order(SortOrder.ASC).unmappedType("keyword");
+  }
+}
@@ -0,0 +1,705 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MultiCollector;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SearcherLifetimeManager;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldCollector;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.Passage;
+import org.apache.lucene.search.uhighlight.PassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.openmetadata.catalog.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search backend that keeps the search indexes in process with Lucene, for deployments that do not run an
+ * Elasticsearch cluster. Each entity type has its own index in a memory mapped directory under the configured index
+ * directory. Searches use near real time readers, which a background thread of each index refreshes. An update waits
+ * until searches see it, and updates that wait at the same time are made visible by one refresh. Updates are
+ * committed to disk in the background.
+ *
+ * Documents are stored as JSON in field {@code _source}. Text fields are analyzed with the standard analyzer and
+ * stored for highlighting. Keyword fields are indexed as they are, with doc values for the facets. Numbers are indexed
+ * with doc values for sorting. Queries, facets, highlights and suggestions follow {@link ElasticSearchBackend} and
+ * responses are returned in the same format.
+ */
+public class LuceneSearchBackend implements SearchBackend {
+  private static final Logger LOG = LoggerFactory.getLogger(LuceneSearchBackend.class);
+  private static final String ID_FIELD = "_id";
+  private static final String SOURCE_FIELD = "_source";
+  private static final Set<String> ID_ONLY = Set.of(ID_FIELD);
+  private static final String SUGGESTION_NAME = "table-suggest";
+  private static final int FACET_SIZE = 10;
+  private static final int SUGGEST_SIZE = 5;
+  private static final int SUGGEST_CANDIDATES = 100;
+  private static final int HIGHLIGHT_PASSAGES = 5;
+  /** Most hits that a search collects, the default max_result_window of Elasticsearch. Deeper pages use cursors */
+  private static final int MAX_RESULT_WINDOW = 10000;
+  private static final long COMMIT_INTERVAL_SECONDS = 5;
+  private static final double POINT_IN_TIME_KEEP_ALIVE_SECONDS = 60;
+  /** Searchers are refreshed at least this often when there are updates, and right away when updates wait */
+  private static final double REFRESH_INTERVAL_SECONDS = 1;
+
+  private final Path indexDirectory;
+  private final Analyzer analyzer;
+  private final Map<String, LuceneIndex> indexes = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService executor;
+
+  public LuceneSearchBackend(Path indexDirectory) {
+    this.indexDirectory = indexDirectory;
+    Map<String, Analyzer> keywordAnalyzers = new HashMap<>();
+    for (String field : SearchIndex.KEYWORD_FIELDS) {
+      keywordAnalyzers.put(field, new KeywordAnalyzer());
+    }
+    this.analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(), keywordAnalyzers);
+    this.executor = Executors.newSingleThreadScheduledExecutor();
+    executor.scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL_SECONDS, COMMIT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Index of one entity type along with its writer, the manager of its near real time searchers and the thread that
+   * refreshes them
+   */
+  private static final class LuceneIndex implements Closeable {
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> refreshThread;
+    private final SearcherLifetimeManager pointsInTime = new SearcherLifetimeManager();
+
+    private LuceneIndex(Path path, Analyzer analyzer) throws IOException {
+      Files.createDirectories(path);
+      directory = new MMapDirectory(path);
+      writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(OpenMode.CREATE_OR_APPEND));
+      searcherManager = new SearcherManager(writer, null);
+      refreshThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, REFRESH_INTERVAL_SECONDS, 0);
+      refreshThread.setName("search-refresh-" + path.getFileName());
+      refreshThread.setDaemon(true);
+      refreshThread.start();
+    }
+
+    /** Replace the document with the given id and return the generation at which searches see it */
+    private long update(String id, Map<String, Object> doc) throws IOException {
+      return writer.updateDocument(new Term(ID_FIELD, id), toDocument(id, doc));
+    }
+
+    /** Delete the document with the given id and return the generation at which searches no longer see it */
+    private long delete(String id) throws IOException {
+      return writer.deleteDocuments(new Term(ID_FIELD, id));
+    }
+
+    /** Wait until searches see the updates up to the given generation */
+    private void waitForGeneration(long generation) throws InterruptedException {
+      refreshThread.waitForGeneration(generation);
+    }
+
+    /**
+     * Acquire the searcher recorded as the given point in time, or the latest searcher when there is no point in time
+     * or it has expired. Searchers are released with {@link SearcherManager#release}.
+     */
+    private IndexSearcher acquire(String pointInTimeId) throws IOException {
+      IndexSearcher searcher = null;
+      if (pointInTimeId != null) {
+        try {
+          searcher = pointsInTime.acquire(Long.parseLong(pointInTimeId));
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid point in time " + pointInTimeId);
+        }
+      }
+      return searcher != null ? searcher : searcherManager.acquire();
+    }
+
+    /** Record a searcher as a point in time for the following pages of results and return its id */
+    private String record(IndexSearcher searcher) throws IOException {
+      return String.valueOf(pointsInTime.record(searcher));
+    }
+
+    @Override
+    public void close() throws IOException {
+      refreshThread.close();
+      pointsInTime.close();
+      searcherManager.close();
+      writer.close();
+      directory.close();
+    }
+  }
+
+  @Override
+  public SearchResult search(SearchQuery searchQuery) throws IOException {
+    long start = System.nanoTime();
+    SearchIndex index = getSearchIndex(searchQuery.getIndex());
+    LuceneIndex luceneIndex = getIndex(index);
+    Query query = parseQuery(index, searchQuery.getQuery());
+    SearchCursor after = searchQuery.getAfter();
+    int from = after == null ? Math.max(0, searchQuery.getFrom()) : 0;
+    long window = (long) from + searchQuery.getSize();
+    if (window > MAX_RESULT_WINDOW) {
+      throw new IllegalArgumentException("Result window is too large, from + size must be less than or equal to " +
+              MAX_RESULT_WINDOW + " but was " + window + ", use the after cursor instead");
+    }
+    int numHits = Math.max(1, from + searchQuery.getSize());
+    // Hits with the same sort values are ordered by id so that pages after a cursor do not skip or repeat hits
+    boolean byRelevance = searchQuery.getSortField() == null;
+    SortField idSort = new SortField(ID_FIELD, SortField.Type.STRING);
+    Sort sort = byRelevance ? new Sort(SortField.FIELD_SCORE, idSort) : new Sort(new SortField(
+            searchQuery.getSortField(), SortField.Type.LONG, !searchQuery.isAscending()), idSort);
+
+    IndexSearcher searcher = luceneIndex.acquire(after == null ? null : after.getPointInTimeId());
+    try {
+      TopFieldCollector topDocsCollector = TopFieldCollector.create(sort, numHits,
+              after == null ? null : toFieldDoc(after, byRelevance), Integer.MAX_VALUE);
+      List<Collector> collectors = new ArrayList<>();
+      collectors.add(topDocsCollector);
+      List<String> facets = searchQuery.getFacets();
+      List<FacetCollector> facetCollectors = new ArrayList<>();
+      for (String facet : facets) {
+        FacetCollector facetCollector = new FacetCollector(SearchIndex.FACET_FIELDS.get(
+                SearchIndex.FACET_NAMES.indexOf(facet)));
+        facetCollectors.add(facetCollector);
+        collectors.add(facetCollector);
+      }
+      searcher.search(query, MultiCollector.wrap(collectors));
+
+      TopDocs topDocs = topDocsCollector.topDocs();
+      ScoreDoc[] page = Arrays.copyOfRange(topDocs.scoreDocs, Math.min(from, topDocs.scoreDocs.length),
+              Math.min(numHits, topDocs.scoreDocs.length));
+      SearchProfile profile = searchQuery.getProfile();
+      Map<String, Object[]> highlights = profile.hasHighlights() ? highlight(searcher, index, query, page) : Map.of();
+
+      List<Map<String, Object>> hits = new ArrayList<>();
+      for (int i = 0; i < page.length; i++) {
+        // Only the id is read for hits without documents
+        Document document = profile.hasSource() ? searcher.doc(page[i].doc) : searcher.doc(page[i].doc, ID_ONLY);
+        Map<String, Object> hit = toHit(index, document, score(page[i], byRelevance), profile.hasSource());
+        Map<String, Object> highlight = new LinkedHashMap<>();
+        for (Map.Entry<String, Object[]> entry : highlights.entrySet()) {
+          Object fragments = entry.getValue()[i];
+          if (fragments instanceof List && !((List<?>) fragments).isEmpty()) {
+            highlight.put(entry.getKey(), fragments);
+          }
+        }
+        if (!highlight.isEmpty()) {
+          hit.put("highlight", highlight);
+        }
+        hits.add(hit);
+      }
+
+      Map<String, Object> total = new LinkedHashMap<>();
+      total.put("value", topDocs.totalHits.value);
+      total.put("relation", topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO ? "eq" : "gte");
+      Map<String, Object> hitsResponse = new LinkedHashMap<>();
+      hitsResponse.put("total", total);
+      hitsResponse.put("max_score", page.length == 0 || !byRelevance ? null : score(page[0], true));
+      hitsResponse.put("hits", hits);
+
+      Map<String, Object> aggregations = new LinkedHashMap<>();
+      for (int i = 0; i < facetCollectors.size(); i++) {
+        aggregations.put(facets.get(i), toAggregation(facetCollectors.get(i).getCounts()));
+      }
+
+      Map<String, Object> response = new LinkedHashMap<>();
+      response.put("took", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      response.put("timed_out", false);
+      response.put("hits", hitsResponse);
+      if (!aggregations.isEmpty()) {
+        response.put("aggregations", aggregations);
+      }
+      Map<String, Object> paging = new LinkedHashMap<>();
+      paging.put("after", page.length > 0 && page.length == searchQuery.getSize() ?
+              toCursor(luceneIndex, searcher, (FieldDoc) page[page.length - 1]).encode() : null);
+      response.put("paging", paging);
+      return SearchResult.of(JsonUtils.pojoToJsonBytes(response));
+    } finally {
+      luceneIndex.searcherManager.release(searcher);
+    }
+  }
+
+  @Override
+  public SearchResult suggest(String index, String prefix) throws IOException {
+    SearchIndex searchIndex = getSearchIndex(index);
+    LuceneIndex luceneIndex = getIndex(searchIndex);
+    String normalizedPrefix = prefix.toLowerCase(Locale.ROOT);
+    List<Map<String, Object>> options = new ArrayList<>();
+
+    IndexSearcher searcher = luceneIndex.searcherManager.acquire();
+    try {
+      TopDocs topDocs = searcher.search(new PrefixQuery(new Term(SearchIndex.SUGGEST_FIELD, normalizedPrefix)),
+              SUGGEST_CANDIDATES);
+      for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+        Document document = searcher.doc(scoreDoc.doc);
+        Map<String, Object> source = readSource(document);
+        SuggestInput best = null;
+        for (SuggestInput input : suggestInputs(source.get(SearchIndex.SUGGEST_FIELD))) {
+          if (input.text.toLowerCase(Locale.ROOT).startsWith(normalizedPrefix)
+                  && (best == null || input.weight > best.weight)) {
+            best = input;
+          }
+        }
+        if (best != null) {
+          Map<String, Object> option = new LinkedHashMap<>();
+          option.put("text", best.text);
+          option.put("_index", searchIndex.getIndexName());
+          option.put("_type", "_doc");
+          option.put("_id", document.get(ID_FIELD));
+          option.put("_score", (double) best.weight);
+          option.put("_source", source);
+          options.add(option);
+        }
+      }
+    } finally {
+      luceneIndex.searcherManager.release(searcher);
+    }
+    options.sort(Comparator.comparingDouble((Map<String, Object> option) -> (Double) option.get("_score"))
+            .reversed());
+
+    Map<String, Object> entry = new LinkedHashMap<>();
+    entry.put("text", prefix);
+    entry.put("offset", 0);
+    entry.put("length", prefix.length());
+    entry.put("options", options.subList(0, Math.min(SUGGEST_SIZE, options.size())));
+    Map<String, Object> suggestions = new LinkedHashMap<>();
+    suggestions.put(SUGGESTION_NAME, List.of(entry));
+    return SearchResult.of(JsonUtils.pojoToJsonBytes(Map.of("suggest", suggestions)));
+  }
+
+  /**
+   * Replace the document with the whole document of the entity, or create it, as there is no other indexing pipeline
+   * that writes the documents of the embedded indexes. Returns once searches see the document.
+   */
+  @Override
+  public void updateDocument(String index, String id, Map<String, Object> doc) {
+    try {
+      LuceneIndex luceneIndex = getIndex(getSearchIndex(index));
+      luceneIndex.waitForGeneration(luceneIndex.update(id, doc));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while waiting for search index {} to show document {}", index, id);
+    } catch (Exception e) {
+      LOG.error("Failed to update search index {} for document {}", index, id, e);
+    }
+  }
+
+  /** Delete the document and return once searches no longer see it */
+  @Override
+  public void deleteDocument(String index, String id) {
+    try {
+      LuceneIndex luceneIndex = getIndex(getSearchIndex(index));
+      luceneIndex.waitForGeneration(luceneIndex.delete(id));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while waiting for search index {} to delete document {}", index, id);
+    } catch (Exception e) {
+      LOG.error("Failed to delete document {} from search index {}", id, index, e);
+    }
+  }
+
+  /** Replace the documents and wait once for searches to see all of them */
+  @Override
+  public void indexDocuments(String index, Map<String, Map<String, Object>> docs) throws IOException {
+    if (docs.isEmpty()) {
+      return;
+    }
+    LuceneIndex luceneIndex = getIndex(getSearchIndex(index));
+    long generation = -1;
+    for (Map.Entry<String, Map<String, Object>> doc : docs.entrySet()) {
+      generation = luceneIndex.update(doc.getKey(), doc.getValue());
+    }
+    try {
+      luceneIndex.waitForGeneration(generation);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while building search index " + index);
+    }
+  }
+
+  @Override
+  public boolean needsReindex(String index) throws IOException {
+    LuceneIndex luceneIndex = getIndex(getSearchIndex(index));
+    IndexSearcher searcher = luceneIndex.searcherManager.acquire();
+    try {
+      return searcher.getIndexReader().numDocs() == 0;
+    } finally {
+      luceneIndex.searcherManager.release(searcher);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    executor.shutdownNow();
+    for (LuceneIndex luceneIndex : indexes.values()) {
+      luceneIndex.close();
+    }
+    indexes.clear();
+  }
+
+  private void commit() {
+    for (Map.Entry<String, LuceneIndex> entry : indexes.entrySet()) {
+      try {
+        if (entry.getValue().writer.hasUncommittedChanges()) {
+          entry.getValue().writer.commit();
+        }
+        entry.getValue().pointsInTime.prune(new SearcherLifetimeManager.PruneByAge(POINT_IN_TIME_KEEP_ALIVE_SECONDS));
+      } catch (Exception e) {
+        LOG.error("Failed to commit search index {}", entry.getKey(), e);
+      }
+    }
+  }
+
+  private static SearchIndex getSearchIndex(String indexName) {
+    SearchIndex index = SearchIndex.fromName(indexName);
+    if (!index.getIndexName().equals(indexName)) {
+      throw new IllegalArgumentException("Unknown search index " + indexName);
+    }
+    return index;
+  }
+
+  private LuceneIndex getIndex(SearchIndex index) throws IOException {
+    try {
+      return indexes.computeIfAbsent(index.getIndexName(), name -> {
+        try {
+          return new LuceneIndex(indexDirectory.resolve(name), analyzer);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /** Parse query string syntax leniently. Query text that is not valid syntax is searched as plain text */
+  private Query parseQuery(SearchIndex index, String queryText) {
+    if (queryText == null || queryText.isBlank() || queryText.strip().equals("*")) {
+      return new MatchAllDocsQuery();
+    }
+    MultiFieldQueryParser parser = new MultiFieldQueryParser(searchFields(index).toArray(new String[0]), analyzer,
+            Map.of(index.getNameField(), SearchIndex.NAME_BOOST));
+    parser.setAllowLeadingWildcard(true);
+    try {
+      return parser.parse(queryText);
+    } catch (ParseException e) {
+      try {
+        return parser.parse(QueryParser.escape(queryText));
+      } catch (ParseException ex) {
+        throw new IllegalArgumentException("Invalid search query " + queryText, ex);
+      }
+    }
+  }
+
+  private static List<String> searchFields(SearchIndex index) {
+    List<String> fields = new ArrayList<>();
+    fields.add(index.getNameField());
+    fields.add(SearchIndex.DESCRIPTION_FIELD);
+    fields.addAll(index.getTextFields());
+    return fields;
+  }
+
+  private Map<String, Object[]> highlight(IndexSearcher searcher, SearchIndex index, Query query, ScoreDoc[] page)
+          throws IOException {
+    if (page.length == 0 || query instanceof MatchAllDocsQuery) {
+      return Map.of();
+    }
+    FragmentHighlighter highlighter = new FragmentHighlighter(searcher, analyzer);
+    String[] fields = searchFields(index).toArray(new String[0]);
+    int[] maxPassages = new int[fields.length];
+    Arrays.fill(maxPassages, HIGHLIGHT_PASSAGES);
+    int[] docIds = new int[page.length];
+    for (int i = 0; i < page.length; i++) {
+      docIds[i] = page[i].doc;
+    }
+    return highlighter.highlightFragments(fields, query, docIds, maxPassages);
+  }
+
+  /** Highlighter that returns the fragments of each field instead of joining them into one string */
+  private static final class FragmentHighlighter extends UnifiedHighlighter {
+    private FragmentHighlighter(IndexSearcher searcher, Analyzer analyzer) {
+      super(searcher, analyzer);
+      setFormatter(new FragmentFormatter());
+      setMaxNoHighlightPassages(0);
+    }
+
+    private Map<String, Object[]> highlightFragments(String[] fields, Query query, int[] docIds, int[] maxPassages)
+            throws IOException {
+      return highlightFieldsAsObjects(fields, query, docIds, maxPassages);
+    }
+  }
+
+  /**
+   * Formats each passage with matches as a separate fragment, as Elasticsearch returns highlights, instead of joining
+   * the passages of a field with an ellipsis.
+   */
+  private static final class FragmentFormatter extends PassageFormatter {
+    private final DefaultPassageFormatter formatter = new DefaultPassageFormatter(SearchIndex.HIGHLIGHT_PRE_TAG,
+            SearchIndex.HIGHLIGHT_POST_TAG, "", false);
+
+    @Override
+    public Object format(Passage[] passages, String content) {
+      List<String> fragments = new ArrayList<>();
+      for (Passage passage : passages) {
+        if (passage.getNumMatches() > 0) {
+          String fragment = formatter.format(new Passage[] {passage}, content);
+          fragments.add(fragment.replace(UnifiedHighlighter.MULTIVAL_SEP_CHAR, ' ').strip());
+        }
+      }
+      return fragments;
+    }
+  }
+
+  private static float score(ScoreDoc scoreDoc, boolean byRelevance) {
+    return byRelevance ? (Float) ((FieldDoc) scoreDoc).fields[0] : Float.NaN;
+  }
+
+  private static SearchCursor toCursor(LuceneIndex luceneIndex, IndexSearcher searcher, FieldDoc last)
+          throws IOException {
+    return new SearchCursor(luceneIndex.record(searcher), List.of(last.fields[0],
+            ((BytesRef) last.fields[1]).utf8ToString()));
+  }
+
+  /** Sort values of the last hit of the previous page as the hit to search after */
+  private static FieldDoc toFieldDoc(SearchCursor cursor, boolean byRelevance) {
+    List<Object> values = cursor.getSortValues();
+    if (values.size() != 2 || !(values.get(0) instanceof Number) || !(values.get(1) instanceof String)) {
+      throw new IllegalArgumentException("Search cursor does not match the sort order of the search");
+    }
+    Number value = (Number) values.get(0);
+    Object sortValue = byRelevance ? (Object) value.floatValue() : (Object) value.longValue();
+    // Hits with the same sort values as the last hit, which is only the last hit itself, are left out
+    return new FieldDoc(Integer.MAX_VALUE, Float.NaN, new Object[] {sortValue, new BytesRef((String) values.get(1))});
+  }
+
+  private static Map<String, Object> toHit(SearchIndex index, Document document, float score, boolean source)
+          throws IOException {
+    Map<String, Object> hit = new LinkedHashMap<>();
+    hit.put("_index", index.getIndexName());
+    hit.put("_type", "_doc");
+    hit.put("_id", document.get(ID_FIELD));
+    hit.put("_score", Float.isNaN(score) ? null : score);
+    if (source) {
+      hit.put("_source", readSource(document));
+    }
+    return hit;
+  }
+
+  private static Map<String, Object> toAggregation(Map<String, Integer> counts) {
+    List<Map.Entry<String, Integer>> entries = new ArrayList<>(counts.entrySet());
+    entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+    List<Map<String, Object>> buckets = new ArrayList<>();
+    int others = 0;
+    for (int i = 0; i < entries.size(); i++) {
+      if (i < FACET_SIZE) {
+        Map<String, Object> bucket = new LinkedHashMap<>();
+        bucket.put("key", entries.get(i).getKey());
+        bucket.put("doc_count", entries.get(i).getValue());
+        buckets.add(bucket);
+      } else {
+        others += entries.get(i).getValue();
+      }
+    }
+    Map<String, Object> aggregation = new LinkedHashMap<>();
+    aggregation.put("doc_count_error_upper_bound", 0);
+    aggregation.put("sum_other_doc_count", others);
+    aggregation.put("buckets", buckets);
+    return aggregation;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> readSource(Document document) throws IOException {
+    return JsonUtils.readValue(document.getBinaryValue(SOURCE_FIELD).utf8ToString(), LinkedHashMap.class);
+  }
+
+  private static Document toDocument(String id, Map<String, Object> source) throws IOException {
+    Document document = new Document();
+    document.add(new StringField(ID_FIELD, id, Field.Store.YES));
+    document.add(new SortedDocValuesField(ID_FIELD, new BytesRef(id)));
+    document.add(new StoredField(SOURCE_FIELD, new BytesRef(JsonUtils.pojoToJsonBytes(source))));
+    for (Map.Entry<String, Object> entry : source.entrySet()) {
+      String field = entry.getKey();
+      Object value = entry.getValue();
+      if (field.equals(SearchIndex.SUGGEST_FIELD)) {
+        for (SuggestInput input : suggestInputs(value)) {
+          document.add(new StringField(field, input.text.toLowerCase(Locale.ROOT), Field.Store.NO));
+        }
+      } else if (value instanceof Number) {
+        long number = ((Number) value).longValue();
+        document.add(new LongPoint(field, number));
+        document.add(new NumericDocValuesField(field, number));
+      } else {
+        for (Object item : value instanceof Collection ? (Collection<?>) value : List.of(value == null ? "" : value)) {
+          if (item == null || item instanceof Map || item.toString().isEmpty()) {
+            continue;
+          }
+          String text = item.toString();
+          if (SearchIndex.KEYWORD_FIELDS.contains(field)) {
+            document.add(new StringField(field, text, Field.Store.NO));
+            if (SearchIndex.FACET_FIELDS.contains(field)) {
+              document.add(new SortedSetDocValuesField(field, new BytesRef(text)));
+            }
+          } else {
+            document.add(new TextField(field, text, Field.Store.YES));
+          }
+        }
+      }
+    }
+    return document;
+  }
+
+  /** Input of the completion suggester in a document, such as the name or the fully qualified name of the entity */
+  private static final class SuggestInput {
+    private final String text;
+    private final int weight;
+
+    private SuggestInput(String text, int weight) {
+      this.text = text;
+      this.weight = weight;
+    }
+  }
+
+  private static List<SuggestInput> suggestInputs(Object suggest) {
+    List<SuggestInput> inputs = new ArrayList<>();
+    if (!(suggest instanceof Collection)) {
+      return inputs;
+    }
+    for (Object item : (Collection<?>) suggest) {
+      if (!(item instanceof Map)) {
+        continue;
+      }
+      Object input = ((Map<?, ?>) item).get("input");
+      Object weight = ((Map<?, ?>) item).get("weight");
+      int inputWeight = weight instanceof Number ? ((Number) weight).intValue() : 1;
+      for (Object text : input instanceof Collection ? (Collection<?>) input : List.of(String.valueOf(input))) {
+        inputs.add(new SuggestInput(String.valueOf(text), inputWeight));
+      }
+    }
+    return inputs;
+  }
+
+  /** Counts the values of a keyword field in the documents that match a query, like a terms aggregation */
+  private static final class FacetCollector extends SimpleCollector {
+    private final String field;
+    private final Map<String, Integer> counts = new HashMap<>();
+    private SortedSetDocValues values;
+    private int[] segmentCounts;
+
+    private FacetCollector(String field) {
+      this.field = field;
+    }
+
+    @Override
+    protected void doSetNextReader(LeafReaderContext context) throws IOException {
+      flush();
+      values = DocValues.getSortedSet(context.reader(), field);
+      segmentCounts = new int[(int) values.getValueCount()];
+    }
+
+    @Override
+    public void collect(int doc) throws IOException {
+      if (values.advanceExact(doc)) {
+        for (long ord = values.nextOrd(); ord != SortedSetDocValues.NO_MORE_ORDS; ord = values.nextOrd()) {
+          segmentCounts[(int) ord]++;
+        }
+      }
+    }
+
+    @Override
+    public ScoreMode scoreMode() {
+      return ScoreMode.COMPLETE_NO_SCORES;
+    }
+
+    private Map<String, Integer> getCounts() throws IOException {
+      flush();
+      return counts;
+    }
+
+    /** Add the counts of the current segment, which are counted by ordinal, to the counts by value */
+    private void flush() throws IOException {
+      if (values == null) {
+        return;
+      }
+      for (int ord = 0; ord < segmentCounts.length; ord++) {
+        if (segmentCounts[ord] > 0) {
+          counts.merge(values.lookupOrd(ord).utf8ToString(), segmentCounts[ord], Integer::sum);
+        }
+      }
+      values = null;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import io.dropwizard.lifecycle.Managed;
+import org.openmetadata.catalog.ElasticSearchConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lifecycle of the search backend shared by the search API and the event handler that updates the search indexes. The
+ * backend, along with the connection pool of its client, is closed when the application stops.
+ */
+public class ManagedSearchBackend implements Managed {
+  private static final Logger LOG = LoggerFactory.getLogger(ManagedSearchBackend.class);
+  private final SearchBackend backend;
+
+  public ManagedSearchBackend(ElasticSearchConfiguration config) {
+    this.backend = SearchBackendFactory.getInstance(config);
+  }
+
+  public SearchBackend getBackend() {
+    return backend;
+  }
+
+  @Override
+  public void start() {
+  }
+
+  @Override
+  public void stop() throws Exception {
+    long startTime = System.currentTimeMillis();
+    SearchBackendFactory.close();
+    LOG.info("Took {} ms to close the search backend", System.currentTimeMillis() - startTime);
+  }
+}
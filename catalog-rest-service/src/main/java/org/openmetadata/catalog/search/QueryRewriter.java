@@ -0,0 +1,102 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites substring terms, {@code *term*}, and prefix terms, {@code term*}, of search queries into matches on the
+ * ngram and edge ngram subfields of the search indexes. A wildcard in a query string is expanded against every term of
+ * each searched field, which is the slowest query Elasticsearch has on large indexes when the wildcard is leading,
+ * while matching ngrams takes a lookup per ngram.
+ *
+ * Only queries of terms and field clauses joined with AND are rewritten, which covers the queries that the UI sends,
+ * such as {@code *term* AND tags:User.Address}. Other queries, and substrings shorter than an ngram, are searched with
+ * wildcards as they are. So are prefixes longer than the longest edge ngram.
+ */
+public final class QueryRewriter {
+  /** Length of the ngrams of the ngram subfields, which is the shortest substring that can be matched with ngrams */
+  public static final int NGRAM_LENGTH = 3;
+  /** Length of the longest edge ngrams of the edge ngram subfields, which is the longest prefix that can be matched */
+  public static final int MAX_EDGE_NGRAM_LENGTH = 20;
+  private static final String TERM = "[\\p{L}\\p{N}_.\\-]+";
+  private static final Pattern SUBSTRING = Pattern.compile("\\*(" + TERM + ")\\*");
+  private static final Pattern PREFIX = Pattern.compile("(" + TERM + ")\\*");
+  private static final Pattern AND = Pattern.compile("\\s+AND\\s+");
+  /** Operators and syntax other than AND, with which a query is not rewritten */
+  private static final Pattern OTHER_SYNTAX = Pattern.compile("\\bOR\\b|\\bNOT\\b|\\|\\||&&|[()\"\\[\\]{}~^!+/\\\\]");
+
+  private final List<String> substrings;
+  private final List<String> prefixes;
+  private final String rest;
+
+  private QueryRewriter(List<String> substrings, List<String> prefixes, String rest) {
+    this.substrings = substrings;
+    this.prefixes = prefixes;
+    this.rest = rest;
+  }
+
+  /** Rewrite a query, returning null when the query has no terms to rewrite or has syntax other than AND */
+  public static QueryRewriter rewrite(String query) {
+    if (query == null || query.isBlank() || OTHER_SYNTAX.matcher(query).find()) {
+      return null;
+    }
+    List<String> substrings = new ArrayList<>();
+    List<String> prefixes = new ArrayList<>();
+    List<String> rest = new ArrayList<>();
+    for (String clause : AND.split(query.strip())) {
+      if (clause.isEmpty() || clause.equals("AND") || clause.chars().anyMatch(Character::isWhitespace)
+              || clause.startsWith("-")) {
+        // Terms without AND between them are joined with OR
+        return null;
+      }
+      Matcher substring = SUBSTRING.matcher(clause);
+      Matcher prefix = PREFIX.matcher(clause);
+      if (substring.matches() && substring.group(1).length() >= NGRAM_LENGTH) {
+        substrings.add(substring.group(1));
+      } else if (prefix.matches() && prefix.group(1).length() <= MAX_EDGE_NGRAM_LENGTH) {
+        prefixes.add(prefix.group(1));
+      } else {
+        rest.add(clause);
+      }
+    }
+    if (substrings.isEmpty() && prefixes.isEmpty()) {
+      return null;
+    }
+    return new QueryRewriter(substrings, prefixes, rest.isEmpty() ? null : String.join(" AND ", rest));
+  }
+
+  /** Substrings to match with the ngram subfields */
+  public List<String> getSubstrings() {
+    return Collections.unmodifiableList(substrings);
+  }
+
+  /** Prefixes to match with the edge ngram subfields */
+  public List<String> getPrefixes() {
+    return Collections.unmodifiableList(prefixes);
+  }
+
+  /** Clauses of the query that are not rewritten, joined with AND, or null when every clause is rewritten */
+  public String getRest() {
+    return rest;
+  }
+}
@@ -0,0 +1,306 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Radix trie of weighted values by key, for prefix suggestions. Keys that share a prefix share the nodes of the
+ * prefix and a node with a single child is merged with the child, so that the trie has at most one node per key
+ * and branch. Each node keeps the highest weight under it, and {@link #top(String, int)} visits nodes best first and
+ * stops after the requested number of values, instead of collecting every key with the prefix.
+ *
+ * Not thread safe. Values are compared with equals and a value can be added under several keys.
+ */
+final class RadixTrie<T> {
+  /** Orders entries by decreasing weight and entries with the same weight in the order they were added */
+  private static final Comparator<Entry<?>> BY_WEIGHT = Comparator.comparingDouble((Entry<?> entry) -> -entry.weight)
+          .thenComparingLong(entry -> entry.sequence);
+  private final Node<T> root = new Node<>(new char[0]);
+  private int size;
+  private long sequence;
+
+  private static final class Entry<T> {
+    private final T value;
+    private final double weight;
+    private final long sequence;
+
+    private Entry(T value, double weight, long sequence) {
+      this.value = value;
+      this.weight = weight;
+      this.sequence = sequence;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final class Node<T> {
+    private char[] label;
+    /** Children ordered by the first character of their label */
+    private Node<T>[] children = new Node[0];
+    /**
+     * Values with the key that ends at this node by decreasing weight, and by value to replace or remove them. A key
+     * can have many values, such as a column name that many tables have. Null when the node has no values.
+     */
+    private NavigableSet<Entry<T>> entries;
+    private Map<T, Entry<T>> entriesByValue;
+    private double maxWeight = Double.NEGATIVE_INFINITY;
+
+    private Node(char[] label) {
+      this.label = label;
+    }
+
+    private int childIndex(char c) {
+      int low = 0;
+      int high = children.length - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        char midChar = children[mid].label[0];
+        if (midChar < c) {
+          low = mid + 1;
+        } else if (midChar > c) {
+          high = mid - 1;
+        } else {
+          return mid;
+        }
+      }
+      return -(low + 1);
+    }
+
+    private Node<T> child(char c) {
+      int index = childIndex(c);
+      return index < 0 ? null : children[index];
+    }
+
+    private void putChild(Node<T> child) {
+      int index = childIndex(child.label[0]);
+      if (index >= 0) {
+        children[index] = child;
+        return;
+      }
+      int insertAt = -(index + 1);
+      Node<T>[] updated = new Node[children.length + 1];
+      System.arraycopy(children, 0, updated, 0, insertAt);
+      updated[insertAt] = child;
+      System.arraycopy(children, insertAt, updated, insertAt + 1, children.length - insertAt);
+      children = updated;
+    }
+
+    private void removeChild(char c) {
+      int index = childIndex(c);
+      Node<T>[] updated = new Node[children.length - 1];
+      System.arraycopy(children, 0, updated, 0, index);
+      System.arraycopy(children, index + 1, updated, index, children.length - index - 1);
+      children = updated;
+    }
+
+    private boolean hasEntries() {
+      return entries != null;
+    }
+
+    private boolean removeEntry(T value) {
+      Entry<T> entry = entriesByValue == null ? null : entriesByValue.remove(value);
+      if (entry == null) {
+        return false;
+      }
+      entries.remove(entry);
+      if (entries.isEmpty()) {
+        entries = null;
+        entriesByValue = null;
+      }
+      return true;
+    }
+
+    private void addEntry(Entry<T> entry) {
+      if (entries == null) {
+        entries = new TreeSet<>(BY_WEIGHT);
+        entriesByValue = new HashMap<>(2);
+      }
+      entries.add(entry);
+      entriesByValue.put(entry.value, entry);
+    }
+
+    private void updateMaxWeight() {
+      maxWeight = entries == null ? Double.NEGATIVE_INFINITY : entries.first().weight;
+      for (Node<T> child : children) {
+        maxWeight = Math.max(maxWeight, child.maxWeight);
+      }
+    }
+  }
+
+  /** Node or value to visit when looking for the top values, ordered by weight */
+  private static final class Candidate<T> {
+    private final Node<T> node;
+    /** Entry to visit along with the entries of the node after it, or null to visit the node */
+    private final Entry<T> entry;
+    private final Iterator<Entry<T>> nextEntries;
+    private final double weight;
+
+    private Candidate(Node<T> node) {
+      this(node, null, null, node.maxWeight);
+    }
+
+    private Candidate(Node<T> node, Entry<T> entry, Iterator<Entry<T>> nextEntries, double weight) {
+      this.node = node;
+      this.entry = entry;
+      this.nextEntries = nextEntries;
+      this.weight = weight;
+    }
+  }
+
+  /** Add a value with the given key and weight, replacing the weight of the value when it has the key already */
+  void put(String key, T value, double weight) {
+    put(root, key, 0, value, weight);
+  }
+
+  private void put(Node<T> node, String key, int offset, T value, double weight) {
+    if (offset == key.length()) {
+      if (!node.removeEntry(value)) {
+        size++;
+      }
+      node.addEntry(new Entry<>(value, weight, sequence++));
+    } else {
+      Node<T> child = node.child(key.charAt(offset));
+      if (child == null) {
+        child = new Node<>(key.substring(offset).toCharArray());
+        node.putChild(child);
+      } else {
+        int common = commonPrefix(child.label, key, offset);
+        if (common < child.label.length) {
+          // Split the child at the end of the common prefix. The parent replaces the child before the label of the
+          // child changes, as children are found by the first character of their label
+          Node<T> parent = new Node<>(Arrays.copyOf(child.label, common));
+          node.putChild(parent);
+          child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+          parent.putChild(child);
+          parent.updateMaxWeight();
+          child = parent;
+        }
+      }
+      put(child, key, offset + child.label.length, value, weight);
+    }
+    node.updateMaxWeight();
+  }
+
+  /** Remove a value with the given key, returning true when the trie had the value with the key */
+  boolean remove(String key, T value) {
+    boolean removed = remove(root, key, 0, value);
+    if (removed) {
+      size--;
+    }
+    return removed;
+  }
+
+  private boolean remove(Node<T> node, String key, int offset, T value) {
+    boolean removed;
+    if (offset == key.length()) {
+      removed = node.removeEntry(value);
+    } else {
+      Node<T> child = node.child(key.charAt(offset));
+      if (child == null || commonPrefix(child.label, key, offset) < child.label.length) {
+        return false;
+      }
+      removed = remove(child, key, offset + child.label.length, value);
+      if (removed && !child.hasEntries()) {
+        if (child.children.length == 0) {
+          node.removeChild(child.label[0]);
+        } else if (child.children.length == 1) {
+          // Merge the child with its only child
+          Node<T> grandchild = child.children[0];
+          char[] label = Arrays.copyOf(child.label, child.label.length + grandchild.label.length);
+          System.arraycopy(grandchild.label, 0, label, child.label.length, grandchild.label.length);
+          grandchild.label = label;
+          node.putChild(grandchild);
+        }
+      }
+    }
+    if (removed) {
+      node.updateMaxWeight();
+    }
+    return removed;
+  }
+
+  /** Returns up to {@code count} distinct values with a key that starts with {@code prefix}, by decreasing weight */
+  List<T> top(String prefix, int count) {
+    Node<T> start = root;
+    int offset = 0;
+    while (offset < prefix.length()) {
+      Node<T> child = start.child(prefix.charAt(offset));
+      if (child == null) {
+        return List.of();
+      }
+      int common = commonPrefix(child.label, prefix, offset);
+      if (common < child.label.length && offset + common < prefix.length()) {
+        return List.of();
+      }
+      start = child;
+      offset += common;
+    }
+
+    Set<T> top = new LinkedHashSet<>();
+    PriorityQueue<Candidate<T>> candidates = new PriorityQueue<>((c1, c2) -> Double.compare(c2.weight, c1.weight));
+    candidates.add(new Candidate<>(start));
+    while (top.size() < count && !candidates.isEmpty()) {
+      Candidate<T> candidate = candidates.poll();
+      Node<T> node = candidate.node;
+      if (candidate.entry != null) {
+        top.add(candidate.entry.value);
+        addNextEntry(candidates, node, candidate.nextEntries);
+      } else {
+        if (node.hasEntries()) {
+          addNextEntry(candidates, node, node.entries.iterator());
+        }
+        for (Node<T> child : node.children) {
+          candidates.add(new Candidate<>(child));
+        }
+      }
+    }
+    return new ArrayList<>(top);
+  }
+
+  private static <T> void addNextEntry(PriorityQueue<Candidate<T>> candidates, Node<T> node,
+                                       Iterator<Entry<T>> entries) {
+    if (entries.hasNext()) {
+      Entry<T> entry = entries.next();
+      candidates.add(new Candidate<>(node, entry, entries, entry.weight));
+    }
+  }
+
+  /** Number of keys and values in the trie */
+  int size() {
+    return size;
+  }
+
+  private static int commonPrefix(char[] label, String key, int offset) {
+    int length = Math.min(label.length, key.length() - offset);
+    int common = 0;
+    while (common < length && label[common] == key.charAt(offset + common)) {
+      common++;
+    }
+    return common;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.search;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Backend that indexes entity documents and serves the search API. Responses are returned in the JSON format of
+ * Elasticsearch search responses, which is what clients of the search API read, irrespective of the backend.
+ * Backends return responses as {@link SearchResult}, which the search API writes to its response as they are.
+ */
+public interface SearchBackend extends Closeable {
+  /** Search an index and return the hits along with highlights and facets of the query */
+  SearchResult search(SearchQuery query) throws IOException;
+
+  /**
+   * Search several indexes and return the response of each query in the same order. Backends that can run the
+   * queries in one round trip override this to do so.
+   */
+  default List<SearchResult> search(List<SearchQuery> queries) throws IOException {
+    List<SearchResult> responses = new ArrayList<>(queries.size());
+    for (SearchQuery query : queries) {
+      responses.add(search(query));
+    }
+    return responses;
+  }
+
+  /** Suggest entities whose names start with {@code prefix} for auto-completion */
+  SearchResult suggest(String index, String prefix) throws IOException;
+
+  /**
+   * Update the document with the given id from {@code doc}, which has all the fields of the document of the entity.
+   * Backends whose documents are written by ingestion update only the fields that are changed through the catalog.
+   * The index is updated after the entity is stored and hence failures are logged instead of being thrown.
+   */
+  void updateDocument(String index, String id, Map<String, Object> doc);
+
+  /**
+   * Update the document like {@link #updateDocument(String, String, Map)} and run {@code onSearchable} once searches
+   * see the update, or once the update failed. Backends that update documents asynchronously override this to run it
+   * when the update is done.
+   */
+  default void updateDocument(String index, String id, Map<String, Object> doc, Runnable onSearchable) {
+    try {
+      updateDocument(index, id, doc);
+    } finally {
+      onSearchable.run();
+    }
+  }
+
+  /**
+   * Delete the document with the given id once its entity is deleted. Like updates, the index is updated after the
+   * entity is deleted and hence failures are logged instead of being thrown.
+   */
+  void deleteDocument(String index, String id);
+
+  /**
+   * Delete the document like {@link #deleteDocument(String, String)} and run {@code onSearchable} once searches no
+   * longer see it, or once the delete failed.
+   */
+  default void deleteDocument(String index, String id, Runnable onSearchable) {
+    try {
+      deleteDocument(index, id);
+    } finally {
+      onSearchable.run();
+    }
+  }
+
+  /**
+   * Index the documents of a batch of entities, by id, while the index is built from the entities in the database.
+   * Documents that do not exist are created. Failures are thrown so that the build of the index stops.
+   */
+  default void indexDocuments(String index, Map<String, Map<String, Object>> docs) throws IOException {
+    for (Map.Entry<String, Map<String, Object>> doc : docs.entrySet()) {
+      updateDocument(index, doc.getKey(), doc.getValue());
+    }
+  }
+
+  /** Returns true when the index has no documents and needs to be built from the entities in the database */
+  default boolean needsReindex(String index) throws IOException {
+    return false;
+  }
+
+  /**
+   * Returns true when suggestions are served from memory and the suggestions of the index have to be loaded from the
+   * entities in the database with {@link #loadSuggestions(String, String, Map)}
+   */
+  default boolean needsSuggestions(String index) {
+    return false;
+  }
+
+  /** Add the suggestions of a document while the suggestions of the index are loaded, without updating the index */
+  default void loadSuggestions(String index, String id, Map<String, Object> doc) {
+  }
+
+  /** Called once the suggestions of all the documents of the index are loaded */
+  default void suggestionsLoaded(String index) {
+  }
+
+  /** Returns false while requests to the backend are rejected, such as while a search cluster is failing */
+  default boolean isAvailable() {
+    return true;
+  }
+
+  /** Register the metrics of the backend, such as the requests in flight to a search cluster */
+  default void registerMetrics(MetricRegistry metrics) {
+  }
+}
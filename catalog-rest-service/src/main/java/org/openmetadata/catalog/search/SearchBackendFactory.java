@@ -0,0 +1,90 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import org.openmetadata.catalog.ElasticSearchConfiguration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the search backend configured in {@link ElasticSearchConfiguration}. The backend is shared by the search API
+ * and the event handler that updates the search indexes, so that both use the same client or embedded indexes and
+ * updates through the event handler invalidate the cached search results of the search API.
+ */
+public final class SearchBackendFactory {
+  public static final String ELASTICSEARCH = "elasticsearch";
+  public static final String LUCENE = "lucene";
+
+  private static SearchBackend instance;
+
+  private SearchBackendFactory() {
+  }
+
+  public static synchronized SearchBackend getInstance(ElasticSearchConfiguration config) {
+    if (instance == null) {
+      instance = create(config);
+    }
+    return instance;
+  }
+
+  /** Close the shared backend. A new backend is created when one is needed again */
+  public static synchronized void close() throws IOException {
+    if (instance != null) {
+      instance.close();
+      instance = null;
+    }
+  }
+
+  private static SearchBackend create(ElasticSearchConfiguration config) {
+    SearchBackend backend = createCachingBackend(config);
+    return config.isInMemorySuggestions() ? new SuggestingSearchBackend(backend) : backend;
+  }
+
+  private static SearchBackend createCachingBackend(ElasticSearchConfiguration config) {
+    SearchBackend backend = createBackend(config);
+    if (config.getCacheSize() <= 0) {
+      return backend;
+    }
+    CachingSearchBackend cachingBackend = new CachingSearchBackend(backend, config.getCacheSize(),
+            config.getCacheTtlSeconds());
+    List<String> indexes = Arrays.stream(SearchIndex.values()).map(SearchIndex::getIndexName)
+            .collect(Collectors.toList());
+    cachingBackend.startFacetRefresh(indexes, config.getCacheTtlSeconds());
+    return cachingBackend;
+  }
+
+  private static SearchBackend createBackend(ElasticSearchConfiguration config) {
+    String backend = config.getBackend() == null ? ELASTICSEARCH : config.getBackend().toLowerCase(Locale.ROOT);
+    switch (backend) {
+      case ELASTICSEARCH:
+        return new ElasticSearchBackend(config);
+      case LUCENE:
+        if (config.getIndexDirectory() == null || config.getIndexDirectory().isEmpty()) {
+          throw new IllegalArgumentException("indexDirectory must be set for search backend " + LUCENE);
+        }
+        return new LuceneSearchBackend(Paths.get(config.getIndexDirectory()));
+      default:
+        throw new IllegalArgumentException("Unknown search backend " + config.getBackend());
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import org.openmetadata.catalog.util.JsonUtils;
+import org.openmetadata.common.utils.CipherText;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cursor to the page of search results after a hit. The cursor holds the sort values of the hit, which are passed
+ * to the backend as {@code search_after}, and the id of the point in time of the index that the previous pages were
+ * read from, when the backend supports it. Each page then takes the same work irrespective of how deep it is, unlike
+ * paging with {@code from}.
+ *
+ * Cursors are returned in {@code paging.after} of search results and are encrypted like the cursors of entity lists.
+ */
+public final class SearchCursor {
+  private static final String POINT_IN_TIME = "pit";
+  private static final String SORT_VALUES = "sort";
+
+  private final String pointInTimeId;
+  private final List<Object> sortValues;
+
+  public SearchCursor(String pointInTimeId, List<Object> sortValues) {
+    this.pointInTimeId = pointInTimeId;
+    this.sortValues = sortValues;
+  }
+
+  /** Id of the point in time of the index to search or null to search the latest documents */
+  public String getPointInTimeId() {
+    return pointInTimeId;
+  }
+
+  /** Sort values of the last hit of the previous page, ending with the tie-breakers of the hit */
+  public List<Object> getSortValues() {
+    return sortValues;
+  }
+
+  public String encode() {
+    Map<String, Object> cursor = new LinkedHashMap<>();
+    cursor.put(POINT_IN_TIME, pointInTimeId);
+    cursor.put(SORT_VALUES, sortValues);
+    try {
+      return CipherText.instance().encrypt(JsonUtils.pojoToJson(cursor));
+    } catch (GeneralSecurityException | IOException e) {
+      throw new IllegalStateException("Failed to encode search cursor", e);
+    }
+  }
+
+  /** Decode a cursor returned by {@link #encode()}. Returns null when {@code cursor} is null */
+  @SuppressWarnings("unchecked")
+  public static SearchCursor decode(String cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    try {
+      Map<String, Object> map = JsonUtils.readValue(CipherText.instance().decrypt(cursor), Map.class);
+      if (!(map.get(SORT_VALUES) instanceof List)) {
+        throw new IllegalArgumentException("Invalid search cursor " + cursor);
+      }
+      return new SearchCursor((String) map.get(POINT_IN_TIME), (List<Object>) map.get(SORT_VALUES));
+    } catch (GeneralSecurityException | IOException | IllegalArgumentException | ClassCastException e) {
+      throw new IllegalArgumentException("Invalid search cursor " + cursor, e);
+    }
+  }
+}
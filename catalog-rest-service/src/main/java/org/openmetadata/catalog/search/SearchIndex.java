@@ -0,0 +1,78 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.search;
+
+import java.util.List;
+
+/**
+ * Search indexes of entities. Each index has a name field boosted in search queries and other text fields that are
+ * searched and highlighted along with the name and the description. All indexes have facets on service type, tier and
+ * tags. Search backends use these so that queries, facets and highlights are the same with any backend.
+ */
+public enum SearchIndex {
+  TABLE("table_search_index", "table_name", List.of("column_names", "column_descriptions")),
+  TOPIC("topic_search_index", "topic_name", List.of()),
+  DASHBOARD("dashboard_search_index", "dashboard_name", List.of("chart_names", "chart_descriptions")),
+  PIPELINE("pipeline_search_index", "pipeline_name", List.of("task_names", "task_descriptions"));
+
+  public static final String DESCRIPTION_FIELD = "description";
+  public static final String SUGGEST_FIELD = "suggest";
+  public static final float NAME_BOOST = 5.0f;
+  public static final String HIGHLIGHT_PRE_TAG = "<span class=\"text-highlighter\">";
+  public static final String HIGHLIGHT_POST_TAG = "</span>";
+
+  /** Facet names returned as aggregations along with the keyword fields they count */
+  public static final List<String> FACET_NAMES = List.of("Service", "Tier", "Tags");
+  public static final List<String> FACET_FIELDS = List.of("service_type", "tier", "tags");
+
+  /** Fields that are matched as a whole instead of being analyzed as text */
+  public static final List<String> KEYWORD_FIELDS = List.of("service", "service_type", "tier", "tags", "owner",
+          "followers", "fqdn");
+
+  private final String indexName;
+  private final String nameField;
+  private final List<String> textFields;
+
+  SearchIndex(String indexName, String nameField, List<String> textFields) {
+    this.indexName = indexName;
+    this.nameField = nameField;
+    this.textFields = textFields;
+  }
+
+  public String getIndexName() {
+    return indexName;
+  }
+
+  public String getNameField() {
+    return nameField;
+  }
+
+  /** Text fields searched and highlighted besides the name and the description */
+  public List<String> getTextFields() {
+    return textFields;
+  }
+
+  /** Returns the index with the given name. Unknown names are searched as tables, as the search API always did */
+  public static SearchIndex fromName(String indexName) {
+    for (SearchIndex index : values()) {
+      if (index.indexName.equals(indexName)) {
+        return index;
+      }
+    }
+    return TABLE;
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import java.util.Locale;
+
+/**
+ * Parts of the search response computed for a search request. Highlights and facets take most of the time of a
+ * search, and callers that only look entities up by id or list them do not read them.
+ */
+public enum SearchProfile {
+  /** Ids and scores of the hits, without the documents */
+  IDS(false, false, false),
+  /** Hits with their documents */
+  HITS(true, false, false),
+  /** Hits with their documents and highlights, and all the facets unless facets are requested, as the UI renders */
+  FULL(true, true, true);
+
+  private final boolean source;
+  private final boolean highlights;
+  private final boolean facets;
+
+  SearchProfile(boolean source, boolean highlights, boolean facets) {
+    this.source = source;
+    this.highlights = highlights;
+    this.facets = facets;
+  }
+
+  /** Returns true when hits have the indexed document as {@code _source} */
+  public boolean hasSource() {
+    return source;
+  }
+
+  public boolean hasHighlights() {
+    return highlights;
+  }
+
+  /** Returns true when all the facets are computed for requests that do not list the facets to compute */
+  public boolean hasFacets() {
+    return facets;
+  }
+
+  /** Profile with the given name in any case, {@link #FULL} when the name is null */
+  public static SearchProfile fromName(String name) {
+    if (name == null) {
+      return FULL;
+    }
+    try {
+      return valueOf(name.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid search profile " + name);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/** Search request of the search API */
+public final class SearchQuery {
+  private final String index;
+  private final String query;
+  private final int from;
+  private final int size;
+  private final String sortField;
+  private final boolean ascending;
+  private final SearchCursor after;
+  private final SearchProfile profile;
+  private final List<String> facets;
+
+  public SearchQuery(String index, String query, int from, int size, String sortField, boolean ascending) {
+    this(index, query, from, size, sortField, ascending, null);
+  }
+
+  public SearchQuery(String index, String query, int from, int size, String sortField, boolean ascending,
+                     SearchCursor after) {
+    this(index, query, from, size, sortField, ascending, after, SearchProfile.FULL, null);
+  }
+
+  private SearchQuery(String index, String query, int from, int size, String sortField, boolean ascending,
+                      SearchCursor after, SearchProfile profile, List<String> facets) {
+    this.index = index;
+    this.query = query;
+    this.from = from;
+    this.size = size;
+    this.sortField = sortField == null || sortField.isEmpty() ? null : sortField;
+    this.ascending = ascending;
+    this.after = after;
+    this.profile = profile;
+    this.facets = facets;
+  }
+
+  /** Copy of the query that computes the parts of the response in {@code profile} */
+  public SearchQuery withProfile(SearchProfile profile) {
+    return new SearchQuery(index, query, from, size, sortField, ascending, after,
+            profile == null ? SearchProfile.FULL : profile, facets);
+  }
+
+  /**
+   * Copy of the query that computes only the facets named in {@code facetNames}, irrespective of the profile. Facets
+   * of the profile are computed when {@code facetNames} is null.
+   */
+  public SearchQuery withFacets(Collection<String> facetNames) {
+    List<String> selected = null;
+    if (facetNames != null) {
+      for (String name : facetNames) {
+        if (!SearchIndex.FACET_NAMES.contains(name)) {
+          throw new IllegalArgumentException("Invalid facet " + name + ", valid facets are " +
+                  SearchIndex.FACET_NAMES);
+        }
+      }
+      // Facets are listed in the same order however they are requested
+      selected = new ArrayList<>(SearchIndex.FACET_NAMES);
+      selected.retainAll(facetNames);
+    }
+    return new SearchQuery(index, query, from, size, sortField, ascending, after, profile, selected);
+  }
+
+  public String getIndex() {
+    return index;
+  }
+
+  public String getQuery() {
+    return query;
+  }
+
+  public int getFrom() {
+    return from;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  /** Field to sort the results by or null to sort by relevance */
+  public String getSortField() {
+    return sortField;
+  }
+
+  public boolean isAscending() {
+    return ascending;
+  }
+
+  /** Cursor of the page to return or null to return the page at {@code from}. {@code from} is ignored with a cursor */
+  public SearchCursor getAfter() {
+    return after;
+  }
+
+  public SearchProfile getProfile() {
+    return profile;
+  }
+
+  /** Names of the facets to compute, in the order of {@link SearchIndex#FACET_NAMES} */
+  public List<String> getFacets() {
+    if (facets != null) {
+      return facets;
+    }
+    return profile.hasFacets() ? SearchIndex.FACET_NAMES : List.of();
+  }
+}
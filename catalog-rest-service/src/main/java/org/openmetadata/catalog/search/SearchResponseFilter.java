@@ -0,0 +1,184 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Copies a search response of Elasticsearch token by token from the response of the cluster to the response of the
+ * search API, without building the response in memory. Internal fields are left out: shard statistics, the point in
+ * time id, the status of responses of a multi search and the sort values of hits. The sort values of the last hit and
+ * the point in time id are kept instead to add the cursor of the next page as {@code paging.after}.
+ *
+ * Responses with an error are copied as they are, without a cursor.
+ */
+final class SearchResponseFilter {
+  private static final String ERROR = "error";
+  private static final String HITS = "hits";
+  private static final String POINT_IN_TIME_ID = "pit_id";
+  private static final String SORT = "sort";
+  private static final String SUGGEST = "suggest";
+  private static final Set<String> INTERNAL_FIELDS = Set.of("_shards", POINT_IN_TIME_ID, "status");
+
+  private final int size;
+  private final boolean cursor;
+  private String pointInTimeId;
+  private List<Object> lastSortValues;
+  private int hitCount;
+  private boolean error;
+
+  /** Filter for a response with up to {@code size} hits searched at the point in time {@code pointInTimeId} */
+  SearchResponseFilter(int size, String pointInTimeId) {
+    this(size, pointInTimeId, true);
+  }
+
+  /** Filter for a response that returns the cursor of the next page only when {@code cursor} is true */
+  SearchResponseFilter(int size, String pointInTimeId, boolean cursor) {
+    this.size = size;
+    this.pointInTimeId = pointInTimeId;
+    this.cursor = cursor;
+  }
+
+  /** Copy the response object at the current token of {@code parser}, which must be the start of the object */
+  void copy(JsonParser parser, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      if (field.equals(ERROR)) {
+        error = true;
+      } else if (field.equals(POINT_IN_TIME_ID)) {
+        pointInTimeId = parser.getText();
+      }
+      if (!error && INTERNAL_FIELDS.contains(field)) {
+        parser.skipChildren();
+        continue;
+      }
+      generator.writeFieldName(field);
+      if (!error && field.equals(HITS) && parser.currentToken() == JsonToken.START_OBJECT) {
+        copyHits(parser, generator);
+      } else {
+        generator.copyCurrentStructure(parser);
+      }
+    }
+    if (!error) {
+      SearchCursor next = next();
+      generator.writeObjectFieldStart("paging");
+      generator.writeStringField("after", next == null ? null : next.encode());
+      generator.writeEndObject();
+    }
+    generator.writeEndObject();
+  }
+
+  /** Copy only the suggestions of the response object at the current token of {@code parser} */
+  static void copySuggest(JsonParser parser, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      if (field.equals(SUGGEST)) {
+        generator.writeFieldName(field);
+        generator.copyCurrentStructure(parser);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    generator.writeEndObject();
+  }
+
+  /** Returns true when the response has an error instead of hits */
+  boolean isError() {
+    return error;
+  }
+
+  /** Id of the point in time the response was searched at or null when the latest documents were searched */
+  String getPointInTimeId() {
+    return pointInTimeId;
+  }
+
+  /** Cursor of the page after the copied response or null when the response is the last page */
+  SearchCursor next() {
+    return cursor && hitCount > 0 && hitCount == size && lastSortValues != null ?
+            new SearchCursor(pointInTimeId, lastSortValues) : null;
+  }
+
+  private void copyHits(JsonParser parser, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      generator.writeFieldName(field);
+      if (field.equals(HITS) && parser.currentToken() == JsonToken.START_ARRAY) {
+        generator.writeStartArray();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          copyHit(parser, generator);
+        }
+        generator.writeEndArray();
+      } else {
+        generator.copyCurrentStructure(parser);
+      }
+    }
+    generator.writeEndObject();
+  }
+
+  private void copyHit(JsonParser parser, JsonGenerator generator) throws IOException {
+    hitCount++;
+    generator.writeStartObject();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      if (field.equals(SORT) && parser.currentToken() == JsonToken.START_ARRAY) {
+        lastSortValues = readValues(parser);
+      } else {
+        generator.writeFieldName(field);
+        generator.copyCurrentStructure(parser);
+      }
+    }
+    generator.writeEndObject();
+  }
+
+  private static List<Object> readValues(JsonParser parser) throws IOException {
+    List<Object> values = new ArrayList<>();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      switch (parser.currentToken()) {
+        case VALUE_NUMBER_INT:
+        case VALUE_NUMBER_FLOAT:
+          values.add(parser.getNumberValue());
+          break;
+        case VALUE_STRING:
+          values.add(parser.getText());
+          break;
+        case VALUE_TRUE:
+        case VALUE_FALSE:
+          values.add(parser.getBooleanValue());
+          break;
+        default:
+          values.add(null);
+          parser.skipChildren();
+      }
+    }
+    return values;
+  }
+}
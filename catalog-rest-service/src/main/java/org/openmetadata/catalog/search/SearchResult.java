@@ -0,0 +1,56 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response of a search backend in the JSON format of Elasticsearch search responses. The response is written to the
+ * response of the search API as it is, without parsing it into an object model and serializing it again. Responses
+ * streamed from a backend are read while they are written and can be written only once.
+ *
+ * Writing a response does not close {@code out}, so that several responses can be written to one output.
+ */
+public interface SearchResult extends StreamingOutput {
+  @Override
+  void write(OutputStream out) throws IOException;
+
+  /** Response already read in memory, which can be written any number of times */
+  static SearchResult of(byte[] json) {
+    return out -> out.write(json);
+  }
+
+  static SearchResult of(String json) {
+    return of(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Read the whole response in memory, such as to cache it */
+  default byte[] toBytes() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    write(out);
+    return out.toByteArray();
+  }
+
+  default String toJson() throws IOException {
+    return new String(toBytes(), StandardCharsets.UTF_8);
+  }
+}
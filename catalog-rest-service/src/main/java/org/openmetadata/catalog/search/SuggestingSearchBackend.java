@@ -0,0 +1,360 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.search;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.openmetadata.catalog.util.JsonUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Search backend that serves suggestions from memory instead of the completion field of another backend. Suggestions
+ * are answered without a round trip to Elasticsearch per keystroke, including when Elasticsearch is slow or down.
+ *
+ * Each index has a {@link RadixTrie} of the suggest inputs of its documents, which are the fully qualified names and
+ * the names or display names of entities, and of the column names of tables. Suggestions are weighted by the weight of
+ * the input and the latest weekly usage percentile rank of the entity, so that names come before fully qualified names
+ * and column names, and the entities used most come first. Documents are added to the tries as they are updated and
+ * the entities in the database are loaded on start up with {@link #loadSuggestions(String, String, Map)}. Suggestions
+ * of an index are answered by the other backend until they are loaded.
+ */
+public class SuggestingSearchBackend implements SearchBackend {
+  /** Name of the suggestion in the response, which is the name the search API always used */
+  private static final String SUGGESTION_NAME = "table-suggest";
+  private static final int SUGGEST_SIZE = 5;
+  private static final int COLUMN_WEIGHT = 1;
+  private static final String COLUMN_NAMES_FIELD = "column_names";
+  private static final String USAGE_FIELD = "weekly_percentile_rank";
+  /** Fields of the documents returned with suggestions, besides the id and the name fields */
+  private static final Set<String> SOURCE_FIELDS = Set.of("fqdn", "service", "service_type");
+  private final SearchBackend backend;
+  private final Map<String, IndexSuggestions> indexes = new ConcurrentHashMap<>();
+
+  public SuggestingSearchBackend(SearchBackend backend) {
+    this.backend = backend;
+  }
+
+  /** Suggest input of a document along with its weight */
+  private static final class Input {
+    private final String text;
+    private final int weight;
+
+    private Input(String text, int weight) {
+      this.text = text;
+      this.weight = weight;
+    }
+  }
+
+  /** Suggest inputs and the fields returned with suggestions of a document */
+  private static final class Suggestion {
+    private final List<Input> inputs;
+    private final Map<String, Object> source;
+    private final double usage;
+
+    private Suggestion(List<Input> inputs, Map<String, Object> source, double usage) {
+      this.inputs = inputs;
+      this.source = source;
+      this.usage = usage;
+    }
+
+    private double weight(Input input) {
+      return input.weight * (1 + usage / 100);
+    }
+
+    /** Returns the input with the highest weight that starts with the prefix */
+    private Input bestInput(String prefix) {
+      Input best = null;
+      for (Input input : inputs) {
+        if (input.text.toLowerCase(Locale.ROOT).startsWith(prefix) && (best == null || input.weight > best.weight)) {
+          best = input;
+        }
+      }
+      return best;
+    }
+  }
+
+  /** Suggestions of the documents of an index */
+  private static final class IndexSuggestions {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RadixTrie<String> trie = new RadixTrie<>();
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+    private volatile boolean loaded;
+
+    /** Replace the suggestion of a document with the suggestion merged with its previous suggestion */
+    private void update(String id, UnaryOperator<Suggestion> merge) {
+      lock.writeLock().lock();
+      try {
+        Suggestion previous = suggestions.get(id);
+        Suggestion suggestion = merge.apply(previous);
+        suggestions.put(id, suggestion);
+        if (previous != null) {
+          for (Input input : previous.inputs) {
+            trie.remove(input.text.toLowerCase(Locale.ROOT), id);
+          }
+        }
+        // Keep the highest weight of inputs with the same text, such as a column with the name of its table
+        Map<String, Double> weights = new HashMap<>();
+        for (Input input : suggestion.inputs) {
+          weights.merge(input.text.toLowerCase(Locale.ROOT), suggestion.weight(input), Math::max);
+        }
+        weights.forEach((key, weight) -> trie.put(key, id, weight));
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    /** Remove the suggestion of a document along with its inputs */
+    private void remove(String id) {
+      lock.writeLock().lock();
+      try {
+        Suggestion previous = suggestions.remove(id);
+        if (previous != null) {
+          for (Input input : previous.inputs) {
+            trie.remove(input.text.toLowerCase(Locale.ROOT), id);
+          }
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private List<Map<String, Object>> suggest(String index, String prefix) {
+      List<Map<String, Object>> options = new ArrayList<>();
+      lock.readLock().lock();
+      try {
+        for (String id : trie.top(prefix, SUGGEST_SIZE)) {
+          Suggestion suggestion = suggestions.get(id);
+          Input input = suggestion.bestInput(prefix);
+          Map<String, Object> option = new LinkedHashMap<>();
+          option.put("text", input.text);
+          option.put("_index", index);
+          option.put("_type", "_doc");
+          option.put("_id", id);
+          option.put("_score", suggestion.weight(input));
+          option.put("_source", suggestion.source);
+          options.add(option);
+        }
+      } finally {
+        lock.readLock().unlock();
+      }
+      return options;
+    }
+
+    private int size() {
+      lock.readLock().lock();
+      try {
+        return trie.size();
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+  }
+
+  /** Register the number of suggest inputs in memory along with backend metrics */
+  @Override
+  public void registerMetrics(MetricRegistry metrics) {
+    backend.registerMetrics(metrics);
+    metrics.register("search.suggest.inputs", (Gauge<Integer>) () ->
+            indexes.values().stream().mapToInt(IndexSuggestions::size).sum());
+  }
+
+  @Override
+  public SearchResult search(SearchQuery query) throws IOException {
+    return backend.search(query);
+  }
+
+  @Override
+  public List<SearchResult> search(List<SearchQuery> queries) throws IOException {
+    return backend.search(queries);
+  }
+
+  /**
+   * Suggest documents of one index, or of a comma separated list of indexes, with an input that starts with the
+   * prefix. Options of all the indexes are returned by decreasing weight, up to {@value #SUGGEST_SIZE}, in the format
+   * of the completion suggester of Elasticsearch.
+   */
+  @Override
+  public SearchResult suggest(String index, String prefix) throws IOException {
+    List<IndexSuggestions> suggestions = new ArrayList<>();
+    List<String> indexNames = new ArrayList<>();
+    for (String indexName : index.split(",")) {
+      IndexSuggestions indexSuggestions = indexes.get(indexName.strip());
+      if (indexSuggestions == null || !indexSuggestions.loaded) {
+        return backend.suggest(index, prefix);
+      }
+      suggestions.add(indexSuggestions);
+      indexNames.add(indexName.strip());
+    }
+
+    String text = prefix == null ? "" : prefix;
+    String normalizedPrefix = text.toLowerCase(Locale.ROOT);
+    List<Map<String, Object>> options = new ArrayList<>();
+    for (int i = 0; i < suggestions.size(); i++) {
+      options.addAll(suggestions.get(i).suggest(indexNames.get(i), normalizedPrefix));
+    }
+    options.sort(Comparator.comparingDouble((Map<String, Object> option) -> (Double) option.get("_score"))
+            .reversed());
+
+    Map<String, Object> entry = new LinkedHashMap<>();
+    entry.put("text", text);
+    entry.put("offset", 0);
+    entry.put("length", text.length());
+    entry.put("options", options.subList(0, Math.min(SUGGEST_SIZE, options.size())));
+    return SearchResult.of(JsonUtils.pojoToJsonBytes(Map.of("suggest", Map.of(SUGGESTION_NAME, List.of(entry)))));
+  }
+
+  /** Update the suggestions of the document in memory before updating the document in the other backend */
+  @Override
+  public void updateDocument(String index, String id, Map<String, Object> doc) {
+    addSuggestions(index, id, doc);
+    backend.updateDocument(index, id, doc);
+  }
+
+  @Override
+  public void updateDocument(String index, String id, Map<String, Object> doc, Runnable onSearchable) {
+    addSuggestions(index, id, doc);
+    backend.updateDocument(index, id, doc, onSearchable);
+  }
+
+  /** Remove the suggestions of the document from memory before deleting the document in the other backend */
+  @Override
+  public void deleteDocument(String index, String id) {
+    indexSuggestions(index).remove(id);
+    backend.deleteDocument(index, id);
+  }
+
+  @Override
+  public void deleteDocument(String index, String id, Runnable onSearchable) {
+    indexSuggestions(index).remove(id);
+    backend.deleteDocument(index, id, onSearchable);
+  }
+
+  @Override
+  public void indexDocuments(String index, Map<String, Map<String, Object>> docs) throws IOException {
+    for (Map.Entry<String, Map<String, Object>> doc : docs.entrySet()) {
+      addSuggestions(index, doc.getKey(), doc.getValue());
+    }
+    backend.indexDocuments(index, docs);
+  }
+
+  @Override
+  public boolean needsReindex(String index) throws IOException {
+    return backend.needsReindex(index);
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return backend.isAvailable();
+  }
+
+  @Override
+  public boolean needsSuggestions(String index) {
+    IndexSuggestions indexSuggestions = indexes.get(index);
+    return indexSuggestions == null || !indexSuggestions.loaded;
+  }
+
+  @Override
+  public void loadSuggestions(String index, String id, Map<String, Object> doc) {
+    addSuggestions(index, id, doc);
+  }
+
+  @Override
+  public void suggestionsLoaded(String index) {
+    indexSuggestions(index).loaded = true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    indexes.clear();
+    backend.close();
+  }
+
+  private IndexSuggestions indexSuggestions(String index) {
+    return indexes.computeIfAbsent(index, name -> new IndexSuggestions());
+  }
+
+  /**
+   * Add the suggestions of a document. Documents are updated with some of their fields, and the inputs, usage and
+   * fields of the previous update of the document are kept when the document is updated without them.
+   */
+  private void addSuggestions(String index, String id, Map<String, Object> doc) {
+    indexSuggestions(index).update(id, previous -> merge(index, previous, doc));
+  }
+
+  private static Suggestion merge(String index, Suggestion previous, Map<String, Object> doc) {
+    List<Input> inputs = new ArrayList<>();
+    if (doc.containsKey(SearchIndex.SUGGEST_FIELD) || doc.containsKey(COLUMN_NAMES_FIELD)) {
+      addInputs(inputs, doc.get(SearchIndex.SUGGEST_FIELD));
+      Object columnNames = doc.get(COLUMN_NAMES_FIELD);
+      if (columnNames instanceof Collection) {
+        for (Object columnName : (Collection<?>) columnNames) {
+          if (columnName != null) {
+            inputs.add(new Input(columnName.toString(), COLUMN_WEIGHT));
+          }
+        }
+      }
+    } else if (previous != null) {
+      inputs = previous.inputs;
+    }
+
+    String nameField = SearchIndex.fromName(index).getNameField();
+    Map<String, Object> source = previous == null ? new LinkedHashMap<>() : new LinkedHashMap<>(previous.source);
+    for (Map.Entry<String, Object> field : doc.entrySet()) {
+      String name = field.getKey();
+      if (name.endsWith("_id") || name.equals(nameField) || SOURCE_FIELDS.contains(name)) {
+        source.put(name, field.getValue());
+      }
+    }
+
+    Object usage = doc.get(USAGE_FIELD);
+    double usageRank = usage instanceof Number ? ((Number) usage).doubleValue() : previous == null ? 0 : previous.usage;
+    return new Suggestion(inputs, source, usageRank);
+  }
+
+  private static void addInputs(List<Input> inputs, Object suggest) {
+    if (!(suggest instanceof Collection)) {
+      return;
+    }
+    for (Object item : (Collection<?>) suggest) {
+      if (!(item instanceof Map)) {
+        continue;
+      }
+      Object input = ((Map<?, ?>) item).get("input");
+      Object weight = ((Map<?, ?>) item).get("weight");
+      int inputWeight = weight instanceof Number ? ((Number) weight).intValue() : 1;
+      for (Object text : input instanceof Collection ? (Collection<?>) input : List.of(String.valueOf(input))) {
+        if (text != null) {
+          inputs.add(new Input(text.toString(), inputWeight));
+        }
+      }
+    }
+  }
+}
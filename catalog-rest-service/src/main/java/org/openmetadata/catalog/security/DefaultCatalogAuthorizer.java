@@ -26,6 +26,7 @@ import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.UserRepository;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil;
+import org.openmetadata.catalog.util.UUIDUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,7 +35,6 @@ import java.text.ParseException;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.UUID;
 
 import static org.openmetadata.catalog.resources.teams.UserResource.FIELD_LIST;
 
@@ -166,7 +166,7 @@ public class DefaultCatalogAuthorizer implements CatalogAuthorizer {
   }
 
   private void addUser(String name) {
-    User user = new User().withId(UUID.randomUUID())
+    User user = new User().withId(UUIDUtil.newTimeOrderedUUID())
             .withName(name)
             .withEmail(name + "@" + principalDomain)
             .withIsAdmin(true)
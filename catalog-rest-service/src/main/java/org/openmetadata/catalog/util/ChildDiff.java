@@ -0,0 +1,156 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Difference between the stored and the updated children of an entity, such as the columns of a table, the tasks of a
+ * pipeline or the charts of a dashboard. Children are matched by a key using a hash map instead of comparing every
+ * updated child with every stored child, which takes O(n) time instead of O(n^2) for wide entities.
+ *
+ * When more than one stored child has the same key, updated children are matched with the first one.
+ */
+public final class ChildDiff<T> {
+  private final Function<T, ?> key;
+  private final Map<Object, T> storedByKey;
+  private final List<T> added = new ArrayList<>();
+  private final List<T> deleted = new ArrayList<>();
+  private final List<Match<T>> matched = new ArrayList<>();
+
+  private ChildDiff(Function<T, ?> key, Map<Object, T> storedByKey) {
+    this.key = key;
+    this.storedByKey = storedByKey;
+  }
+
+  /** Stored and updated child with the same key */
+  public static final class Match<T> {
+    private final T stored;
+    private final T updated;
+
+    private Match(T stored, T updated) {
+      this.stored = stored;
+      this.updated = updated;
+    }
+
+    public T getStored() {
+      return stored;
+    }
+
+    public T getUpdated() {
+      return updated;
+    }
+
+    /** Returns true when the updated child is not equal to the stored child */
+    public boolean isChanged() {
+      return !Objects.equals(stored, updated);
+    }
+  }
+
+  /**
+   * Compute the difference between stored and updated children matched by {@code key}. Null lists are treated as
+   * empty.
+   */
+  public static <T, K> ChildDiff<T> diff(List<T> stored, List<T> updated, Function<T, K> key) {
+    List<T> storedChildren = stored == null ? Collections.emptyList() : stored;
+    List<T> updatedChildren = updated == null ? Collections.emptyList() : updated;
+
+    Map<Object, T> storedByKey = new HashMap<>(storedChildren.size() * 2);
+    for (T child : storedChildren) {
+      storedByKey.putIfAbsent(key.apply(child), child);
+    }
+
+    ChildDiff<T> diff = new ChildDiff<>(key, storedByKey);
+    Set<K> updatedKeys = new HashSet<>(updatedChildren.size() * 2);
+    for (T child : updatedChildren) {
+      K childKey = key.apply(child);
+      updatedKeys.add(childKey);
+      T storedChild = storedByKey.get(childKey);
+      if (storedChild == null) {
+        diff.added.add(child);
+      } else {
+        diff.matched.add(new Match<>(storedChild, child));
+      }
+    }
+    for (T child : storedChildren) {
+      if (!updatedKeys.contains(key.apply(child))) {
+        diff.deleted.add(child);
+      }
+    }
+    return diff;
+  }
+
+  /**
+   * Merge updated children into stored children. An updated child replaces the stored child with the same key at its
+   * position. Updated children with new keys are added at the end, and stored children missing in the update are kept.
+   */
+  public static <T, K> List<T> merge(List<T> stored, List<T> updated, Function<T, K> key) {
+    Map<K, T> merged = new LinkedHashMap<>();
+    for (T child : stored == null ? Collections.<T>emptyList() : stored) {
+      merged.putIfAbsent(key.apply(child), child);
+    }
+    for (T child : updated == null ? Collections.<T>emptyList() : updated) {
+      merged.put(key.apply(child), child);
+    }
+    return new ArrayList<>(merged.values());
+  }
+
+  /** Returns the stored child with the same key as the given updated child or null when the child is added */
+  public T findStored(T updated) {
+    return storedByKey.get(key.apply(updated));
+  }
+
+  /** Updated children with no stored child with the same key */
+  public List<T> getAdded() {
+    return added;
+  }
+
+  /** Stored children with no updated child with the same key */
+  public List<T> getDeleted() {
+    return deleted;
+  }
+
+  /** Updated children along with the stored child with the same key */
+  public List<Match<T>> getMatched() {
+    return matched;
+  }
+
+  /** Matched children where the updated child is not equal to the stored child */
+  public List<Match<T>> getChanged() {
+    List<Match<T>> changed = new ArrayList<>();
+    for (Match<T> match : matched) {
+      if (match.isChanged()) {
+        changed.add(match);
+      }
+    }
+    return changed;
+  }
+
+  /** Returns true when children were added or deleted */
+  public boolean hasAddedOrDeleted() {
+    return !added.isEmpty() || !deleted.isEmpty();
+  }
+}
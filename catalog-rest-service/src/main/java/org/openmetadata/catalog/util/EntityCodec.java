@@ -0,0 +1,162 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Storage formats for entity documents in the database. Entities are encoded in their stored form, without
+ * relationships and other derived fields. See {@link StoredFormMixIns}.
+ *
+ * Stored documents are self describing. JSON text starts with '{', Smile starts with its ":)\n" header and a
+ * compressed document starts with the zlib header byte. {@link #decode(byte[], Class)} reads any of these formats
+ * irrespective of the format currently configured for writes, so that rows written before a format change remain
+ * readable until they are rewritten.
+ */
+public enum EntityCodec {
+  /** Entity stored as JSON text */
+  JSON {
+    @Override
+    public byte[] encode(Object entity) throws JsonProcessingException {
+      return JsonUtils.pojoToStoredJsonBytes(entity);
+    }
+  },
+
+  /** Entity stored in Smile binary format, compressed with deflate */
+  SMILE_DEFLATE {
+    @Override
+    public byte[] encode(Object entity) throws JsonProcessingException {
+      byte[] smile = JsonUtils.pojoToSmile(entity);
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+        deflater.setInput(smile);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(smile.length / 2 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+          int length = deflater.deflate(buffer);
+          out.write(buffer, 0, length);
+        }
+        return out.toByteArray();
+      } finally {
+        deflater.end();
+      }
+    }
+  };
+
+  private static final byte ZLIB_HEADER = 0x78;
+  private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+  private static volatile EntityCodec writeCodec = JSON;
+
+  public abstract byte[] encode(Object entity) throws JsonProcessingException;
+
+  /** Returns true when the encoded form must be stored in a binary column instead of a JSON column */
+  public boolean isBinary() {
+    return this != JSON;
+  }
+
+  public static EntityCodec getWriteCodec() {
+    return writeCodec;
+  }
+
+  public static void setWriteCodec(EntityCodec codec) {
+    writeCodec = codec == null ? JSON : codec;
+  }
+
+  /** Read an entity of type {@code T} stored in any of the supported formats */
+  public static <T> T decode(byte[] stored, Class<T> clz) throws IOException {
+    if (stored == null) {
+      return null;
+    }
+    return decode(new ByteArrayInputStream(stored), clz);
+  }
+
+  /**
+   * Read an entity of type {@code T} stored in any of the supported formats directly from a stream, such as the
+   * binary stream of a JDBC column, without copying the stored form in memory first.
+   */
+  public static <T> T decode(InputStream stored, Class<T> clz) throws IOException {
+    PushbackInputStream in = new PushbackInputStream(stored, SMILE_HEADER.length);
+    byte[] header = new byte[SMILE_HEADER.length];
+    int length = in.readNBytes(header, 0, header.length);
+    if (length == 0) {
+      return null;
+    }
+    in.unread(header, 0, length);
+    if (isCompressed(header)) {
+      return JsonUtils.readSmile(new InflaterInputStream(in), clz);
+    }
+    if (isSmile(header)) {
+      return JsonUtils.readSmile(in, clz);
+    }
+    return JsonUtils.readValue(in, clz);
+  }
+
+  /** Create a parser to read an entity stored in any of the supported formats token by token */
+  public static JsonParser createParser(byte[] stored) throws IOException {
+    if (isCompressed(stored)) {
+      return JsonUtils.createSmileParser(new InflaterInputStream(new ByteArrayInputStream(stored)));
+    }
+    if (isSmile(stored)) {
+      return JsonUtils.createSmileParser(new ByteArrayInputStream(stored));
+    }
+    return JsonUtils.createParser(new ByteArrayInputStream(stored));
+  }
+
+  /** Convert an entity stored in any of the supported formats to json text */
+  public static String toJson(byte[] stored) throws IOException {
+    if (stored == null) {
+      return null;
+    }
+    if (isCompressed(stored)) {
+      try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(stored))) {
+        return JsonUtils.smileToJson(in);
+      }
+    }
+    if (isSmile(stored)) {
+      return JsonUtils.smileToJson(new ByteArrayInputStream(stored));
+    }
+    return new String(stored, StandardCharsets.UTF_8);
+  }
+
+  private static boolean isCompressed(byte[] stored) {
+    return stored.length > 0 && stored[0] == ZLIB_HEADER;
+  }
+
+  private static boolean isSmile(byte[] stored) {
+    if (stored.length < SMILE_HEADER.length) {
+      return false;
+    }
+    for (int i = 0; i < SMILE_HEADER.length; i++) {
+      if (stored[i] != SMILE_HEADER[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -60,6 +60,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -209,8 +210,9 @@ public final class EntityUtil {
 
   public static void updateOwner(EntityRelationshipDAO dao, EntityReference originalOwner, EntityReference newOwner,
                                  UUID ownedEntityId, String ownedEntityType) {
-    // TODO inefficient use replace instead of delete and add?
-    // TODO check for orig and new owners being the same
+    if (originalOwner != null && newOwner != null && Objects.equals(originalOwner.getId(), newOwner.getId())) {
+      return; // Owner has not changed
+    }
     unassignOwner(dao, originalOwner, ownedEntityId.toString());
     setOwner(dao, ownedEntityId, ownedEntityType, newOwner);
   }
@@ -449,6 +451,11 @@ public final class EntityUtil {
     return String.format("%s.%s", entityName, "version");
   }
 
+  /** Extension that records when an entity was deleted. See {@code EntityDAO#delete(UUID, String)} */
+  public static String getDeletedExtension(String entityName) {
+    return String.format("%s.%s", entityName, "deleted");
+  }
+
   public static Double getVersion(String extension) {
     String[] s = extension.split("\\.");
     String versionString = s[2] + "." + s[3];
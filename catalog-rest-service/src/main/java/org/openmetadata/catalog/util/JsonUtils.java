@@ -16,12 +16,16 @@
 
 package org.openmetadata.catalog.util;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.datatype.jsr353.JSR353Module;
 import com.networknt.schema.JsonMetaSchema;
 import com.networknt.schema.JsonSchema;
@@ -45,6 +49,7 @@ import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
@@ -54,18 +59,39 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class JsonUtils {
   public static final MediaType DEFAULT_MEDIA_TYPE = MediaType.APPLICATION_JSON_TYPE;
   private static final Logger LOG = LoggerFactory.getLogger(JsonUtils.class);
   private static final ObjectMapper OBJECT_MAPPER;
+  private static final ObjectMapper STORE_MAPPER;
+  private static final ObjectMapper SMILE_MAPPER;
+  // Readers are immutable and hold on to the deserializer of the type. Cache them to avoid lookups for every read.
+  private static final Map<Class<?>, ObjectReader> JSON_READERS = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, ObjectReader> SMILE_READERS = new ConcurrentHashMap<>();
 
   static {
-    OBJECT_MAPPER = new ObjectMapper();
+    OBJECT_MAPPER = configure(new ObjectMapper());
+
+    // Writes the stored form of entities without relationships and other derived fields. See StoredFormMixIns
+    STORE_MAPPER = configure(new ObjectMapper());
+    StoredFormMixIns.register(STORE_MAPPER);
+
+    // Smile is binary JSON. Field names and short string values such as column data types repeat a lot in entities
+    // and are written once and back referenced after that.
+    SmileFactory smileFactory = new SmileFactory();
+    smileFactory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+    SMILE_MAPPER = configure(new ObjectMapper(smileFactory));
+    StoredFormMixIns.register(SMILE_MAPPER);
+  }
+
+  private static ObjectMapper configure(ObjectMapper mapper) {
     // Ensure the date-time fields are serialized in ISO-8601 format
-    OBJECT_MAPPER.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    OBJECT_MAPPER.setDateFormat(RestUtil.DATE_TIME_FORMAT);
-    OBJECT_MAPPER.registerModule(new JSR353Module());
+    mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    mapper.setDateFormat(RestUtil.DATE_TIME_FORMAT);
+    mapper.registerModule(new JSR353Module());
+    return mapper;
   }
 
   private JsonUtils() {
@@ -139,6 +165,24 @@ public final class JsonUtils {
             OBJECT_MAPPER.writeValueAsString(o);
   }
 
+  public static byte[] pojoToJsonBytes(Object o) throws JsonProcessingException {
+    return OBJECT_MAPPER.writeValueAsBytes(o);
+  }
+
+  /** Serialize the stored form of an entity, without relationships and other derived fields, as json */
+  public static String pojoToStoredJson(Object o) throws JsonProcessingException {
+    return STORE_MAPPER.writeValueAsString(o);
+  }
+
+  public static byte[] pojoToStoredJsonBytes(Object o) throws JsonProcessingException {
+    return STORE_MAPPER.writeValueAsBytes(o);
+  }
+
+  /** Serialize the stored form of an entity in Smile binary format */
+  public static byte[] pojoToSmile(Object o) throws JsonProcessingException {
+    return SMILE_MAPPER.writeValueAsBytes(o);
+  }
+
   public static JsonStructure getJsonStructure(Object o) {
     return OBJECT_MAPPER.convertValue(o, JsonStructure.class);
   }
@@ -150,6 +194,46 @@ public final class JsonUtils {
     return OBJECT_MAPPER.readValue(json, clz);
   }
 
+  public static <T> T readValue(byte[] json, Class<T> clz) throws IOException {
+    if (json == null) {
+      return null;
+    }
+    return OBJECT_MAPPER.readValue(json, clz);
+  }
+
+  /** Read an object of type {@code T} from json stream */
+  public static <T> T readValue(InputStream in, Class<T> clz) throws IOException {
+    return JSON_READERS.computeIfAbsent(clz, OBJECT_MAPPER::readerFor).readValue(in);
+  }
+
+  /** Read an object of type {@code T} from Smile binary format */
+  public static <T> T readSmile(InputStream in, Class<T> clz) throws IOException {
+    return SMILE_READERS.computeIfAbsent(clz, SMILE_MAPPER::readerFor).readValue(in);
+  }
+
+  /** Convert Smile binary format to json text */
+  public static String smileToJson(InputStream in) throws IOException {
+    return OBJECT_MAPPER.writeValueAsString(SMILE_MAPPER.readTree(in));
+  }
+
+  /** Create a parser to read json text token by token */
+  public static JsonParser createParser(InputStream in) throws IOException {
+    return OBJECT_MAPPER.getFactory().createParser(in);
+  }
+
+  /** Create a parser to read Smile binary format token by token */
+  public static JsonParser createSmileParser(InputStream in) throws IOException {
+    return SMILE_MAPPER.getFactory().createParser(in);
+  }
+
+  /**
+   * Create a generator to write json text token by token. Objects written with the generator are serialized the same
+   * way as {@link #pojoToJson(Object)}.
+   */
+  public static com.fasterxml.jackson.core.JsonGenerator createGenerator(OutputStream out) throws IOException {
+    return OBJECT_MAPPER.getFactory().createGenerator(out);
+  }
+
   /** Read an array of objects of type {@code T} from json */
   public static <T> List<T> readObjects(String json, Class<T> clz) throws IOException {
     if (json == null) {
@@ -0,0 +1,42 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import java.util.Locale;
+
+/**
+ * How {@code paging.total} is computed for a page of entities returned by list APIs, given by the {@code total} query
+ * parameter.
+ */
+public enum PagingTotal {
+  /** Total is not returned */
+  FALSE,
+
+  /**
+   * Total is read from the entity counters maintained on create and delete. This is the default. When the list is
+   * filtered by a name prefix of entities that are not counted by container, the total is counted as with EXACT.
+   */
+  APPROXIMATE,
+
+  /** Total is counted from the entity table */
+  EXACT;
+
+  /** Used by JAX-RS to convert the query parameter value */
+  public static PagingTotal fromString(String value) {
+    return value == null ? APPROXIMATE : valueOf(value.toUpperCase(Locale.ROOT));
+  }
+}
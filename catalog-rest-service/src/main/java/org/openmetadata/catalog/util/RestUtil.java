@@ -54,6 +54,28 @@ public final class RestUtil {
 
   }
 
+  /**
+   * Returns the entity version given in an {@code If-Match} header, or null when the header is not given or is "*".
+   * The version may be given as a quoted entity tag such as "0.2".
+   */
+  public static Double getIfMatchVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+      return null;
+    }
+    String version = ifMatch.strip();
+    if (version.startsWith("W/")) {
+      version = version.substring(2);
+    }
+    if (version.length() >= 2 && version.startsWith("\"") && version.endsWith("\"")) {
+      version = version.substring(1, version.length() - 1);
+    }
+    try {
+      return Double.valueOf(version);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid entity version in If-Match header " + ifMatch);
+    }
+  }
+
   /**
    * Remove leading and trailing slashes
    */
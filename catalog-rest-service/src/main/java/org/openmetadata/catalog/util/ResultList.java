@@ -108,8 +108,8 @@ public class ResultList<T> {
    *          -------- BACKWARD SCROLLING ENDS -------------
    *
    */
-  public ResultList(List<T> data, String beforeCursor, String afterCursor, int total) throws GeneralSecurityException,
-          UnsupportedEncodingException {
+  public ResultList(List<T> data, String beforeCursor, String afterCursor, Integer total)
+          throws GeneralSecurityException, UnsupportedEncodingException {
     this.data = data;
     paging = new Paging().withBefore(CipherText.instance().encrypt(beforeCursor))
                     .withAfter(CipherText.instance().encrypt(afterCursor)).withTotal(total);
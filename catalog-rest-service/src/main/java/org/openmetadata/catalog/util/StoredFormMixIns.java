@@ -0,0 +1,94 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openmetadata.catalog.entity.data.Chart;
+import org.openmetadata.catalog.entity.data.Dashboard;
+import org.openmetadata.catalog.entity.data.Database;
+import org.openmetadata.catalog.entity.data.Metrics;
+import org.openmetadata.catalog.entity.data.Model;
+import org.openmetadata.catalog.entity.data.Pipeline;
+import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.entity.data.Topic;
+import org.openmetadata.catalog.entity.teams.Team;
+import org.openmetadata.catalog.entity.teams.User;
+import org.openmetadata.catalog.type.Column;
+
+/**
+ * Jackson mix-ins that define the stored form of entities. Relationships and fields such as href are derived and not
+ * stored as part of json. They are built on the fly based on relationships. The mix-ins leave these fields out when
+ * an entity is written to the database, so that the entity does not have to be copied or its fields set to null and
+ * restored around the write.
+ *
+ * Fields are left out only when writing. Documents stored before a field moved out of the stored form are still read
+ * with that field.
+ */
+public final class StoredFormMixIns {
+  private StoredFormMixIns() {
+  }
+
+  /** Register the mix-ins with a mapper used for writing entities to the database */
+  public static void register(ObjectMapper mapper) {
+    mapper.addMixIn(Chart.class, OwnerServiceTagsMixIn.class);
+    mapper.addMixIn(Dashboard.class, OwnerTagsMixIn.class);
+    mapper.addMixIn(Database.class, OwnerServiceMixIn.class);
+    mapper.addMixIn(Metrics.class, OwnerServiceTagsMixIn.class);
+    mapper.addMixIn(Model.class, ModelMixIn.class);
+    mapper.addMixIn(Pipeline.class, OwnerServiceTagsMixIn.class);
+    mapper.addMixIn(Table.class, TableMixIn.class);
+    mapper.addMixIn(Topic.class, OwnerServiceTagsMixIn.class);
+    mapper.addMixIn(Team.class, TeamMixIn.class);
+    mapper.addMixIn(User.class, UserMixIn.class);
+    mapper.addMixIn(Column.class, ColumnMixIn.class);
+  }
+
+  @JsonIgnoreProperties(value = {"href", "owner", "service", "tags"}, allowSetters = true)
+  abstract static class OwnerServiceTagsMixIn {
+  }
+
+  @JsonIgnoreProperties(value = {"href", "owner", "tags"}, allowSetters = true)
+  abstract static class OwnerTagsMixIn {
+  }
+
+  @JsonIgnoreProperties(value = {"href", "owner", "service"}, allowSetters = true)
+  abstract static class OwnerServiceMixIn {
+  }
+
+  @JsonIgnoreProperties(value = {"href", "owner", "dashboard", "tags"}, allowSetters = true)
+  abstract static class ModelMixIn {
+  }
+
+  /** Columns of a table are stored separately in table_column */
+  @JsonIgnoreProperties(value = {"href", "owner", "database", "tags", "columns"}, allowSetters = true)
+  abstract static class TableMixIn {
+  }
+
+  @JsonIgnoreProperties(value = {"href", "users"}, allowSetters = true)
+  abstract static class TeamMixIn {
+  }
+
+  @JsonIgnoreProperties(value = {"href", "teams"}, allowSetters = true)
+  abstract static class UserMixIn {
+  }
+
+  /** Column tags, including the tags of nested columns, are built on the fly based on relationships */
+  @JsonIgnoreProperties(value = {"tags"}, allowSetters = true)
+  abstract static class ColumnMixIn {
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.catalog.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates ids for new entities. Random UUIDs spread inserts across the whole primary key index of a table, which
+ * results in page splits and pages of the index being read back into the buffer pool during bulk ingestion.
+ * Time-ordered UUIDs are mostly inserted at the end of the index instead.
+ *
+ * The ids use the UUID version 7 layout. The first 48 bits are the milliseconds since the Unix epoch, followed by the
+ * version, a 12 bit counter, the variant and 62 random bits. The counter keeps the ids generated within the same
+ * millisecond in order. Ids are regular UUIDs in the same string and binary formats as the random UUIDs of existing
+ * entities.
+ */
+public final class UUIDUtil {
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final int COUNTER_BITS = 12;
+  private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+
+  private static long lastTimestamp = -1;
+  private static int counter;
+
+  private UUIDUtil() {
+  }
+
+  /** Returns a new time-ordered UUID that is greater than any UUID previously returned by this method */
+  public static UUID newTimeOrderedUUID() {
+    long timestamp;
+    int sequence;
+    synchronized (UUIDUtil.class) {
+      long now = System.currentTimeMillis();
+      if (now > lastTimestamp) {
+        lastTimestamp = now;
+        // Start from a random value in the lower half to leave room for ids generated in the same millisecond
+        counter = RANDOM.nextInt(MAX_COUNTER / 2 + 1);
+      } else if (counter < MAX_COUNTER) {
+        counter++; // Same millisecond or clock moved backwards
+      } else {
+        lastTimestamp++; // Counter exhausted. Borrow the next millisecond
+        counter = 0;
+      }
+      timestamp = lastTimestamp;
+      sequence = counter;
+    }
+    long mostSigBits = (timestamp << 16) | (0x7L << COUNTER_BITS) | sequence;
+    long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EntityRepositoryTest {
+  @Test
+  public void compareBinary() {
+    assertEquals(0, EntityRepository.compareBinary("db.Table", "db.Table"));
+    // Upper case letters come before lower case letters, unlike in case insensitive collations
+    assertTrue(EntityRepository.compareBinary("db.Zebra", "db.apple") < 0);
+    assertTrue(EntityRepository.compareBinary("db.a", "db.a_b") < 0);
+    // Characters outside the basic multilingual plane come after all the others, unlike in String.compareTo
+    String emoji = "db.\uD83D\uDE00";
+    String privateUse = "db.\uE000";
+    assertTrue(emoji.compareTo(privateUse) < 0);
+    assertTrue(EntityRepository.compareBinary(emoji, privateUse) > 0);
+  }
+}
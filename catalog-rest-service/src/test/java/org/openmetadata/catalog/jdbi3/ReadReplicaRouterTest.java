@@ -0,0 +1,129 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.db.DataSourceFactory;
+import org.jdbi.v3.sqlobject.CreateSqlObject;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.ReadReplicaConfiguration;
+import org.openmetadata.catalog.security.JwtFilter;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Cookie;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReadReplicaRouterTest {
+  interface TestDAO {
+    @CreateSqlObject
+    ChildDAO childDAO();
+
+    String getDatabase();
+  }
+
+  interface ChildDAO {
+    String getDatabase();
+  }
+
+  @Test
+  public void route() {
+    ReadReplicaConfiguration config = new ReadReplicaConfiguration();
+    config.setDataSourceFactory(new DataSourceFactory());
+    config.setMaxLagSeconds(5);
+    ReadReplicaRouter router = new ReadReplicaRouter(null, config, new MetricRegistry());
+    TestDAO dao = router.route(TestDAO.class, testDAO("primary"), testDAO("replica"));
+    ChildDAO childDAO = dao.childDAO();
+
+    // Replication lag is not known
+    assertFalse(router.startRead("user1"));
+    assertEquals("primary", dao.getDatabase());
+    router.end();
+
+    // Replica within the staleness bound is used only while serving a read
+    router.setLagSeconds(2);
+    assertTrue(router.startRead("user1"));
+    assertEquals("replica", dao.getDatabase());
+    assertEquals("replica", childDAO.getDatabase());
+    router.end();
+    assertEquals("primary", dao.getDatabase());
+    assertEquals("primary", childDAO.getDatabase());
+
+    // Replica beyond the staleness bound is not used
+    router.setLagSeconds(6);
+    assertFalse(router.startRead("user1"));
+    assertEquals("primary", childDAO.getDatabase());
+    router.end();
+
+    // Session that made a change reads from primary, other sessions read from replica
+    router.setLagSeconds(0);
+    router.recordWrite("user1");
+    assertFalse(router.startRead("user1"));
+    assertEquals("primary", dao.getDatabase());
+    router.end();
+    assertTrue(router.startRead("user2"));
+    assertEquals("replica", dao.getDatabase());
+    router.end();
+  }
+
+  @Test
+  public void failedLagCheck() {
+    ReadReplicaConfiguration config = new ReadReplicaConfiguration();
+    config.setMaxLagSeconds(5);
+    MetricRegistry metrics = new MetricRegistry();
+    ReadReplicaRouter router = new ReadReplicaRouter(null, config, metrics);
+    router.setLagSeconds(0);
+    router.checkLag();
+    assertFalse(router.isReplicaAvailable());
+    assertEquals(1, metrics.meter("readReplica.lagCheckFailures").getCount());
+  }
+
+  @Test
+  public void session() {
+    // Session is the token, or the session cookie when there is no token
+    ContainerRequestContext request = mock(ContainerRequestContext.class);
+    when(request.getCookies()).thenReturn(Collections.emptyMap());
+    assertNull(ReadReplicaFilter.getSession(request));
+
+    when(request.getCookies()).thenReturn(Collections.singletonMap(ReadReplicaFilter.SESSION_COOKIE,
+            new Cookie(ReadReplicaFilter.SESSION_COOKIE, "session1")));
+    assertEquals("cookie:session1", ReadReplicaFilter.getSession(request));
+
+    when(request.getHeaderString(JwtFilter.TOKEN_HEADER)).thenReturn("token1");
+    assertEquals("token:token1", ReadReplicaFilter.getSession(request));
+  }
+
+  private static TestDAO testDAO(String database) {
+    return new TestDAO() {
+      @Override
+      public ChildDAO childDAO() {
+        return () -> database;
+      }
+
+      @Override
+      public String getDatabase() {
+        return database;
+      }
+    };
+  }
+}
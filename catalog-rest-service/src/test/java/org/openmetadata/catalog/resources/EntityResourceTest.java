@@ -38,6 +38,7 @@ import org.openmetadata.common.utils.JsonSchemaUtil;
 
 import javax.json.JsonPatch;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response.Status;
 import java.io.IOException;
 import java.net.URI;
@@ -52,6 +53,7 @@ import java.util.UUID;
 import static javax.ws.rs.core.Response.Status.CREATED;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.OK;
+import static javax.ws.rs.core.Response.Status.PRECONDITION_FAILED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
@@ -65,6 +67,7 @@ import static org.openmetadata.catalog.util.TestUtils.UpdateType.MINOR_UPDATE;
 import static org.openmetadata.catalog.util.TestUtils.UpdateType.NO_CHANGE;
 import static org.openmetadata.catalog.util.TestUtils.adminAuthHeaders;
 import static org.openmetadata.catalog.util.TestUtils.assertResponse;
+import static org.openmetadata.catalog.util.TestUtils.assertResponseContains;
 import static org.openmetadata.catalog.util.TestUtils.authHeaders;
 import static org.openmetadata.catalog.util.TestUtils.checkUserFollowing;
 import static org.openmetadata.catalog.util.TestUtils.userAuthHeaders;
@@ -294,6 +297,46 @@ public abstract class EntityResourceTest<T> extends CatalogApplicationTest {
     assertEquals("description", entityInterface.getDescription()); // Description did not change
   }
 
+  @Test
+  public void put_entityIfMatch_412(TestInfo test) throws HttpResponseException, URISyntaxException {
+    // Create entity with null description
+    Object request = createRequest(test, null, "displayName", null);
+    T entity = createAndCheckEntity(request, adminAuthHeaders());
+    Double version = getEntityInterface(entity).getVersion();
+
+    // Update the entity with If-Match set to its current version
+    request = createRequest(test, "updatedDescription", "displayName", null);
+    T updated = updateEntity(request, OK, ifMatchHeaders(version));
+    assertEquals("updatedDescription", getEntityInterface(updated).getDescription());
+
+    // Update based on the previous version of the entity fails
+    Object staleRequest = createRequest(test, "staleDescription", "displayName", null);
+    HttpResponseException exception = assertThrows(HttpResponseException.class, () ->
+            updateEntity(staleRequest, OK, ifMatchHeaders(version)));
+    assertResponseContains(exception, PRECONDITION_FAILED, "not at version " + version + " given in If-Match");
+  }
+
+  @Test
+  public void patch_entityIfMatch_412(TestInfo test) throws IOException, URISyntaxException {
+    Object request = createRequest(test, null, "displayName", null);
+    T entity = createAndCheckEntity(request, adminAuthHeaders());
+    EntityInterface<T> entityInterface = getEntityInterface(entity);
+    UUID id = entityInterface.getId();
+    Double version = entityInterface.getVersion();
+
+    // Patch the entity with If-Match set to its current version
+    String originalJson = JsonUtils.pojoToJson(entity);
+    entityInterface.setDescription("patchedDescription");
+    T patched = patchEntity(id, originalJson, entity, ifMatchHeaders(version));
+    assertEquals("patchedDescription", getEntityInterface(patched).getDescription());
+
+    // Patch based on the previous version of the entity fails
+    entityInterface.setDescription("stalePatchedDescription");
+    HttpResponseException exception = assertThrows(HttpResponseException.class, () ->
+            patchEntity(id, originalJson, entity, ifMatchHeaders(version)));
+    assertResponseContains(exception, PRECONDITION_FAILED, "not at version " + version + " given in If-Match");
+  }
+
   @Test
   public void put_addDeleteFollower_200(TestInfo test) throws HttpResponseException, URISyntaxException {
     if (!supportsFollowers) {
@@ -358,6 +401,12 @@ public abstract class EntityResourceTest<T> extends CatalogApplicationTest {
     return getResource(collectionName + "/" + id + "/followers/" + userId);
   }
 
+  private static Map<String, String> ifMatchHeaders(Double version) {
+    Map<String, String> headers = adminAuthHeaders();
+    headers.put(HttpHeaders.IF_MATCH, "\"" + version + "\"");
+    return headers;
+  }
+
   protected final T getEntity(UUID id, Map<String, String> authHeaders) throws HttpResponseException {
     WebTarget target = getResource(id);
     target = target.queryParam("fields", allFields);
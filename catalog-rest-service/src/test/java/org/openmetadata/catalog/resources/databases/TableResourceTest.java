@@ -34,6 +34,7 @@ import org.openmetadata.catalog.entity.services.DatabaseService;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.jdbi3.TableRepository.TableEntityInterface;
 import org.openmetadata.catalog.resources.EntityResourceTest;
+import org.openmetadata.catalog.resources.databases.TableResource.ColumnList;
 import org.openmetadata.catalog.resources.databases.TableResource.TableList;
 import org.openmetadata.catalog.resources.services.DatabaseServiceResourceTest;
 import org.openmetadata.catalog.resources.tags.TagResourceTest;
@@ -72,7 +73,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static java.util.Collections.singletonList;
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
@@ -81,6 +90,7 @@ import static javax.ws.rs.core.Response.Status.FORBIDDEN;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -333,6 +343,23 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     validateColumns(Arrays.asList(c1, c2), table1.getColumns());
   }
 
+  @Test
+  public void get_tableWithComplexColumnsById_200(TestInfo test) throws IOException {
+    // Get by id writes the stored table token by token. It must return the same table as get by name.
+    Column c1 = getColumn("c1", INT, USER_ADDRESS_TAG_LABEL);
+    Column c2_a = getColumn("a", INT, USER_ADDRESS_TAG_LABEL);
+    Column c2 = getColumn("c2", STRUCT, "struct<a: int>", USER_BANK_ACCOUNT_TAG_LABEL)
+            .withChildren(new ArrayList<>(singletonList(c2_a)));
+    CreateTable create = create(test).withColumns(Arrays.asList(c1, c2)).withOwner(USER_OWNER1)
+            .withTags(singletonList(USER_ADDRESS_TAG_LABEL));
+    Table table = createAndCheckEntity(create, adminAuthHeaders());
+
+    for (String fields : Arrays.asList(null, "columns", "columns,tags", "owner,tags", TableResource.FIELDS)) {
+      assertEquals(getTableByName(table.getFullyQualifiedName(), fields, adminAuthHeaders()),
+              getTable(table.getId(), fields, adminAuthHeaders()));
+    }
+  }
+
   @Test
   public void post_tableWithUserOwner_200_ok(TestInfo test) throws HttpResponseException {
     createAndCheckEntity(create(test).withOwner(USER_OWNER1), adminAuthHeaders());
@@ -410,6 +437,107 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     updateAndCheckEntity(request, OK, adminAuthHeaders(), MINOR_UPDATE, change);
   }
 
+  @Test
+  public void get_tableAsOf_200(TestInfo test) throws IOException, InterruptedException {
+    // Version history is kept at a second granularity. Sleep to separate the versions
+    long beforeCreate = System.currentTimeMillis() - 2000;
+    CreateTable request = create(test).withDescription("description").withTableConstraints(null);
+    Table table = createAndCheckEntity(request, adminAuthHeaders());
+    Thread.sleep(1100);
+    long afterCreate = System.currentTimeMillis();
+    Thread.sleep(1100);
+
+    // Update the table with constraints
+    ChangeDescription change = getChangeDescription(table.getVersion());
+    TableConstraint constraint = new TableConstraint().withConstraintType(ConstraintType.UNIQUE)
+            .withColumns(List.of(COLUMNS.get(0).getName()));
+    change.getFieldsAdded().add("tableConstraints");
+    Table updatedTable = updateAndCheckEntity(request.withTableConstraints(List.of(constraint)), OK,
+            adminAuthHeaders(), MINOR_UPDATE, change);
+
+    // Table as of a time before the update is the originally created version
+    Table asOfTable = getTableAsOf(table.getId(), "tableConstraints", afterCreate, adminAuthHeaders());
+    assertEquals(table.getVersion(), asOfTable.getVersion());
+    assertNull(asOfTable.getTableConstraints());
+
+    // Table as of now is the latest version
+    asOfTable = getTableAsOf(table.getId(), "tableConstraints", System.currentTimeMillis(), adminAuthHeaders());
+    assertEquals(updatedTable.getVersion(), asOfTable.getVersion());
+    assertEquals(1, asOfTable.getTableConstraints().size());
+
+    // Table did not exist before it was created
+    HttpResponseException exception = assertThrows(HttpResponseException.class, () ->
+            getTableAsOf(table.getId(), null, beforeCreate, adminAuthHeaders()));
+    assertResponse(exception, NOT_FOUND, CatalogExceptionMessage.entityNotFound(Entity.TABLE, table.getId()));
+  }
+
+  @Test
+  public void list_tablesAsOf_200(TestInfo test) throws IOException, InterruptedException {
+    // Tables of a database of their own so that tables created by other tests are not listed
+    Database database = createAndCheckDatabase(DatabaseResourceTest.create(test), adminAuthHeaders());
+    String databaseFQN = database.getFullyQualifiedName();
+    List<Table> tables = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      tables.add(createEntity(create(test, i).withDatabase(database.getId()), adminAuthHeaders()));
+    }
+    // Version history is kept at a second granularity. Sleep to separate the versions
+    Thread.sleep(1100);
+    long asOf = System.currentTimeMillis();
+    Thread.sleep(1100);
+
+    // Update table0, delete table1 and create table3 after asOf
+    ChangeDescription change = getChangeDescription(tables.get(0).getVersion());
+    change.getFieldsAdded().add("description");
+    updateAndCheckEntity(create(test, 0).withDatabase(database.getId()).withDescription("description"), OK,
+            adminAuthHeaders(), MINOR_UPDATE, change);
+    deleteTable(tables.get(1).getId(), adminAuthHeaders());
+    createEntity(create(test, 3).withDatabase(database.getId()), adminAuthHeaders());
+
+    // Tables as of asOf are the tables as created, including the deleted table, in full pages
+    TableList page = listTablesAsOf(databaseFQN, 2, null, asOf, adminAuthHeaders());
+    assertEquals(3, page.getPaging().getTotal());
+    assertEquals(2, page.getData().size());
+    assertEquals(tables.get(0).getId(), page.getData().get(0).getId());
+    assertEquals(tables.get(0).getVersion(), page.getData().get(0).getVersion());
+    assertNull(page.getData().get(0).getDescription());
+    assertEquals(tables.get(1).getId(), page.getData().get(1).getId());
+    assertNotNull(page.getPaging().getAfter());
+
+    page = listTablesAsOf(databaseFQN, 2, page.getPaging().getAfter(), asOf, adminAuthHeaders());
+    assertEquals(1, page.getData().size());
+    assertEquals(tables.get(2).getId(), page.getData().get(0).getId());
+    assertNull(page.getPaging().getAfter());
+
+    // Tables now leave out the deleted table
+    page = listTables(null, databaseFQN, adminAuthHeaders());
+    assertEquals(3, page.getData().size());
+    assertEquals(List.of(getTableName(test, 0), getTableName(test, 2), getTableName(test, 3)),
+            page.getData().stream().map(Table::getName).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void get_tableColumnsWithPagination_200(TestInfo test) throws IOException {
+    Table table = createAndCheckEntity(create(test), adminAuthHeaders());
+
+    // First page of columns without tags
+    ColumnList page = listColumns(table.getId(), null, 2, null, adminAuthHeaders());
+    assertEquals(3, page.getPaging().getTotal());
+    assertEquals(2, page.getData().size());
+    assertNotNull(page.getPaging().getAfter());
+    page.getData().forEach(column -> assertNull(column.getTags()));
+    List<Column> columns = new ArrayList<>(page.getData());
+
+    // Last page of columns with tags
+    page = listColumns(table.getId(), "tags", 2, page.getPaging().getAfter(), adminAuthHeaders());
+    assertEquals(1, page.getData().size());
+    assertNull(page.getPaging().getAfter());
+    assertNotNull(page.getData().get(0).getTags());
+    columns.addAll(page.getData());
+
+    assertEquals(COLUMNS.stream().map(Column::getName).collect(Collectors.toList()),
+            columns.stream().map(Column::getName).collect(Collectors.toList()));
+  }
+
   @Test
   public void put_columnConstraintUpdate_200(TestInfo test) throws IOException {
     List<Column> columns = new ArrayList<>();
@@ -881,6 +1009,19 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     assertResponse(exception, BAD_REQUEST, "[query param limit must be less than or equal to 1000000]");
   }
 
+  @Test
+  public void get_tableListWithTotal_200_OK(TestInfo test) throws HttpResponseException {
+    createAndCheckEntity(create(test), adminAuthHeaders());
+
+    // Total read from entity counters is the same as the exact count, with and without database filter
+    for (String databaseParam : Arrays.asList(null, DATABASE.getFullyQualifiedName())) {
+      TableList approximate = listTables(null, databaseParam, 1, "approximate", adminAuthHeaders());
+      TableList exact = listTables(null, databaseParam, 1, "exact", adminAuthHeaders());
+      assertEquals(exact.getPaging().getTotal(), approximate.getPaging().getTotal());
+      assertNull(listTables(null, databaseParam, 1, "false", adminAuthHeaders()).getPaging().getTotal());
+    }
+  }
+
   @Test
   public void get_tableListWithInvalidPaginationCursors_4xx() {
     // Passing both before and after cursors is invalid
@@ -1056,6 +1197,54 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     validateColumns(columns, table.getColumns());
   }
 
+  @Test
+  public void patch_tableTagsConcurrently_200_or_409(TestInfo test) throws Exception {
+    // Concurrent patches computed from the same version each add a tag. A patch that loses the version check is
+    // applied again to the latest table and returns 409 when it keeps losing. The tags of such a patch must not be
+    // stored. The table starts with a tag so that each patch inserts its tag into the list instead of replacing it
+    Table table = createEntity(create(test).withTags(singletonList(TIER1_TAG_LABEL)), adminAuthHeaders());
+    String originalJson = JsonUtils.pojoToJson(table);
+    List<String> tags = List.of("User.Email", "User.Phone", "User.Name", "User.Login", "User.Passport", "User.SSN",
+            "User.TaxId", "User.DOB");
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(tags.size());
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (String tag : tags) {
+        Table updated = JsonUtils.readValue(originalJson, Table.class)
+                .withTags(singletonList(new TagLabel().withTagFQN(tag)));
+        results.add(executor.submit(() -> {
+          start.await();
+          try {
+            patchEntity(table.getId(), originalJson, updated, adminAuthHeaders());
+            return true;
+          } catch (HttpResponseException e) {
+            assertEquals(CONFLICT.getStatusCode(), e.getStatusCode());
+            return false;
+          }
+        }));
+      }
+      start.countDown();
+      Set<String> patchedTags = new TreeSet<>();
+      for (int i = 0; i < tags.size(); i++) {
+        if (results.get(i).get(60, TimeUnit.SECONDS)) {
+          patchedTags.add(tags.get(i));
+        }
+      }
+      assertFalse(patchedTags.isEmpty());
+
+      // Derived tags associated with the patched tags are not in the User category
+      Table patched = getTable(table.getId(), "tags", adminAuthHeaders());
+      Set<String> storedTags = patched.getTags().stream().map(TagLabel::getTagFQN)
+              .filter(tag -> tag.startsWith("User.")).collect(Collectors.toCollection(TreeSet::new));
+      assertEquals(patchedTags, storedTags);
+      // A new version is stored for each patch that succeeded
+      assertEquals(patchedTags.size() + 1, getVersionList(table.getId(), adminAuthHeaders()).getVersions().size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
 
   void assertFields(List<Table> tableList, String fieldsParam) {
     tableList.forEach(t -> assertFields(t, fieldsParam));
@@ -1082,7 +1271,7 @@ public class TableResourceTest extends EntityResourceTest<Table> {
         table.getColumns().forEach(column -> assertNull(column.getTags()));
       }
     } else {
-      assertNotNull(table.getColumns());
+      assertNull(table.getColumns());
     }
     if (fields.contains("tableConstraints")) {
       assertNotNull(table.getTableConstraints());
@@ -1163,6 +1352,22 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     return TestUtils.get(target, Table.class, authHeaders);
   }
 
+  public static Table getTableAsOf(UUID id, String fields, long asOf, Map<String, String> authHeaders)
+          throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables/" + id).queryParam("asOf", asOf);
+    target = fields != null ? target.queryParam("fields", fields) : target;
+    return TestUtils.get(target, Table.class, authHeaders);
+  }
+
+  public static ColumnList listColumns(UUID id, String fields, Integer limit, String after,
+                                       Map<String, String> authHeaders) throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables/" + id + "/columns");
+    target = fields != null ? target.queryParam("fields", fields) : target;
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    target = after != null ? target.queryParam("after", after) : target;
+    return TestUtils.get(target, ColumnList.class, authHeaders);
+  }
+
   public static Table getTableByName(String fqn, String fields, Map<String, String> authHeaders)
           throws HttpResponseException {
     WebTarget target = CatalogApplicationTest.getResource("tables/name/" + fqn);
@@ -1186,6 +1391,26 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     return TestUtils.get(target, TableList.class, authHeaders);
   }
 
+  public static TableList listTables(String fields, String databaseParam, Integer limit, String total,
+                                     Map<String, String> authHeaders) throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables");
+    target = fields != null ? target.queryParam("fields", fields) : target;
+    target = databaseParam != null ? target.queryParam("database", databaseParam) : target;
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    target = target.queryParam("total", total);
+    return TestUtils.get(target, TableList.class, authHeaders);
+  }
+
+  public static TableList listTablesAsOf(String databaseParam, Integer limit, String after, long asOf,
+                                         Map<String, String> authHeaders) throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables").queryParam("asOf", asOf)
+            .queryParam("total", "exact");
+    target = databaseParam != null ? target.queryParam("database", databaseParam) : target;
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    target = after != null ? target.queryParam("after", after) : target;
+    return TestUtils.get(target, TableList.class, authHeaders);
+  }
+
   public static CreateTable create(TestInfo test) {
     return create(test, 0);
   }
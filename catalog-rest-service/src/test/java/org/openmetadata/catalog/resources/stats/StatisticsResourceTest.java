@@ -0,0 +1,66 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.resources.stats;
+
+import org.apache.http.client.HttpResponseException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.openmetadata.catalog.CatalogApplicationTest;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.resources.databases.TableResourceTest;
+import org.openmetadata.catalog.type.CatalogStatistics;
+import org.openmetadata.catalog.type.EntityCount;
+import org.openmetadata.catalog.util.TestUtils;
+
+import java.net.URISyntaxException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.openmetadata.catalog.util.TestUtils.adminAuthHeaders;
+
+public class StatisticsResourceTest extends CatalogApplicationTest {
+  @BeforeAll
+  public static void setup(TestInfo test) throws HttpResponseException, URISyntaxException {
+    TableResourceTest.setup(test); // Initialize TableResourceTest for using helper methods
+  }
+
+  @Test
+  public void get_statisticsAfterCreate_200_OK(TestInfo test) throws HttpResponseException {
+    CatalogStatistics before = getStatistics(adminAuthHeaders());
+    TableResourceTest.createTable(TableResourceTest.create(test), adminAuthHeaders());
+    CatalogStatistics after = getStatistics(adminAuthHeaders());
+
+    // Number of tables and number of tables in services are increased by the new table
+    assertEquals(getTypeCount(before, Entity.TABLE) + 1, getTypeCount(after, Entity.TABLE));
+    assertEquals(getServiceCount(before, Entity.TABLE) + 1, getServiceCount(after, Entity.TABLE));
+  }
+
+  public static CatalogStatistics getStatistics(Map<String, String> authHeaders) throws HttpResponseException {
+    return TestUtils.get(CatalogApplicationTest.getResource("stats"), CatalogStatistics.class, authHeaders);
+  }
+
+  private static int getTypeCount(CatalogStatistics statistics, String entityType) {
+    return statistics.getEntityTypes().stream().filter(c -> c.getEntityType().equals(entityType))
+            .mapToInt(EntityCount::getCount).sum();
+  }
+
+  private static int getServiceCount(CatalogStatistics statistics, String entityType) {
+    return statistics.getServices().stream().filter(c -> c.getEntityType().equals(entityType))
+            .mapToInt(EntityCount::getCount).sum();
+  }
+}
@@ -0,0 +1,360 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CachingSearchBackendTest {
+  private static final String TABLES = SearchIndex.TABLE.getIndexName();
+  private static final String TOPICS = SearchIndex.TOPIC.getIndexName();
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker = new Ticker() {
+    @Override
+    public long read() {
+      return nanos.get();
+    }
+  };
+
+  @Test
+  public void search() throws IOException {
+    CountingBackend backend = new CountingBackend();
+    CachingSearchBackend cache = new CachingSearchBackend(backend, 100, 10, ticker);
+
+    assertEquals("1", json(cache.search(query(TABLES, "*"))));
+    assertEquals("1", json(cache.search(query(TABLES, "*"))));
+    assertEquals(1, backend.searches.get());
+
+    // Queries are normalized
+    assertEquals("1", json(cache.search(query(TABLES, "  * "))));
+    assertEquals("1", json(cache.search(new SearchQuery(TABLES, "*", 0, 10, "", true))));
+    assertEquals(1, backend.searches.get());
+
+    // Different queries, pages, sort orders and indexes are cached separately
+    assertEquals("2", json(cache.search(query(TABLES, "address"))));
+    assertEquals("3", json(cache.search(new SearchQuery(TABLES, "*", 10, 10, null, false))));
+    assertEquals("4", json(cache.search(new SearchQuery(TABLES, "*", 0, 10, "last_updated_timestamp", true))));
+    assertEquals("5", json(cache.search(new SearchQuery(TABLES, "*", 0, 10, "last_updated_timestamp", false))));
+    assertEquals("6", json(cache.search(query(TOPICS, "*"))));
+    assertEquals(6, backend.searches.get());
+
+    // Results expire after the ttl
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+    assertEquals("7", json(cache.search(query(TABLES, "*"))));
+  }
+
+  @Test
+  public void updateInvalidatesIndex() throws IOException {
+    CountingBackend backend = new CountingBackend();
+    CachingSearchBackend cache = new CachingSearchBackend(backend, 100, 10, ticker);
+    assertEquals("1", json(cache.search(query(TABLES, "*"))));
+    assertEquals("2", json(cache.search(query(TOPICS, "*"))));
+
+    cache.updateDocument(TABLES, "id", Map.of("description", "updated"));
+    assertEquals(1, backend.updates.get());
+    assertEquals("3", json(cache.search(query(TABLES, "*"))));
+    assertEquals("3", json(cache.search(query(TABLES, "*"))));
+    assertEquals("2", json(cache.search(query(TOPICS, "*"))));
+  }
+
+  @Test
+  public void deleteInvalidatesIndex() throws IOException {
+    CountingBackend backend = new CountingBackend();
+    CachingSearchBackend cache = new CachingSearchBackend(backend, 100, 10, ticker);
+    assertEquals("1", json(cache.search(query(TABLES, "*"))));
+    assertEquals("2", json(cache.search(query(TOPICS, "*"))));
+
+    cache.deleteDocument(TABLES, "id");
+    assertEquals(1, backend.deletes.get());
+    assertEquals("3", json(cache.search(query(TABLES, "*"))));
+    assertEquals("2", json(cache.search(query(TOPICS, "*"))));
+  }
+
+  @Test
+  public void updateInvalidatesIndexOnceSearchable() throws IOException {
+    List<Runnable> pending = new ArrayList<>();
+    CountingBackend backend = new CountingBackend() {
+      @Override
+      public void updateDocument(String index, String id, Map<String, Object> doc, Runnable onSearchable) {
+        updateDocument(index, id, doc);
+        pending.add(onSearchable);
+      }
+    };
+    CachingSearchBackend cache = new CachingSearchBackend(backend, 100, 10, ticker);
+    assertEquals("1", json(cache.search(query(TABLES, "*"))));
+
+    // Searches before the backend sees the update are cached until it does
+    cache.updateDocument(TABLES, "id", Map.of("description", "updated"));
+    assertEquals("2", json(cache.search(query(TABLES, "*"))));
+    assertEquals("2", json(cache.search(query(TABLES, "*"))));
+    assertEquals(1, pending.size());
+    pending.get(0).run();
+    assertEquals("3", json(cache.search(query(TABLES, "*"))));
+    assertEquals("3", json(cache.search(query(TABLES, "*"))));
+  }
+
+  @Test
+  public void searchSeveralIndexes() throws IOException {
+    CountingBackend backend = new CountingBackend();
+    CachingSearchBackend cache = new CachingSearchBackend(backend, 100, 10, ticker);
+    assertEquals("1", json(cache.search(query(TABLES, "*"))));
+
+    // Cached responses are returned and the other indexes are searched in one request
+    assertEquals(List.of("1", "2", "3"), json(cache.search(List.of(query(TABLES, "*"), query(TOPICS, "*"),
+            query(SearchIndex.DASHBOARD.getIndexName(), "*")))));
+    assertEquals(1, backend.multiSearches.get());
+    assertEquals(List.of("1", "2", "3"), json(cache.search(List.of(query(TABLES, "*"), query(TOPICS, "*"),
+            query(SearchIndex.DASHBOARD.getIndexName(), "*")))));
+    assertEquals(1, backend.multiSearches.get());
+    assertEquals("2", json(cache.search(query(TOPICS, "*"))));
+    assertEquals(3, backend.searches.get());
+  }
+
+  @Test
+  public void precomputedFacets() throws IOException {
+    CountingBackend backend = new CountingBackend() {
+      @Override
+      public SearchResult search(SearchQuery query) throws IOException {
+        super.search(query);
+        StringBuilder response = new StringBuilder("{\"hits\":").append(query.getSize());
+        if (!query.getFacets().isEmpty()) {
+          response.append(",\"aggregations\":{");
+          for (String facet : query.getFacets()) {
+            response.append(facet.equals(query.getFacets().get(0)) ? "" : ",").append('"').append(facet)
+                    .append("\":").append(searches.get());
+          }
+          response.append('}');
+        }
+        return SearchResult.of(response.append('}').toString());
+      }
+    };
+    CachingSearchBackend cache = new CachingSearchBackend(backend, 100, 10, ticker);
+    assertEquals("{\"hits\":10,\"aggregations\":{\"Service\":1,\"Tier\":1,\"Tags\":1}}",
+            json(cache.search(query(TABLES, "*"))));
+    cache.refreshFacets(List.of(TABLES));
+    assertEquals(2, backend.searches.get());
+
+    // Searches for all the documents compute only the hits and add the facets computed in the background
+    assertEquals("{\"hits\":10,\"aggregations\":{\"Service\":2,\"Tier\":2,\"Tags\":2}}",
+            json(cache.search(query(TABLES, "*"))));
+    assertEquals("{\"hits\":5,\"aggregations\":{\"Tier\":2}}", json(cache.search(new SearchQuery(TABLES, "*", 0, 5,
+            null, false).withProfile(SearchProfile.HITS).withFacets(List.of("Tier")))));
+    assertEquals(4, backend.searches.get());
+
+    // Other queries compute their facets
+    assertEquals("{\"hits\":10,\"aggregations\":{\"Service\":5,\"Tier\":5,\"Tags\":5}}",
+            json(cache.search(query(TABLES, "address"))));
+
+    // Facets computed before an update are not used
+    cache.updateDocument(TABLES, "id", Map.of("description", "updated"));
+    assertEquals("{\"hits\":10,\"aggregations\":{\"Service\":6,\"Tier\":6,\"Tags\":6}}",
+            json(cache.search(query(TABLES, "*"))));
+    cache.refreshFacets(List.of(TABLES));
+    assertEquals("{\"hits\":10,\"aggregations\":{\"Service\":7,\"Tier\":7,\"Tags\":7}}",
+            json(cache.search(query(TABLES, "*"))));
+
+    // Facets computed longer than the ttl ago are not used
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+    assertEquals("{\"hits\":10,\"aggregations\":{\"Service\":9,\"Tier\":9,\"Tags\":9}}",
+            json(cache.search(query(TABLES, "*"))));
+  }
+
+  @Test
+  public void refreshFacetsOfActiveIndexes() throws IOException {
+    AtomicBoolean available = new AtomicBoolean(true);
+    CountingBackend backend = new CountingBackend() {
+      @Override
+      public boolean isAvailable() {
+        return available.get();
+      }
+    };
+    CachingSearchBackend cache = new CachingSearchBackend(backend, 100, 10, ticker);
+
+    // Indexes that were not searched or updated since the last refresh are not refreshed
+    cache.refreshFacets(List.of(TABLES, TOPICS));
+    assertEquals(0, backend.searches.get());
+    json(cache.search(query(TABLES, "*")));
+    cache.updateDocument(TOPICS, "id", Map.of("description", "updated"));
+    cache.refreshFacets(List.of(TABLES, TOPICS));
+    assertEquals(3, backend.searches.get());
+    cache.refreshFacets(List.of(TABLES, TOPICS));
+    assertEquals(3, backend.searches.get());
+
+    // Nothing is refreshed while the backend is unavailable and the indexes are refreshed once it is available again
+    json(cache.search(query(TABLES, "*")));
+    available.set(false);
+    cache.refreshFacets(List.of(TABLES, TOPICS));
+    assertEquals(3, backend.searches.get());
+    available.set(true);
+    cache.refreshFacets(List.of(TABLES, TOPICS));
+    assertEquals(4, backend.searches.get());
+  }
+
+  @Test
+  public void largeResponsesAreNotCached() throws IOException {
+    String large = "x".repeat(2 * 1024 * 1024);
+    CountingBackend backend = new CountingBackend() {
+      @Override
+      public SearchResult search(SearchQuery query) throws IOException {
+        super.search(query);
+        return SearchResult.of(large);
+      }
+    };
+    CachingSearchBackend cache = new CachingSearchBackend(backend, 100, 10, ticker);
+    assertEquals(large, json(cache.search(query(TABLES, "*"))));
+    assertEquals(large, json(cache.search(query(TABLES, "*"))));
+    assertEquals(2, backend.searches.get());
+  }
+
+  @Test
+  public void concurrentMissesSearchOnce() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountingBackend backend = new CountingBackend() {
+      @Override
+      public SearchResult search(SearchQuery query) throws IOException {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        return super.search(query);
+      }
+    };
+    CachingSearchBackend cache = new CachingSearchBackend(backend, 100, 10, ticker);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> cache.search(query(TABLES, "*")).toJson()));
+      }
+      Thread.sleep(100);
+      release.countDown();
+      for (Future<String> result : results) {
+        assertEquals("1", result.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(1, backend.searches.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void searchFailure() {
+    CountingBackend backend = new CountingBackend() {
+      @Override
+      public SearchResult search(SearchQuery query) throws IOException {
+        if (query.getIndex().equals(TOPICS)) {
+          throw new IOException("search failed");
+        }
+        throw new IllegalArgumentException("invalid index");
+      }
+    };
+    CachingSearchBackend cache = new CachingSearchBackend(backend, 100, 10, ticker);
+    assertThrows(IOException.class, () -> cache.search(query(TOPICS, "*")));
+    assertThrows(IllegalArgumentException.class, () -> cache.search(query(TABLES, "*")));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void metrics() throws IOException {
+    CachingSearchBackend cache = new CachingSearchBackend(new CountingBackend(), 100, 10, ticker);
+    MetricRegistry metrics = new MetricRegistry();
+    cache.registerMetrics(metrics);
+    json(cache.search(query(TABLES, "*")));
+    json(cache.search(query(TABLES, "*")));
+    json(cache.search(query(TABLES, "*")));
+    json(cache.search(query(TOPICS, "*")));
+    Map<String, Gauge> gauges = metrics.getGauges();
+    assertEquals(2L, gauges.get("search.cache.hits").getValue());
+    assertEquals(2L, gauges.get("search.cache.misses").getValue());
+    assertEquals(0.5, (Double) gauges.get("search.cache.hitRatio").getValue(), 0.001);
+  }
+
+  private static SearchQuery query(String index, String query) {
+    return new SearchQuery(index, query, 0, 10, null, false);
+  }
+
+  private static String json(SearchResult result) throws IOException {
+    return result.toJson();
+  }
+
+  private static List<String> json(List<SearchResult> results) throws IOException {
+    List<String> responses = new ArrayList<>();
+    for (SearchResult result : results) {
+      responses.add(result.toJson());
+    }
+    return responses;
+  }
+
+  /** Backend that returns the number of searches made so far as the result of a search */
+  private static class CountingBackend implements SearchBackend {
+    private final AtomicInteger searches = new AtomicInteger();
+    private final AtomicInteger updates = new AtomicInteger();
+    private final AtomicInteger deletes = new AtomicInteger();
+    private final AtomicInteger multiSearches = new AtomicInteger();
+
+    @Override
+    public SearchResult search(SearchQuery query) throws IOException {
+      return SearchResult.of(String.valueOf(searches.incrementAndGet()));
+    }
+
+    @Override
+    public List<SearchResult> search(List<SearchQuery> queries) throws IOException {
+      multiSearches.incrementAndGet();
+      return SearchBackend.super.search(queries);
+    }
+
+    @Override
+    public SearchResult suggest(String index, String prefix) {
+      return SearchResult.of("");
+    }
+
+    @Override
+    public void updateDocument(String index, String id, Map<String, Object> doc) {
+      updates.incrementAndGet();
+    }
+
+    @Override
+    public void deleteDocument(String index, String id) {
+      deletes.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
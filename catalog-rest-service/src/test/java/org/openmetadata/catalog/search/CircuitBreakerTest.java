@@ -0,0 +1,83 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.exception.SearchUnavailableException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakerTest {
+  private final AtomicLong nanos = new AtomicLong();
+
+  @Test
+  public void opensAfterConsecutiveFailures() {
+    CircuitBreaker breaker = new CircuitBreaker(3, 30, nanos::get);
+    breaker.acquire();
+    breaker.onFailure();
+    breaker.acquire();
+    breaker.onFailure();
+
+    // A success resets the count of consecutive failures
+    breaker.acquire();
+    breaker.onSuccess();
+    for (int i = 0; i < 2; i++) {
+      breaker.acquire();
+      breaker.onFailure();
+    }
+    assertFalse(breaker.isOpen());
+
+    breaker.acquire();
+    breaker.onFailure();
+    assertTrue(breaker.isOpen());
+    assertThrows(SearchUnavailableException.class, breaker::acquire);
+    assertThrows(SearchUnavailableException.class, breaker::acquire);
+    assertEquals(2, breaker.getRejected());
+  }
+
+  @Test
+  public void triesOneRequestAfterOpenPeriod() {
+    CircuitBreaker breaker = new CircuitBreaker(1, 30, nanos::get);
+    breaker.acquire();
+    breaker.onFailure();
+    assertThrows(SearchUnavailableException.class, breaker::acquire);
+
+    // One request tries the cluster after the open period while the others are rejected
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+    breaker.acquire();
+    assertThrows(SearchUnavailableException.class, breaker::acquire);
+
+    // The breaker opens again when the request fails
+    breaker.onFailure();
+    assertThrows(SearchUnavailableException.class, breaker::acquire);
+
+    // The breaker closes when the request succeeds
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+    breaker.acquire();
+    breaker.onSuccess();
+    assertFalse(breaker.isOpen());
+    breaker.acquire();
+    breaker.acquire();
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.util.JsonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndexMappingTest {
+  /**
+   * Mapping returned by an index created by ingestion with TABLE_ELASTICSEARCH_INDEX_MAPPING, after a table with its
+   * fqdn was indexed. The mapping has no fqdn, which Elasticsearch maps dynamically as text with a keyword subfield.
+   */
+  private static final String INGESTION_MAPPING = "{\"table_search_index\":{\"mappings\":{\"properties\":{" +
+          "\"table_name\":{\"type\":\"text\"}," +
+          "\"description\":{\"type\":\"text\"}," +
+          "\"fqdn\":{\"type\":\"text\",\"fields\":{\"keyword\":{\"type\":\"keyword\",\"ignore_above\":256}}}," +
+          "\"tier\":{\"type\":\"keyword\"}," +
+          "\"suggest\":{\"type\":\"completion\",\"analyzer\":\"simple\",\"preserve_separators\":true," +
+          "\"preserve_position_increments\":true,\"max_input_length\":50}}}}}";
+
+  @Test
+  public void templateIndex() throws IOException {
+    JsonNode template;
+    try (InputStream in = IndexMappingTest.class.getResourceAsStream(
+            "/elasticsearch/table_search_index_template.json")) {
+      template = JsonUtils.readValue(in, JsonNode.class);
+    }
+    ObjectNode response = JsonNodeFactory.instance.objectNode();
+    response.putObject("table_search_index").set("mappings", template.path("template").path("mappings"));
+
+    IndexMapping mapping = IndexMapping.of(response);
+    assertTrue(mapping.hasNgramFields());
+    assertEquals("fqdn", mapping.tieBreakerSort().getFieldName());
+  }
+
+  @Test
+  public void ingestionIndex() throws IOException {
+    IndexMapping mapping = IndexMapping.of(JsonUtils.readValue(INGESTION_MAPPING, JsonNode.class));
+    assertFalse(mapping.hasNgramFields());
+    // Text fields cannot be sorted on and the keyword subfield is sorted on instead
+    FieldSortBuilder sort = mapping.tieBreakerSort();
+    assertEquals("fqdn.keyword", sort.getFieldName());
+    assertEquals("keyword", sort.unmappedType());
+  }
+
+  @Test
+  public void unknownIndex() throws IOException {
+    IndexMapping mapping = IndexMapping.of(JsonUtils.readValue("{}", JsonNode.class));
+    assertFalse(mapping.hasNgramFields());
+    assertEquals("fqdn.keyword", mapping.tieBreakerSort().getFieldName());
+  }
+}
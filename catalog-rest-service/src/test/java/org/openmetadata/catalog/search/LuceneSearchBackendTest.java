@@ -0,0 +1,296 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openmetadata.catalog.util.JsonUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LuceneSearchBackendTest {
+  private static final String INDEX = SearchIndex.TABLE.getIndexName();
+
+  @TempDir
+  Path indexDirectory;
+
+  private LuceneSearchBackend backend;
+
+  @BeforeEach
+  public void setup() {
+    backend = new LuceneSearchBackend(indexDirectory);
+    backend.updateDocument(INDEX, "1", table("dim_address", "Addresses of customers", List.of("address_id", "city"),
+            "Tier.Tier1", List.of("PII.Sensitive"), 10));
+    backend.updateDocument(INDEX, "2", table("fact_order", "Orders placed by customers", List.of("order_id"),
+            "Tier.Tier2", List.of("PII.Sensitive", "User.Address"), 20));
+    backend.updateDocument(INDEX, "3", table("raw_events", "Raw click stream", List.of("event_id"),
+            "Tier.Tier2", List.of(), 30));
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    backend.close();
+  }
+
+  @Test
+  public void search() throws IOException {
+    Map<String, Object> response = search("customers", null);
+    assertEquals(List.of("1", "2"), ids(response));
+
+    // Name matches are boosted over description matches
+    backend.updateDocument(INDEX, "4", table("customers", "All customers", List.of("id"), null, List.of(), 40));
+    assertEquals("4", ids(search("customers", null)).get(0));
+
+    // Fields, wildcards and keyword fields in query string syntax
+    assertEquals(List.of("1"), ids(search("column_names:city", null)));
+    assertEquals(List.of("2"), ids(search("*order*", null)));
+    assertEquals(List.of("2"), ids(search("tags:User.Address", null)));
+
+    // Match all with sorting
+    assertEquals(List.of("1", "2", "3", "4"), ids(search("*", "last_updated_timestamp", true)));
+    assertEquals(List.of("4", "3", "2", "1"), ids(search("*", "last_updated_timestamp", false)));
+
+    // Query text that is not valid syntax is searched as text
+    assertEquals(List.of("3"), ids(search("raw (click", null)));
+  }
+
+  @Test
+  public void searchFacets() throws IOException {
+    Map<String, Object> aggregations = get(search("*", null), "aggregations");
+    assertEquals(List.of(Map.of("key", "Tier.Tier2", "doc_count", 2), Map.of("key", "Tier.Tier1", "doc_count", 1)),
+            buckets(aggregations, "Tier"));
+    assertEquals(List.of(Map.of("key", "PII.Sensitive", "doc_count", 2), Map.of("key", "User.Address", "doc_count", 1)),
+            buckets(aggregations, "Tags"));
+
+    // Facets count the documents matching the query
+    aggregations = get(search("orders", null), "aggregations");
+    assertEquals(List.of(Map.of("key", "Tier.Tier2", "doc_count", 1)), buckets(aggregations, "Tier"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void searchProfiles() throws IOException {
+    // Ids profile returns hits without documents, highlights or facets
+    Map<String, Object> response = JsonUtils.readValue(backend.search(new SearchQuery(INDEX, "customers", 0, 10, null,
+            false).withProfile(SearchProfile.IDS)).toJson(), Map.class);
+    assertEquals(List.of("1", "2"), ids(response));
+    assertFalse(hits(response).get(0).containsKey("_source"));
+    assertFalse(hits(response).get(0).containsKey("highlight"));
+    assertFalse(response.containsKey("aggregations"));
+
+    // Hits profile returns documents without highlights, with the facets that are requested
+    response = JsonUtils.readValue(backend.search(new SearchQuery(INDEX, "customers", 0, 10, null, false)
+            .withProfile(SearchProfile.HITS).withFacets(List.of("Tier"))).toJson(), Map.class);
+    assertTrue(hits(response).get(0).containsKey("_source"));
+    assertFalse(hits(response).get(0).containsKey("highlight"));
+    assertEquals(Map.of("Tier", get(response, "aggregations").get("Tier")), get(response, "aggregations"));
+
+    assertThrows(IllegalArgumentException.class, () -> SearchProfile.fromName("unknown"));
+    assertThrows(IllegalArgumentException.class, () -> new SearchQuery(INDEX, "*", 0, 10, null, false)
+            .withFacets(List.of("Owner")));
+  }
+
+  @Test
+  public void searchHighlights() throws IOException {
+    List<Map<String, Object>> hits = hits(search("customers", null));
+    Map<String, Object> highlight = get(hits.get(0), "highlight");
+    assertEquals(List.of("Addresses of " + SearchIndex.HIGHLIGHT_PRE_TAG + "customers" +
+            SearchIndex.HIGHLIGHT_POST_TAG), highlight.get("description"));
+    assertFalse(highlight.containsKey("table_name"));
+
+    // Wildcard and phrase queries are highlighted by analyzing the stored text in memory
+    highlight = get(hits(search("*ustomer*", null)).get(0), "highlight");
+    assertEquals(List.of("Addresses of " + SearchIndex.HIGHLIGHT_PRE_TAG + "customers" +
+            SearchIndex.HIGHLIGHT_POST_TAG), highlight.get("description"));
+    highlight = get(hits(search("\"click stream\"", null)).get(0), "highlight");
+    assertEquals(List.of("Raw " + SearchIndex.HIGHLIGHT_PRE_TAG + "click" + SearchIndex.HIGHLIGHT_POST_TAG + " " +
+            SearchIndex.HIGHLIGHT_PRE_TAG + "stream" + SearchIndex.HIGHLIGHT_POST_TAG), highlight.get("description"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void searchPagination() throws IOException {
+    Map<String, Object> response = JsonUtils.readValue(backend.search(new SearchQuery(INDEX, "*", 1, 1,
+            "last_updated_timestamp", true)).toJson(), Map.class);
+    assertEquals(List.of("2"), ids(response));
+    assertEquals(3, ((Map<?, ?>) get(response, "hits").get("total")).get("value"));
+
+    // Deep pages are rejected instead of collecting every hit before them
+    assertThrows(IllegalArgumentException.class, () -> backend.search(new SearchQuery(INDEX, "*", 2000000000, 10,
+            null, false)));
+    assertThrows(IllegalArgumentException.class, () -> backend.search(new SearchQuery(INDEX, "*", 9995, 10, null,
+            false)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void searchAfter() throws IOException {
+    // Page through all the hits with cursors, with ties broken by id
+    assertEquals(List.of("1", "2", "3"), scroll("*", "last_updated_timestamp", true));
+    assertEquals(List.of("3", "2", "1"), scroll("*", "last_updated_timestamp", false));
+    assertEquals(List.of("1", "2", "3"), scroll("*", null, false));
+    assertEquals(List.of("1", "2"), scroll("customers", null, false));
+
+    // Pages after a cursor are read from the same point in time as the first page
+    Map<String, Object> response = JsonUtils.readValue(backend.search(new SearchQuery(INDEX, "*", 0, 1,
+            "last_updated_timestamp", true)).toJson(), Map.class);
+    assertEquals(List.of("1"), ids(response));
+    SearchCursor after = SearchCursor.decode((String) get(response, "paging").get("after"));
+    backend.updateDocument(INDEX, "2", table("fact_order", "Orders placed by customers", List.of("order_id"),
+            "Tier.Tier2", List.of("PII.Sensitive", "User.Address"), 5));
+    response = JsonUtils.readValue(backend.search(new SearchQuery(INDEX, "*", 0, 1, "last_updated_timestamp", true,
+            after)).toJson(), Map.class);
+    assertEquals(List.of("2"), ids(response));
+    assertEquals(List.of("2", "1", "3"), scroll("*", "last_updated_timestamp", true));
+
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("invalid"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void suggest() throws IOException {
+    Map<String, Object> response = JsonUtils.readValue(backend.suggest(INDEX, "FACT").toJson(), Map.class);
+    List<?> suggestions = (List<?>) get(response, "suggest").get("table-suggest");
+    List<?> options = (List<?>) ((Map<?, ?>) suggestions.get(0)).get("options");
+    assertEquals(1, options.size());
+    assertEquals("fact_order", ((Map<?, ?>) options.get(0)).get("text"));
+    assertEquals("2", ((Map<?, ?>) options.get(0)).get("_id"));
+  }
+
+  @Test
+  public void updateDocument() throws IOException {
+    // Documents are replaced with the whole document of the entity
+    backend.updateDocument(INDEX, "3", table("raw_events", "Raw page views", List.of("event_id"), "Tier.Tier2",
+            List.of(), 30));
+    assertEquals(List.of("3"), ids(search("page", null)));
+    assertEquals(List.of("3"), ids(search("raw_events", null)));
+    assertTrue(ids(search("click", null)).isEmpty());
+    assertEquals(3, ((Map<?, ?>) get(search("*", null), "hits").get("total")).get("value"));
+
+    // Updates are visible after the backend is opened again
+    backend.close();
+    backend = new LuceneSearchBackend(indexDirectory);
+    assertFalse(backend.needsReindex(INDEX));
+    assertTrue(backend.needsReindex(SearchIndex.TOPIC.getIndexName()));
+    assertEquals(List.of("3"), ids(search("page", null)));
+  }
+
+  @Test
+  public void deleteDocument() throws IOException {
+    // Deleted documents are no longer searched, and deleting a document that does not exist does nothing
+    backend.deleteDocument(INDEX, "1");
+    backend.deleteDocument(INDEX, "unknown");
+    assertEquals(List.of("2"), ids(search("customers", null)));
+    assertEquals(1, ((Map<?, ?>) get(search("*", null), "hits").get("total")).get("value"));
+  }
+
+  @Test
+  public void indexDocuments() throws IOException {
+    // Documents indexed in a batch are searched once the batch is indexed
+    Map<String, Map<String, Object>> docs = new LinkedHashMap<>();
+    for (int i = 0; i < 100; i++) {
+      docs.put("b" + i, table("batch_" + i, "Batch " + i, List.of("id"), "Tier.Tier3", List.of(), 100 + i));
+    }
+    backend.indexDocuments(INDEX, docs);
+    assertEquals(103, ((Map<?, ?>) get(search("*", null), "hits").get("total")).get("value"));
+    assertEquals(List.of("b42"), ids(search("batch_42", null)));
+    assertEquals(List.of(Map.of("key", "Tier.Tier3", "doc_count", 100)),
+            buckets(get(search("batch", null), "aggregations"), "Tier"));
+  }
+
+  @Test
+  public void unknownIndex() {
+    assertThrows(IllegalArgumentException.class, () -> backend.search(new SearchQuery("unknown", "*", 0, 10, null,
+            false)));
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<String> scroll(String query, String sortField, boolean ascending) throws IOException {
+    List<String> ids = new ArrayList<>();
+    SearchCursor after = null;
+    do {
+      Map<String, Object> response = JsonUtils.readValue(backend.search(new SearchQuery(INDEX, query, 0, 1, sortField,
+              ascending, after)).toJson(), Map.class);
+      ids.addAll(ids(response));
+      after = SearchCursor.decode((String) get(response, "paging").get("after"));
+    } while (after != null);
+    return ids;
+  }
+
+  private Map<String, Object> search(String query, String sortField) throws IOException {
+    return search(query, sortField, false);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> search(String query, String sortField, boolean ascending) throws IOException {
+    return JsonUtils.readValue(backend.search(new SearchQuery(INDEX, query, 0, 10, sortField, ascending)).toJson(),
+            Map.class);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> get(Map<String, Object> map, String key) {
+    return (Map<String, Object>) map.get(key);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Map<String, Object>> hits(Map<String, Object> response) {
+    return (List<Map<String, Object>>) get(response, "hits").get("hits");
+  }
+
+  private static List<String> ids(Map<String, Object> response) {
+    List<String> ids = new ArrayList<>();
+    for (Map<String, Object> hit : hits(response)) {
+      ids.add((String) hit.get("_id"));
+    }
+    return ids;
+  }
+
+  private static List<?> buckets(Map<String, Object> aggregations, String name) {
+    return (List<?>) get(aggregations, name).get("buckets");
+  }
+
+  private static Map<String, Object> table(String name, String description, List<String> columns, String tier,
+                                           List<String> tags, long timestamp) {
+    Map<String, Object> doc = new HashMap<>();
+    doc.put("table_name", name);
+    doc.put("fqdn", "mysql.shop." + name);
+    doc.put("description", description);
+    doc.put("column_names", columns);
+    doc.put("service", "mysql");
+    doc.put("service_type", "MySQL");
+    doc.put("tier", tier);
+    doc.put("tags", tags);
+    doc.put("last_updated_timestamp", timestamp);
+    doc.put("suggest", List.of(Map.of("input", List.of("mysql.shop." + name), "weight", 5),
+            Map.of("input", List.of(name), "weight", 10)));
+    return doc;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class QueryRewriterTest {
+  @Test
+  public void rewrite() {
+    QueryRewriter rewritten = QueryRewriter.rewrite("*customer*");
+    assertEquals(List.of("customer"), rewritten.getSubstrings());
+    assertEquals(List.of(), rewritten.getPrefixes());
+    assertNull(rewritten.getRest());
+
+    rewritten = QueryRewriter.rewrite(" *dim_customer* AND sales* AND tags:User.Address ");
+    assertEquals(List.of("dim_customer"), rewritten.getSubstrings());
+    assertEquals(List.of("sales"), rewritten.getPrefixes());
+    assertEquals("tags:User.Address", rewritten.getRest());
+
+    // Substrings shorter than an ngram are searched with wildcards
+    rewritten = QueryRewriter.rewrite("*ab* AND fact*");
+    assertEquals(List.of(), rewritten.getSubstrings());
+    assertEquals(List.of("fact"), rewritten.getPrefixes());
+    assertEquals("*ab*", rewritten.getRest());
+  }
+
+  @Test
+  public void notRewritten() {
+    assertNull(QueryRewriter.rewrite(null));
+    assertNull(QueryRewriter.rewrite(" "));
+    assertNull(QueryRewriter.rewrite("customer"));
+    assertNull(QueryRewriter.rewrite("*ab*"));
+    assertNull(QueryRewriter.rewrite("abcdefghijklmnopqrstuvwxyz*"));
+    assertNull(QueryRewriter.rewrite("*customer* OR *order*"));
+    assertNull(QueryRewriter.rewrite("*customer* *order*"));
+    assertNull(QueryRewriter.rewrite("(*customer*) AND tier:Tier1"));
+    assertNull(QueryRewriter.rewrite("*customer* AND -tier:Tier1"));
+    assertNull(QueryRewriter.rewrite("\"*customer*\""));
+  }
+}
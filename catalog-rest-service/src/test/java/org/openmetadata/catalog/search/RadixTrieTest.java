@@ -0,0 +1,79 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RadixTrieTest {
+  @Test
+  public void top() {
+    RadixTrie<String> trie = new RadixTrie<>();
+    trie.put("customer", "t1", 10);
+    trie.put("customers", "t2", 20);
+    trie.put("customer_address", "t3", 5);
+    trie.put("cust", "t4", 1);
+    trie.put("orders", "t5", 30);
+    trie.put("shopify.customer", "t1", 50);
+    assertEquals(6, trie.size());
+
+    assertEquals(List.of("t2", "t1", "t3", "t4"), trie.top("cust", 10));
+    assertEquals(List.of("t2", "t1"), trie.top("custo", 2));
+    assertEquals(List.of("t2", "t1", "t3"), trie.top("customer", 10));
+    assertEquals(List.of("t3"), trie.top("customer_", 10));
+    assertEquals(List.of(), trie.top("customer_z", 10));
+    assertEquals(List.of(), trie.top("x", 10));
+    // Values with several keys are returned once, with the weight of the best key
+    assertEquals(List.of("t1", "t5", "t2"), trie.top("", 3));
+
+    // Adding a value again replaces its weight
+    trie.put("customer_address", "t3", 100);
+    assertEquals(6, trie.size());
+    assertEquals(List.of("t3", "t2"), trie.top("customer", 2));
+  }
+
+  @Test
+  public void remove() {
+    RadixTrie<String> trie = new RadixTrie<>();
+    trie.put("customer", "t1", 10);
+    trie.put("customers", "t2", 20);
+    trie.put("customer_address", "t3", 5);
+
+    assertFalse(trie.remove("custom", "t1"));
+    assertFalse(trie.remove("customer", "t2"));
+    assertTrue(trie.remove("customers", "t2"));
+    assertEquals(List.of("t1", "t3"), trie.top("cust", 10));
+
+    // Removing the key at a branch merges the branch with its only child
+    assertTrue(trie.remove("customer", "t1"));
+    assertEquals(List.of("t3"), trie.top("customer", 10));
+    assertEquals(List.of("t3"), trie.top("customer_a", 10));
+    assertEquals(1, trie.size());
+
+    trie.put("customer", "t1", 10);
+    assertEquals(List.of("t1", "t3"), trie.top("customer", 10));
+    assertTrue(trie.remove("customer_address", "t3"));
+    assertTrue(trie.remove("customer", "t1"));
+    assertEquals(List.of(), trie.top("", 10));
+    assertEquals(0, trie.size());
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.openmetadata.catalog.search;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.util.JsonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchResponseFilterTest {
+  private static final String RESPONSE = "{\"pit_id\":\"pit-1\",\"took\":3,\"timed_out\":false," +
+          "\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0}," +
+          "\"hits\":{\"total\":{\"value\":5,\"relation\":\"eq\"},\"max_score\":null,\"hits\":[" +
+          "{\"_index\":\"table_search_index\",\"_id\":\"1\",\"_score\":2.5,\"_source\":{\"table_name\":\"a\"}," +
+          "\"sort\":[2.5,\"1\"]}," +
+          "{\"_index\":\"table_search_index\",\"_id\":\"2\",\"_score\":1.5,\"_source\":{\"table_name\":\"b\"}," +
+          "\"highlight\":{\"description\":[\"<b>b</b>\"]},\"sort\":[1.5,\"2\"]}]}," +
+          "\"aggregations\":{\"Tier\":{\"buckets\":[{\"key\":\"Tier1\",\"doc_count\":2}]}}}";
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void copy() throws IOException {
+    SearchResponseFilter filter = new SearchResponseFilter(2, null);
+    Map<String, Object> response = JsonUtils.readValue(copy(filter, RESPONSE), Map.class);
+
+    // Internal fields are left out and the rest of the response is copied as it is
+    assertFalse(response.containsKey("_shards"));
+    assertFalse(response.containsKey("pit_id"));
+    assertEquals(3, response.get("took"));
+    Map<String, Object> hits = (Map<String, Object>) response.get("hits");
+    assertEquals(5, ((Map<?, ?>) hits.get("total")).get("value"));
+    List<Map<String, Object>> hitList = (List<Map<String, Object>>) hits.get("hits");
+    assertEquals(2, hitList.size());
+    assertFalse(hitList.get(1).containsKey("sort"));
+    assertEquals(Map.of("table_name", "b"), hitList.get(1).get("_source"));
+    assertEquals(Map.of("description", List.of("<b>b</b>")), hitList.get(1).get("highlight"));
+    assertTrue(response.containsKey("aggregations"));
+
+    // The cursor of the next page has the sort values of the last hit and the point in time of the response
+    SearchCursor after = SearchCursor.decode((String) ((Map<?, ?>) response.get("paging")).get("after"));
+    assertEquals("pit-1", after.getPointInTimeId());
+    assertEquals(List.of(1.5, "2"), after.getSortValues());
+    assertEquals("pit-1", filter.getPointInTimeId());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void lastPage() throws IOException {
+    SearchResponseFilter filter = new SearchResponseFilter(10, null);
+    Map<String, Object> response = JsonUtils.readValue(copy(filter, RESPONSE), Map.class);
+    assertNull(((Map<?, ?>) response.get("paging")).get("after"));
+    assertNull(filter.next());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void withoutCursor() throws IOException {
+    SearchResponseFilter filter = new SearchResponseFilter(2, null, false);
+    Map<String, Object> response = JsonUtils.readValue(copy(filter, RESPONSE), Map.class);
+    assertEquals(2, ((List<?>) ((Map<?, ?>) response.get("hits")).get("hits")).size());
+    assertNull(((Map<?, ?>) response.get("paging")).get("after"));
+    assertNull(filter.next());
+  }
+
+  @Test
+  public void error() throws IOException {
+    String error = "{\"error\":{\"type\":\"index_not_found_exception\",\"reason\":\"no such index\"},\"status\":404}";
+    SearchResponseFilter filter = new SearchResponseFilter(10, null);
+    assertEquals(error, copy(filter, error));
+    assertTrue(filter.isError());
+  }
+
+  @Test
+  public void copySuggest() throws IOException {
+    String suggest = "{\"suggest\":{\"table-suggest\":[{\"text\":\"fa\",\"offset\":0,\"length\":2,\"options\":[]}]}}";
+    String response = "{\"took\":1,\"timed_out\":false,\"_shards\":{\"total\":1}," +
+            "\"hits\":{\"total\":{\"value\":0,\"relation\":\"eq\"},\"max_score\":null,\"hits\":[]}," +
+            suggest.substring(1);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonParser parser = parser(response);
+         JsonGenerator generator = JsonUtils.createGenerator(out)) {
+      parser.nextToken();
+      SearchResponseFilter.copySuggest(parser, generator);
+    }
+    assertEquals(suggest, out.toString(StandardCharsets.UTF_8));
+  }
+
+  private static String copy(SearchResponseFilter filter, String response) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonParser parser = parser(response);
+         JsonGenerator generator = JsonUtils.createGenerator(out)) {
+      parser.nextToken();
+      filter.copy(parser, generator);
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  private static JsonParser parser(String response) throws IOException {
+    return JsonUtils.createParser(new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.util.JsonUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SuggestingSearchBackendTest {
+  private static final String TABLES = SearchIndex.TABLE.getIndexName();
+  private static final String TOPICS = SearchIndex.TOPIC.getIndexName();
+
+  @Test
+  public void suggest() throws IOException {
+    SuggestBackend backend = new SuggestBackend();
+    SuggestingSearchBackend suggester = new SuggestingSearchBackend(backend);
+
+    // Suggestions are answered by the backend until they are loaded
+    assertTrue(suggester.needsSuggestions(TABLES));
+    suggester.loadSuggestions(TABLES, "t1", table("customer", "shop.customer", List.of("id", "address"), 10));
+    suggester.loadSuggestions(TABLES, "t2", table("customers", "crm.customers", List.of("customer_id"), 90));
+    assertEquals("backend", suggester.suggest(TABLES, "cust").toJson());
+    assertEquals(0, backend.updates.get());
+    suggester.suggestionsLoaded(TABLES);
+    assertFalse(suggester.needsSuggestions(TABLES));
+
+    // Names come before column names, and entities used more come first
+    JsonNode options = options(suggester.suggest(TABLES, "Cust"));
+    assertEquals(2, options.size());
+    assertEquals("customers", options.get(0).get("text").asText());
+    assertEquals("t2", options.get(0).get("_id").asText());
+    assertEquals(TABLES, options.get(0).get("_index").asText());
+    assertEquals("customers", options.get(0).get("_source").get("table_name").asText());
+    assertEquals("crm.customers", options.get(0).get("_source").get("fqdn").asText());
+    assertEquals(List.of("t2"), ids(suggester.suggest(TABLES, "customer_")));
+    assertEquals(List.of("t1"), ids(suggester.suggest(TABLES, "shop.")));
+    assertEquals(List.of("t1"), ids(suggester.suggest(TABLES, "addr")));
+    assertEquals(List.of(), ids(suggester.suggest(TABLES, "orders")));
+
+    // Updates replace the inputs of the document and keep its usage when the update has none
+    suggester.updateDocument(TABLES, "t2", Map.of("table_name", "clients", "suggest",
+            List.of(suggest("crm.clients", 5), suggest("clients", 10))));
+    assertEquals(1, backend.updates.get());
+    assertEquals(List.of("t1"), ids(suggester.suggest(TABLES, "cust")));
+    options = options(suggester.suggest(TABLES, "cli"));
+    assertEquals("clients", options.get(0).get("_source").get("table_name").asText());
+    assertEquals(10 * 1.9, options.get(0).get("_score").asDouble(), 0.001);
+    // Updates of other fields keep the inputs
+    suggester.updateDocument(TABLES, "t2", Map.of("owner", "u1"));
+    assertEquals(List.of("t2"), ids(suggester.suggest(TABLES, "cli")));
+
+    // Deleted documents are no longer suggested
+    suggester.deleteDocument(TABLES, "t2");
+    assertEquals(1, backend.deletes.get());
+    assertEquals(List.of(), ids(suggester.suggest(TABLES, "cli")));
+    assertEquals(List.of("t1"), ids(suggester.suggest(TABLES, "cust")));
+  }
+
+  @Test
+  public void indexDocuments() throws IOException {
+    SuggestBackend backend = new SuggestBackend();
+    SuggestingSearchBackend suggester = new SuggestingSearchBackend(backend);
+
+    // Documents indexed while the index is built are suggested and indexed by the backend
+    suggester.indexDocuments(TABLES, Map.of("t1", table("customer", "shop.customer", List.of(), 10),
+            "t2", table("orders", "shop.orders", List.of(), 20)));
+    suggester.suggestionsLoaded(TABLES);
+    assertEquals(2, backend.updates.get());
+    assertEquals(List.of("t1"), ids(suggester.suggest(TABLES, "cust")));
+    assertEquals(List.of("t2", "t1"), ids(suggester.suggest(TABLES, "shop.")));
+  }
+
+  @Test
+  public void suggestSeveralIndexes() throws IOException {
+    SuggestingSearchBackend suggester = new SuggestingSearchBackend(new SuggestBackend());
+    suggester.loadSuggestions(TABLES, "t1", table("sales", "shop.sales", List.of(), 10));
+    suggester.loadSuggestions(TOPICS, "k1", Map.of("topic_id", "k1", "topic_name", "sales_events", "suggest",
+            List.of(suggest("sales_events", 10)), "weekly_percentile_rank", 50.0));
+    suggester.suggestionsLoaded(TABLES);
+    assertEquals("backend", suggester.suggest(TABLES + "," + TOPICS, "sal").toJson());
+    suggester.suggestionsLoaded(TOPICS);
+
+    JsonNode options = options(suggester.suggest(TABLES + "," + TOPICS, "sal"));
+    assertEquals(TOPICS, options.get(0).get("_index").asText());
+    assertEquals("sales_events", options.get(0).get("_source").get("topic_name").asText());
+    assertEquals(TABLES, options.get(1).get("_index").asText());
+  }
+
+  @Test
+  public void suggestManyEntities() throws IOException {
+    SuggestingSearchBackend suggester = new SuggestingSearchBackend(new SuggestBackend());
+    int count = 100000;
+    for (int i = 0; i < count; i++) {
+      suggester.loadSuggestions(TABLES, "t" + i, table("table_" + i, "db.table_" + i, List.of("id", "name"),
+              i % 100));
+    }
+    suggester.suggestionsLoaded(TABLES);
+
+    // Every table has a column named id and the tables used the most are suggested, in the order they were loaded
+    assertEquals(List.of("t99", "t199", "t299", "t399", "t499"), ids(suggester.suggest(TABLES, "i")));
+
+    // Prefixes shared by many names suggest the tables used the most among them
+    JsonNode options = options(suggester.suggest(TABLES, "table_4"));
+    assertEquals(5, options.size());
+    for (JsonNode option : options) {
+      assertTrue(option.get("text").asText().matches("table_4\\d*99"), option.get("text").asText());
+      assertEquals(10 * 1.99, option.get("_score").asDouble(), 0.001);
+    }
+
+    // Longer prefixes narrow the suggestions down to one table, by name or by fully qualified name
+    assertEquals(List.of("t99999"), ids(suggester.suggest(TABLES, "TABLE_99999")));
+    options = options(suggester.suggest(TABLES, "db.table_12345"));
+    assertEquals(1, options.size());
+    assertEquals("db.table_12345", options.get(0).get("text").asText());
+    assertEquals(5 * 1.45, options.get(0).get("_score").asDouble(), 0.001);
+    assertEquals(List.of(), ids(suggester.suggest(TABLES, "table_100000")));
+  }
+
+  private static Map<String, Object> table(String name, String fqn, List<String> columns, double usage) {
+    return Map.of("table_name", name, "fqdn", fqn, "column_names", columns,
+            "suggest", List.of(suggest(fqn, 5), suggest(name, 10)), "weekly_percentile_rank", usage);
+  }
+
+  private static Map<String, Object> suggest(String input, int weight) {
+    return Map.of("input", List.of(input), "weight", weight);
+  }
+
+  private static JsonNode options(SearchResult result) throws IOException {
+    JsonNode response = JsonUtils.readValue(result.toJson(), JsonNode.class);
+    return response.get("suggest").get("table-suggest").get(0).get("options");
+  }
+
+  private static List<String> ids(SearchResult result) throws IOException {
+    List<String> ids = new ArrayList<>();
+    for (JsonNode option : options(result)) {
+      ids.add(option.get("_id").asText());
+    }
+    return ids;
+  }
+
+  /** Backend that answers suggestions with a fixed response and counts updates and deletes */
+  private static class SuggestBackend implements SearchBackend {
+    private final AtomicInteger updates = new AtomicInteger();
+    private final AtomicInteger deletes = new AtomicInteger();
+
+    @Override
+    public SearchResult search(SearchQuery query) {
+      return SearchResult.of("");
+    }
+
+    @Override
+    public SearchResult suggest(String index, String prefix) {
+      return SearchResult.of("backend");
+    }
+
+    @Override
+    public void updateDocument(String index, String id, Map<String, Object> doc) {
+      updates.incrementAndGet();
+    }
+
+    @Override
+    public void deleteDocument(String index, String id) {
+      deletes.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.ColumnDataType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChildDiffTest {
+  @Test
+  public void diff() {
+    Column c1 = column("c1", 1);
+    Column c2 = column("c2", 2);
+    Column c3 = column("c3", 3);
+    Column c2Updated = column("c2", 2).withDescription("updated");
+    Column c4 = column("c4", 4);
+
+    ChildDiff<Column> diff = ChildDiff.diff(List.of(c1, c2, c3), List.of(c1, c2Updated, c4), Column::getName);
+    assertEquals(List.of(c4), diff.getAdded());
+    assertEquals(List.of(c3), diff.getDeleted());
+    assertEquals(2, diff.getMatched().size());
+    assertEquals(1, diff.getChanged().size());
+    assertSame(c2, diff.getChanged().get(0).getStored());
+    assertSame(c2Updated, diff.getChanged().get(0).getUpdated());
+    assertSame(c2, diff.findStored(c2Updated));
+    assertNull(diff.findStored(c4));
+    assertTrue(diff.hasAddedOrDeleted());
+
+    // Same children in a different order
+    diff = ChildDiff.diff(List.of(c1, c2, c3), List.of(c3, c1, c2), Column::getName);
+    assertFalse(diff.hasAddedOrDeleted());
+    assertTrue(diff.getChanged().isEmpty());
+
+    // Null lists are treated as empty
+    diff = ChildDiff.diff(null, List.of(c1), Column::getName);
+    assertEquals(List.of(c1), diff.getAdded());
+    diff = ChildDiff.diff(List.of(c1), null, Column::getName);
+    assertEquals(List.of(c1), diff.getDeleted());
+  }
+
+  @Test
+  public void merge() {
+    Column c1 = column("c1", 1);
+    Column c2 = column("c2", 2);
+    Column c2Updated = column("c2", 2).withDescription("updated");
+    Column c3 = column("c3", 3);
+
+    // Updated children replace stored children in place, new children are added at the end
+    assertEquals(List.of(c1, c2Updated, c3), ChildDiff.merge(List.of(c1, c2), List.of(c3, c2Updated),
+            Column::getName));
+    assertEquals(List.of(c1), ChildDiff.merge(null, List.of(c1), Column::getName));
+    assertEquals(List.of(c1), ChildDiff.merge(List.of(c1), null, Column::getName));
+  }
+
+  /**
+   * Columns of a wide table are matched by key with the same result as matching them using nested loops. The key of
+   * each column is computed a few times instead of once for each pair of columns.
+   */
+  @Test
+  public void diffWideTable() {
+    int count = 3000;
+    List<Column> stored = new ArrayList<>();
+    List<Column> updated = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      stored.add(column("column" + i, i + 1));
+      updated.add(column("column" + i, i + 1).withDescription(i % 10 == 0 ? "updated" : null));
+    }
+
+    AtomicInteger keyCalls = new AtomicInteger();
+    ChildDiff<Column> diff = ChildDiff.diff(stored, updated, column -> {
+      keyCalls.incrementAndGet();
+      return column.getName();
+    });
+    assertEquals(count / 10, diff.getChanged().size());
+    assertEquals(nestedLoopChanged(stored, updated), diff.getChanged().size());
+    assertTrue(keyCalls.get() <= 3 * count);
+  }
+
+  private static int nestedLoopChanged(List<Column> stored, List<Column> updated) {
+    int changed = 0;
+    for (Column updatedColumn : updated) {
+      for (Column storedColumn : stored) {
+        if (storedColumn.getName().equals(updatedColumn.getName())) {
+          if (!storedColumn.equals(updatedColumn)) {
+            changed++;
+          }
+          break;
+        }
+      }
+    }
+    return changed;
+  }
+
+  private static Column column(String name, int position) {
+    return new Column().withName(name).withDataType(ColumnDataType.INT).withOrdinalPosition(position);
+  }
+}
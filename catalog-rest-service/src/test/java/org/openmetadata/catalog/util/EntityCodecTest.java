@@ -0,0 +1,109 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.ColumnDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EntityCodecTest {
+  private static final Logger LOG = LoggerFactory.getLogger(EntityCodecTest.class);
+
+  @Test
+  public void encodeDecode() throws IOException {
+    Table table = createTable(20);
+    // Entities are encoded in their stored form, without columns that are stored separately
+    Table storedTable = JsonUtils.readValue(JsonUtils.pojoToStoredJson(table), Table.class);
+    assertNull(storedTable.getColumns());
+    for (EntityCodec codec : EntityCodec.values()) {
+      byte[] stored = codec.encode(table);
+      assertEquals(storedTable, EntityCodec.decode(stored, Table.class));
+      assertEquals(JsonUtils.pojoToStoredJson(table), EntityCodec.toJson(stored));
+    }
+    assertNull(EntityCodec.decode((byte[]) null, Table.class));
+  }
+
+  @Test
+  public void decodeJsonWrittenBeforeFormatChange() throws IOException {
+    Table table = createTable(20);
+    // Rows written as JSON text before switching to binary format must remain readable
+    byte[] stored = JsonUtils.pojoToJson(table).getBytes(StandardCharsets.UTF_8);
+    assertEquals(table, EntityCodec.decode(stored, Table.class));
+  }
+
+  /**
+   * Compares the size of the columns of a table with 2000 columns in all the storage formats.
+   */
+  @Test
+  public void compareFormats() throws IOException {
+    List<Column> columns = createTable(2000).getColumns();
+    int jsonSize = EntityCodec.JSON.encode(columns).length;
+    for (EntityCodec codec : EntityCodec.values()) {
+      byte[] stored = codec.encode(columns);
+      LOG.info("{} size {} bytes ({}% of JSON)", codec, stored.length, stored.length * 100 / jsonSize);
+      assertEquals(columns, List.of(EntityCodec.decode(stored, Column[].class)));
+    }
+    assertTrue(EntityCodec.SMILE_DEFLATE.encode(columns).length < jsonSize / 2);
+  }
+
+  /**
+   * Entities read directly from the stored bytes of each row, as done by the row mapper, are the same as entities
+   * read by first copying each row into a String.
+   */
+  @Test
+  public void decodeFromStream() throws IOException {
+    List<byte[]> page = new ArrayList<>();
+    List<String> jsons = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      byte[] row = JsonUtils.pojoToJsonBytes(createTable(50));
+      page.add(row);
+      jsons.add(new String(row, StandardCharsets.UTF_8));
+    }
+    List<Table> tables = new ArrayList<>(page.size());
+    for (byte[] row : page) {
+      tables.add(EntityCodec.decode(new ByteArrayInputStream(row), Table.class));
+    }
+    assertEquals(JsonUtils.readObjects(jsons, Table.class), tables);
+  }
+
+  private static Table createTable(int columnCount) {
+    List<Column> columns = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      columns.add(new Column().withName("column" + i).withDataType(ColumnDataType.VARCHAR).withDataLength(256)
+              .withDataTypeDisplay("varchar(256)").withFullyQualifiedName("service.db.table.column" + i)
+              .withDescription("Description of column " + i).withOrdinalPosition(i + 1));
+    }
+    return new Table().withId(UUID.randomUUID()).withName("table").withFullyQualifiedName("service.db.table")
+            .withDescription("Table with " + columnCount + " columns").withUpdatedBy("admin")
+            .withUpdatedAt(new Date()).withVersion(0.1).withColumns(columns);
+  }
+}
@@ -16,8 +16,13 @@
 
 package org.openmetadata.catalog.util;
 
+import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.entity.teams.Team;
 import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.ColumnDataType;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.TagLabel;
 
 import javax.json.Json;
 import javax.json.JsonArrayBuilder;
@@ -26,9 +31,14 @@ import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonPatchBuilder;
 import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -98,4 +108,85 @@ public class JsonUtilsTest {
             () -> JsonUtils.applyPatch(original, jsonPatchBuilder2.build(), Team.class));
     assertTrue(jsonException.getMessage().contains("contains no element for index 3"));
   }
+
+  /**
+   * Test the stored form of a table with 2000 columns leaves out relationships at every level without changing the
+   * table. Compares it with copying the columns without tags and setting the relationships to null around the write.
+   */
+  @Test
+  public void storedFormOfWideTable() throws IOException {
+    TagLabel tag = new TagLabel().withTagFQN("User.Address");
+    List<Column> columns = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      Column child = new Column().withName("child").withDataType(ColumnDataType.INT)
+              .withFullyQualifiedName("service.db.table.column" + i + ".child").withTags(List.of(tag));
+      columns.add(new Column().withName("column" + i).withDataType(ColumnDataType.STRUCT)
+              .withDataTypeDisplay("struct<child: int>").withFullyQualifiedName("service.db.table.column" + i)
+              .withDescription("Description of column " + i).withOrdinalPosition(i + 1).withTags(List.of(tag))
+              .withChildren(List.of(child)));
+    }
+    EntityReference owner = new EntityReference().withId(UUID.randomUUID()).withType("user");
+    Table table = new Table().withId(UUID.randomUUID()).withName("table").withFullyQualifiedName("service.db.table")
+            .withOwner(owner).withTags(List.of(tag)).withColumns(columns).withHref(URI.create("http://localhost"));
+    String tableJson = JsonUtils.pojoToJson(table);
+
+    // Stored form is the same as the one written by copying and setting the fields to null
+    assertEquals(storeByCopying(table), storeWithMixIns(table));
+    assertEquals(tableJson, JsonUtils.pojoToJson(table)); // Table is not changed
+    assertFalse(storeWithMixIns(table).toString().contains("User.Address"));
+
+    // Relationships and columns are left out of the table document. Columns keep their children without tags
+    List<String> stored = storeWithMixIns(table);
+    Table storedTable = JsonUtils.readValue(stored.get(0), Table.class);
+    assertNull(storedTable.getOwner());
+    assertNull(storedTable.getHref());
+    assertNull(storedTable.getColumns());
+    assertEquals(columns.size() + 1, stored.size());
+    Column storedColumn = JsonUtils.readValue(stored.get(1), Column.class);
+    assertNull(storedColumn.getTags());
+    assertEquals("child", storedColumn.getChildren().get(0).getName());
+    assertNull(storedColumn.getChildren().get(0).getTags());
+  }
+
+  /** Table document and column documents written with the stored form mix-ins */
+  private static List<String> storeWithMixIns(Table table) throws IOException {
+    List<String> stored = new ArrayList<>();
+    stored.add(JsonUtils.pojoToStoredJson(table));
+    for (Column column : table.getColumns()) {
+      stored.add(JsonUtils.pojoToStoredJson(column));
+    }
+    return stored;
+  }
+
+  /** Table document and column documents written by copying columns and setting relationships to null */
+  private static List<String> storeByCopying(Table table) throws IOException {
+    EntityReference owner = table.getOwner();
+    List<TagLabel> tags = table.getTags();
+    URI href = table.getHref();
+    List<Column> columns = table.getColumns();
+    List<Column> copy = copyWithoutTags(columns);
+    table.withOwner(null).withTags(null).withHref(null).withColumns(null);
+
+    List<String> stored = new ArrayList<>();
+    stored.add(JsonUtils.pojoToJson(table));
+    for (Column column : copy) {
+      stored.add(JsonUtils.pojoToJson(column));
+    }
+    table.withOwner(owner).withTags(tags).withHref(href).withColumns(columns);
+    return stored;
+  }
+
+  private static List<Column> copyWithoutTags(List<Column> columns) {
+    if (columns == null) {
+      return null;
+    }
+    List<Column> copy = new ArrayList<>();
+    for (Column column : columns) {
+      copy.add(new Column().withName(column.getName()).withDataType(column.getDataType())
+              .withDataTypeDisplay(column.getDataTypeDisplay()).withDescription(column.getDescription())
+              .withFullyQualifiedName(column.getFullyQualifiedName()).withOrdinalPosition(column.getOrdinalPosition())
+              .withChildren(copyWithoutTags(column.getChildren())));
+    }
+    return copy;
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements. See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.catalog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UUIDUtilTest {
+  @Test
+  public void timeOrderedUUID() {
+    long previousTimestamp = UUIDUtil.newTimeOrderedUUID().getMostSignificantBits() >>> 16;
+    long start = System.currentTimeMillis();
+    UUID id = UUIDUtil.newTimeOrderedUUID();
+    assertEquals(7, id.version());
+    assertEquals(2, id.variant());
+    assertEquals(id, UUID.fromString(id.toString())); // Same string format as random UUIDs
+
+    // First 48 bits are the milliseconds since epoch. The timestamp is ahead of the clock by a millisecond after the
+    // previous id when the counter of that millisecond is exhausted, or more when ids were generated faster before
+    long timestamp = id.getMostSignificantBits() >>> 16;
+    assertTrue(timestamp >= start);
+    assertTrue(timestamp <= Math.max(System.currentTimeMillis(), previousTimestamp + 1));
+  }
+
+  @Test
+  public void timeOrderedUUIDsAreInOrder() {
+    // Many ids are generated within the same millisecond
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      ids.add(UUIDUtil.newTimeOrderedUUID().toString());
+    }
+    Set<String> unique = new HashSet<>(ids);
+    assertEquals(ids.size(), unique.size());
+    for (int i = 1; i < ids.size(); i++) {
+      // Ids are compared as strings, as ordered in the database
+      assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " " + ids.get(i));
+    }
+  }
+}